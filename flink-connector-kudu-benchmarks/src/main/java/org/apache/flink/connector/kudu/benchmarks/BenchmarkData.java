@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.benchmarks;
+
+import org.apache.flink.api.java.tuple.Tuple5;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.catalog.Column;
+import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.table.catalog.UniqueConstraint;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.types.Row;
+
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.Schema;
+import org.apache.kudu.Type;
+import org.apache.kudu.client.BenchmarkTables;
+import org.apache.kudu.client.KuduTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records and schemas shared by the benchmarks. All records follow the books table used by the
+ * connector tests: {@code id INT PRIMARY KEY, title STRING, author STRING, price DOUBLE, quantity
+ * INT}. Every fourth record has null {@code price} and {@code quantity} values.
+ */
+final class BenchmarkData {
+
+    static final String TABLE_NAME = "books";
+    static final String[] COLUMNS = new String[] {"id", "title", "author", "price", "quantity"};
+
+    private BenchmarkData() {}
+
+    static Schema kuduSchema() {
+        return new Schema(
+                Arrays.asList(
+                        new ColumnSchema.ColumnSchemaBuilder("id", Type.INT32).key(true).build(),
+                        new ColumnSchema.ColumnSchemaBuilder("title", Type.STRING).build(),
+                        new ColumnSchema.ColumnSchemaBuilder("author", Type.STRING).build(),
+                        new ColumnSchema.ColumnSchemaBuilder("price", Type.DOUBLE)
+                                .nullable(true)
+                                .build(),
+                        new ColumnSchema.ColumnSchemaBuilder("quantity", Type.INT32)
+                                .nullable(true)
+                                .build()));
+    }
+
+    static ResolvedSchema resolvedSchema() {
+        return new ResolvedSchema(
+                Arrays.asList(
+                        Column.physical("id", DataTypes.INT().notNull()),
+                        Column.physical("title", DataTypes.STRING()),
+                        Column.physical("author", DataTypes.STRING()),
+                        Column.physical("price", DataTypes.DOUBLE()),
+                        Column.physical("quantity", DataTypes.INT())),
+                Collections.emptyList(),
+                UniqueConstraint.primaryKey("PK_id", Collections.singletonList("id")));
+    }
+
+    static KuduTable table() {
+        return BenchmarkTables.newTable(TABLE_NAME, kuduSchema());
+    }
+
+    /** Returns the field values of {@code count} records, one array per record. */
+    static Object[][] values(int count) {
+        Object[][] values = new Object[count][];
+        for (int i = 0; i < count; i++) {
+            boolean hasNulls = i % 4 == 3;
+            values[i] =
+                    new Object[] {
+                        i,
+                        "Title " + i,
+                        "Author " + (i % 64),
+                        hasNulls ? null : 10.0 + i % 100,
+                        hasNulls ? null : i % 1000
+                    };
+        }
+        return values;
+    }
+
+    static List<Row> rows(int count) {
+        List<Row> rows = new ArrayList<>(count);
+        for (Object[] value : values(count)) {
+            rows.add(Row.of(value));
+        }
+        return rows;
+    }
+
+    static List<Tuple5<Integer, String, String, Double, Integer>> tuples(int count) {
+        List<Tuple5<Integer, String, String, Double, Integer>> tuples = new ArrayList<>(count);
+        for (Object[] value : values(count)) {
+            tuples.add(
+                    Tuple5.of(
+                            (Integer) value[0],
+                            (String) value[1],
+                            (String) value[2],
+                            (Double) value[3],
+                            (Integer) value[4]));
+        }
+        return tuples;
+    }
+
+    static List<Book> books(int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (Object[] value : values(count)) {
+            Book book = new Book();
+            book.id = (Integer) value[0];
+            book.title = (String) value[1];
+            book.author = (String) value[2];
+            book.price = (Double) value[3];
+            book.quantity = (Integer) value[4];
+            books.add(book);
+        }
+        return books;
+    }
+
+    static List<RowData> rowData(int count) {
+        List<RowData> rows = new ArrayList<>(count);
+        for (Object[] value : values(count)) {
+            rows.add(
+                    GenericRowData.of(
+                            value[0],
+                            StringData.fromString((String) value[1]),
+                            StringData.fromString((String) value[2]),
+                            value[3],
+                            value[4]));
+        }
+        return rows;
+    }
+
+    /** POJO with a primitive key and boxed nullable fields. */
+    public static class Book {
+        public int id;
+        public String title;
+        public String author;
+        public Double price;
+        public Integer quantity;
+    }
+}
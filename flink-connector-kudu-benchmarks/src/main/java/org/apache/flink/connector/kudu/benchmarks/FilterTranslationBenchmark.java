@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.benchmarks;
+
+import org.apache.flink.connector.kudu.connector.KuduFilterInfo;
+import org.apache.flink.connector.kudu.table.utils.KuduTableUtils;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinition;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.types.DataType;
+
+import org.apache.kudu.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the translation of pushed down filters, first from Flink expressions to {@link
+ * KuduFilterInfo} and then to Kudu predicates. Every invocation translates one filter of each
+ * supported shape: a comparison, an equality, a null check and an {@code IN} list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterTranslationBenchmark {
+
+    private Schema schema;
+    private List<ResolvedExpression> expressions;
+    private List<KuduFilterInfo> filters;
+
+    @Setup
+    public void setup() {
+        schema = BenchmarkData.kuduSchema();
+
+        FieldReferenceExpression id = field("id", DataTypes.INT().notNull(), 0);
+        FieldReferenceExpression author = field("author", DataTypes.STRING(), 2);
+        FieldReferenceExpression price = field("price", DataTypes.DOUBLE(), 3);
+        FieldReferenceExpression quantity = field("quantity", DataTypes.INT(), 4);
+
+        List<ResolvedExpression> authors = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            authors.add(
+                    call(
+                            BuiltInFunctionDefinitions.EQUALS,
+                            author,
+                            new ValueLiteralExpression("Author " + i)));
+        }
+
+        expressions =
+                Arrays.asList(
+                        call(
+                                BuiltInFunctionDefinitions.GREATER_THAN,
+                                price,
+                                new ValueLiteralExpression(50.0)),
+                        call(BuiltInFunctionDefinitions.EQUALS, id, new ValueLiteralExpression(7)),
+                        call(BuiltInFunctionDefinitions.IS_NULL, quantity),
+                        CallExpression.permanent(
+                                BuiltInFunctionDefinitions.OR, authors, DataTypes.BOOLEAN()));
+
+        filters = new ArrayList<>(expressions.size());
+        for (ResolvedExpression expression : expressions) {
+            filters.add(
+                    KuduTableUtils.toKuduFilterInfo(expression)
+                            .orElseThrow(
+                                    () ->
+                                            new IllegalStateException(
+                                                    "Filter "
+                                                            + expression.asSummaryString()
+                                                            + " is not translated.")));
+        }
+    }
+
+    @Benchmark
+    public void toKuduFilterInfo(Blackhole blackhole) {
+        for (int i = 0; i < expressions.size(); i++) {
+            blackhole.consume(KuduTableUtils.toKuduFilterInfo(expressions.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void toPredicate(Blackhole blackhole) {
+        for (int i = 0; i < filters.size(); i++) {
+            blackhole.consume(filters.get(i).toPredicate(schema));
+        }
+    }
+
+    private static FieldReferenceExpression field(String name, DataType type, int index) {
+        return new FieldReferenceExpression(name, type, 0, index);
+    }
+
+    private static CallExpression call(
+            BuiltInFunctionDefinition function, ResolvedExpression... arguments) {
+        return CallExpression.permanent(function, Arrays.asList(arguments), DataTypes.BOOLEAN());
+    }
+}
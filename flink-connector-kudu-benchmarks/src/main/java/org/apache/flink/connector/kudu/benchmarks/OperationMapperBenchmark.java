@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.benchmarks;
+
+import org.apache.flink.api.java.tuple.Tuple5;
+import org.apache.flink.connector.kudu.connector.writer.AbstractSingleOperationMapper.KuduOperation;
+import org.apache.flink.connector.kudu.connector.writer.KuduOperationMapper;
+import org.apache.flink.connector.kudu.connector.writer.PojoOperationMapper;
+import org.apache.flink.connector.kudu.connector.writer.RowDataUpsertOperationMapper;
+import org.apache.flink.connector.kudu.connector.writer.RowOperationMapper;
+import org.apache.flink.connector.kudu.connector.writer.TupleOperationMapper;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.types.Row;
+
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast the operation mappers turn records into Kudu {@link Operation operations}. The
+ * operations are built against a table handle without a cluster, so the numbers cover record access
+ * and row encoding only. Every invocation maps a batch of {@value #BATCH_SIZE} records into a
+ * reused operation list, the same way the sink writers do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(OperationMapperBenchmark.BATCH_SIZE)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationMapperBenchmark {
+
+    static final int BATCH_SIZE = 1024;
+
+    private KuduTable table;
+    private List<Operation> operations;
+
+    private List<RowData> rowData;
+    private List<Row> rows;
+    private List<Tuple5<Integer, String, String, Double, Integer>> tuples;
+    private List<BenchmarkData.Book> books;
+
+    private RowDataUpsertOperationMapper rowDataMapper;
+    private RowOperationMapper rowMapper;
+    private TupleOperationMapper<Tuple5<Integer, String, String, Double, Integer>> tupleMapper;
+    private PojoOperationMapper<BenchmarkData.Book> pojoMapper;
+
+    @Setup
+    public void setup() {
+        table = BenchmarkData.table();
+        operations = new ArrayList<>(BATCH_SIZE);
+
+        rowData = BenchmarkData.rowData(BATCH_SIZE);
+        rows = BenchmarkData.rows(BATCH_SIZE);
+        tuples = BenchmarkData.tuples(BATCH_SIZE);
+        books = BenchmarkData.books(BATCH_SIZE);
+
+        rowDataMapper = new RowDataUpsertOperationMapper(BenchmarkData.resolvedSchema());
+        rowMapper = new RowOperationMapper(BenchmarkData.COLUMNS, KuduOperation.UPSERT);
+        tupleMapper = new TupleOperationMapper<>(BenchmarkData.COLUMNS, KuduOperation.UPSERT);
+        pojoMapper =
+                new PojoOperationMapper<>(
+                        BenchmarkData.Book.class, BenchmarkData.COLUMNS, KuduOperation.UPSERT);
+    }
+
+    @Benchmark
+    public void rowDataUpsertMapper(Blackhole blackhole) {
+        map(rowDataMapper, rowData, blackhole);
+    }
+
+    @Benchmark
+    public void rowMapper(Blackhole blackhole) {
+        map(rowMapper, rows, blackhole);
+    }
+
+    @Benchmark
+    public void tupleMapper(Blackhole blackhole) {
+        map(tupleMapper, tuples, blackhole);
+    }
+
+    @Benchmark
+    public void pojoMapper(Blackhole blackhole) {
+        map(pojoMapper, books, blackhole);
+    }
+
+    private <T> void map(KuduOperationMapper<T> mapper, List<T> records, Blackhole blackhole) {
+        for (int i = 0; i < records.size(); i++) {
+            mapper.appendOperations(records.get(i), table, operations);
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            blackhole.consume(operations.get(i));
+        }
+        operations.clear();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.benchmarks;
+
+import org.apache.flink.connector.kudu.connector.converter.RowResultColumnarBatchConverter;
+import org.apache.flink.connector.kudu.connector.converter.RowResultConverter;
+import org.apache.flink.connector.kudu.connector.converter.RowResultRowConverter;
+import org.apache.flink.connector.kudu.connector.converter.RowResultRowDataConverter;
+import org.apache.flink.table.data.columnar.ColumnarRowData;
+import org.apache.flink.table.data.columnar.vector.VectorizedColumnBatch;
+
+import org.apache.kudu.client.SyntheticRowResult;
+import org.apache.kudu.client.SyntheticRowResultIterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast the {@link RowResultConverter converters} turn scanned Kudu rows into Flink
+ * rows. Every invocation converts a batch of {@value #BATCH_SIZE} in-memory rows, walking them with
+ * a single moving {@code RowResult} like a scanner's row iterator does.
+ *
+ * <p>{@code columnarConverter} converts the same batch with the {@link
+ * RowResultColumnarBatchConverter} of the columnar source and emits its rows as one reused {@link
+ * ColumnarRowData} view, like the {@code KuduColumnarRecordEmitter} does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(RowResultConverterBenchmark.BATCH_SIZE)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowResultConverterBenchmark {
+
+    static final int BATCH_SIZE = 1024;
+
+    private SyntheticRowResult batch;
+
+    private RowResultRowDataConverter rowDataConverter;
+    private RowResultRowConverter rowConverter;
+
+    private SyntheticRowResultIterator iterator;
+    private RowResultColumnarBatchConverter columnarConverter;
+    private ColumnarRowData columnarRow;
+
+    @Setup
+    public void setup() {
+        batch =
+                new SyntheticRowResult(
+                        BenchmarkData.kuduSchema(), BenchmarkData.values(BATCH_SIZE));
+        rowDataConverter = new RowResultRowDataConverter();
+        rowConverter = new RowResultRowConverter();
+        iterator = new SyntheticRowResultIterator(batch);
+        columnarConverter = new RowResultColumnarBatchConverter();
+        columnarRow = new ColumnarRowData();
+    }
+
+    @Benchmark
+    public void rowDataConverter(Blackhole blackhole) {
+        convert(rowDataConverter, blackhole);
+    }
+
+    @Benchmark
+    public void rowConverter(Blackhole blackhole) {
+        convert(rowConverter, blackhole);
+    }
+
+    @Benchmark
+    public void columnarConverter(Blackhole blackhole) {
+        iterator.rewind();
+        VectorizedColumnBatch columns = columnarConverter.convert(iterator);
+        columnarRow.setVectorizedColumnBatch(columns);
+        for (int rowId = 0; rowId < columns.getNumRows(); rowId++) {
+            columnarRow.setRowId(rowId);
+            blackhole.consume(columnarRow);
+        }
+    }
+
+    private void convert(RowResultConverter<?> converter, Blackhole blackhole) {
+        for (int i = 0; i < batch.getRowCount(); i++) {
+            batch.advanceTo(i);
+            blackhole.consume(converter.convert(batch));
+        }
+    }
+}
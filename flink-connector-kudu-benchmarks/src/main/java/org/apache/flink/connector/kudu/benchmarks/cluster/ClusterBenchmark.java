@@ -0,0 +1,559 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.benchmarks.cluster;
+
+import org.apache.flink.api.connector.sink2.Committer;
+import org.apache.flink.api.connector.sink2.Sink;
+import org.apache.flink.api.connector.sink2.SinkWriter;
+import org.apache.flink.api.connector.sink2.TwoPhaseCommittingSink;
+import org.apache.flink.connector.kudu.benchmarks.cluster.ClusterBenchmarkOptions.Delivery;
+import org.apache.flink.connector.kudu.benchmarks.cluster.ClusterBenchmarkOptions.Phase;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.converter.RowResultRowDataConverter;
+import org.apache.flink.connector.kudu.connector.reader.KuduInputSplit;
+import org.apache.flink.connector.kudu.connector.reader.KuduReaderConfig;
+import org.apache.flink.connector.kudu.connector.writer.AbstractSingleOperationMapper.KuduOperation;
+import org.apache.flink.connector.kudu.connector.writer.RowOperationMapper;
+import org.apache.flink.connector.kudu.format.KuduRowDataInputFormat;
+import org.apache.flink.connector.kudu.sink.KuduCommittable;
+import org.apache.flink.connector.kudu.sink.KuduSink;
+import org.apache.flink.connector.kudu.sink.KuduSinkBuilder;
+import org.apache.flink.connector.kudu.sink.KuduTwoPhaseCommitSink;
+import org.apache.flink.connector.kudu.table.function.lookup.KuduLookupOptions;
+import org.apache.flink.connector.kudu.table.function.lookup.KuduRowDataLookupFunction;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.types.Row;
+import org.apache.flink.util.Collector;
+
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.Type;
+import org.apache.kudu.client.CreateTableOptions;
+import org.apache.kudu.client.KuduClient;
+import org.apache.kudu.test.cluster.MiniKuduCluster;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * End-to-end throughput harness of the Kudu sink, the input format and the lookup function. Starts
+ * a local {@link MiniKuduCluster}, or connects to the cluster given with {@code --masters}, and
+ * runs up to three phases against a single table:
+ *
+ * <ul>
+ *   <li>{@code sink}: parallel {@link KuduSink} writers upsert {@code --rows} rows, or with {@code
+ *       --delivery exactly-once} parallel {@link KuduTwoPhaseCommitSink} writers insert them and
+ *       commit a transaction every {@code --commit-interval} rows.
+ *   <li>{@code source}: parallel {@link KuduRowDataInputFormat} instances scan all tablets.
+ *   <li>{@code lookup}: parallel {@link KuduRowDataLookupFunction} instances look up {@code
+ *       --lookups} keys.
+ * </ul>
+ *
+ * <p>Every phase reports one line of JSON with the record rate, the p50/p99 latency of a single
+ * record (a sink write, the next record of a scan or a lookup) and the GC time spent during the
+ * phase. See {@link ClusterBenchmarkOptions} for all options.
+ *
+ * <p>The mini cluster is started with Kudu transactions enabled. It needs the Kudu binaries, either
+ * from a {@code kudu-binary} jar on the class path or from the directory given with the {@code
+ * kuduBinDir} system property.
+ */
+public final class ClusterBenchmark {
+
+    private static final String KEY_COLUMN = "id";
+    private static final int VALUE_POOL_SIZE = 1024;
+
+    private ClusterBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        ClusterBenchmarkOptions options = ClusterBenchmarkOptions.fromArgs(args);
+        MiniKuduCluster cluster = null;
+        String masters = options.masters;
+        if (masters == null) {
+            cluster =
+                    new MiniKuduCluster.MiniKuduClusterBuilder()
+                            .numMasterServers(1)
+                            .numTabletServers(options.tabletServers)
+                            .addMasterServerFlag("--unlock_experimental_flags")
+                            .addMasterServerFlag("--txn_manager_enabled=true")
+                            .addTabletServerFlag("--unlock_experimental_flags")
+                            .addTabletServerFlag("--enable_txn_system_client_init=true")
+                            .build();
+            masters = cluster.getMasterAddressesAsString();
+        }
+
+        PrintStream out =
+                options.output == null
+                        ? System.out
+                        : new PrintStream(
+                                Files.newOutputStream(
+                                        Paths.get(options.output),
+                                        StandardOpenOption.CREATE,
+                                        StandardOpenOption.APPEND),
+                                true,
+                                StandardCharsets.UTF_8.name());
+        try {
+            Map<String, Object> reportedOptions = options.toMap();
+            for (Phase phase : options.phases) {
+                out.println(runPhase(phase, options, masters).toJson(reportedOptions));
+            }
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+            if (options.dropTable) {
+                dropTable(masters, options.table);
+            }
+            if (cluster != null) {
+                cluster.close();
+            }
+        }
+    }
+
+    private static PhaseResult runPhase(
+            Phase phase, ClusterBenchmarkOptions options, String masters) throws Exception {
+        List<Subtask> subtasks = new ArrayList<>(options.parallelism);
+        switch (phase) {
+            case SINK:
+                for (int i = 0; i < options.parallelism; i++) {
+                    subtasks.add(new SinkSubtask(options, masters, i));
+                }
+                break;
+            case SOURCE:
+                subtasks.addAll(SourceSubtask.create(options, masters));
+                break;
+            case LOOKUP:
+                for (int i = 0; i < options.parallelism; i++) {
+                    subtasks.add(new LookupSubtask(options, masters, i));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown phase " + phase);
+        }
+        return run(phase, subtasks);
+    }
+
+    /**
+     * Opens all subtasks, runs them in parallel and closes them again. Only {@link Subtask#run} is
+     * measured.
+     */
+    private static PhaseResult run(Phase phase, List<Subtask> subtasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(subtasks.size());
+        try {
+            for (Subtask subtask : subtasks) {
+                subtask.open();
+            }
+
+            long gcCount = gcCount();
+            long gcMillis = gcMillis();
+            long start = System.nanoTime();
+
+            List<Future<Long>> futures = new ArrayList<>(subtasks.size());
+            for (Subtask subtask : subtasks) {
+                futures.add(executor.submit(subtask::run));
+            }
+            long records = 0;
+            for (Future<Long> future : futures) {
+                records += future.get();
+            }
+
+            long duration = System.nanoTime() - start;
+            LatencyRecorder[] recorders =
+                    subtasks.stream().map(s -> s.latencies).toArray(LatencyRecorder[]::new);
+            return new PhaseResult(
+                    phase,
+                    records,
+                    duration,
+                    LatencyRecorder.merge(recorders),
+                    gcCount() - gcCount,
+                    gcMillis() - gcMillis);
+        } finally {
+            executor.shutdownNow();
+            for (Subtask subtask : subtasks) {
+                subtask.close();
+            }
+        }
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private static String[] columnNames(ClusterBenchmarkOptions options) {
+        String[] names = new String[options.columns + 1];
+        names[0] = KEY_COLUMN;
+        for (int i = 0; i < options.columns; i++) {
+            names[i + 1] = "v" + i;
+        }
+        return names;
+    }
+
+    private static KuduTableInfo tableInfo(ClusterBenchmarkOptions options) {
+        return KuduTableInfo.forTable(options.table)
+                .createTableIfNotExists(
+                        () -> {
+                            List<ColumnSchema> columns = new ArrayList<>();
+                            columns.add(
+                                    new ColumnSchema.ColumnSchemaBuilder(KEY_COLUMN, Type.INT64)
+                                            .key(true)
+                                            .build());
+                            for (int i = 0; i < options.columns; i++) {
+                                columns.add(
+                                        new ColumnSchema.ColumnSchemaBuilder("v" + i, Type.STRING)
+                                                .nullable(true)
+                                                .build());
+                            }
+                            return columns;
+                        },
+                        () ->
+                                new CreateTableOptions()
+                                        .setNumReplicas(options.replicas)
+                                        .addHashPartitions(
+                                                Collections.singletonList(KEY_COLUMN),
+                                                options.buckets));
+    }
+
+    private static void dropTable(String masters, String table) throws Exception {
+        try (KuduClient client = new KuduClient.KuduClientBuilder(masters).build()) {
+            if (client.tableExists(table)) {
+                client.deleteTable(table);
+            }
+        }
+    }
+
+    /** One parallel instance of a phase. */
+    private abstract static class Subtask {
+
+        final LatencyRecorder latencies;
+
+        Subtask(long expectedRecords) {
+            this.latencies = new LatencyRecorder((int) Math.min(expectedRecords, 1 << 24));
+        }
+
+        abstract void open() throws Exception;
+
+        /** Processes all records of this subtask and returns their number. */
+        abstract long run() throws Exception;
+
+        abstract void close() throws Exception;
+    }
+
+    /**
+     * Upserts a share of the rows, or inserts them within transactions with exactly-once delivery.
+     * Without key skew every subtask writes distinct keys, so that the table ends up with exactly
+     * {@code --rows} rows.
+     */
+    private static final class SinkSubtask extends Subtask {
+
+        private final ClusterBenchmarkOptions options;
+        private final KuduSinkBuilder<Row> sinkBuilder;
+        private final int index;
+        private final long records;
+
+        private SinkWriter<Row> writer;
+        private Committer<KuduCommittable> committer;
+
+        SinkSubtask(ClusterBenchmarkOptions options, String masters, int index) {
+            super(share(options.rows, options.parallelism, index));
+            this.options = options;
+            this.index = index;
+            this.records = share(options.rows, options.parallelism, index);
+            this.sinkBuilder =
+                    KuduSink.<Row>builder()
+                            .setWriterConfig(options.writerConfig(masters))
+                            .setTableInfo(tableInfo(options))
+                            .setOperationMapper(
+                                    new RowOperationMapper(
+                                            columnNames(options),
+                                            options.delivery == Delivery.EXACTLY_ONCE
+                                                    ? KuduOperation.INSERT
+                                                    : KuduOperation.UPSERT));
+        }
+
+        @Override
+        void open() throws Exception {
+            if (options.delivery == Delivery.EXACTLY_ONCE) {
+                KuduTwoPhaseCommitSink<Row> sink = sinkBuilder.buildTwoPhaseCommitting();
+                writer = sink.createWriter((Sink.InitContext) null);
+                committer = sink.createCommitter();
+            } else {
+                writer = sinkBuilder.build().createWriter((Sink.InitContext) null);
+            }
+        }
+
+        @Override
+        long run() throws Exception {
+            String[] values = valuePool(options.valueSize, index);
+            SkewedKeys keys = new SkewedKeys(index, options.rows, options.keySkew);
+            Row row = new Row(options.columns + 1);
+            for (long i = 0; i < records; i++) {
+                long key = options.keySkew == 0 ? index + i * options.parallelism : keys.next();
+                row.setField(0, key);
+                for (int c = 0; c < options.columns; c++) {
+                    row.setField(c + 1, values[(int) ((key + c) % VALUE_POOL_SIZE)]);
+                }
+                long start = System.nanoTime();
+                writer.write(row, null);
+                latencies.record(System.nanoTime() - start);
+                if (committer != null && (i + 1) % options.commitInterval == 0) {
+                    commit();
+                }
+            }
+            writer.flush(true);
+            if (committer != null) {
+                commit();
+            }
+            return records;
+        }
+
+        /** Takes the place of a checkpoint: hands the transaction over and commits it. */
+        @SuppressWarnings("unchecked")
+        private void commit() throws Exception {
+            Collection<KuduCommittable> committables =
+                    ((TwoPhaseCommittingSink.PrecommittingSinkWriter<Row, KuduCommittable>) writer)
+                            .prepareCommit();
+            List<Committer.CommitRequest<KuduCommittable>> requests = new ArrayList<>();
+            for (KuduCommittable committable : committables) {
+                requests.add(new CommitRequest(committable));
+            }
+            committer.commit(requests);
+        }
+
+        @Override
+        void close() throws Exception {
+            try {
+                if (writer != null) {
+                    writer.close();
+                }
+            } finally {
+                if (committer != null) {
+                    committer.close();
+                }
+            }
+        }
+
+        private static long share(long total, int parallelism, int index) {
+            return total / parallelism + (index < total % parallelism ? 1 : 0);
+        }
+
+        private static String[] valuePool(int valueSize, long seed) {
+            Random random = new Random(seed);
+            char[] chars = new char[valueSize];
+            String[] values = new String[VALUE_POOL_SIZE];
+            for (int i = 0; i < values.length; i++) {
+                for (int c = 0; c < chars.length; c++) {
+                    chars[c] = (char) ('a' + random.nextInt(26));
+                }
+                values[i] = new String(chars);
+            }
+            return values;
+        }
+    }
+
+    /** Scans the splits assigned round-robin to this subtask. */
+    private static final class SourceSubtask extends Subtask {
+
+        private final KuduRowDataInputFormat format;
+        private final List<KuduInputSplit> splits;
+
+        private SourceSubtask(ClusterBenchmarkOptions options, KuduRowDataInputFormat format) {
+            super(options.rows / options.parallelism);
+            this.format = format;
+            this.splits = new ArrayList<>();
+        }
+
+        static List<SourceSubtask> create(ClusterBenchmarkOptions options, String masters)
+                throws Exception {
+            KuduReaderConfig readerConfig = KuduReaderConfig.Builder.setMasters(masters).build();
+            KuduTableInfo tableInfo = KuduTableInfo.forTable(options.table);
+            List<SourceSubtask> subtasks = new ArrayList<>(options.parallelism);
+            for (int i = 0; i < options.parallelism; i++) {
+                subtasks.add(
+                        new SourceSubtask(
+                                options,
+                                new KuduRowDataInputFormat(
+                                        readerConfig, new RowResultRowDataConverter(), tableInfo)));
+            }
+
+            KuduRowDataInputFormat planner = subtasks.get(0).format;
+            KuduInputSplit[] splits = planner.createInputSplits(options.parallelism);
+            for (int i = 0; i < splits.length; i++) {
+                subtasks.get(i % subtasks.size()).splits.add(splits[i]);
+            }
+            return subtasks;
+        }
+
+        @Override
+        void open() {}
+
+        @Override
+        long run() throws Exception {
+            long records = 0;
+            for (KuduInputSplit split : splits) {
+                format.open(split);
+                while (true) {
+                    long start = System.nanoTime();
+                    RowData row = format.nextRecord(null);
+                    if (row == null) {
+                        break;
+                    }
+                    latencies.record(System.nanoTime() - start);
+                    records++;
+                }
+                format.close();
+            }
+            return records;
+        }
+
+        @Override
+        void close() throws Exception {
+            format.closeInputFormat();
+        }
+    }
+
+    /** Looks up a share of the lookup keys, drawn with the configured key skew. */
+    private static final class LookupSubtask extends Subtask {
+
+        private final ClusterBenchmarkOptions options;
+        private final KuduRowDataLookupFunction function;
+        private final int index;
+        private final long lookups;
+
+        LookupSubtask(ClusterBenchmarkOptions options, String masters, int index) {
+            super(options.lookups / options.parallelism + 1);
+            this.options = options;
+            this.index = index;
+            this.lookups =
+                    options.lookups / options.parallelism
+                            + (index < options.lookups % options.parallelism ? 1 : 0);
+            this.function =
+                    KuduRowDataLookupFunction.Builder.options()
+                            .tableInfo(KuduTableInfo.forTable(options.table))
+                            .kuduReaderConfig(KuduReaderConfig.Builder.setMasters(masters).build())
+                            .keyNames(Collections.singletonList(KEY_COLUMN))
+                            .projectedFields(Arrays.asList(columnNames(options)))
+                            .kuduLookupOptions(
+                                    KuduLookupOptions.Builder.options()
+                                            .withCacheMaxSize(options.lookupCacheRows)
+                                            .withCacheExpireMs(
+                                                    options.lookupCacheRows < 0 ? -1 : 60_000L)
+                                            .withMaxRetryTimes(3)
+                                            .build())
+                            .build();
+        }
+
+        @Override
+        void open() {
+            function.open(new FunctionContext(null));
+            function.setCollector(
+                    new Collector<RowData>() {
+                        @Override
+                        public void collect(RowData record) {}
+
+                        @Override
+                        public void close() {}
+                    });
+        }
+
+        @Override
+        long run() {
+            SkewedKeys keys = new SkewedKeys(index, options.rows, options.keySkew);
+            for (long i = 0; i < lookups; i++) {
+                long key = keys.next();
+                long start = System.nanoTime();
+                function.eval(key);
+                latencies.record(System.nanoTime() - start);
+            }
+            return lookups;
+        }
+
+        @Override
+        void close() {
+            function.close();
+        }
+    }
+
+    /** Commit request that fails the benchmark instead of retrying. */
+    private static final class CommitRequest implements Committer.CommitRequest<KuduCommittable> {
+
+        private final KuduCommittable committable;
+
+        CommitRequest(KuduCommittable committable) {
+            this.committable = committable;
+        }
+
+        @Override
+        public KuduCommittable getCommittable() {
+            return committable;
+        }
+
+        @Override
+        public int getNumberOfRetries() {
+            return 0;
+        }
+
+        @Override
+        public void signalFailedWithKnownReason(Throwable t) {
+            throw new IllegalStateException("Failed to commit " + committable, t);
+        }
+
+        @Override
+        public void signalFailedWithUnknownReason(Throwable t) {
+            throw new IllegalStateException("Failed to commit " + committable, t);
+        }
+
+        @Override
+        public void retryLater() {
+            throw new IllegalStateException("Failed to commit " + committable);
+        }
+
+        @Override
+        public void updateAndRetryLater(KuduCommittable committable) {
+            retryLater();
+        }
+
+        @Override
+        public void signalAlreadyCommitted() {}
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.benchmarks.cluster;
+
+import org.apache.flink.api.java.utils.ParameterTool;
+import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+
+import org.apache.kudu.client.SessionConfiguration.FlushMode;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Command line options of the {@link ClusterBenchmark}:
+ *
+ * <ul>
+ *   <li>{@code --masters}: master addresses of an existing cluster, a mini cluster with {@code
+ *       --tablet-servers} tablet servers (3) is started otherwise.
+ *   <li>{@code --table}: table to use, a new table is created and dropped afterwards otherwise.
+ *   <li>{@code --replicas} (1), {@code --buckets} (6): replication and hash partitioning of a
+ *       created table.
+ *   <li>{@code --rows} (1000000), {@code --columns} (4), {@code --value-size} (32): number of
+ *       written rows, number of string columns next to the key and their length.
+ *   <li>{@code --key-skew} (0): skew of written and looked up keys, see {@link SkewedKeys}. Without
+ *       skew every row is written exactly once.
+ *   <li>{@code --parallelism} (4): number of parallel writers, readers and lookup functions.
+ *   <li>{@code --write-mode} (background): one of {@code sync}, {@code background}, {@code async}
+ *       and {@code adaptive}.
+ *   <li>{@code --buffer-size} (1000), {@code --flush-interval} (1000), {@code --in-flight-flushes}
+ *       (4): buffer settings of the writers.
+ *   <li>{@code --delivery} (at-least-once): {@code at-least-once} writes with the {@code KuduSink},
+ *       {@code exactly-once} inserts within Kudu transactions with the {@code
+ *       KuduTwoPhaseCommitSink}, which needs a cluster with transactions enabled and no key skew.
+ *   <li>{@code --commit-interval} (10000): rows a writer writes per transaction with {@code
+ *       exactly-once} delivery, standing in for a checkpoint interval.
+ *   <li>{@code --lookups} (10000), {@code --lookup-cache-rows} (-1, no cache): lookup phase.
+ *   <li>{@code --phases} (sink,source,lookup): phases to run.
+ *   <li>{@code --output}: file the results are appended to, standard out otherwise.
+ * </ul>
+ */
+final class ClusterBenchmarkOptions {
+
+    /** How the sink writers flush their operations. */
+    enum WriteMode {
+        /** {@code AUTO_FLUSH_SYNC}, every operation is a round trip. */
+        SYNC,
+        /** {@code AUTO_FLUSH_BACKGROUND}, the Kudu client flushes the buffer. */
+        BACKGROUND,
+        /** {@code MANUAL_FLUSH} sessions flushed without blocking by the async writer. */
+        ASYNC,
+        /** {@code MANUAL_FLUSH} with batch size and interval chosen by the adaptive flush. */
+        ADAPTIVE
+    }
+
+    /** Sink used by the sink phase. */
+    enum Delivery {
+        /** {@code KuduSink}, upserts applied as they arrive. */
+        AT_LEAST_ONCE,
+        /** {@code KuduTwoPhaseCommitSink}, inserts committed in one transaction per interval. */
+        EXACTLY_ONCE
+    }
+
+    /** Benchmark phases, run in declaration order. */
+    enum Phase {
+        SINK,
+        SOURCE,
+        LOOKUP
+    }
+
+    final String masters;
+    final String table;
+    final boolean dropTable;
+    final int tabletServers;
+    final int replicas;
+    final int buckets;
+    final long rows;
+    final int columns;
+    final int valueSize;
+    final double keySkew;
+    final int parallelism;
+    final WriteMode writeMode;
+    final int bufferSize;
+    final int flushInterval;
+    final int inFlightFlushes;
+    final Delivery delivery;
+    final long commitInterval;
+    final long lookups;
+    final long lookupCacheRows;
+    final List<Phase> phases;
+    final String output;
+
+    private ClusterBenchmarkOptions(ParameterTool params) {
+        this.masters = params.get("masters");
+        this.table = params.get("table", "cluster_benchmark_" + System.currentTimeMillis());
+        this.dropTable = !params.has("table");
+        this.tabletServers = params.getInt("tablet-servers", 3);
+        this.replicas = params.getInt("replicas", 1);
+        this.buckets = params.getInt("buckets", 6);
+        this.rows = params.getLong("rows", 1_000_000L);
+        this.columns = params.getInt("columns", 4);
+        this.valueSize = params.getInt("value-size", 32);
+        this.keySkew = params.getDouble("key-skew", 0.0);
+        this.parallelism = params.getInt("parallelism", 4);
+        this.writeMode =
+                WriteMode.valueOf(params.get("write-mode", "background").toUpperCase(Locale.ROOT));
+        this.bufferSize = params.getInt("buffer-size", 1000);
+        this.flushInterval = params.getInt("flush-interval", 1000);
+        this.inFlightFlushes = params.getInt("in-flight-flushes", 4);
+        this.delivery =
+                Delivery.valueOf(
+                        params.get("delivery", "at-least-once")
+                                .replace('-', '_')
+                                .toUpperCase(Locale.ROOT));
+        this.commitInterval = params.getLong("commit-interval", 10_000L);
+        this.lookups = params.getLong("lookups", 10_000L);
+        this.lookupCacheRows = params.getLong("lookup-cache-rows", -1L);
+        this.phases = parsePhases(params.get("phases", "sink,source,lookup"));
+        this.output = params.get("output");
+
+        checkArgument(tabletServers > 0, "tablet-servers must be positive");
+        checkArgument(replicas > 0, "replicas must be positive");
+        checkArgument(buckets > 1, "buckets must be at least 2");
+        checkArgument(rows > 0, "rows must be positive");
+        checkArgument(columns >= 0, "columns cannot be negative");
+        checkArgument(valueSize >= 0, "value-size cannot be negative");
+        checkArgument(keySkew >= 0, "key-skew cannot be negative");
+        checkArgument(parallelism > 0, "parallelism must be positive");
+        checkArgument(bufferSize > 0, "buffer-size must be positive");
+        checkArgument(commitInterval > 0, "commit-interval must be positive");
+        checkArgument(
+                delivery == Delivery.AT_LEAST_ONCE || keySkew == 0,
+                "exactly-once delivery inserts every key once and cannot be combined with key-skew");
+        checkArgument(lookups >= 0, "lookups cannot be negative");
+    }
+
+    static ClusterBenchmarkOptions fromArgs(String[] args) {
+        return new ClusterBenchmarkOptions(ParameterTool.fromArgs(args));
+    }
+
+    private static List<Phase> parsePhases(String phases) {
+        return Arrays.asList(
+                Arrays.stream(phases.split(","))
+                        .map(String::trim)
+                        .map(phase -> Phase.valueOf(phase.toUpperCase(Locale.ROOT)))
+                        .sorted()
+                        .distinct()
+                        .toArray(Phase[]::new));
+    }
+
+    KuduWriterConfig writerConfig(String masters) {
+        KuduWriterConfig.Builder builder =
+                KuduWriterConfig.Builder.setMasters(masters)
+                        .setMaxBufferSize(bufferSize)
+                        .setFlushInterval(flushInterval);
+        switch (writeMode) {
+            case SYNC:
+                return builder.setConsistency(FlushMode.AUTO_FLUSH_SYNC).build();
+            case BACKGROUND:
+                return builder.setConsistency(FlushMode.AUTO_FLUSH_BACKGROUND).build();
+            case ASYNC:
+                return builder.setAsyncWrites(true).setMaxInFlightFlushes(inFlightFlushes).build();
+            case ADAPTIVE:
+                return builder.setAdaptiveFlush(true)
+                        .setMinBufferSize(Math.min(bufferSize, 100))
+                        .build();
+            default:
+                throw new IllegalArgumentException("Unknown write mode " + writeMode);
+        }
+    }
+
+    /** Returns the options in the form they are reported with every result. */
+    Map<String, Object> toMap() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("cluster", masters == null ? "mini" : "external");
+        values.put("table", table);
+        values.put("tabletServers", tabletServers);
+        values.put("replicas", replicas);
+        values.put("buckets", buckets);
+        values.put("rows", rows);
+        values.put("columns", columns);
+        values.put("valueSize", valueSize);
+        values.put("keySkew", keySkew);
+        values.put("parallelism", parallelism);
+        values.put("writeMode", writeMode.name().toLowerCase(Locale.ROOT));
+        values.put("bufferSize", bufferSize);
+        values.put("flushInterval", flushInterval);
+        values.put("inFlightFlushes", inFlightFlushes);
+        values.put("delivery", delivery.name().toLowerCase(Locale.ROOT).replace('_', '-'));
+        values.put("commitInterval", commitInterval);
+        values.put("lookups", lookups);
+        values.put("lookupCacheRows", lookupCacheRows);
+        return values;
+    }
+}
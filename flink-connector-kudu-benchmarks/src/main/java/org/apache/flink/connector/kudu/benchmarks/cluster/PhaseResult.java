@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.benchmarks.cluster;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/** Result of one benchmark phase, reported as a single line of JSON. */
+final class PhaseResult {
+
+    private final ClusterBenchmarkOptions.Phase phase;
+    private final long records;
+    private final long durationNanos;
+    private final long[] sortedLatencies;
+    private final long gcCount;
+    private final long gcMillis;
+
+    PhaseResult(
+            ClusterBenchmarkOptions.Phase phase,
+            long records,
+            long durationNanos,
+            long[] sortedLatencies,
+            long gcCount,
+            long gcMillis) {
+        this.phase = phase;
+        this.records = records;
+        this.durationNanos = durationNanos;
+        this.sortedLatencies = sortedLatencies;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+    }
+
+    double getRecordsPerSecond() {
+        return durationNanos == 0 ? 0 : records * 1_000_000_000.0 / durationNanos;
+    }
+
+    String toJson(Map<String, Object> options) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("phase", phase.name().toLowerCase(Locale.ROOT));
+        values.put("records", records);
+        values.put("durationMillis", durationNanos / 1_000_000);
+        values.put("recordsPerSecond", Math.round(getRecordsPerSecond()));
+        values.put("latencyP50Micros", LatencyRecorder.percentile(sortedLatencies, 50) / 1000);
+        values.put("latencyP99Micros", LatencyRecorder.percentile(sortedLatencies, 99) / 1000);
+        values.put("latencyMaxMicros", LatencyRecorder.percentile(sortedLatencies, 100) / 1000);
+        values.put("gcCount", gcCount);
+        values.put("gcMillis", gcMillis);
+
+        StringBuilder json = new StringBuilder();
+        appendObject(json, values);
+        json.setLength(json.length() - 1);
+        json.append(",\"options\":");
+        appendObject(json, options);
+        return json.append('}').toString();
+    }
+
+    private static void appendObject(StringBuilder json, Map<String, Object> values) {
+        json.append('{');
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (json.charAt(json.length() - 1) != '{') {
+                json.append(',');
+            }
+            appendString(json, entry.getKey());
+            json.append(':');
+            Object value = entry.getValue();
+            if (value instanceof Number || value instanceof Boolean) {
+                json.append(value);
+            } else {
+                appendString(json, String.valueOf(value));
+            }
+        }
+        json.append('}');
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\');
+            }
+            json.append(c);
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.benchmarks.cluster;
+
+import java.util.Random;
+
+/**
+ * Draws keys from {@code [0, keySpace)}. A skew of {@code 0} draws uniformly, larger values
+ * concentrate the keys on the low end of the key space: with skew {@code s} a key is drawn as
+ * {@code keySpace * u^(1 + s)} for a uniform {@code u}. Skewed keys lead to repeated upserts of the
+ * same rows in the sink phase and to hot keys in the lookup phase.
+ */
+final class SkewedKeys {
+
+    private final Random random;
+    private final long keySpace;
+    private final double exponent;
+
+    SkewedKeys(long seed, long keySpace, double skew) {
+        this.random = new Random(seed);
+        this.keySpace = keySpace;
+        this.exponent = 1.0 + skew;
+    }
+
+    long next() {
+        double u = random.nextDouble();
+        return Math.min(keySpace - 1, (long) (keySpace * Math.pow(u, exponent)));
+    }
+}
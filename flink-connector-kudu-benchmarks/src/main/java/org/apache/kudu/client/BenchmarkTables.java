@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kudu.client;
+
+import org.apache.kudu.Schema;
+
+import java.util.Collections;
+
+/**
+ * Creates {@link KuduTable} handles for benchmarks without a running cluster. The table has no
+ * client and a single unpartitioned range, it can only be used to build operations that are never
+ * applied to a session.
+ *
+ * <p>Lives in the Kudu client package because the {@link KuduTable} constructor is not public.
+ */
+public final class BenchmarkTables {
+
+    private BenchmarkTables() {}
+
+    public static KuduTable newTable(String name, Schema schema) {
+        PartitionSchema partitionSchema =
+                new PartitionSchema(
+                        new PartitionSchema.RangeSchema(Collections.emptyList()),
+                        Collections.emptyList(),
+                        schema);
+        return new KuduTable(
+                null, name, name, schema, partitionSchema, 1, Collections.emptyMap(), null, null);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kudu.client;
+
+import org.apache.kudu.Schema;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+
+/**
+ * {@link RowResult} over rows held in memory, used to benchmark the row converters without a
+ * scanner. Values are stored with the Java type the typed getters return, {@code null} marks a null
+ * cell. {@link #advanceTo(int)} moves the result to another row just like a scanner's row iterator
+ * does.
+ *
+ * <p>Lives in the Kudu client package because the {@link RowResult} constructor is not public.
+ */
+public final class SyntheticRowResult extends RowResult {
+
+    private final Object[][] rows;
+
+    public SyntheticRowResult(Schema schema, Object[][] rows) {
+        super(schema, 0);
+        this.rows = rows;
+    }
+
+    public int getRowCount() {
+        return rows.length;
+    }
+
+    public void advanceTo(int row) {
+        advancePointerTo(row);
+    }
+
+    private Object value(int columnIndex) {
+        checkValidColumn(columnIndex);
+        checkNull(columnIndex);
+        return rows[index][columnIndex];
+    }
+
+    @Override
+    public int getInt(int columnIndex) {
+        return (Integer) value(columnIndex);
+    }
+
+    @Override
+    public short getShort(int columnIndex) {
+        return (Short) value(columnIndex);
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) {
+        return (Boolean) value(columnIndex);
+    }
+
+    @Override
+    public byte getByte(int columnIndex) {
+        return (Byte) value(columnIndex);
+    }
+
+    @Override
+    public long getLong(int columnIndex) {
+        return (Long) value(columnIndex);
+    }
+
+    @Override
+    public float getFloat(int columnIndex) {
+        return (Float) value(columnIndex);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) {
+        return (Double) value(columnIndex);
+    }
+
+    @Override
+    public BigDecimal getDecimal(int columnIndex) {
+        return (BigDecimal) value(columnIndex);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) {
+        return (Timestamp) value(columnIndex);
+    }
+
+    @Override
+    protected String getVarLengthData(int columnIndex) {
+        return (String) value(columnIndex);
+    }
+
+    @Override
+    public byte[] getBinaryCopy(int columnIndex) {
+        return ((byte[]) value(columnIndex)).clone();
+    }
+
+    @Override
+    public ByteBuffer getBinary(int columnIndex) {
+        return ByteBuffer.wrap((byte[]) value(columnIndex));
+    }
+
+    @Override
+    public boolean isNull(int columnIndex) {
+        checkValidColumn(columnIndex);
+        return rows[index][columnIndex] == null;
+    }
+}
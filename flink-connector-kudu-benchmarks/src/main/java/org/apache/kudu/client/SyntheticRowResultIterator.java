@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.kudu.client;
+
+/**
+ * {@link RowResultIterator} over the rows of a {@link SyntheticRowResult}, used to benchmark the
+ * batch converters without a scanner. {@link #rewind()} starts the iteration over, so one iterator
+ * can be converted again and again.
+ *
+ * <p>Lives in the Kudu client package because the {@link RowResultIterator} constructor is not
+ * public.
+ */
+public final class SyntheticRowResultIterator extends RowResultIterator {
+
+    private final SyntheticRowResult rows;
+
+    public SyntheticRowResultIterator(SyntheticRowResult rows) {
+        super(0, null, rows.getColumnProjection(), rows.getRowCount());
+        this.rows = rows;
+    }
+
+    public void rewind() {
+        currentRow = 0;
+    }
+
+    @Override
+    public RowResult next() {
+        rows.advanceTo(currentRow++);
+        return rows;
+    }
+}
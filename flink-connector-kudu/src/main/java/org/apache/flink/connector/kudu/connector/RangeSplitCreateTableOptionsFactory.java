@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import org.apache.kudu.Schema;
+import org.apache.kudu.client.CreateTableOptions;
+import org.apache.kudu.client.PartialRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * {@link CreateTableOptionsFactory} that range partitions a new table on the given columns, with
+ * split points chosen from a sample of the keys that will be written. Each split point is the
+ * quantile of the sorted sample, so the resulting tablets receive about the same number of rows.
+ *
+ * <p>Key values must have the Java types that {@link PartialRow#addObject(String, Object)} expects
+ * for the column types, e.g. {@code Long} for {@code INT64} and {@code byte[]} for {@code BINARY}
+ * columns, and must be serializable.
+ */
+@PublicEvolving
+public class RangeSplitCreateTableOptionsFactory implements CreateTableOptionsFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Comparator<Object[]> KEY_COMPARATOR =
+            (left, right) -> {
+                for (int i = 0; i < Math.min(left.length, right.length); i++) {
+                    int result = compareValues(left[i], right[i]);
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+                return Integer.compare(left.length, right.length);
+            };
+
+    private final ColumnSchemasFactory schemasFactory;
+    private final List<String> rangeColumns;
+    private final List<Object[]> splitKeys;
+    private final int replicas;
+
+    public RangeSplitCreateTableOptionsFactory(
+            ColumnSchemasFactory schemasFactory,
+            List<String> rangeColumns,
+            List<Object[]> splitKeys,
+            int replicas) {
+        this.schemasFactory = checkNotNull(schemasFactory);
+        this.rangeColumns = new ArrayList<>(checkNotNull(rangeColumns));
+        this.splitKeys = new ArrayList<>(checkNotNull(splitKeys));
+        this.replicas = replicas;
+        checkArgument(!rangeColumns.isEmpty(), "Range partition columns must be provided.");
+        checkArgument(replicas > 0, "replicas must be positive");
+        for (Object[] key : splitKeys) {
+            checkArgument(
+                    key.length == rangeColumns.size(),
+                    "Split key %s does not match the range partition columns %s.",
+                    Arrays.toString(key),
+                    rangeColumns);
+        }
+    }
+
+    /**
+     * Creates a factory with the split points that divide the sampled keys into {@code numTablets}
+     * equally sized ranges.
+     *
+     * @param schemasFactory columns of the table
+     * @param rangeColumns columns of the range partition key, usually the primary key columns
+     * @param sampledKeys sampled values of the range columns, in the order of {@code rangeColumns}
+     * @param numTablets number of range partitions to create
+     * @param replicas number of replicas of each tablet
+     */
+    public static RangeSplitCreateTableOptionsFactory fromSamples(
+            ColumnSchemasFactory schemasFactory,
+            List<String> rangeColumns,
+            List<Object[]> sampledKeys,
+            int numTablets,
+            int replicas) {
+        return new RangeSplitCreateTableOptionsFactory(
+                schemasFactory, rangeColumns, computeSplitKeys(sampledKeys, numTablets), replicas);
+    }
+
+    /**
+     * Returns up to {@code numTablets - 1} split points of the sampled keys. Fewer split points are
+     * returned when the sample is smaller than {@code numTablets} or has many duplicate keys.
+     */
+    public static List<Object[]> computeSplitKeys(List<Object[]> sampledKeys, int numTablets) {
+        checkArgument(numTablets > 0, "numTablets must be positive");
+        List<Object[]> sorted = new ArrayList<>(sampledKeys);
+        sorted.sort(KEY_COMPARATOR);
+
+        List<Object[]> splits = new ArrayList<>();
+        for (int i = 1; i < numTablets; i++) {
+            int index = (int) ((long) i * sorted.size() / numTablets);
+            if (index == 0) {
+                continue;
+            }
+            Object[] split = sorted.get(index);
+            if (splits.isEmpty()
+                    || KEY_COMPARATOR.compare(splits.get(splits.size() - 1), split) < 0) {
+                splits.add(split);
+            }
+        }
+        return splits;
+    }
+
+    public List<Object[]> getSplitKeys() {
+        return splitKeys;
+    }
+
+    @Override
+    public CreateTableOptions getCreateTableOptions() {
+        CreateTableOptions options =
+                new CreateTableOptions()
+                        .setNumReplicas(replicas)
+                        .setRangePartitionColumns(rangeColumns);
+        Schema schema = new Schema(schemasFactory.getColumnSchemas());
+        for (Object[] key : splitKeys) {
+            PartialRow row = schema.newPartialRow();
+            for (int i = 0; i < key.length; i++) {
+                row.addObject(rangeColumns.get(i), key[i]);
+            }
+            options.addSplitRow(row);
+        }
+        return options;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == null ? (right == null ? 0 : -1) : 1;
+        }
+        if (left instanceof byte[]) {
+            // kudu orders binary keys by their unsigned bytes
+            return Arrays.compareUnsigned((byte[]) left, (byte[]) right);
+        }
+        return ((Comparable) left).compareTo(right);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.client;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+
+import org.apache.kudu.client.AsyncKuduClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Process-wide registry of Kudu clients. Sources, sinks and lookup functions running in the same
+ * TaskManager share a single {@link AsyncKuduClient} per set of master addresses and client
+ * options, together with its event loop, master connections and tablet location cache.
+ *
+ * <p>Clients are reference counted: every {@link #acquire} must be paired with a {@link
+ * SharedKuduClient#close()}, and the underlying client is shut down once the last user released it.
+ * The registry is scoped to the class loader of the connector, i.e. clients are shared per job when
+ * the connector is part of the user jar and across jobs when it is in the Flink lib folder.
+ */
+@Internal
+public final class KuduClientRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KuduClientRegistry.class);
+
+    /** Worker count that keeps the default of the Kudu client (twice the number of cores). */
+    public static final int DEFAULT_WORKER_COUNT = 0;
+
+    private static final Map<ClientKey, ClientEntry> CLIENTS = new HashMap<>();
+
+    private KuduClientRegistry() {}
+
+    /** Acquires the shared client for the given masters using the default worker count. */
+    public static SharedKuduClient acquire(String masters) {
+        return acquire(masters, DEFAULT_WORKER_COUNT);
+    }
+
+    /**
+     * Acquires the shared client for the given masters and worker count, creating it if this is the
+     * first user.
+     *
+     * @param masters comma separated Kudu master addresses
+     * @param workerCount number of Netty worker threads, or {@link #DEFAULT_WORKER_COUNT}
+     */
+    public static SharedKuduClient acquire(String masters, int workerCount) {
+        checkNotNull(masters, "Kudu masters cannot be null");
+        checkArgument(workerCount >= 0, "Kudu client worker count cannot be negative");
+
+        ClientKey key = new ClientKey(masters, workerCount);
+        synchronized (CLIENTS) {
+            ClientEntry entry = CLIENTS.get(key);
+            if (entry == null) {
+                AsyncKuduClient.AsyncKuduClientBuilder builder =
+                        new AsyncKuduClient.AsyncKuduClientBuilder(masters);
+                if (workerCount != DEFAULT_WORKER_COUNT) {
+                    builder.workerCount(workerCount);
+                }
+                entry = new ClientEntry(builder.build());
+                CLIENTS.put(key, entry);
+                LOG.debug("Created shared Kudu client for {}", key);
+            }
+            entry.references++;
+            return new SharedKuduClient(key, entry.client);
+        }
+    }
+
+    static void release(ClientKey key, AsyncKuduClient client) {
+        synchronized (CLIENTS) {
+            ClientEntry entry = CLIENTS.get(key);
+            if (entry == null || entry.client != client || --entry.references > 0) {
+                return;
+            }
+            CLIENTS.remove(key);
+        }
+
+        LOG.debug("Closing shared Kudu client for {}", key);
+        try {
+            client.close();
+        } catch (Exception e) {
+            LOG.error("Error while closing client.", e);
+        }
+    }
+
+    @VisibleForTesting
+    static int getReferenceCount(String masters, int workerCount) {
+        synchronized (CLIENTS) {
+            ClientEntry entry = CLIENTS.get(new ClientKey(masters, workerCount));
+            return entry == null ? 0 : entry.references;
+        }
+    }
+
+    private static final class ClientEntry {
+        private final AsyncKuduClient client;
+        private int references;
+
+        private ClientEntry(AsyncKuduClient client) {
+            this.client = client;
+        }
+    }
+
+    /** Identifies clients that can be shared. */
+    static final class ClientKey {
+        private final String masters;
+        private final int workerCount;
+
+        private ClientKey(String masters, int workerCount) {
+            this.masters = masters;
+            this.workerCount = workerCount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ClientKey that = (ClientKey) o;
+            return workerCount == that.workerCount && masters.equals(that.masters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(masters, workerCount);
+        }
+
+        @Override
+        public String toString() {
+            return "masters=" + masters + ", workerCount=" + workerCount;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.client;
+
+import org.apache.flink.annotation.Internal;
+
+import org.apache.kudu.client.AsyncKuduClient;
+import org.apache.kudu.client.KuduClient;
+
+/**
+ * Reference to a client of the {@link KuduClientRegistry}. The client must not be closed directly,
+ * closing this reference releases it instead. Closing a reference more than once has no effect.
+ */
+@Internal
+public final class SharedKuduClient implements AutoCloseable {
+
+    private final KuduClientRegistry.ClientKey key;
+    private final AsyncKuduClient client;
+    private boolean released;
+
+    SharedKuduClient(KuduClientRegistry.ClientKey key, AsyncKuduClient client) {
+        this.key = key;
+        this.client = client;
+    }
+
+    public KuduClient getClient() {
+        return client.syncClient();
+    }
+
+    public AsyncKuduClient getAsyncClient() {
+        return client;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!released) {
+            released = true;
+            KuduClientRegistry.release(key, client);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.converter;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.binary.BinaryStringData;
+import org.apache.flink.table.data.writer.BinaryRowWriter;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.utils.LogicalTypeChecks;
+
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.Schema;
+import org.apache.kudu.client.RowResult;
+
+import javax.annotation.Nullable;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Transforms a Kudu RowResult object into a Flink {@link BinaryRowData}, written field by field
+ * with a {@link BinaryRowWriter}. Rows in this format are serialized by the {@code
+ * RowDataSerializer} of the produced type as they are, instead of being converted into binary rows
+ * again at the first exchange or state access.
+ *
+ * <p>The layout of the binary rows is the one of the {@code RowDataSerializer}, the compact or
+ * non-compact representation of timestamps and decimals follows the precisions of the produced row
+ * type, which must have one field per column of the scan projection. Like the {@link
+ * RowResultRowDataConverter}, the conversion is compiled per projection, timestamps are converted
+ * to the local date time of the default time zone, and instances are not thread-safe. With {@link
+ * #convert(RowResult, RowData)} the row returned by the previous call is written again.
+ */
+@PublicEvolving
+public class RowResultBinaryRowDataConverter implements RowResultConverter<RowData> {
+
+    private final RowType producedType;
+
+    @Nullable private transient Schema compiledProjection;
+    private transient FieldWriter[] fieldWriters;
+    private transient boolean[] nullable;
+
+    @Nullable private transient BinaryRowData reuseRow;
+    private transient BinaryRowWriter rowWriter;
+
+    public RowResultBinaryRowDataConverter(RowType producedType) {
+        this.producedType = checkNotNull(producedType);
+    }
+
+    @Override
+    public RowData convert(RowResult row) {
+        return convert(row, null);
+    }
+
+    @Override
+    public RowData convert(RowResult row, @Nullable RowData reuse) {
+        Schema projection = row.getColumnProjection();
+        if (projection != compiledProjection) {
+            compile(projection);
+        }
+        if (reuse == null || reuse != reuseRow) {
+            reuseRow = new BinaryRowData(fieldWriters.length);
+            rowWriter = new BinaryRowWriter(reuseRow);
+        }
+        rowWriter.reset();
+        for (int pos = 0; pos < fieldWriters.length; pos++) {
+            if (nullable[pos] && row.isNull(pos)) {
+                rowWriter.setNullAt(pos);
+            } else {
+                fieldWriters[pos].write(row, pos, rowWriter);
+            }
+        }
+        rowWriter.complete();
+        return reuseRow;
+    }
+
+    private void compile(Schema projection) {
+        List<ColumnSchema> columns = projection.getColumns();
+        checkArgument(
+                columns.size() == producedType.getFieldCount(),
+                "The produced type %s does not match the %s columns of the scan projection.",
+                producedType,
+                columns.size());
+        FieldWriter[] writers = new FieldWriter[columns.size()];
+        boolean[] nullableColumns = new boolean[columns.size()];
+        for (int pos = 0; pos < columns.size(); pos++) {
+            writers[pos] = createFieldWriter(columns.get(pos), producedType.getTypeAt(pos));
+            nullableColumns[pos] = columns.get(pos).isNullable();
+        }
+        this.fieldWriters = writers;
+        this.nullable = nullableColumns;
+        this.compiledProjection = projection;
+        this.reuseRow = null;
+    }
+
+    private static FieldWriter createFieldWriter(ColumnSchema column, LogicalType fieldType) {
+        switch (column.getType()) {
+            case DECIMAL:
+                int precision = LogicalTypeChecks.getPrecision(fieldType);
+                int scale = LogicalTypeChecks.getScale(fieldType);
+                return (row, pos, writer) -> {
+                    BigDecimal value = row.getDecimal(pos);
+                    DecimalData decimal = DecimalData.fromBigDecimal(value, precision, scale);
+                    if (decimal == null) {
+                        // does not fit into the produced type, like in a cast
+                        writer.setNullAt(pos);
+                    } else {
+                        writer.writeDecimal(pos, decimal, precision);
+                    }
+                };
+            case UNIXTIME_MICROS:
+                int timestampPrecision = LogicalTypeChecks.getPrecision(fieldType);
+                TimeZone timeZone = TimeZone.getDefault();
+                if (TimestampData.isCompact(timestampPrecision)) {
+                    // compact timestamps are stored as their milliseconds only
+                    return (row, pos, writer) -> {
+                        long epochMillis = Math.floorDiv(row.getLong(pos), 1000);
+                        writer.writeLong(pos, epochMillis + timeZone.getOffset(epochMillis));
+                    };
+                }
+                return (row, pos, writer) -> {
+                    long epochMicros = row.getLong(pos);
+                    long epochMillis = Math.floorDiv(epochMicros, 1000);
+                    writer.writeTimestamp(
+                            pos,
+                            TimestampData.fromEpochMillis(
+                                    epochMillis + timeZone.getOffset(epochMillis),
+                                    (int) Math.floorMod(epochMicros, 1000) * 1000),
+                            timestampPrecision);
+                };
+            case DOUBLE:
+                return (row, pos, writer) -> writer.writeDouble(pos, row.getDouble(pos));
+            case STRING:
+                return (row, pos, writer) ->
+                        writer.writeString(pos, StringData.fromString(row.getString(pos)));
+            case BINARY:
+                return (row, pos, writer) -> {
+                    ByteBuffer buffer = row.getBinary(pos);
+                    if (buffer.hasArray()) {
+                        // strings and binaries share the same layout in a binary row, wrapping
+                        // the buffer of the row result avoids copying the value twice
+                        writer.writeString(
+                                pos,
+                                BinaryStringData.fromBytes(
+                                        buffer.array(),
+                                        buffer.arrayOffset() + buffer.position(),
+                                        buffer.remaining()));
+                    } else {
+                        writer.writeBinary(pos, row.getBinaryCopy(pos));
+                    }
+                };
+            case FLOAT:
+                return (row, pos, writer) -> writer.writeFloat(pos, row.getFloat(pos));
+            case INT64:
+                return (row, pos, writer) -> writer.writeLong(pos, row.getLong(pos));
+            case INT32:
+                return (row, pos, writer) -> writer.writeInt(pos, row.getInt(pos));
+            case INT16:
+                return (row, pos, writer) -> writer.writeShort(pos, row.getShort(pos));
+            case INT8:
+                return (row, pos, writer) -> writer.writeByte(pos, row.getByte(pos));
+            case BOOL:
+                return (row, pos, writer) -> writer.writeBoolean(pos, row.getBoolean(pos));
+            default:
+                throw new IllegalArgumentException(
+                        "columnName:"
+                                + column.getName()
+                                + ",type:"
+                                + column.getType().getName()
+                                + "not support!");
+        }
+    }
+
+    /** Writes a field of a row into the binary row. */
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(RowResult row, int pos, BinaryRowWriter writer);
+    }
+}
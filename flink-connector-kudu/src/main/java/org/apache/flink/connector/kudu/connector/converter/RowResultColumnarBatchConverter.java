@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.converter;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.columnar.vector.ColumnVector;
+import org.apache.flink.table.data.columnar.vector.DecimalColumnVector;
+import org.apache.flink.table.data.columnar.vector.VectorizedColumnBatch;
+import org.apache.flink.table.data.columnar.vector.heap.AbstractHeapVector;
+import org.apache.flink.table.data.columnar.vector.heap.HeapBooleanVector;
+import org.apache.flink.table.data.columnar.vector.heap.HeapByteVector;
+import org.apache.flink.table.data.columnar.vector.heap.HeapBytesVector;
+import org.apache.flink.table.data.columnar.vector.heap.HeapDoubleVector;
+import org.apache.flink.table.data.columnar.vector.heap.HeapFloatVector;
+import org.apache.flink.table.data.columnar.vector.heap.HeapIntVector;
+import org.apache.flink.table.data.columnar.vector.heap.HeapLongVector;
+import org.apache.flink.table.data.columnar.vector.heap.HeapShortVector;
+import org.apache.flink.table.data.columnar.vector.heap.HeapTimestampVector;
+
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.ColumnTypeAttributes;
+import org.apache.kudu.Schema;
+import org.apache.kudu.client.RowResult;
+import org.apache.kudu.client.RowResultIterator;
+
+import javax.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Transforms a batch of Kudu rows into a Flink {@link VectorizedColumnBatch}, one heap column
+ * vector per column of the scan projection.
+ *
+ * <p>The vectors and the per column writers are created once for the projection, which is taken
+ * from the first converted row, and are reused for all following batches. Vectors only grow when a
+ * batch has more rows than any batch before. The returned batch is therefore only valid until the
+ * next call of {@link #convert}.
+ */
+@Internal
+public class RowResultColumnarBatchConverter {
+
+    @Nullable private Schema projection;
+    private FieldWriter[] writers;
+    private boolean[] nullable;
+    private AbstractHeapVector[] vectors;
+    private VectorizedColumnBatch batch;
+    private int capacity;
+
+    public RowResultColumnarBatchConverter() {}
+
+    @VisibleForTesting
+    public RowResultColumnarBatchConverter(Schema projection) {
+        this.projection = projection;
+    }
+
+    /**
+     * Converts the remaining rows of the iterator.
+     *
+     * @return the batch holding the rows, or {@code null} if the iterator has no rows
+     */
+    @Nullable
+    public VectorizedColumnBatch convert(RowResultIterator rows) {
+        int rowId = 0;
+        while (rows.hasNext()) {
+            RowResult row = rows.next();
+            if (rowId == 0) {
+                prepare(row, rows.getNumRows());
+            }
+            for (int column = 0; column < writers.length; column++) {
+                if (nullable[column] && row.isNull(column)) {
+                    vectors[column].setNullAt(rowId);
+                } else {
+                    writers[column].write(row, column, vectors[column], rowId);
+                }
+            }
+            rowId++;
+        }
+        if (rowId == 0) {
+            return null;
+        }
+        batch.setNumRows(rowId);
+        return batch;
+    }
+
+    private void prepare(RowResult firstRow, int numRows) {
+        if (writers == null) {
+            if (projection == null) {
+                projection = firstRow.getColumnProjection();
+            }
+            List<ColumnSchema> columns = projection.getColumns();
+            writers = new FieldWriter[columns.size()];
+            nullable = new boolean[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                writers[i] = createFieldWriter(columns.get(i));
+                nullable[i] = columns.get(i).isNullable();
+            }
+        }
+        if (batch == null || numRows > capacity) {
+            capacity = numRows;
+            vectors = new AbstractHeapVector[writers.length];
+            for (int i = 0; i < writers.length; i++) {
+                vectors[i] = createVector(projection.getColumnByIndex(i), capacity);
+            }
+            batch = new VectorizedColumnBatch(vectors);
+        } else {
+            for (AbstractHeapVector vector : vectors) {
+                vector.reset();
+            }
+        }
+    }
+
+    private static AbstractHeapVector createVector(ColumnSchema column, int capacity) {
+        switch (column.getType()) {
+            case BOOL:
+                return new HeapBooleanVector(capacity);
+            case INT8:
+                return new HeapByteVector(capacity);
+            case INT16:
+                return new HeapShortVector(capacity);
+            case INT32:
+                return new HeapIntVector(capacity);
+            case INT64:
+                return new HeapLongVector(capacity);
+            case FLOAT:
+                return new HeapFloatVector(capacity);
+            case DOUBLE:
+                return new HeapDoubleVector(capacity);
+            case STRING:
+            case BINARY:
+                return new HeapBytesVector(capacity);
+            case UNIXTIME_MICROS:
+                return new HeapTimestampVector(capacity);
+            case DECIMAL:
+                return new HeapDecimalVector(capacity);
+            default:
+                throw new IllegalArgumentException(
+                        "columnName:"
+                                + column.getName()
+                                + ",type:"
+                                + column.getType().getName()
+                                + " not support!");
+        }
+    }
+
+    private static FieldWriter createFieldWriter(ColumnSchema column) {
+        switch (column.getType()) {
+            case BOOL:
+                return (row, pos, vector, rowId) ->
+                        ((HeapBooleanVector) vector).setBoolean(rowId, row.getBoolean(pos));
+            case INT8:
+                return (row, pos, vector, rowId) ->
+                        ((HeapByteVector) vector).setByte(rowId, row.getByte(pos));
+            case INT16:
+                return (row, pos, vector, rowId) ->
+                        ((HeapShortVector) vector).setShort(rowId, row.getShort(pos));
+            case INT32:
+                return (row, pos, vector, rowId) ->
+                        ((HeapIntVector) vector).setInt(rowId, row.getInt(pos));
+            case INT64:
+                return (row, pos, vector, rowId) ->
+                        ((HeapLongVector) vector).setLong(rowId, row.getLong(pos));
+            case FLOAT:
+                return (row, pos, vector, rowId) ->
+                        ((HeapFloatVector) vector).setFloat(rowId, row.getFloat(pos));
+            case DOUBLE:
+                return (row, pos, vector, rowId) ->
+                        ((HeapDoubleVector) vector).setDouble(rowId, row.getDouble(pos));
+            case STRING:
+                return (row, pos, vector, rowId) -> {
+                    byte[] bytes = row.getString(pos).getBytes(StandardCharsets.UTF_8);
+                    ((HeapBytesVector) vector).appendBytes(rowId, bytes, 0, bytes.length);
+                };
+            case BINARY:
+                return (row, pos, vector, rowId) -> {
+                    ByteBuffer buffer = row.getBinary(pos);
+                    if (buffer.hasArray()) {
+                        ((HeapBytesVector) vector)
+                                .appendBytes(
+                                        rowId,
+                                        buffer.array(),
+                                        buffer.arrayOffset() + buffer.position(),
+                                        buffer.remaining());
+                    } else {
+                        byte[] bytes = row.getBinaryCopy(pos);
+                        ((HeapBytesVector) vector).appendBytes(rowId, bytes, 0, bytes.length);
+                    }
+                };
+            case UNIXTIME_MICROS:
+                return (row, pos, vector, rowId) ->
+                        ((HeapTimestampVector) vector)
+                                .setTimestamp(
+                                        rowId, TimestampData.fromTimestamp(row.getTimestamp(pos)));
+            case DECIMAL:
+                ColumnTypeAttributes attributes = column.getTypeAttributes();
+                int precision = attributes.getPrecision();
+                int scale = attributes.getScale();
+                return (row, pos, vector, rowId) ->
+                        ((HeapDecimalVector) vector)
+                                .setDecimal(
+                                        rowId,
+                                        DecimalData.fromBigDecimal(
+                                                row.getDecimal(pos), precision, scale));
+            default:
+                throw new IllegalArgumentException(
+                        "columnName:"
+                                + column.getName()
+                                + ",type:"
+                                + column.getType().getName()
+                                + " not support!");
+        }
+    }
+
+    /** Writes the non-null value of a column of a row into the column vector. */
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(RowResult row, int pos, AbstractHeapVector vector, int rowId);
+    }
+
+    /** Heap {@link ColumnVector} of decimals, Flink only ships decimal vectors for file formats. */
+    private static class HeapDecimalVector extends AbstractHeapVector
+            implements DecimalColumnVector {
+
+        private final DecimalData[] vector;
+
+        private HeapDecimalVector(int capacity) {
+            super(capacity);
+            this.vector = new DecimalData[capacity];
+        }
+
+        private void setDecimal(int rowId, DecimalData value) {
+            vector[rowId] = value;
+        }
+
+        @Override
+        public DecimalData getDecimal(int rowId, int precision, int scale) {
+            return vector[rowId];
+        }
+    }
+}
@@ -21,6 +21,8 @@ import org.apache.flink.annotation.Internal;
 
 import org.apache.kudu.client.RowResult;
 
+import javax.annotation.Nullable;
+
 import java.io.Serializable;
 
 /**
@@ -38,4 +40,16 @@ public interface RowResultConverter<T> extends Serializable {
      * @return {@link T}
      */
     T convert(RowResult row);
+
+    /**
+     * Convert Kudu RowResult to the corresponding format, converters that support object reuse
+     * write the row into the given instance and return it.
+     *
+     * @param row Kudu RowResult Type
+     * @param reuse instance returned by the previous call, or {@code null}
+     * @return {@link T}
+     */
+    default T convert(RowResult row, @Nullable T reuse) {
+        return convert(row);
+    }
 }
@@ -23,82 +23,118 @@ import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.StringData;
 import org.apache.flink.table.data.TimestampData;
 
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.ColumnTypeAttributes;
 import org.apache.kudu.Schema;
-import org.apache.kudu.Type;
 import org.apache.kudu.client.RowResult;
 
-import java.math.BigDecimal;
-import java.util.Objects;
+import javax.annotation.Nullable;
 
-/** Transforms a Kudu RowResult object into a Flink RowData object. */
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Transforms a Kudu RowResult object into a Flink RowData object.
+ *
+ * <p>The conversion is compiled into one typed field reader per column when the first row of a scan
+ * projection is converted, and the fields are read by position afterwards, so instances are not
+ * thread-safe. Timestamps are converted to the local date time of the default time zone, like
+ * {@link TimestampData#fromTimestamp}, but directly from the epoch microseconds stored in Kudu.
+ */
 public class RowResultRowDataConverter implements RowResultConverter<RowData> {
+
+    @Nullable private transient Schema compiledProjection;
+    private transient FieldReader[] fieldReaders;
+    private transient boolean[] nullable;
+
     @Override
     public RowData convert(RowResult row) {
-        Schema schema = row.getColumnProjection();
-        GenericRowData values = new GenericRowData(schema.getColumnCount());
-        schema.getColumns()
-                .forEach(
-                        column -> {
-                            String name = column.getName();
-                            Type type = column.getType();
-                            int pos = schema.getColumnIndex(name);
-                            if (Objects.isNull(type)) {
-                                throw new IllegalArgumentException("columnName:" + name);
-                            }
-                            if (row.isNull(name)) {
-                                return;
-                            }
-                            switch (type) {
-                                case DECIMAL:
-                                    BigDecimal decimal = row.getDecimal(name);
-                                    values.setField(
-                                            pos,
-                                            DecimalData.fromBigDecimal(
-                                                    decimal, decimal.precision(), decimal.scale()));
-                                    break;
-                                case UNIXTIME_MICROS:
-                                    values.setField(
-                                            pos,
-                                            TimestampData.fromTimestamp(row.getTimestamp(name)));
-                                    break;
-                                case DOUBLE:
-                                    values.setField(pos, row.getDouble(name));
-                                    break;
-                                case STRING:
-                                    Object value = row.getObject(name);
-                                    values.setField(
-                                            pos,
-                                            StringData.fromString(
-                                                    Objects.nonNull(value)
-                                                            ? value.toString()
-                                                            : ""));
-                                    break;
-                                case BINARY:
-                                    values.setField(pos, row.getBinary(name));
-                                    break;
-                                case FLOAT:
-                                    values.setField(pos, row.getFloat(name));
-                                    break;
-                                case INT64:
-                                    values.setField(pos, row.getLong(name));
-                                    break;
-                                case INT32:
-                                case INT16:
-                                case INT8:
-                                    values.setField(pos, row.getInt(name));
-                                    break;
-                                case BOOL:
-                                    values.setField(pos, row.getBoolean(name));
-                                    break;
-                                default:
-                                    throw new IllegalArgumentException(
-                                            "columnName:"
-                                                    + name
-                                                    + ",type:"
-                                                    + type.getName()
-                                                    + "not support!");
-                            }
-                        });
+        return convert(row, null);
+    }
+
+    /** Converts the row into the reused {@link GenericRowData} if it has the right arity. */
+    @Override
+    public RowData convert(RowResult row, @Nullable RowData reuse) {
+        Schema projection = row.getColumnProjection();
+        if (projection != compiledProjection) {
+            compile(projection);
+        }
+        GenericRowData values =
+                reuse instanceof GenericRowData && reuse.getArity() == fieldReaders.length
+                        ? (GenericRowData) reuse
+                        : new GenericRowData(fieldReaders.length);
+        for (int pos = 0; pos < fieldReaders.length; pos++) {
+            if (nullable[pos] && row.isNull(pos)) {
+                values.setField(pos, null);
+            } else {
+                values.setField(pos, fieldReaders[pos].read(row, pos));
+            }
+        }
         return values;
     }
+
+    private void compile(Schema projection) {
+        List<ColumnSchema> columns = projection.getColumns();
+        FieldReader[] readers = new FieldReader[columns.size()];
+        boolean[] nullableColumns = new boolean[columns.size()];
+        for (int pos = 0; pos < columns.size(); pos++) {
+            readers[pos] = createFieldReader(columns.get(pos));
+            nullableColumns[pos] = columns.get(pos).isNullable();
+        }
+        this.fieldReaders = readers;
+        this.nullable = nullableColumns;
+        this.compiledProjection = projection;
+    }
+
+    private static FieldReader createFieldReader(ColumnSchema column) {
+        switch (column.getType()) {
+            case DECIMAL:
+                ColumnTypeAttributes attributes = column.getTypeAttributes();
+                int precision = attributes.getPrecision();
+                int scale = attributes.getScale();
+                return (row, pos) ->
+                        DecimalData.fromBigDecimal(row.getDecimal(pos), precision, scale);
+            case UNIXTIME_MICROS:
+                TimeZone timeZone = TimeZone.getDefault();
+                return (row, pos) -> toLocalTimestamp(row.getLong(pos), timeZone);
+            case DOUBLE:
+                return RowResult::getDouble;
+            case STRING:
+                return (row, pos) -> StringData.fromString(row.getString(pos));
+            case BINARY:
+                return RowResult::getBinaryCopy;
+            case FLOAT:
+                return RowResult::getFloat;
+            case INT64:
+                return RowResult::getLong;
+            case INT32:
+                return RowResult::getInt;
+            case INT16:
+                return RowResult::getShort;
+            case INT8:
+                return RowResult::getByte;
+            case BOOL:
+                return RowResult::getBoolean;
+            default:
+                throw new IllegalArgumentException(
+                        "columnName:"
+                                + column.getName()
+                                + ",type:"
+                                + column.getType().getName()
+                                + "not support!");
+        }
+    }
+
+    private static TimestampData toLocalTimestamp(long epochMicros, TimeZone timeZone) {
+        long epochMillis = Math.floorDiv(epochMicros, 1000);
+        int nanosOfMilli = (int) Math.floorMod(epochMicros, 1000) * 1000;
+        return TimestampData.fromEpochMillis(
+                epochMillis + timeZone.getOffset(epochMillis), nanosOfMilli);
+    }
+
+    /** Reads the non-null value of a column of a row as internal Flink data structure. */
+    @FunctionalInterface
+    private interface FieldReader {
+        Object read(RowResult row, int pos);
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.failure;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import org.apache.kudu.client.RowError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Failure handler that writes every failed row to a {@link DeadLetterQueue} instead of failing the
+ * job. Records are written in batches of {@code batchSize} and at the end of every flush of the
+ * writer, so they are durable once a checkpoint completes. The records hold the values of the
+ * failed Kudu operations, not the input records of the sink, see {@link DeadLetterRecord}.
+ *
+ * <p>All errors are treated as permanent. To retry transient errors first, use the handler as the
+ * fallback of a {@link RetryingKuduFailureHandler}.
+ */
+@PublicEvolving
+public class DeadLetterKuduFailureHandler implements KuduFailureHandler {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeadLetterKuduFailureHandler.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final DeadLetterQueue deadLetterQueue;
+    private final int batchSize;
+
+    private transient List<DeadLetterRecord> buffer;
+
+    public DeadLetterKuduFailureHandler(DeadLetterQueue deadLetterQueue) {
+        this(deadLetterQueue, DEFAULT_BATCH_SIZE);
+    }
+
+    public DeadLetterKuduFailureHandler(DeadLetterQueue deadLetterQueue, int batchSize) {
+        checkArgument(batchSize > 0, "batchSize must be positive");
+        this.deadLetterQueue = checkNotNull(deadLetterQueue, "deadLetterQueue could not be null");
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void onFailure(List<RowError> failure) throws IOException {
+        if (buffer == null) {
+            deadLetterQueue.open();
+            buffer = new ArrayList<>(batchSize);
+        }
+        long now = System.currentTimeMillis();
+        for (RowError error : failure) {
+            LOG.debug("Writing failed row to the dead letter queue: {}", error);
+            buffer.add(DeadLetterRecord.of(error, now));
+            if (buffer.size() >= batchSize) {
+                flushBuffer();
+            }
+        }
+    }
+
+    @Override
+    public void awaitRetries() throws IOException {
+        if (buffer != null) {
+            flushBuffer();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            try {
+                flushBuffer();
+            } finally {
+                buffer = null;
+                deadLetterQueue.close();
+            }
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        deadLetterQueue.write(new ArrayList<>(buffer));
+        buffer.clear();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.failure;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Destination for rows that could not be written to Kudu, see {@link DeadLetterKuduFailureHandler}.
+ * Every writer uses its own instance.
+ */
+@PublicEvolving
+public interface DeadLetterQueue extends Serializable {
+
+    /** Opens the queue, called before the first records are written. */
+    void open() throws IOException;
+
+    /**
+     * Writes a batch of records. The records must be durable once the method returns, the handler
+     * relies on this to not lose them when the job fails after a checkpoint.
+     *
+     * @param records the records of rows that could not be written to Kudu
+     * @throws IOException if the records cannot be written, which fails the sink
+     */
+    void write(List<DeadLetterRecord> records) throws IOException;
+
+    /** Closes the queue. */
+    void close() throws IOException;
+}
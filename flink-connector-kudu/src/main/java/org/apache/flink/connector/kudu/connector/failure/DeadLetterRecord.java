@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.failure;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.connector.kudu.connector.writer.KuduWriterMetrics;
+
+import org.apache.kudu.client.Delete;
+import org.apache.kudu.client.DeleteIgnore;
+import org.apache.kudu.client.Insert;
+import org.apache.kudu.client.InsertIgnore;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
+import org.apache.kudu.client.RowError;
+import org.apache.kudu.client.Update;
+import org.apache.kudu.client.Upsert;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A row that could not be written to Kudu: the operation type, the values of the row by column name
+ * and the status of the {@link RowError}.
+ *
+ * <p>The values are those of the Kudu operation, not the input record of the sink. Failures are
+ * reported by Kudu asynchronously, long after the operation mapper ran, and keeping every input
+ * record until its operation is flushed would double the memory held by the writers. The row holds
+ * every column the mapper set, which for the built-in mappers is every field of the input record
+ * mapped to a column.
+ */
+@PublicEvolving
+public class DeadLetterRecord implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String tableName;
+    private final String operationType;
+    private final Map<String, Object> row;
+    private final String status;
+    private final String message;
+    private final long timestamp;
+
+    public DeadLetterRecord(
+            String tableName,
+            String operationType,
+            Map<String, Object> row,
+            String status,
+            String message,
+            long timestamp) {
+        this.tableName = tableName;
+        this.operationType = operationType;
+        this.row = row;
+        this.status = status;
+        this.message = message;
+        this.timestamp = timestamp;
+    }
+
+    /** Creates the record of the operation that failed with the given error. */
+    public static DeadLetterRecord of(RowError error, long timestamp) {
+        Operation operation = error.getOperation();
+        return new DeadLetterRecord(
+                operation.getTable().getName(),
+                operationType(operation),
+                rowValues(operation.getRow()),
+                KuduWriterMetrics.codeName(error.getErrorStatus()),
+                error.getErrorStatus().toString(),
+                timestamp);
+    }
+
+    private static String operationType(Operation operation) {
+        if (operation instanceof Insert) {
+            return "INSERT";
+        } else if (operation instanceof InsertIgnore) {
+            return "INSERT_IGNORE";
+        } else if (operation instanceof Upsert) {
+            return "UPSERT";
+        } else if (operation instanceof Update) {
+            return "UPDATE";
+        } else if (operation instanceof Delete) {
+            return "DELETE";
+        } else if (operation instanceof DeleteIgnore) {
+            return "DELETE_IGNORE";
+        }
+        return operation.getClass().getSimpleName();
+    }
+
+    private static Map<String, Object> rowValues(PartialRow row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < row.getSchema().getColumnCount(); i++) {
+            if (row.isSet(i)) {
+                values.put(
+                        row.getSchema().getColumnByIndex(i).getName(),
+                        row.isNull(i) ? null : row.getObject(i));
+            }
+        }
+        return values;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getOperationType() {
+        return operationType;
+    }
+
+    public Map<String, Object> getRow() {
+        return row;
+    }
+
+    /** The Kudu status code of the error, e.g. {@code ALREADY_PRESENT}. */
+    public String getStatus() {
+        return status;
+    }
+
+    /** The status of the error including its message as reported by Kudu. */
+    public String getMessage() {
+        return message;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DeadLetterRecord that = (DeadLetterRecord) o;
+        return timestamp == that.timestamp
+                && Objects.equals(tableName, that.tableName)
+                && Objects.equals(operationType, that.operationType)
+                && Objects.equals(row, that.row)
+                && Objects.equals(status, that.status)
+                && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tableName, operationType, row, status, message, timestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "DeadLetterRecord{"
+                + "tableName='"
+                + tableName
+                + '\''
+                + ", operationType='"
+                + operationType
+                + '\''
+                + ", row="
+                + row
+                + ", status='"
+                + status
+                + '\''
+                + ", message='"
+                + message
+                + '\''
+                + ", timestamp="
+                + timestamp
+                + '}';
+    }
+}
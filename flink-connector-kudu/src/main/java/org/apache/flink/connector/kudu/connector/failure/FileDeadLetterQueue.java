@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.failure;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * {@link DeadLetterQueue} that spools the records to a local directory, one JSON object per line.
+ * Every writer writes to its own file {@code dead-letter-<uuid>.jsonl}. Every batch is synced to
+ * the disk before {@link #write(List)} returns.
+ */
+@PublicEvolving
+public class FileDeadLetterQueue implements DeadLetterQueue {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String directory;
+
+    private transient ObjectMapper objectMapper;
+    private transient Path file;
+    private transient FileChannel channel;
+    private transient BufferedWriter writer;
+
+    public FileDeadLetterQueue(String directory) {
+        this.directory = checkNotNull(directory, "directory could not be null");
+    }
+
+    @Override
+    public void open() throws IOException {
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        file = dir.resolve("dead-letter-" + UUID.randomUUID() + ".jsonl");
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        writer =
+                new BufferedWriter(
+                        new OutputStreamWriter(
+                                Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+        objectMapper = new ObjectMapper();
+    }
+
+    @Override
+    public void write(List<DeadLetterRecord> records) throws IOException {
+        for (DeadLetterRecord record : records) {
+            writer.write(objectMapper.writeValueAsString(record));
+            writer.newLine();
+        }
+        writer.flush();
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            channel = null;
+        }
+    }
+
+    /** Returns the file of the queue, {@code null} before the queue is opened. */
+    public Path getFile() {
+        return file;
+    }
+}
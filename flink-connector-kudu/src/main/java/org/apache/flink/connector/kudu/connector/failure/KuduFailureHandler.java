@@ -20,6 +20,7 @@ package org.apache.flink.connector.kudu.connector.failure;
 import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.connector.kudu.connector.writer.KuduWriter;
 
+import org.apache.kudu.client.Operation;
 import org.apache.kudu.client.RowError;
 
 import java.io.IOException;
@@ -51,4 +52,65 @@ public interface KuduFailureHandler extends Serializable {
     default void onTypeMismatch(ClassCastException e) throws IOException {
         throw new IOException("Class casting failed \n", e);
     }
+
+    /**
+     * Called by the writer before the first record with a context that allows the handler to write
+     * failed operations again. Default implementation ignores the context.
+     *
+     * @param context the context of the writer
+     */
+    default void open(Context context) {}
+
+    /**
+     * Called by the writer before it applies an operation. Handlers holding failed operations
+     * return {@code true} to take over an operation of a row that has a failed operation waiting,
+     * and write it through the {@link Context} after the failed one, so that the operations of a
+     * row are not reordered by the retry. Default implementation returns {@code false}.
+     *
+     * @param operation the operation the writer is about to apply
+     * @return whether the handler took over the operation
+     * @throws IOException if the sink should fail
+     */
+    default boolean holdBack(Operation operation) throws IOException {
+        return false;
+    }
+
+    /**
+     * Called by the writer for every record. Handlers holding failed operations should write the
+     * ones that are due through the {@link Context} without blocking. Default implementation does
+     * nothing.
+     *
+     * @throws IOException if the sink should fail
+     */
+    default void retryPending() throws IOException {}
+
+    /**
+     * Called by the writer at the end of every flush, hence before checkpoints complete. Handlers
+     * holding failed operations should block until all of them are written. Default implementation
+     * does nothing.
+     *
+     * @throws IOException if the sink should fail
+     */
+    default void awaitRetries() throws IOException {}
+
+    /**
+     * Called by the writer when it is closed. Default implementation does nothing.
+     *
+     * @throws IOException if releasing the resources of the handler failed
+     */
+    default void close() throws IOException {}
+
+    /** Operations of the writer that are available to a {@link KuduFailureHandler}. */
+    @PublicEvolving
+    interface Context {
+
+        /**
+         * Applies an operation to the session of the writer. Errors of the operation are reported
+         * to the handler again.
+         */
+        void apply(Operation operation) throws IOException;
+
+        /** Flushes the session of the writer. */
+        void flush() throws IOException;
+    }
 }
@@ -0,0 +1,344 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.failure;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import org.apache.kudu.client.Delete;
+import org.apache.kudu.client.DeleteIgnore;
+import org.apache.kudu.client.Insert;
+import org.apache.kudu.client.InsertIgnore;
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
+import org.apache.kudu.client.RowError;
+import org.apache.kudu.client.Status;
+import org.apache.kudu.client.Update;
+import org.apache.kudu.client.Upsert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Failure handler that writes operations failing with a transient error again, with exponential
+ * backoff between the attempts of an operation. Errors are retriable if their status is one of
+ * {@code ServiceUnavailable}, {@code TimedOut}, {@code NetworkError}, {@code Aborted} or {@code
+ * Incomplete}, see {@link #isRetriable(RowError)}.
+ *
+ * <p>Failed operations are held in a queue of at most {@code maxQueueSize} operations and written
+ * again through the writer once their backoff elapsed. Every flush of the writer, and therefore
+ * every checkpoint, blocks until the queue is drained. Other errors, errors of operations that
+ * failed {@code maxAttempts} times and errors that do not fit into the queue are passed to the
+ * fallback handler, a {@link DefaultKuduFailureHandler} unless configured otherwise.
+ *
+ * <p>While an operation waits for its retry, later operations of the same row are held back, see
+ * {@link #holdBack}, and written right after the retried operation, so that a retry does not
+ * overwrite newer changes of its row. Held back operations do not count towards {@code
+ * maxQueueSize}. The writer can only hold back operations applied after it reported the failure,
+ * so a {@code KuduWriter} configured with {@code AUTO_FLUSH_BACKGROUND} flushes its session itself
+ * when it retries, reporting the errors of a batch before later operations are sent.
+ */
+@PublicEvolving
+public class RetryingKuduFailureHandler implements KuduFailureHandler {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(RetryingKuduFailureHandler.class);
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 100;
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 10_000;
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 10_000;
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int maxQueueSize;
+    private final KuduFailureHandler fallbackHandler;
+
+    private transient Context context;
+    private transient PriorityQueue<PendingRetry> queue;
+    private transient Map<Operation, Integer> attempts;
+    // pending retries by table and primary key, a row has at most one pending retry
+    private transient Map<KuduTable, Map<ByteBuffer, PendingRetry>> pendingRows;
+
+    public RetryingKuduFailureHandler() {
+        this(
+                DEFAULT_MAX_ATTEMPTS,
+                DEFAULT_INITIAL_BACKOFF_MILLIS,
+                DEFAULT_MAX_BACKOFF_MILLIS,
+                DEFAULT_MAX_QUEUE_SIZE);
+    }
+
+    public RetryingKuduFailureHandler(KuduFailureHandler fallbackHandler) {
+        this(
+                DEFAULT_MAX_ATTEMPTS,
+                DEFAULT_INITIAL_BACKOFF_MILLIS,
+                DEFAULT_MAX_BACKOFF_MILLIS,
+                DEFAULT_MAX_QUEUE_SIZE,
+                fallbackHandler);
+    }
+
+    public RetryingKuduFailureHandler(
+            int maxAttempts, long initialBackoffMillis, long maxBackoffMillis, int maxQueueSize) {
+        this(
+                maxAttempts,
+                initialBackoffMillis,
+                maxBackoffMillis,
+                maxQueueSize,
+                new DefaultKuduFailureHandler());
+    }
+
+    public RetryingKuduFailureHandler(
+            int maxAttempts,
+            long initialBackoffMillis,
+            long maxBackoffMillis,
+            int maxQueueSize,
+            KuduFailureHandler fallbackHandler) {
+        checkArgument(maxAttempts > 0, "maxAttempts must be positive");
+        checkArgument(initialBackoffMillis >= 0, "initialBackoffMillis must not be negative");
+        checkArgument(
+                maxBackoffMillis >= initialBackoffMillis,
+                "maxBackoffMillis must not be smaller than initialBackoffMillis");
+        checkArgument(maxQueueSize > 0, "maxQueueSize must be positive");
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.maxQueueSize = maxQueueSize;
+        this.fallbackHandler = checkNotNull(fallbackHandler, "fallbackHandler could not be null");
+    }
+
+    @Override
+    public void open(Context context) {
+        this.context = context;
+        this.queue = new PriorityQueue<>(Comparator.comparingLong(retry -> retry.dueAt));
+        this.attempts = new IdentityHashMap<>();
+        this.pendingRows = new IdentityHashMap<>();
+        fallbackHandler.open(context);
+    }
+
+    @Override
+    public void onFailure(List<RowError> failure) throws IOException {
+        if (context == null) {
+            fallbackHandler.onFailure(failure);
+            return;
+        }
+
+        List<RowError> fatal = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (RowError error : failure) {
+            Operation operation = error.getOperation();
+            Integer previousAttempts = attempts.remove(operation);
+            ByteBuffer key = ByteBuffer.wrap(operation.getRow().encodePrimaryKey());
+            PendingRetry pending = pendingRetry(operation.getTable(), key);
+            if (pending != null) {
+                // failed after an operation of the same row, it is written after that one again
+                pending.heldBack.add(copy(operation));
+                continue;
+            }
+            int attempt = previousAttempts == null ? 1 : previousAttempts + 1;
+            if (!isRetriable(error) || attempt > maxAttempts || queue.size() >= maxQueueSize) {
+                fatal.add(error);
+                continue;
+            }
+            LOG.debug("Retrying operation after attempt {}: {}", attempt, error);
+            PendingRetry retry = new PendingRetry(operation, key, attempt, now + backoff(attempt));
+            queue.add(retry);
+            pendingRows
+                    .computeIfAbsent(operation.getTable(), table -> new HashMap<>())
+                    .put(key, retry);
+        }
+
+        if (!fatal.isEmpty()) {
+            fallbackHandler.onFailure(fatal);
+        }
+    }
+
+    @Override
+    public boolean holdBack(Operation operation) throws IOException {
+        if (pendingRows != null && !pendingRows.isEmpty()) {
+            PendingRetry pending =
+                    pendingRetry(
+                            operation.getTable(),
+                            ByteBuffer.wrap(operation.getRow().encodePrimaryKey()));
+            if (pending != null) {
+                pending.heldBack.add(operation);
+                return true;
+            }
+        }
+        return fallbackHandler.holdBack(operation);
+    }
+
+    @Override
+    public void retryPending() throws IOException {
+        if (queue != null) {
+            applyDue(System.currentTimeMillis());
+        }
+        fallbackHandler.retryPending();
+    }
+
+    @Override
+    public void awaitRetries() throws IOException {
+        if (queue != null) {
+            while (!queue.isEmpty()) {
+                long wait = queue.peek().dueAt - System.currentTimeMillis();
+                if (wait > 0) {
+                    sleep(wait);
+                }
+                applyDue(System.currentTimeMillis());
+                // errors of the written operations are queued again by onFailure
+                context.flush();
+            }
+            attempts.clear();
+        }
+        fallbackHandler.awaitRetries();
+    }
+
+    @Override
+    public void close() throws IOException {
+        fallbackHandler.close();
+    }
+
+    /**
+     * Returns whether the operation of the given error may succeed if written again. Override to
+     * change the classification.
+     */
+    protected boolean isRetriable(RowError error) {
+        return isTransientError(error.getErrorStatus());
+    }
+
+    /**
+     * Returns whether the status is one of {@code ServiceUnavailable}, {@code TimedOut}, {@code
+     * NetworkError}, {@code Aborted} or {@code Incomplete}, which are expected to go away once Kudu
+     * recovers.
+     */
+    public static boolean isTransientError(Status status) {
+        return status.isServiceUnavailable()
+                || status.isTimedOut()
+                || status.isNetworkError()
+                || status.isAborted()
+                || status.isIncomplete();
+    }
+
+    private long backoff(int attempt) {
+        long backoff = initialBackoffMillis << Math.min(attempt - 1, 30);
+        return backoff < 0 ? maxBackoffMillis : Math.min(backoff, maxBackoffMillis);
+    }
+
+    @Nullable
+    private PendingRetry pendingRetry(KuduTable table, ByteBuffer key) {
+        Map<ByteBuffer, PendingRetry> rows = pendingRows.get(table);
+        return rows == null ? null : rows.get(key);
+    }
+
+    private void applyDue(long now) throws IOException {
+        while (!queue.isEmpty() && queue.peek().dueAt <= now) {
+            PendingRetry retry = queue.poll();
+            KuduTable table = retry.operation.getTable();
+            Map<ByteBuffer, PendingRetry> rows = pendingRows.get(table);
+            rows.remove(retry.key);
+            if (rows.isEmpty()) {
+                pendingRows.remove(table);
+            }
+
+            Operation operation = copy(retry.operation);
+            attempts.put(operation, retry.attempt);
+            context.apply(operation);
+            // errors of these are reported in order, so they wait for the retry if it fails again
+            for (Operation heldBack : retry.heldBack) {
+                context.apply(heldBack);
+            }
+        }
+    }
+
+    /** Creates a new operation of the same type and with the same row as the failed one. */
+    private static Operation copy(Operation failed) {
+        KuduTable table = failed.getTable();
+        Operation operation;
+        if (failed instanceof Upsert) {
+            operation = table.newUpsert();
+        } else if (failed instanceof InsertIgnore) {
+            operation = table.newInsertIgnore();
+        } else if (failed instanceof Insert) {
+            operation = table.newInsert();
+        } else if (failed instanceof Update) {
+            operation = table.newUpdate();
+        } else if (failed instanceof Delete) {
+            operation = table.newDelete();
+        } else if (failed instanceof DeleteIgnore) {
+            operation = table.newDeleteIgnore();
+        } else {
+            throw new IllegalArgumentException("Cannot retry operation " + failed);
+        }
+
+        PartialRow source = failed.getRow();
+        PartialRow target = operation.getRow();
+        for (int i = 0; i < source.getSchema().getColumnCount(); i++) {
+            if (!source.isSet(i)) {
+                continue;
+            }
+            if (source.isNull(i)) {
+                target.setNull(i);
+            } else {
+                target.addObject(i, source.getObject(i));
+            }
+        }
+        return operation;
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry Kudu operations.");
+        }
+    }
+
+    /** A failed operation waiting for its next attempt, with the later operations of its row. */
+    private static final class PendingRetry {
+
+        private final Operation operation;
+        private final ByteBuffer key;
+        private final int attempt;
+        private final long dueAt;
+        private final List<Operation> heldBack = new ArrayList<>(0);
+
+        private PendingRetry(Operation operation, ByteBuffer key, int attempt, long dueAt) {
+            this.operation = operation;
+            this.key = key;
+            this.attempt = attempt;
+            this.dueAt = dueAt;
+        }
+    }
+}
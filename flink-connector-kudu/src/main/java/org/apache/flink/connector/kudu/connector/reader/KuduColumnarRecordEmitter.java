@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.reader;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SourceOutput;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.connector.kudu.connector.converter.RowResultColumnarBatchConverter;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.columnar.ColumnarRowData;
+import org.apache.flink.table.data.columnar.vector.VectorizedColumnBatch;
+
+import org.apache.kudu.client.RowResultIterator;
+
+/**
+ * {@link RecordEmitter} of the Kudu source that converts every batch of rows fetched by the {@link
+ * KuduSplitReader} into a {@link VectorizedColumnBatch} and emits its rows as {@link
+ * ColumnarRowData}. The emitted row object and the column vectors behind it are reused, a row is
+ * only valid until the next row is emitted.
+ */
+@Internal
+public class KuduColumnarRecordEmitter
+        implements RecordEmitter<RowResultIterator, RowData, KuduSourceSplitState> {
+
+    private final RowResultColumnarBatchConverter batchConverter =
+            new RowResultColumnarBatchConverter();
+    private final ColumnarRowData row = new ColumnarRowData();
+
+    @Override
+    public void emitRecord(
+            RowResultIterator rows, SourceOutput<RowData> output, KuduSourceSplitState splitState) {
+        VectorizedColumnBatch batch = batchConverter.convert(rows);
+        if (batch == null) {
+            return;
+        }
+        row.setVectorizedColumnBatch(batch);
+        for (int rowId = 0; rowId < batch.getNumRows(); rowId++) {
+            row.setRowId(rowId);
+            output.collect(row);
+            splitState.onRecordEmitted();
+        }
+    }
+}
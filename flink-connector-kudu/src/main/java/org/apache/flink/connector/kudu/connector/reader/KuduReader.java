@@ -20,21 +20,27 @@ package org.apache.flink.connector.kudu.connector.reader;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.connector.kudu.connector.KuduFilterInfo;
 import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.client.KuduClientRegistry;
+import org.apache.flink.connector.kudu.connector.client.SharedKuduClient;
 import org.apache.flink.connector.kudu.connector.converter.RowResultConverter;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.kudu.client.AsyncKuduScanner;
 import org.apache.kudu.client.KuduClient;
 import org.apache.kudu.client.KuduException;
 import org.apache.kudu.client.KuduScanToken;
+import org.apache.kudu.client.KuduScanner;
 import org.apache.kudu.client.KuduSession;
 import org.apache.kudu.client.KuduTable;
 import org.apache.kudu.client.LocatedTablet;
+import org.apache.kudu.util.HybridTimeUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /** Reader to read data from a Kudu table. */
 @Internal
@@ -48,6 +54,7 @@ public class KuduReader<T> implements AutoCloseable {
     private List<String> tableProjections;
     private final RowResultConverter<T> rowResultConverter;
 
+    private final transient SharedKuduClient sharedClient;
     private final transient KuduClient client;
     private final transient KuduSession session;
     private final transient KuduTable table;
@@ -81,9 +88,15 @@ public class KuduReader<T> implements AutoCloseable {
         this.tableFilters = tableFilters;
         this.tableProjections = tableProjections;
         this.rowResultConverter = rowResultConverter;
-        this.client = obtainClient();
-        this.session = obtainSession();
-        this.table = obtainTable();
+        this.sharedClient = obtainClient();
+        this.client = sharedClient.getClient();
+        try {
+            this.session = obtainSession();
+            this.table = obtainTable();
+        } catch (IOException | RuntimeException e) {
+            sharedClient.close();
+            throw e;
+        }
     }
 
     public void setTableFilters(List<KuduFilterInfo> tableFilters) {
@@ -94,8 +107,8 @@ public class KuduReader<T> implements AutoCloseable {
         this.tableProjections = tableProjections;
     }
 
-    private KuduClient obtainClient() {
-        return new KuduClient.KuduClientBuilder(readerConfig.getMasters()).build();
+    private SharedKuduClient obtainClient() {
+        return KuduClientRegistry.acquire(readerConfig.getMasters(), readerConfig.getWorkerCount());
     }
 
     private KuduSession obtainSession() {
@@ -115,13 +128,43 @@ public class KuduReader<T> implements AutoCloseable {
     }
 
     public KuduReaderIterator<T> scanner(byte[] token) throws IOException {
+        KuduScanner scanner = KuduScanToken.deserializeIntoScanner(token, client);
+        if (readerConfig.isColumnarScan()) {
+            scanner.setRowDataFormat(AsyncKuduScanner.RowDataFormat.COLUMNAR);
+        }
         return new KuduReaderIterator<>(
-                KuduScanToken.deserializeIntoScanner(token, client), rowResultConverter);
+                scanner, rowResultConverter, readerConfig.getPrefetchMaxBytes());
     }
 
     public List<KuduScanToken> scanTokens(
             List<KuduFilterInfo> tableFilters, List<String> tableProjections, Integer rowLimit) {
+        return scanTokens(tableFilters, tableProjections, rowLimit, false);
+    }
+
+    /**
+     * Creates the scan tokens of the table.
+     *
+     * @param faultTolerant scan every token in primary key order at a snapshot timestamp that is
+     *     fixed when the tokens are built, so that the same rows come in the same order when a scan
+     *     of a token is repeated, see {@link KuduScanToken.KuduScanTokenBuilder#setFaultTolerant}
+     */
+    public List<KuduScanToken> scanTokens(
+            List<KuduFilterInfo> tableFilters,
+            List<String> tableProjections,
+            Integer rowLimit,
+            boolean faultTolerant) {
         KuduScanToken.KuduScanTokenBuilder tokenBuilder = client.newScanTokenBuilder(table);
+        tokenBuilder.setFaultTolerant(faultTolerant);
+        if (faultTolerant) {
+            // without a timestamp every scanner of a token picks its own snapshot when it starts
+            long snapshot =
+                    HybridTimeUtil.clockTimestampToHTTimestamp(
+                            System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+            if (client.hasLastPropagatedTimestamp()) {
+                snapshot = Math.max(snapshot, client.getLastPropagatedTimestamp());
+            }
+            tokenBuilder.snapshotTimestampRaw(snapshot);
+        }
 
         if (tableProjections != null) {
             tokenBuilder.setProjectedColumnNames(tableProjections);
@@ -187,12 +230,8 @@ public class KuduReader<T> implements AutoCloseable {
         } catch (KuduException e) {
             log.error("Error while closing session.", e);
         }
-        try {
-            if (client != null) {
-                client.close();
-            }
-        } catch (Exception e) {
-            log.error("Error while closing client.", e);
+        if (sharedClient != null) {
+            sharedClient.close();
         }
     }
 }
@@ -18,12 +18,14 @@
 package org.apache.flink.connector.kudu.connector.reader;
 
 import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.connector.kudu.connector.client.KuduClientRegistry;
 import org.apache.flink.connector.kudu.format.KuduRowInputFormat;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import java.io.Serializable;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /**
@@ -35,11 +37,22 @@ public class KuduReaderConfig implements Serializable {
 
     private final String masters;
     private final int rowLimit;
+    private final int workerCount;
+    private final long prefetchMaxBytes;
+    private final boolean columnarScan;
 
-    private KuduReaderConfig(String masters, int rowLimit) {
+    private KuduReaderConfig(
+            String masters,
+            int rowLimit,
+            int workerCount,
+            long prefetchMaxBytes,
+            boolean columnarScan) {
 
         this.masters = checkNotNull(masters, "Kudu masters cannot be null");
         this.rowLimit = checkNotNull(rowLimit, "Kudu rowLimit cannot be null");
+        this.workerCount = workerCount;
+        this.prefetchMaxBytes = prefetchMaxBytes;
+        this.columnarScan = columnarScan;
     }
 
     public String getMasters() {
@@ -50,11 +63,25 @@ public class KuduReaderConfig implements Serializable {
         return rowLimit;
     }
 
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    public long getPrefetchMaxBytes() {
+        return prefetchMaxBytes;
+    }
+
+    public boolean isColumnarScan() {
+        return columnarScan;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
                 .append("masters", masters)
                 .append("rowLimit", rowLimit)
+                .append("prefetchMaxBytes", prefetchMaxBytes)
+                .append("columnarScan", columnarScan)
                 .toString();
     }
 
@@ -64,14 +91,25 @@ public class KuduReaderConfig implements Serializable {
 
         private final String masters;
         private final int rowLimit;
+        private final int workerCount;
+        private final long prefetchMaxBytes;
+        private final boolean columnarScan;
 
         private Builder(String masters) {
-            this(masters, DEFAULT_ROW_LIMIT);
+            this(masters, DEFAULT_ROW_LIMIT, KuduClientRegistry.DEFAULT_WORKER_COUNT, 0, false);
         }
 
-        private Builder(String masters, Integer rowLimit) {
+        private Builder(
+                String masters,
+                Integer rowLimit,
+                int workerCount,
+                long prefetchMaxBytes,
+                boolean columnarScan) {
             this.masters = masters;
             this.rowLimit = rowLimit;
+            this.workerCount = workerCount;
+            this.prefetchMaxBytes = prefetchMaxBytes;
+            this.columnarScan = columnarScan;
         }
 
         public static Builder setMasters(String masters) {
@@ -79,11 +117,42 @@ public class KuduReaderConfig implements Serializable {
         }
 
         public Builder setRowLimit(int rowLimit) {
-            return new Builder(masters, rowLimit);
+            return new Builder(masters, rowLimit, workerCount, prefetchMaxBytes, columnarScan);
+        }
+
+        /**
+         * Number of worker threads of the shared Kudu client, {@code 0} keeps the client default.
+         * See {@link KuduClientRegistry}.
+         */
+        public Builder setWorkerCount(int workerCount) {
+            checkArgument(workerCount >= 0, "workerCount cannot be negative");
+            return new Builder(masters, rowLimit, workerCount, prefetchMaxBytes, columnarScan);
+        }
+
+        /**
+         * Bytes of row batches that a {@link KuduReaderIterator} fetches in the background while
+         * the rows of the current batch are converted, {@code 0} (the default) fetches each batch
+         * only when the previous one is used up. See {@link KuduScanPrefetcher}.
+         */
+        public Builder setPrefetchMaxBytes(long prefetchMaxBytes) {
+            checkArgument(prefetchMaxBytes >= 0, "prefetchMaxBytes cannot be negative");
+            return new Builder(masters, rowLimit, workerCount, prefetchMaxBytes, columnarScan);
+        }
+
+        /**
+         * Whether scanners request the columnar row format of Kudu, in which the tablet servers
+         * send every column of a batch as one contiguous buffer instead of row by row. This is
+         * cheaper to produce on the servers, rows are still converted one by one unless the source
+         * is created with {@link
+         * org.apache.flink.connector.kudu.source.KuduSource#columnarBuilder}.
+         */
+        public Builder setColumnarScan(boolean columnarScan) {
+            return new Builder(masters, rowLimit, workerCount, prefetchMaxBytes, columnarScan);
         }
 
         public KuduReaderConfig build() {
-            return new KuduReaderConfig(masters, rowLimit);
+            return new KuduReaderConfig(
+                    masters, rowLimit, workerCount, prefetchMaxBytes, columnarScan);
         }
     }
 }
@@ -25,6 +25,9 @@ import org.apache.kudu.client.KuduScanner;
 import org.apache.kudu.client.RowResult;
 import org.apache.kudu.client.RowResultIterator;
 
+import javax.annotation.Nullable;
+
+import java.io.IOException;
 import java.io.Serializable;
 
 /** An iterator that helps to iterate on Kudu record rows. */
@@ -33,33 +36,70 @@ public class KuduReaderIterator<T> implements Serializable {
 
     private final KuduScanner scanner;
     private final RowResultConverter<T> rowResultConverter;
+    @Nullable private final transient KuduScanPrefetcher prefetcher;
     private RowResultIterator rowIterator;
 
     public KuduReaderIterator(KuduScanner scanner, RowResultConverter<T> rowResultConverter)
             throws KuduException {
+        this(scanner, rowResultConverter, 0);
+    }
+
+    /**
+     * Creates an iterator over the rows of the scanner.
+     *
+     * @param prefetchMaxBytes bytes of row batches fetched ahead by a {@link KuduScanPrefetcher},
+     *     {@code 0} fetches every batch when the previous one is used up
+     */
+    public KuduReaderIterator(
+            KuduScanner scanner, RowResultConverter<T> rowResultConverter, long prefetchMaxBytes)
+            throws KuduException {
         this.scanner = scanner;
         this.rowResultConverter = rowResultConverter;
-        nextRows();
+        if (prefetchMaxBytes > 0) {
+            this.prefetcher = new KuduScanPrefetcher(scanner, prefetchMaxBytes);
+            this.rowIterator = RowResultIterator.empty();
+        } else {
+            this.prefetcher = null;
+            nextRows();
+        }
     }
 
     public void close() throws KuduException {
+        if (prefetcher != null) {
+            prefetcher.close();
+        }
         scanner.close();
     }
 
-    public boolean hasNext() throws KuduException {
-        if (rowIterator.hasNext()) {
-            return true;
-        } else if (scanner.hasMoreRows()) {
-            nextRows();
-            return true;
-        } else {
-            return false;
+    public boolean hasNext() throws IOException {
+        // batches can be empty, e.g. when the scanner only opened the tablet
+        while (!rowIterator.hasNext()) {
+            if (prefetcher != null) {
+                RowResultIterator batch = prefetcher.take();
+                if (batch == null) {
+                    return false;
+                }
+                rowIterator = batch;
+            } else if (scanner.hasMoreRows()) {
+                nextRows();
+            } else {
+                return false;
+            }
         }
+        return true;
     }
 
     public T next() {
+        return next(null);
+    }
+
+    /**
+     * Converts the next row, reusing the given instance if the {@link RowResultConverter} supports
+     * it.
+     */
+    public T next(@Nullable T reuse) {
         RowResult row = this.rowIterator.next();
-        return rowResultConverter.convert(row);
+        return rowResultConverter.convert(row, reuse);
     }
 
     private void nextRows() throws KuduException {
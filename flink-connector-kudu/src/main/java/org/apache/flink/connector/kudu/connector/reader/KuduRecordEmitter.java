@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.reader;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SourceOutput;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.connector.kudu.connector.converter.RowResultConverter;
+
+import org.apache.kudu.client.RowResult;
+import org.apache.kudu.client.RowResultIterator;
+
+import javax.annotation.Nullable;
+
+/**
+ * {@link RecordEmitter} of the Kudu source, converts the batches of rows fetched by the {@link
+ * KuduSplitReader} row by row on the task thread and counts the rows in the state of their split.
+ * The previously emitted record is handed to the converter for reuse, see {@link
+ * RowResultConverter#convert(RowResult, Object)}.
+ */
+@Internal
+public class KuduRecordEmitter<T>
+        implements RecordEmitter<RowResultIterator, T, KuduSourceSplitState> {
+
+    private final RowResultConverter<T> rowResultConverter;
+    @Nullable private T reuse;
+
+    public KuduRecordEmitter(RowResultConverter<T> rowResultConverter) {
+        this.rowResultConverter = rowResultConverter;
+    }
+
+    @Override
+    public void emitRecord(
+            RowResultIterator rows, SourceOutput<T> output, KuduSourceSplitState splitState) {
+        while (rows.hasNext()) {
+            reuse = rowResultConverter.convert(rows.next(), reuse);
+            output.collect(reuse);
+            splitState.onRecordEmitted();
+        }
+    }
+}
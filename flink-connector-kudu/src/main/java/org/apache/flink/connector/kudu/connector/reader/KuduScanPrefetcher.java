@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.reader;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+
+import org.apache.kudu.client.KuduScanner;
+import org.apache.kudu.client.RowResultIterator;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+
+/**
+ * Fetches the row batches of a {@link KuduScanner} in a background thread, so that the next batches
+ * are on their way while the consumer converts the rows of the current one.
+ *
+ * <p>A Kudu scanner serves one request at a time, so the batches are requested one after the other
+ * and queued until the consumer takes them. The queue is bounded by bytes, where every batch counts
+ * with the batch size of the scanner, the upper bound of its size. While the queue is full the
+ * scanner is idle on the tablet server, so it is kept alive every {@link #KEEP_ALIVE_PERIOD_MS} to
+ * outlive consumers that are slower than the scanner TTL.
+ */
+@Internal
+public class KuduScanPrefetcher implements AutoCloseable {
+
+    /** A quarter of the default scanner TTL of the tablet servers. */
+    public static final long KEEP_ALIVE_PERIOD_MS = 15_000L;
+
+    /** Batch size the Kudu client requests if the scan does not set one. */
+    private static final long DEFAULT_BATCH_SIZE_BYTES = 1024 * 1024;
+
+    private final KuduScanner scanner;
+    private final int maxBatches;
+    private final long keepAlivePeriodMs;
+    private final Thread fetchThread;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<RowResultIterator> batches = new ArrayDeque<>();
+    private boolean finished;
+    private boolean closed;
+    @Nullable private Throwable error;
+
+    public KuduScanPrefetcher(KuduScanner scanner, long maxBytes) {
+        this(scanner, maxBytes, KEEP_ALIVE_PERIOD_MS);
+    }
+
+    @VisibleForTesting
+    public KuduScanPrefetcher(KuduScanner scanner, long maxBytes, long keepAlivePeriodMs) {
+        this.scanner = scanner;
+        long batchBytes =
+                scanner.getBatchSizeBytes() > 0
+                        ? scanner.getBatchSizeBytes()
+                        : DEFAULT_BATCH_SIZE_BYTES;
+        // at least one batch is fetched ahead, however small the bound
+        this.maxBatches = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxBytes / batchBytes));
+        this.keepAlivePeriodMs = keepAlivePeriodMs;
+        this.fetchThread = new Thread(this::fetchBatches, "kudu-scan-prefetch");
+        this.fetchThread.setDaemon(true);
+        this.fetchThread.start();
+    }
+
+    /**
+     * Takes the next batch of the scanner, waiting for it to arrive if necessary.
+     *
+     * @return the next batch, {@code null} once the scan is finished
+     * @throws IOException if fetching a batch failed
+     */
+    @Nullable
+    public RowResultIterator take() throws IOException {
+        synchronized (lock) {
+            while (batches.isEmpty() && !finished && error == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(
+                            "Interrupted while waiting for the rows of the Kudu scanner.");
+                }
+            }
+            RowResultIterator batch = batches.poll();
+            if (batch != null) {
+                lock.notifyAll();
+                return batch;
+            }
+            if (error != null) {
+                if (error instanceof IOException) {
+                    throw (IOException) error;
+                }
+                throw new IOException("Fetching rows of the Kudu scanner failed.", error);
+            }
+            return null;
+        }
+    }
+
+    private void fetchBatches() {
+        try {
+            long lastRequestNanos = System.nanoTime();
+            while (true) {
+                boolean keepAlive = false;
+                synchronized (lock) {
+                    while (!closed && batches.size() >= maxBatches) {
+                        long idleMs = (System.nanoTime() - lastRequestNanos) / 1_000_000;
+                        if (idleMs >= keepAlivePeriodMs) {
+                            keepAlive = true;
+                            break;
+                        }
+                        lock.wait(keepAlivePeriodMs - idleMs);
+                    }
+                    if (closed) {
+                        return;
+                    }
+                }
+
+                if (!scanner.hasMoreRows()) {
+                    synchronized (lock) {
+                        finished = true;
+                        lock.notifyAll();
+                    }
+                    return;
+                }
+                if (keepAlive) {
+                    scanner.keepAlive();
+                } else {
+                    RowResultIterator batch = scanner.nextRows();
+                    synchronized (lock) {
+                        batches.add(batch);
+                        lock.notifyAll();
+                    }
+                }
+                lastRequestNanos = System.nanoTime();
+            }
+        } catch (Throwable t) {
+            synchronized (lock) {
+                error = t;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Stops fetching and drops the fetched batches. Returns once the scanner is no longer used by
+     * the fetch thread, so that it can be closed.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            batches.clear();
+            lock.notifyAll();
+        }
+        try {
+            fetchThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.reader;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.connector.base.source.reader.SingleThreadMultiplexSourceReaderBase;
+import org.apache.flink.connector.kudu.source.KuduSourceSplit;
+
+import org.apache.kudu.client.RowResultIterator;
+
+import java.util.Map;
+
+/**
+ * Source reader of the Kudu source. A fetcher thread scans the assigned splits with a {@link
+ * KuduSplitReader}, and the rows are converted and emitted by the record emitter on the task
+ * thread, so the task stays responsive to checkpoints while a split is scanned. A new split is
+ * requested from the enumerator whenever the reader has finished its splits.
+ */
+@Internal
+public class KuduSourceReader<T>
+        extends SingleThreadMultiplexSourceReaderBase<
+                RowResultIterator, T, KuduSourceSplit, KuduSourceSplitState> {
+
+    public KuduSourceReader(
+            KuduReaderConfig readerConfig,
+            RecordEmitter<RowResultIterator, T, KuduSourceSplitState> recordEmitter,
+            Configuration config,
+            SourceReaderContext context) {
+        super(() -> new KuduSplitReader(readerConfig), recordEmitter, config, context);
+    }
+
+    @Override
+    public void start() {
+        // restored splits are read before new ones are requested
+        if (getNumberOfCurrentlyAssignedSplits() == 0) {
+            context.sendSplitRequest();
+        }
+    }
+
+    @Override
+    protected void onSplitFinished(Map<String, KuduSourceSplitState> finishedSplitIds) {
+        context.sendSplitRequest();
+    }
+
+    @Override
+    protected KuduSourceSplitState initializedState(KuduSourceSplit split) {
+        return new KuduSourceSplitState(split);
+    }
+
+    @Override
+    protected KuduSourceSplit toSplitType(String splitId, KuduSourceSplitState splitState) {
+        return splitState.toSplit();
+    }
+}
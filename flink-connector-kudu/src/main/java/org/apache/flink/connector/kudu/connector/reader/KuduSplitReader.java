@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.reader;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+import org.apache.flink.connector.kudu.connector.client.KuduClientRegistry;
+import org.apache.flink.connector.kudu.connector.client.SharedKuduClient;
+import org.apache.flink.connector.kudu.source.KuduSourceSplit;
+
+import org.apache.kudu.client.AsyncKuduScanner;
+import org.apache.kudu.client.KuduException;
+import org.apache.kudu.client.KuduScanToken;
+import org.apache.kudu.client.KuduScanner;
+import org.apache.kudu.client.RowResultIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * {@link SplitReader} of the Kudu source, runs in the fetcher thread of a {@link KuduSourceReader}.
+ * The assigned splits are scanned one after the other, every fetch returns one batch of rows of the
+ * scanner as a single record, which the record emitter turns into the rows of the split.
+ */
+@Internal
+public class KuduSplitReader implements SplitReader<RowResultIterator, KuduSourceSplit> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KuduSplitReader.class);
+
+    private final SharedKuduClient sharedClient;
+    private final boolean columnarScan;
+    private final Queue<KuduSourceSplit> splits = new ArrayDeque<>();
+
+    @Nullable private KuduSourceSplit currentSplit;
+    @Nullable private KuduScanner scanner;
+    private long recordsToSkip;
+
+    public KuduSplitReader(KuduReaderConfig readerConfig) {
+        this.sharedClient =
+                KuduClientRegistry.acquire(
+                        readerConfig.getMasters(), readerConfig.getWorkerCount());
+        this.columnarScan = readerConfig.isColumnarScan();
+    }
+
+    @Override
+    public RecordsWithSplitIds<RowResultIterator> fetch() throws IOException {
+        if (scanner == null) {
+            currentSplit = splits.poll();
+            if (currentSplit == null) {
+                return new RecordsBySplits.Builder<RowResultIterator>().build();
+            }
+            // the token carries the snapshot timestamp, a restored scan reads the same rows
+            scanner =
+                    KuduScanToken.deserializeIntoScanner(
+                            currentSplit.getScanToken(), sharedClient.getClient());
+            if (columnarScan) {
+                scanner.setRowDataFormat(AsyncKuduScanner.RowDataFormat.COLUMNAR);
+            }
+            recordsToSkip = currentSplit.getRecordsToSkip();
+            LOG.debug("Scanning {}.", currentSplit);
+        }
+
+        RowResultIterator rows =
+                scanner.hasMoreRows() ? scanner.nextRows() : RowResultIterator.empty();
+        // a restored split continues after the rows emitted before the checkpoint
+        while (recordsToSkip > 0 && rows.hasNext()) {
+            rows.next();
+            recordsToSkip--;
+        }
+
+        String splitId = currentSplit.splitId();
+        boolean finished = !scanner.hasMoreRows();
+        if (finished) {
+            closeScanner();
+        }
+        return new KuduSplitRecords(splitId, rows, finished);
+    }
+
+    @Override
+    public void handleSplitsChanges(SplitsChange<KuduSourceSplit> splitsChange) {
+        if (!(splitsChange instanceof SplitsAddition)) {
+            throw new UnsupportedOperationException(
+                    "Unsupported splits change: " + splitsChange.getClass());
+        }
+        splits.addAll(splitsChange.splits());
+    }
+
+    @Override
+    public void wakeUp() {
+        // a fetch only waits for one batch of the scanner
+    }
+
+    private void closeScanner() throws KuduException {
+        KuduScanner closing = scanner;
+        scanner = null;
+        currentSplit = null;
+        closing.close();
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            if (scanner != null) {
+                closeScanner();
+            }
+        } finally {
+            sharedClient.close();
+        }
+    }
+
+    /** One batch of rows of a scanner, all of them from the same split. */
+    private static class KuduSplitRecords implements RecordsWithSplitIds<RowResultIterator> {
+
+        @Nullable private String nextSplitId;
+        @Nullable private RowResultIterator rows;
+        private final Set<String> finishedSplits;
+
+        private KuduSplitRecords(String splitId, RowResultIterator rows, boolean finished) {
+            this.nextSplitId = splitId;
+            this.rows = rows;
+            this.finishedSplits =
+                    finished ? Collections.singleton(splitId) : Collections.emptySet();
+        }
+
+        @Nullable
+        @Override
+        public String nextSplit() {
+            String splitId = nextSplitId;
+            nextSplitId = null;
+            return splitId;
+        }
+
+        @Nullable
+        @Override
+        public RowResultIterator nextRecordFromSplit() {
+            RowResultIterator batch = rows;
+            rows = null;
+            return batch != null && batch.hasNext() ? batch : null;
+        }
+
+        @Override
+        public Set<String> finishedSplits() {
+            return finishedSplits;
+        }
+    }
+}
@@ -19,10 +19,15 @@ package org.apache.flink.connector.kudu.connector.writer;
 
 import org.apache.flink.annotation.PublicEvolving;
 
+import org.apache.kudu.Schema;
+import org.apache.kudu.Type;
 import org.apache.kudu.client.KuduTable;
 import org.apache.kudu.client.Operation;
 import org.apache.kudu.client.PartialRow;
 
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +41,16 @@ import java.util.Optional;
  * implementation for creating the base {@link Operation} through the {@link
  * #createBaseOperation(Object, KuduTable)} method.
  *
+ * <p>Column names are resolved to Kudu column indices and types once per table schema, values are
+ * written to the {@link PartialRow} by index. Subclasses with typed access to their input can
+ * override {@link #writeField(Object, int, PartialRow, int, Type)} to use the typed setters of the
+ * row instead of {@link #getField(Object, int)}.
+ *
+ * <p>Writers call {@link #appendOperations(Object, KuduTable, List)}, which creates the operation
+ * through {@link #createOperation(Object, KuduTable)} without allocating an {@link Optional} or a
+ * list per record. If every primary key column is mapped, {@link #writePrimaryKey(Object,
+ * KuduTable, PartialRow)} only writes the key columns and does not create an operation.
+ *
  * @param <T> Input type
  */
 @PublicEvolving
@@ -43,6 +58,17 @@ public abstract class AbstractSingleOperationMapper<T> implements KuduOperationM
 
     protected final List<String> columnNames;
     private final KuduOperation operation;
+    private final boolean customBaseOperation;
+
+    private transient ColumnBinding binding;
+
+    protected AbstractSingleOperationMapper(String[] columnNames) {
+        this(Arrays.asList(columnNames), null);
+    }
+
+    public AbstractSingleOperationMapper(String[] columnNames, KuduOperation operation) {
+        this(Arrays.asList(columnNames), operation);
+    }
 
     protected AbstractSingleOperationMapper(List<String> columnNames) {
         this(columnNames, null);
@@ -51,6 +77,7 @@ public abstract class AbstractSingleOperationMapper<T> implements KuduOperationM
     public AbstractSingleOperationMapper(List<String> columnNames, KuduOperation operation) {
         this.columnNames = columnNames;
         this.operation = operation;
+        this.customBaseOperation = overridesCreateBaseOperation(getClass());
     }
 
     /**
@@ -62,40 +89,154 @@ public abstract class AbstractSingleOperationMapper<T> implements KuduOperationM
      */
     public abstract Object getField(T input, int i);
 
+    /**
+     * Writes the value of the given column index to the row. The default implementation sets the
+     * value returned by {@link #getField(Object, int)}.
+     *
+     * @param input Input element
+     * @param i Column index
+     * @param row Row of the operation
+     * @param columnIndex Index of the column in the Kudu table schema
+     * @param type Type of the column in the Kudu table schema
+     */
+    protected void writeField(T input, int i, PartialRow row, int columnIndex, Type type) {
+        row.addObject(columnIndex, getField(input, i));
+    }
+
+    /** Returns the operation type given in the constructor, {@code null} if there is none. */
+    @Nullable
+    public KuduOperation getOperation() {
+        return operation;
+    }
+
     public Optional<Operation> createBaseOperation(T input, KuduTable table) {
         if (operation == null) {
             throw new UnsupportedOperationException(
                     "createBaseOperation must be overridden if no operation specified in constructor");
         }
+        return Optional.of(newOperation(table));
+    }
+
+    /**
+     * Creates the operation for the given input, {@code null} skips the input. Uses the operation
+     * type given in the constructor unless {@link #createBaseOperation(Object, KuduTable)} is
+     * overridden. Subclasses that choose the operation per record can override this method instead
+     * to avoid the {@link Optional}.
+     *
+     * @param input Input element
+     * @param table Table for which the operation should be created
+     * @return Operation with an empty row or {@code null}
+     */
+    @Nullable
+    protected Operation createOperation(T input, KuduTable table) {
+        if (operation != null && !customBaseOperation) {
+            return newOperation(table);
+        }
+        return createBaseOperation(input, table).orElse(null);
+    }
+
+    @Override
+    public List<Operation> createOperations(T input, KuduTable table) {
+        Operation operation = createOperation(input, table);
+        if (operation == null) {
+            return Collections.emptyList();
+        }
+        writeRow(input, operation, table);
+        return Collections.singletonList(operation);
+    }
+
+    @Override
+    public void appendOperations(T input, KuduTable table, List<Operation> operations) {
+        Operation operation = createOperation(input, table);
+        if (operation != null) {
+            writeRow(input, operation, table);
+            operations.add(operation);
+        }
+    }
+
+    @Override
+    public boolean writePrimaryKey(T input, KuduTable table, PartialRow key) {
+        ColumnBinding columns = bind(table.getSchema());
+        if (columns.keyFields == null) {
+            return KuduOperationMapper.super.writePrimaryKey(input, table, key);
+        }
+        for (int i : columns.keyFields) {
+            writeField(input, i, key, columns.indices[i], columns.types[i]);
+        }
+        return true;
+    }
+
+    private void writeRow(T input, Operation operation, KuduTable table) {
+        PartialRow partialRow = operation.getRow();
+        ColumnBinding columns = bind(table.getSchema());
+
+        for (int i = 0; i < columns.indices.length; i++) {
+            writeField(input, i, partialRow, columns.indices[i], columns.types[i]);
+        }
+    }
+
+    private Operation newOperation(KuduTable table) {
         switch (operation) {
             case INSERT:
-                return Optional.of(table.newInsert());
+                return table.newInsert();
             case UPDATE:
-                return Optional.of(table.newUpdate());
+                return table.newUpdate();
             case UPSERT:
-                return Optional.of(table.newUpsert());
+                return table.newUpsert();
             case DELETE:
-                return Optional.of(table.newDelete());
+                return table.newDelete();
             default:
                 throw new RuntimeException("Unknown operation " + operation);
         }
     }
 
-    @Override
-    public List<Operation> createOperations(T input, KuduTable table) {
-        Optional<Operation> operationOpt = createBaseOperation(input, table);
-        if (!operationOpt.isPresent()) {
-            return Collections.emptyList();
+    private static boolean overridesCreateBaseOperation(Class<?> mapperClass) {
+        try {
+            return mapperClass
+                            .getMethod("createBaseOperation", Object.class, KuduTable.class)
+                            .getDeclaringClass()
+                    != AbstractSingleOperationMapper.class;
+        } catch (NoSuchMethodException e) {
+            return true;
         }
+    }
 
-        Operation operation = operationOpt.get();
-        PartialRow partialRow = operation.getRow();
-
-        for (int i = 0; i < columnNames.size(); i++) {
-            partialRow.addObject(columnNames.get(i), getField(input, i));
+    private ColumnBinding bind(Schema schema) {
+        ColumnBinding current = binding;
+        if (current == null || current.schema != schema) {
+            current = new ColumnBinding(schema, columnNames);
+            binding = current;
         }
+        return current;
+    }
 
-        return Collections.singletonList(operation);
+    /** Kudu column indices and types of the mapped columns, resolved against a table schema. */
+    private static final class ColumnBinding {
+
+        private final Schema schema;
+        private final int[] indices;
+        private final Type[] types;
+        // mapped fields of the primary key columns, null if not every key column is mapped
+        @Nullable private final int[] keyFields;
+
+        private ColumnBinding(Schema schema, List<String> columnNames) {
+            this.schema = schema;
+            this.indices = new int[columnNames.size()];
+            this.types = new Type[columnNames.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = schema.getColumnIndex(columnNames.get(i));
+                types[i] = schema.getColumnByIndex(indices[i]).getType();
+            }
+
+            int[] keyFields = new int[schema.getPrimaryKeyColumnCount()];
+            Arrays.fill(keyFields, -1);
+            for (int i = 0; i < indices.length; i++) {
+                if (indices[i] < keyFields.length) {
+                    keyFields[indices[i]] = i;
+                }
+            }
+            this.keyFields = Arrays.stream(keyFields).allMatch(i -> i >= 0) ? keyFields : null;
+        }
     }
 
     /** Kudu operation types. */
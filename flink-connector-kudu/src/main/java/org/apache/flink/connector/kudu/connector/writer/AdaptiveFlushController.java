@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.Internal;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Tunes the batch size and the flush interval of a {@link KuduWriter} at runtime, similar to TCP
+ * congestion control (additive increase, multiplicative decrease).
+ *
+ * <ul>
+ *   <li>A flush that took longer than the target latency or returned more than 1% row errors halves
+ *       the batch size.
+ *   <li>A flush triggered by a full batch means the writer is the bottleneck: the batch size grows
+ *       by a fixed step and the flush interval doubles, so that batches can fill up.
+ *   <li>A flush triggered by the interval means traffic is light: the flush interval is halved, so
+ *       that rows are not held back longer than necessary.
+ * </ul>
+ *
+ * <p>Both values always stay within the configured bounds.
+ */
+@Internal
+public class AdaptiveFlushController {
+
+    /** What caused a flush. */
+    public enum Trigger {
+        BUFFER_FULL,
+        INTERVAL,
+        CHECKPOINT
+    }
+
+    private static final int ERROR_RATE_PERCENT = 1;
+    private static final int INCREASE_STEPS = 16;
+
+    private final int minBufferSize;
+    private final int maxBufferSize;
+    private final long minFlushInterval;
+    private final long maxFlushInterval;
+    private final long targetFlushLatency;
+    private final int increaseStep;
+
+    private int bufferSize;
+    private long flushInterval;
+
+    public AdaptiveFlushController(
+            int minBufferSize,
+            int maxBufferSize,
+            long minFlushInterval,
+            long maxFlushInterval,
+            long targetFlushLatency) {
+        checkArgument(
+                minBufferSize > 0 && minBufferSize <= maxBufferSize,
+                "Buffer size bounds must satisfy 0 < min <= max");
+        checkArgument(
+                minFlushInterval > 0 && minFlushInterval <= maxFlushInterval,
+                "Flush interval bounds must satisfy 0 < min <= max");
+        this.minBufferSize = minBufferSize;
+        this.maxBufferSize = maxBufferSize;
+        this.minFlushInterval = minFlushInterval;
+        this.maxFlushInterval = maxFlushInterval;
+        this.targetFlushLatency = targetFlushLatency;
+        this.increaseStep = Math.max(1, maxBufferSize / INCREASE_STEPS);
+
+        this.bufferSize = minBufferSize;
+        this.flushInterval = minFlushInterval;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Adjusts batch size and flush interval after a flush.
+     *
+     * @param operations number of operations in the flush
+     * @param errors number of row errors returned by the flush
+     * @param latencyMillis time the flush took
+     * @param trigger what caused the flush
+     */
+    public void onFlush(int operations, int errors, long latencyMillis, Trigger trigger) {
+        if (operations == 0) {
+            return;
+        }
+
+        if (latencyMillis > targetFlushLatency
+                || (long) errors * 100 > (long) operations * ERROR_RATE_PERCENT) {
+            bufferSize = Math.max(minBufferSize, bufferSize / 2);
+            return;
+        }
+
+        switch (trigger) {
+            case BUFFER_FULL:
+                bufferSize = Math.min(maxBufferSize, bufferSize + increaseStep);
+                flushInterval = Math.min(maxFlushInterval, flushInterval * 2);
+                break;
+            case INTERVAL:
+                flushInterval = Math.max(minFlushInterval, flushInterval / 2);
+                break;
+            default:
+                break;
+        }
+    }
+}
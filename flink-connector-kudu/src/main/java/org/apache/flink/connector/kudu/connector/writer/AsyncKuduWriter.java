@@ -0,0 +1,621 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.operators.ProcessingTimeService;
+import org.apache.flink.api.connector.sink2.Sink;
+import org.apache.flink.api.connector.sink2.StatefulSink;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.client.KuduClientRegistry;
+import org.apache.flink.connector.kudu.connector.client.SharedKuduClient;
+import org.apache.flink.connector.kudu.connector.failure.DefaultKuduFailureHandler;
+import org.apache.flink.connector.kudu.connector.failure.KuduFailureHandler;
+import org.apache.flink.connector.kudu.sink.KuduWriterState;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import org.apache.kudu.client.AsyncKuduClient;
+import org.apache.kudu.client.AsyncKuduSession;
+import org.apache.kudu.client.KuduClient;
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.OperationResponse;
+import org.apache.kudu.client.RowError;
+import org.apache.kudu.client.SessionConfiguration.FlushMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Writer to write data to a Kudu table through the {@link AsyncKuduClient}.
+ *
+ * <p>Operations are buffered in {@code MANUAL_FLUSH} sessions. Once a session holds {@link
+ * KuduWriterConfig#getMaxBufferSize()} operations it is flushed without waiting for the response
+ * and the writer continues with the next idle session. The number of outstanding flushes is bounded
+ * by {@link KuduWriterConfig#getMaxInFlightFlushes()} and their estimated size by {@link
+ * KuduWriterConfig#getMaxInFlightBytes()}; the task thread only blocks when one of these limits is
+ * reached. Flush responses are processed on the Kudu client threads, row errors are handed to the
+ * {@link KuduFailureHandler} on the task thread.
+ *
+ * <p>Kudu only keeps the order of the operations within one flush, so an operation whose primary
+ * key is part of an unacknowledged flush of another session is held back until that flush
+ * completes. Operations of the same key are therefore applied in their write order even though
+ * several sessions are flushed concurrently.
+ *
+ * <p>Buffered operations are flushed at the latest after {@link
+ * KuduWriterConfig#getFlushInterval()} milliseconds. The interval is enforced by processing time
+ * timers when the writer is created by a sink, otherwise it is only checked on incoming records.
+ *
+ * <p>With {@link KuduWriterConfig#isSnapshotPendingOperations()} a checkpoint only starts the flush
+ * of the buffered operations and does not wait for outstanding flushes. Instead the writer keeps
+ * every operation until its flush is acknowledged and stores the unacknowledged ones in the writer
+ * state, they are applied again by {@link #restoreState} after a failover. Failed rows that the
+ * failure handler retries are still awaited by the checkpoint.
+ */
+@Internal
+public class AsyncKuduWriter<T> implements StatefulSink.StatefulSinkWriter<T, KuduWriterState> {
+
+    private static final int INITIAL_STATE_SIZE = 64 * 1024;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final KuduTableInfo tableInfo;
+    private final KuduWriterConfig writerConfig;
+    private final KuduFailureHandler failureHandler;
+    private final KuduOperationMapper<T> operationMapper;
+
+    private final transient SharedKuduClient sharedClient;
+    private final transient AsyncKuduClient client;
+    private final transient KuduTable table;
+    private final transient OperationCoalescer coalescer;
+    private final transient KuduWriterMetrics metrics;
+    @Nullable private final transient KuduRateLimiter rateLimiter;
+    @Nullable private final transient ProcessingTimeService timeService;
+    private final transient List<Operation> operations = new ArrayList<>();
+
+    private final Object lock = new Object();
+    private final Queue<AsyncKuduSession> idleSessions = new ArrayDeque<>();
+    private final List<AsyncKuduSession> sessions = new ArrayList<>();
+    private final Queue<RowError> pendingErrors = new ConcurrentLinkedQueue<>();
+    // operations of the outstanding flushes in flush order, only tracked to snapshot them
+    private final Map<AsyncKuduSession, List<Operation>> inFlightOperations = new LinkedHashMap<>();
+    // operations of failed flushes, kept in the state until the failure fails the writer
+    private final List<Operation> failedOperations = new ArrayList<>();
+    // primary keys of the outstanding flushes, a key is part of at most one of them
+    private final Map<AsyncKuduSession, Set<ByteBuffer>> inFlightKeysBySession = new HashMap<>();
+    private final Set<ByteBuffer> inFlightKeys = new HashSet<>();
+
+    private int inFlightFlushes;
+    private long inFlightBytes;
+    private volatile Exception flushFailure;
+
+    private AsyncKuduSession currentSession;
+    private Set<ByteBuffer> currentKeys = new HashSet<>();
+    private int bufferedOperations;
+    private long bufferedBytes;
+    private long firstBufferedAt;
+    private boolean flushTimerRegistered;
+    private boolean coalesceTimerRegistered;
+    @Nullable private List<Operation> currentOperations;
+
+    public AsyncKuduWriter(
+            KuduTableInfo tableInfo,
+            KuduWriterConfig writerConfig,
+            KuduOperationMapper<T> operationMapper)
+            throws IOException {
+        this(tableInfo, writerConfig, operationMapper, new DefaultKuduFailureHandler());
+    }
+
+    public AsyncKuduWriter(
+            KuduTableInfo tableInfo,
+            KuduWriterConfig writerConfig,
+            KuduOperationMapper<T> operationMapper,
+            KuduFailureHandler failureHandler)
+            throws IOException {
+        this(tableInfo, writerConfig, operationMapper, failureHandler, null);
+    }
+
+    public AsyncKuduWriter(
+            KuduTableInfo tableInfo,
+            KuduWriterConfig writerConfig,
+            KuduOperationMapper<T> operationMapper,
+            KuduFailureHandler failureHandler,
+            @Nullable Sink.InitContext context)
+            throws IOException {
+        this.tableInfo = tableInfo;
+        this.writerConfig = writerConfig;
+        this.failureHandler = failureHandler;
+        this.operationMapper = operationMapper;
+
+        this.sharedClient = obtainClient();
+        this.client = sharedClient.getAsyncClient();
+        try {
+            this.table = obtainTable();
+        } catch (IOException | RuntimeException e) {
+            sharedClient.close();
+            throw e;
+        }
+        for (int i = 0; i < writerConfig.getMaxInFlightFlushes(); i++) {
+            AsyncKuduSession session = obtainSession();
+            sessions.add(session);
+            idleSessions.add(session);
+        }
+        this.coalescer =
+                writerConfig.isCoalesceWrites()
+                        ? new OperationCoalescer(
+                                writerConfig.getMaxBufferSize(), writerConfig.getFlushInterval())
+                        : null;
+        this.timeService = context == null ? null : context.getProcessingTimeService();
+        this.metrics = new KuduWriterMetrics(context == null ? null : context.metricGroup());
+        this.rateLimiter =
+                KuduRateLimiter.isEnabled(writerConfig)
+                        ? new KuduRateLimiter(
+                                writerConfig,
+                                context == null ? 1 : context.getNumberOfParallelSubtasks())
+                        : null;
+        metrics.registerBufferGauges(
+                () -> bufferedOperations + (coalescer == null ? 0 : coalescer.size()),
+                () -> bufferedBytes);
+        metrics.registerPendingErrorsGauge(pendingErrors::size);
+        if (writerConfig.isSnapshotPendingOperations()) {
+            this.currentOperations = new ArrayList<>();
+        }
+        failureHandler.open(
+                new KuduFailureHandler.Context() {
+                    @Override
+                    public void apply(Operation operation) throws IOException {
+                        AsyncKuduWriter.this.apply(operation);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        flushBuffered();
+                    }
+                });
+    }
+
+    @Override
+    public void write(T input, Context context) throws IOException {
+        checkAsyncErrors();
+        failureHandler.retryPending();
+
+        operationMapper.appendOperations(input, table, operations);
+        for (int i = 0; i < operations.size(); i++) {
+            if (coalescer != null) {
+                coalescer.add(operations.get(i));
+            } else {
+                apply(operations.get(i));
+            }
+        }
+        operations.clear();
+
+        if (coalescer != null) {
+            if (coalescer.shouldFlush()) {
+                applyCoalesced();
+            } else if (!coalescer.isEmpty()) {
+                registerCoalesceTimer();
+            }
+        }
+        if (bufferedOperations > 0
+                && System.currentTimeMillis() - firstBufferedAt
+                        >= writerConfig.getFlushInterval()) {
+            flushCurrentSession();
+        }
+    }
+
+    @Override
+    public void flush(boolean endOfInput) throws IOException {
+        if (currentOperations != null && !endOfInput) {
+            // operations still in flight at the checkpoint are stored by snapshotState
+            startFlush();
+        } else {
+            flushBuffered();
+        }
+        failureHandler.awaitRetries();
+    }
+
+    /**
+     * Returns the operations that Kudu has not acknowledged yet, if they are tracked. Rejected rows
+     * that were not handed to the failure handler yet are included, so that they are not lost if
+     * the job fails before they are handled. A flush that already failed fails the checkpoint, the
+     * operations of a flush failing while the state is taken are stored with it.
+     */
+    @Override
+    public List<KuduWriterState> snapshotState(long checkpointId) throws IOException {
+        throwIfFlushFailed();
+        if (currentOperations == null) {
+            return Collections.emptyList();
+        }
+
+        DataOutputSerializer out = new DataOutputSerializer(INITIAL_STATE_SIZE);
+        int count = 0;
+        // the callbacks move the operations of a flush to the errors under the same lock
+        synchronized (lock) {
+            for (RowError error : pendingErrors) {
+                OperationSerializer.serialize(error.getOperation(), out);
+                count++;
+            }
+            for (Operation operation : failedOperations) {
+                OperationSerializer.serialize(operation, out);
+                count++;
+            }
+            for (List<Operation> flushOperations : inFlightOperations.values()) {
+                for (Operation operation : flushOperations) {
+                    OperationSerializer.serialize(operation, out);
+                    count++;
+                }
+            }
+        }
+        for (Operation operation : currentOperations) {
+            OperationSerializer.serialize(operation, out);
+            count++;
+        }
+
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(
+                new KuduWriterState(table.getName(), count, out.getCopyOfBuffer()));
+    }
+
+    /**
+     * Applies the operations of restored writer states again. Must be called before the first
+     * record is written.
+     */
+    public void restoreState(Collection<KuduWriterState> states) throws IOException {
+        for (KuduWriterState state : states) {
+            KuduTable stateTable =
+                    state.getTableName().equals(table.getName())
+                            ? table
+                            : client.syncClient().openTable(state.getTableName());
+            DataInputDeserializer in = new DataInputDeserializer(state.getOperations());
+            for (int i = 0; i < state.getOperationCount(); i++) {
+                apply(OperationSerializer.deserialize(in, stateTable));
+            }
+            log.info(
+                    "Restored {} pending operations of table {}.",
+                    state.getOperationCount(),
+                    state.getTableName());
+        }
+    }
+
+    private void flushBuffered() throws IOException {
+        startFlush();
+        synchronized (lock) {
+            while (inFlightFlushes > 0) {
+                awaitLock();
+            }
+        }
+        checkAsyncErrors();
+    }
+
+    /** Hands all buffered operations to Kudu without waiting for the responses. */
+    private void startFlush() throws IOException {
+        checkAsyncErrors();
+        if (coalescer != null) {
+            applyCoalesced();
+        }
+        flushCurrentSession();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush(true);
+        } finally {
+            for (AsyncKuduSession session : sessions) {
+                try {
+                    session.close().join(writerConfig.getOperationTimeout());
+                } catch (Exception e) {
+                    log.error("Error while closing session.", e);
+                }
+            }
+            try {
+                failureHandler.close();
+            } catch (Exception e) {
+                log.error("Error while closing failure handler.", e);
+            }
+            if (sharedClient != null) {
+                sharedClient.close();
+            }
+        }
+    }
+
+    private void apply(Operation operation) throws IOException {
+        long start = System.nanoTime();
+        if (sessions.size() > 1) {
+            ByteBuffer key = ByteBuffer.wrap(operation.getRow().encodePrimaryKey());
+            if (currentKeys.add(key)) {
+                awaitKeyFlushed(key);
+            }
+        }
+        if (currentSession == null) {
+            currentSession = acquireSession();
+        }
+        // errors of the awaited flushes go to the failure handler first, it may hold back the row
+        if (!pendingErrors.isEmpty()) {
+            checkAsyncErrors();
+        }
+        if (failureHandler.holdBack(operation)) {
+            return;
+        }
+        if (currentSession == null) {
+            // the failure handler wrote and flushed operations meanwhile
+            currentSession = acquireSession();
+        }
+
+        // always estimated, the in-flight bytes are limited
+        long sizeBytes = OperationSizeEstimator.estimate(operation);
+        long rateLimitedNanos = 0;
+        if (rateLimiter != null) {
+            rateLimitedNanos = rateLimiter.acquire(1, sizeBytes);
+            metrics.onRateLimited(rateLimitedNanos);
+        }
+        currentSession.apply(operation);
+        if (currentOperations != null) {
+            currentOperations.add(operation);
+        }
+        metrics.onApply(operation, sizeBytes, System.nanoTime() - start - rateLimitedNanos);
+        bufferedBytes += sizeBytes;
+        if (bufferedOperations++ == 0) {
+            firstBufferedAt = System.currentTimeMillis();
+            registerFlushTimer();
+        }
+
+        if (bufferedOperations >= writerConfig.getMaxBufferSize()) {
+            flushCurrentSession();
+        }
+    }
+
+    private void applyCoalesced() throws IOException {
+        for (Operation operation : coalescer.drain()) {
+            apply(operation);
+        }
+    }
+
+    private SharedKuduClient obtainClient() {
+        return KuduClientRegistry.acquire(writerConfig.getMasters(), writerConfig.getWorkerCount());
+    }
+
+    private AsyncKuduSession obtainSession() {
+        AsyncKuduSession session = client.newSession();
+        session.setFlushMode(FlushMode.MANUAL_FLUSH);
+        session.setTimeoutMillis(writerConfig.getOperationTimeout());
+        session.setMutationBufferSpace(writerConfig.getMaxBufferSize());
+        // duplicate and not found rows are dropped by the writer, so that they can be counted
+        session.setIgnoreAllDuplicateRows(false);
+        session.setIgnoreAllNotFoundRows(false);
+        return session;
+    }
+
+    private KuduTable obtainTable() throws IOException {
+        KuduClient syncClient = client.syncClient();
+        String tableName = tableInfo.getName();
+        if (syncClient.tableExists(tableName)) {
+            return syncClient.openTable(tableName);
+        }
+        if (tableInfo.getCreateTableIfNotExists()) {
+            return syncClient.createTable(
+                    tableName, tableInfo.getSchema(), tableInfo.getCreateTableOptions());
+        }
+        throw new RuntimeException("Table " + tableName + " does not exist.");
+    }
+
+    /**
+     * Waits until no outstanding flush contains the key, so that the operation is not overtaken by
+     * an earlier operation of the same row that is still on the wire.
+     */
+    private void awaitKeyFlushed(ByteBuffer key) throws IOException {
+        synchronized (lock) {
+            while (inFlightKeys.contains(key)) {
+                awaitLock();
+                throwIfFlushFailed();
+            }
+        }
+    }
+
+    /** Applies the coalesced operations once the oldest one is older than the flush interval. */
+    private void registerCoalesceTimer() {
+        if (timeService == null || coalesceTimerRegistered) {
+            return;
+        }
+        coalesceTimerRegistered = true;
+        timeService.registerTimer(
+                timeService.getCurrentProcessingTime() + coalescer.getFlushInterval(),
+                time -> {
+                    coalesceTimerRegistered = false;
+                    if (coalescer.isEmpty()) {
+                        return;
+                    }
+                    if (coalescer.shouldFlush()) {
+                        applyCoalesced();
+                    } else {
+                        registerCoalesceTimer();
+                    }
+                });
+    }
+
+    private void registerFlushTimer() {
+        if (timeService == null || flushTimerRegistered) {
+            return;
+        }
+        flushTimerRegistered = true;
+        timeService.registerTimer(
+                timeService.getCurrentProcessingTime() + writerConfig.getFlushInterval(),
+                time -> {
+                    flushTimerRegistered = false;
+                    if (bufferedOperations == 0) {
+                        return;
+                    }
+                    if (System.currentTimeMillis() - firstBufferedAt
+                            >= writerConfig.getFlushInterval()) {
+                        flushCurrentSession();
+                    } else {
+                        registerFlushTimer();
+                    }
+                });
+    }
+
+    /** Waits for an idle session, failing fast if a previous flush failed meanwhile. */
+    private AsyncKuduSession acquireSession() throws IOException {
+        synchronized (lock) {
+            while (idleSessions.isEmpty()) {
+                awaitLock();
+                throwIfFlushFailed();
+            }
+            return idleSessions.poll();
+        }
+    }
+
+    private void flushCurrentSession() throws IOException {
+        if (currentSession == null || bufferedOperations == 0) {
+            return;
+        }
+        final AsyncKuduSession session = currentSession;
+        final long batchBytes = bufferedBytes;
+
+        synchronized (lock) {
+            // Always allow a single flush so that a batch larger than the byte limit can proceed.
+            while (inFlightFlushes > 0
+                    && inFlightBytes + batchBytes > writerConfig.getMaxInFlightBytes()) {
+                awaitLock();
+                throwIfFlushFailed();
+            }
+            inFlightFlushes++;
+            inFlightBytes += batchBytes;
+            if (currentOperations != null) {
+                inFlightOperations.put(session, currentOperations);
+            }
+            if (!currentKeys.isEmpty()) {
+                inFlightKeys.addAll(currentKeys);
+                inFlightKeysBySession.put(session, currentKeys);
+                currentKeys = new HashSet<>();
+            }
+        }
+        if (currentOperations != null) {
+            currentOperations = new ArrayList<>();
+        }
+
+        currentSession = null;
+        bufferedOperations = 0;
+        bufferedBytes = 0;
+
+        final long flushStart = System.nanoTime();
+        session.flush()
+                .addCallbacks(
+                        responses -> {
+                            releaseSession(
+                                    session,
+                                    batchBytes,
+                                    flushStart,
+                                    OperationResponse.collectErrors(responses),
+                                    null);
+                            return null;
+                        },
+                        (Exception e) -> {
+                            releaseSession(
+                                    session, batchBytes, flushStart, Collections.emptyList(), e);
+                            return null;
+                        });
+    }
+
+    /**
+     * Returns the session of a completed flush. Its row errors and, if the flush failed, its
+     * operations are handed over under the lock, so that {@link #snapshotState} sees every
+     * operation either in flight, failed or rejected.
+     */
+    private void releaseSession(
+            AsyncKuduSession session,
+            long batchBytes,
+            long flushStart,
+            List<RowError> errors,
+            @Nullable Exception failure) {
+        synchronized (lock) {
+            metrics.onFlush((System.nanoTime() - flushStart) / 1_000_000);
+            inFlightFlushes--;
+            inFlightBytes -= batchBytes;
+            pendingErrors.addAll(errors);
+            List<Operation> flushOperations = inFlightOperations.remove(session);
+            if (failure != null) {
+                if (flushOperations != null) {
+                    failedOperations.addAll(flushOperations);
+                }
+                flushFailure = failure;
+            }
+            Set<ByteBuffer> keys = inFlightKeysBySession.remove(session);
+            if (keys != null) {
+                inFlightKeys.removeAll(keys);
+            }
+            idleSessions.add(session);
+            lock.notifyAll();
+        }
+    }
+
+    private void awaitLock() throws IOException {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for Kudu flushes.");
+        }
+    }
+
+    private void throwIfFlushFailed() throws IOException {
+        Exception failure = flushFailure;
+        if (failure != null) {
+            throw new IOException("Error while flushing operations to Kudu.", failure);
+        }
+    }
+
+    private void checkAsyncErrors() throws IOException {
+        throwIfFlushFailed();
+        if (pendingErrors.isEmpty()) {
+            return;
+        }
+
+        List<RowError> errors = new ArrayList<>();
+        RowError error;
+        while ((error = pendingErrors.poll()) != null) {
+            errors.add(error);
+        }
+        List<RowError> failures =
+                metrics.onRowErrors(
+                        errors, writerConfig.isIgnoreDuplicate(), writerConfig.isIgnoreNotFound());
+        if (!failures.isEmpty()) {
+            failureHandler.onFailure(failures);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.sink2.Committer;
+import org.apache.flink.connector.kudu.connector.client.KuduClientRegistry;
+import org.apache.flink.connector.kudu.connector.client.SharedKuduClient;
+import org.apache.flink.connector.kudu.sink.KuduCommittable;
+
+import org.apache.kudu.client.KuduException;
+import org.apache.kudu.client.KuduTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Committer of the {@link org.apache.flink.connector.kudu.sink.KuduTwoPhaseCommitSink}. Commits the
+ * Kudu transaction of a {@link KuduCommittable} and waits until its operations are visible.
+ *
+ * <p>A committable is committed again after a recovery if the job failed before its commit was
+ * acknowledged, a transaction that is already committed is then reported as such. Kudu aborts a
+ * transaction that nobody keeps alive for longer than the keepalive interval of the tablet servers
+ * ({@code --txn_keepalive_interval_ms}), so the operations of a checkpoint are lost if the job
+ * takes longer than that to recover and commit it. The commit of an aborted transaction fails with
+ * a known reason.
+ */
+@Internal
+public class KuduCommitter implements Committer<KuduCommittable> {
+
+    /** Attempts of a committable that fails with a client error before the job fails. */
+    static final int MAX_COMMIT_ATTEMPTS = 10;
+
+    private static final Logger LOG = LoggerFactory.getLogger(KuduCommitter.class);
+
+    private final SharedKuduClient sharedClient;
+
+    public KuduCommitter(KuduWriterConfig writerConfig) {
+        this.sharedClient =
+                KuduClientRegistry.acquire(
+                        writerConfig.getMasters(), writerConfig.getWorkerCount());
+    }
+
+    @Override
+    public void commit(Collection<CommitRequest<KuduCommittable>> requests) {
+        for (CommitRequest<KuduCommittable> request : requests) {
+            KuduCommittable committable = request.getCommittable();
+            try {
+                if (!commit(committable)) {
+                    request.signalAlreadyCommitted();
+                }
+            } catch (KuduException e) {
+                if (e.getStatus().isAborted()) {
+                    request.signalFailedWithKnownReason(
+                            new IOException(
+                                    "Transaction of "
+                                            + committable
+                                            + " was aborted by Kudu, its operations are lost.",
+                                    e));
+                } else if (request.getNumberOfRetries() + 1 < MAX_COMMIT_ATTEMPTS) {
+                    LOG.warn("Failed to commit {}, retrying.", committable, e);
+                    request.retryLater();
+                } else {
+                    request.signalFailedWithUnknownReason(e);
+                }
+            } catch (IOException e) {
+                request.signalFailedWithKnownReason(e);
+            }
+        }
+    }
+
+    /** Returns {@code false} if the transaction of the committable was committed before. */
+    private boolean commit(KuduCommittable committable) throws IOException {
+        KuduTransaction transaction =
+                KuduTransaction.deserialize(
+                        committable.getTransaction(), sharedClient.getAsyncClient());
+        try {
+            transaction.commit();
+            return true;
+        } catch (KuduException e) {
+            // a transaction that was committed before cannot be committed again
+            if (!e.getStatus().isAborted() && transaction.isCommitComplete()) {
+                return false;
+            }
+            throw e;
+        } finally {
+            transaction.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        sharedClient.close();
+    }
+}
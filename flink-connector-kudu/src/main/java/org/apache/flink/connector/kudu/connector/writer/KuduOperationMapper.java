@@ -21,6 +21,7 @@ import org.apache.flink.annotation.PublicEvolving;
 
 import org.apache.kudu.client.KuduTable;
 import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
 
 import java.io.Serializable;
 import java.util.List;
@@ -43,4 +44,42 @@ public interface KuduOperationMapper<T> extends Serializable {
      * @return List of operations to be executed on the table
      */
     List<Operation> createOperations(T input, KuduTable table);
+
+    /**
+     * Appends the operations to be executed for the current input to a buffer owned by the writer,
+     * which reuses the buffer for every record. Mappers that can create their operations without an
+     * intermediate list should override this method, the default implementation adds the result of
+     * {@link #createOperations(Object, KuduTable)}.
+     *
+     * @param input input element
+     * @param table table for which the operations should be created
+     * @param operations buffer to add the operations to
+     */
+    default void appendOperations(T input, KuduTable table, List<Operation> operations) {
+        operations.addAll(createOperations(input, table));
+    }
+
+    /**
+     * Writes the primary key of the first operation for the current input to the given row, which
+     * is used to route the input to the writer of its tablet. Mappers that can read the key
+     * columns of their input directly should override this method, the default implementation
+     * copies the key of the first operation created by {@link #createOperations(Object,
+     * KuduTable)}.
+     *
+     * @param input input element
+     * @param table table for which the operations would be created
+     * @param key empty row of the table schema to write the primary key columns to
+     * @return whether {@code key} was written, inputs without operations can go to any writer
+     */
+    default boolean writePrimaryKey(T input, KuduTable table, PartialRow key) {
+        List<Operation> operations = createOperations(input, table);
+        if (operations.isEmpty()) {
+            return false;
+        }
+        PartialRow row = operations.get(0).getRow();
+        for (int i = 0; i < table.getSchema().getPrimaryKeyColumnCount(); i++) {
+            key.addObject(i, row.getObject(i));
+        }
+        return true;
+    }
 }
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Properties;
+import java.util.function.LongSupplier;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Token bucket rate limiter of a sink writer, limiting rows and estimated bytes per second. The
+ * limits of {@link KuduWriterConfig} apply to the whole sink and are divided evenly across its
+ * parallel subtasks. Each bucket holds at most one second of tokens, so short bursts are allowed.
+ *
+ * <p>{@link #acquire(long, long)} blocks the writer until enough tokens are available, which
+ * backpressures the pipeline instead of buffering records. If {@link
+ * KuduWriterConfig#getRateLimitFile()} is set, the limits are re-read from that properties file
+ * every {@link #REFRESH_INTERVAL_MILLIS} milliseconds, so they can be changed without restarting
+ * the job.
+ */
+@Internal
+public class KuduRateLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KuduRateLimiter.class);
+
+    public static final long REFRESH_INTERVAL_MILLIS = 10_000;
+    public static final String ROWS_PER_SECOND_KEY = "rows-per-second";
+    public static final String BYTES_PER_SECOND_KEY = "bytes-per-second";
+
+    private final int parallelism;
+    private final long configuredRows;
+    private final long configuredBytes;
+    @Nullable private final Path rateLimitFile;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+
+    private final Bucket rows = new Bucket();
+    private final Bucket bytes = new Bucket();
+    private long nextRefresh;
+
+    public KuduRateLimiter(KuduWriterConfig writerConfig, int parallelism) {
+        this(writerConfig, parallelism, System::nanoTime, Thread::sleep);
+    }
+
+    @VisibleForTesting
+    public KuduRateLimiter(
+            KuduWriterConfig writerConfig,
+            int parallelism,
+            LongSupplier nanoClock,
+            Sleeper sleeper) {
+        checkArgument(parallelism > 0, "parallelism must be positive");
+        this.parallelism = parallelism;
+        this.configuredRows = writerConfig.getRateLimitRows();
+        this.configuredBytes = writerConfig.getRateLimitBytes();
+        this.rateLimitFile =
+                writerConfig.getRateLimitFile() == null
+                        ? null
+                        : new Path(writerConfig.getRateLimitFile());
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+
+        long now = nanoClock.getAsLong();
+        setRates(configuredRows, configuredBytes, now);
+        nextRefresh = now;
+        refreshIfDue(now);
+        rows.fill();
+        bytes.fill();
+    }
+
+    /** Returns whether the given configuration limits the write rate at all. */
+    public static boolean isEnabled(KuduWriterConfig writerConfig) {
+        return writerConfig.getRateLimitRows() > 0
+                || writerConfig.getRateLimitBytes() > 0
+                || writerConfig.getRateLimitFile() != null;
+    }
+
+    /**
+     * Takes the given number of rows and bytes from the buckets, blocking until they are available.
+     *
+     * @return the time the caller was blocked in nanoseconds
+     */
+    public long acquire(long numRows, long numBytes) throws IOException {
+        long now = nanoClock.getAsLong();
+        refreshIfDue(now);
+        long waitNanos = Math.max(rows.take(numRows, now), bytes.take(numBytes, now));
+        if (waitNanos > 0) {
+            try {
+                sleeper.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the rate limit.");
+            }
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Returns whether bytes are limited at the moment, writers skip estimating the size of their
+     * operations otherwise.
+     */
+    public boolean limitsBytes() {
+        return bytes.ratePerSecond > 0;
+    }
+
+    /** Rows per second of this subtask, {@code 0} if unlimited. */
+    public double getRowsPerSecond() {
+        return rows.ratePerSecond;
+    }
+
+    /** Bytes per second of this subtask, {@code 0} if unlimited. */
+    public double getBytesPerSecond() {
+        return bytes.ratePerSecond;
+    }
+
+    private void setRates(long totalRows, long totalBytes, long now) {
+        rows.setRate((double) totalRows / parallelism, now);
+        bytes.setRate((double) totalBytes / parallelism, now);
+    }
+
+    private void refreshIfDue(long now) {
+        if (rateLimitFile == null || now - nextRefresh < 0) {
+            return;
+        }
+        nextRefresh = now + REFRESH_INTERVAL_MILLIS * 1_000_000;
+
+        Properties properties = new Properties();
+        try (FSDataInputStream in = rateLimitFile.getFileSystem().open(rateLimitFile)) {
+            properties.load(in);
+            long totalRows = parseRate(properties, ROWS_PER_SECOND_KEY, configuredRows);
+            long totalBytes = parseRate(properties, BYTES_PER_SECOND_KEY, configuredBytes);
+            if ((double) totalRows / parallelism != rows.ratePerSecond
+                    || (double) totalBytes / parallelism != bytes.ratePerSecond) {
+                LOG.info(
+                        "Changing Kudu sink rate limit to {} rows/s and {} bytes/s.",
+                        totalRows,
+                        totalBytes);
+            }
+            setRates(totalRows, totalBytes, now);
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.warn("Cannot read Kudu sink rate limits from {}.", rateLimitFile, e);
+        }
+    }
+
+    private static long parseRate(Properties properties, String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        long rate = Long.parseLong(value.trim());
+        checkArgument(rate >= 0, "%s cannot be negative", key);
+        return rate;
+    }
+
+    /** Sleeps the current thread, {@link Thread#sleep(long, int)} outside of tests. */
+    @VisibleForTesting
+    public interface Sleeper {
+        void sleep(long millis, int nanos) throws InterruptedException;
+    }
+
+    /** Token bucket holding up to one second of tokens, tokens go negative while in debt. */
+    private static final class Bucket {
+
+        private double ratePerSecond;
+        private double tokens;
+        private long lastRefill;
+
+        void fill() {
+            tokens = ratePerSecond;
+        }
+
+        void setRate(double ratePerSecond, long now) {
+            refill(now);
+            this.ratePerSecond = ratePerSecond;
+            tokens = Math.min(tokens, ratePerSecond);
+        }
+
+        /** Takes the given amount of tokens and returns the nanoseconds until they are covered. */
+        long take(long amount, long now) {
+            if (ratePerSecond <= 0) {
+                return 0;
+            }
+            refill(now);
+            tokens -= amount;
+            return tokens >= 0 ? 0 : (long) (-tokens / ratePerSecond * 1_000_000_000L);
+        }
+
+        private void refill(long now) {
+            if (ratePerSecond > 0) {
+                tokens =
+                        Math.min(
+                                ratePerSecond,
+                                tokens + (now - lastRefill) * ratePerSecond / 1_000_000_000L);
+            }
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.operators.ProcessingTimeService;
+import org.apache.flink.api.connector.sink2.Sink;
+import org.apache.flink.api.connector.sink2.SinkWriter;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.client.KuduClientRegistry;
+import org.apache.flink.connector.kudu.connector.client.SharedKuduClient;
+import org.apache.flink.connector.kudu.connector.failure.KuduFailureHandler;
+import org.apache.flink.util.InstantiationUtil;
+
+import com.stumbleupon.async.Deferred;
+import org.apache.kudu.client.AsyncKuduClient;
+import org.apache.kudu.client.AsyncKuduSession;
+import org.apache.kudu.client.KuduClient;
+import org.apache.kudu.client.KuduException;
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.OperationResponse;
+import org.apache.kudu.client.RowError;
+import org.apache.kudu.client.SessionConfiguration.FlushMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writer of a {@link org.apache.flink.connector.kudu.sink.KuduRoutingSink} that writes every record
+ * to the Kudu table named by a {@link KuduTableNameExtractor}.
+ *
+ * <p>A table is opened, or created like the template table, when the first record for it arrives.
+ * All tables share the Kudu client of the writer, each table has its own {@code MANUAL_FLUSH}
+ * session and its own copy of the operation mapper. The writer schedules the flushes of all
+ * sessions: a table is flushed once it buffered {@code maxBufferSize} operations or its oldest
+ * operation is {@code flushInterval} milliseconds old, and the largest buffers are flushed as soon
+ * as the buffers of all tables together exceed {@code maxBufferedBytes}. The flushes of several
+ * tables run in parallel.
+ *
+ * @param <T> type of the input records
+ */
+@Internal
+public class KuduRoutingWriter<T> implements SinkWriter<T> {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final KuduWriterConfig writerConfig;
+    private final KuduTableNameExtractor<T> tableNameExtractor;
+    @Nullable private final KuduTableInfo tableTemplate;
+    @Nullable private final KuduOperationMapper<T> defaultOperationMapper;
+    private final Map<String, KuduOperationMapper<T>> operationMappers;
+    private final long maxBufferedBytes;
+    private final KuduFailureHandler failureHandler;
+
+    private final transient SharedKuduClient sharedClient;
+    private final transient AsyncKuduClient client;
+    @Nullable private final transient ProcessingTimeService timeService;
+    private final transient KuduWriterMetrics metrics;
+    private final transient Map<String, TableWriter<T>> tables = new HashMap<>();
+    private final transient List<Operation> operations = new ArrayList<>();
+    private final long schedulerPeriod;
+
+    private int bufferedOperations;
+    private long bufferedBytes;
+    private long nextScheduledFlush;
+    private boolean flushTimerRegistered;
+
+    public KuduRoutingWriter(
+            KuduWriterConfig writerConfig,
+            KuduTableNameExtractor<T> tableNameExtractor,
+            @Nullable KuduTableInfo tableTemplate,
+            @Nullable KuduOperationMapper<T> defaultOperationMapper,
+            Map<String, KuduOperationMapper<T>> operationMappers,
+            long maxBufferedBytes,
+            KuduFailureHandler failureHandler,
+            @Nullable Sink.InitContext context) {
+        this.writerConfig = writerConfig;
+        this.tableNameExtractor = tableNameExtractor;
+        this.tableTemplate = tableTemplate;
+        this.defaultOperationMapper = defaultOperationMapper;
+        this.operationMappers = operationMappers;
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.failureHandler = failureHandler;
+
+        this.sharedClient =
+                KuduClientRegistry.acquire(
+                        writerConfig.getMasters(), writerConfig.getWorkerCount());
+        this.client = sharedClient.getAsyncClient();
+        this.timeService = context == null ? null : context.getProcessingTimeService();
+        this.metrics = new KuduWriterMetrics(context == null ? null : context.metricGroup());
+        // tables are checked twice per interval, operations wait at most 1.5 intervals
+        this.schedulerPeriod = Math.max(1, writerConfig.getFlushInterval() / 2);
+        metrics.registerBufferGauges(() -> bufferedOperations, () -> bufferedBytes);
+        failureHandler.open(
+                new KuduFailureHandler.Context() {
+                    @Override
+                    public void apply(Operation operation) throws IOException {
+                        KuduRoutingWriter.this.apply(
+                                tableWriter(operation.getTable().getName()), operation);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        flushTables(tables.values());
+                    }
+                });
+    }
+
+    @Override
+    public void write(T input, Context context) throws IOException {
+        failureHandler.retryPending();
+
+        TableWriter<T> tableWriter = tableWriter(tableNameExtractor.getTableName(input));
+        tableWriter.operationMapper.appendOperations(input, tableWriter.table, operations);
+        for (int i = 0; i < operations.size(); i++) {
+            apply(tableWriter, operations.get(i));
+        }
+        operations.clear();
+
+        if (bufferedBytes > maxBufferedBytes) {
+            flushLargest();
+        }
+        if (timeService == null
+                && bufferedOperations > 0
+                && System.currentTimeMillis() >= nextScheduledFlush) {
+            flushDue(System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public void flush(boolean endOfInput) throws IOException {
+        flushTables(tables.values());
+        failureHandler.awaitRetries();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush(true);
+        } finally {
+            for (TableWriter<T> tableWriter : tables.values()) {
+                try {
+                    tableWriter.session.close().join(writerConfig.getOperationTimeout());
+                } catch (Exception e) {
+                    log.error(
+                            "Error while closing session of table {}.",
+                            tableWriter.table.getName(),
+                            e);
+                }
+            }
+            try {
+                failureHandler.close();
+            } catch (Exception e) {
+                log.error("Error while closing failure handler.", e);
+            }
+            sharedClient.close();
+        }
+    }
+
+    private void apply(TableWriter<T> tableWriter, Operation operation) throws IOException {
+        if (failureHandler.holdBack(operation)) {
+            return;
+        }
+        // always estimated, the buffered bytes of all tables are limited
+        long sizeBytes = OperationSizeEstimator.estimate(operation);
+        long start = System.nanoTime();
+        tableWriter.session.apply(operation);
+        metrics.onApply(operation, sizeBytes, System.nanoTime() - start);
+
+        if (tableWriter.bufferedOperations++ == 0) {
+            tableWriter.firstBufferedAt = System.currentTimeMillis();
+        }
+        tableWriter.bufferedBytes += sizeBytes;
+        if (bufferedOperations++ == 0) {
+            nextScheduledFlush = System.currentTimeMillis() + schedulerPeriod;
+            registerFlushTimer();
+        }
+        bufferedBytes += sizeBytes;
+        if (tableWriter.bufferedOperations >= writerConfig.getMaxBufferSize()) {
+            flushTables(Collections.singletonList(tableWriter));
+        }
+    }
+
+    /**
+     * Flushes the tables with the largest buffers until the buffers of all tables take at most half
+     * of {@code maxBufferedBytes}.
+     */
+    private void flushLargest() throws IOException {
+        List<TableWriter<T>> bySize = new ArrayList<>(tables.values());
+        bySize.sort(
+                Comparator.comparingLong((TableWriter<T> tableWriter) -> tableWriter.bufferedBytes)
+                        .reversed());
+        List<TableWriter<T>> largest = new ArrayList<>();
+        long remainingBytes = bufferedBytes;
+        for (TableWriter<T> tableWriter : bySize) {
+            if (remainingBytes <= maxBufferedBytes / 2) {
+                break;
+            }
+            largest.add(tableWriter);
+            remainingBytes -= tableWriter.bufferedBytes;
+        }
+        flushTables(largest);
+    }
+
+    /** Flushes the tables whose oldest buffered operation is at least one flush interval old. */
+    private void flushDue(long now) throws IOException {
+        nextScheduledFlush = now + schedulerPeriod;
+        List<TableWriter<T>> due = new ArrayList<>();
+        for (TableWriter<T> tableWriter : tables.values()) {
+            if (tableWriter.bufferedOperations > 0
+                    && now - tableWriter.firstBufferedAt >= writerConfig.getFlushInterval()) {
+                due.add(tableWriter);
+            }
+        }
+        flushTables(due);
+    }
+
+    /** Flushes the sessions of the given tables in parallel and waits for all of them. */
+    private void flushTables(Collection<TableWriter<T>> tableWriters) throws IOException {
+        long start = System.nanoTime();
+        List<Deferred<List<OperationResponse>>> flushes = new ArrayList<>(tableWriters.size());
+        for (TableWriter<T> tableWriter : tableWriters) {
+            if (tableWriter.bufferedOperations == 0) {
+                continue;
+            }
+            bufferedOperations -= tableWriter.bufferedOperations;
+            bufferedBytes -= tableWriter.bufferedBytes;
+            tableWriter.bufferedOperations = 0;
+            tableWriter.bufferedBytes = 0;
+            flushes.add(tableWriter.session.flush());
+        }
+        if (flushes.isEmpty()) {
+            return;
+        }
+
+        List<RowError> errors = new ArrayList<>();
+        for (Deferred<List<OperationResponse>> flush : flushes) {
+            errors.addAll(OperationResponse.collectErrors(join(flush)));
+        }
+        metrics.onFlush((System.nanoTime() - start) / 1_000_000);
+
+        List<RowError> failures =
+                metrics.onRowErrors(
+                        errors, writerConfig.isIgnoreDuplicate(), writerConfig.isIgnoreNotFound());
+        if (!failures.isEmpty()) {
+            failureHandler.onFailure(failures);
+        }
+    }
+
+    private void registerFlushTimer() {
+        if (timeService == null || flushTimerRegistered) {
+            return;
+        }
+        flushTimerRegistered = true;
+        timeService.registerTimer(
+                timeService.getCurrentProcessingTime() + schedulerPeriod,
+                time -> {
+                    flushTimerRegistered = false;
+                    flushDue(System.currentTimeMillis());
+                    if (bufferedOperations > 0) {
+                        registerFlushTimer();
+                    }
+                });
+    }
+
+    private TableWriter<T> tableWriter(String tableName) throws IOException {
+        TableWriter<T> tableWriter = tables.get(tableName);
+        if (tableWriter == null) {
+            tableWriter = openTable(tableName);
+            tables.put(tableName, tableWriter);
+            log.info("Opened Kudu table {}, writing to {} tables.", tableName, tables.size());
+        }
+        return tableWriter;
+    }
+
+    private TableWriter<T> openTable(String tableName) throws IOException {
+        if (tableName == null) {
+            throw new IllegalArgumentException("Table name of a record cannot be null.");
+        }
+        KuduOperationMapper<T> operationMapper =
+                operationMappers.getOrDefault(tableName, defaultOperationMapper);
+        if (operationMapper == null) {
+            throw new IllegalArgumentException("No operation mapper for table " + tableName);
+        }
+
+        KuduTable table = obtainTable(tableName);
+        AsyncKuduSession session = client.newSession();
+        session.setTimeoutMillis(writerConfig.getOperationTimeout());
+        session.setMutationBufferSpace(writerConfig.getMaxBufferSize());
+        session.setFlushMode(FlushMode.MANUAL_FLUSH);
+        session.setIgnoreAllDuplicateRows(false);
+        session.setIgnoreAllNotFoundRows(false);
+        try {
+            // every table binds its own copy of the mapper to its schema
+            return new TableWriter<>(table, session, InstantiationUtil.clone(operationMapper));
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Cannot copy operation mapper of table " + tableName, e);
+        }
+    }
+
+    private KuduTable obtainTable(String tableName) throws KuduException {
+        KuduClient syncClient = client.syncClient();
+        if (syncClient.tableExists(tableName)) {
+            return syncClient.openTable(tableName);
+        }
+        if (tableTemplate != null && tableTemplate.getCreateTableIfNotExists()) {
+            try {
+                return syncClient.createTable(
+                        tableName,
+                        tableTemplate.getSchema(),
+                        tableTemplate.getCreateTableOptions());
+            } catch (KuduException e) {
+                // a writer of another subtask may have created the table concurrently
+                if (syncClient.tableExists(tableName)) {
+                    return syncClient.openTable(tableName);
+                }
+                throw e;
+            }
+        }
+        throw new RuntimeException("Table " + tableName + " does not exist.");
+    }
+
+    private static List<OperationResponse> join(Deferred<List<OperationResponse>> flush)
+            throws IOException {
+        try {
+            return flush.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing operations to Kudu.");
+        } catch (Exception e) {
+            throw new IOException("Error while flushing operations to Kudu.", e);
+        }
+    }
+
+    /** Kudu table, session and operation mapper of a table the writer writes to. */
+    private static final class TableWriter<T> {
+
+        private final KuduTable table;
+        private final AsyncKuduSession session;
+        private final KuduOperationMapper<T> operationMapper;
+
+        private int bufferedOperations;
+        private long bufferedBytes;
+        private long firstBufferedAt;
+
+        private TableWriter(
+                KuduTable table, AsyncKuduSession session, KuduOperationMapper<T> operationMapper) {
+            this.table = table;
+            this.session = session;
+            this.operationMapper = operationMapper;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.table.data.RowData;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+
+/**
+ * Extracts the name of the Kudu table a record is written to by a {@link
+ * org.apache.flink.connector.kudu.sink.KuduRoutingSink}.
+ *
+ * @param <T> type of the input records
+ */
+@PublicEvolving
+@FunctionalInterface
+public interface KuduTableNameExtractor<T> extends Serializable {
+
+    /**
+     * Returns the name of the table the record is written to.
+     *
+     * @param input input element
+     * @return name of the Kudu table, never {@code null}
+     */
+    String getTableName(T input);
+
+    /**
+     * Reads the table name from a string field of {@link RowData} records.
+     *
+     * @param pos position of the field holding the table name
+     * @param defaultTable table of records whose field is null, {@code null} rejects these records
+     */
+    static KuduTableNameExtractor<RowData> fromRowDataField(
+            int pos, @Nullable String defaultTable) {
+        return input -> {
+            if (input.isNullAt(pos)) {
+                if (defaultTable == null) {
+                    throw new IllegalArgumentException("Table name field " + pos + " is null.");
+                }
+                return defaultTable;
+            }
+            return input.getString(pos).toString();
+        };
+    }
+}
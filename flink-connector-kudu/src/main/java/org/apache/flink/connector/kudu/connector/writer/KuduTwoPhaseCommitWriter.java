@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.sink2.Sink;
+import org.apache.flink.api.connector.sink2.TwoPhaseCommittingSink;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.client.KuduClientRegistry;
+import org.apache.flink.connector.kudu.connector.client.SharedKuduClient;
+import org.apache.flink.connector.kudu.connector.failure.KuduFailureHandler;
+import org.apache.flink.connector.kudu.sink.KuduCommittable;
+
+import org.apache.kudu.client.Insert;
+import org.apache.kudu.client.InsertIgnore;
+import org.apache.kudu.client.KuduClient;
+import org.apache.kudu.client.KuduException;
+import org.apache.kudu.client.KuduSession;
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.KuduTransaction;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.OperationResponse;
+import org.apache.kudu.client.RowError;
+import org.apache.kudu.client.SessionConfiguration.FlushMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Writer of the {@link org.apache.flink.connector.kudu.sink.KuduTwoPhaseCommitSink}. The operations
+ * of a checkpoint interval are written within a Kudu multi-row transaction through a {@code
+ * MANUAL_FLUSH} session, flushed every {@link KuduWriterConfig#getMaxBufferSize()} operations, so
+ * that at most one buffer of operations is held in memory. When a checkpoint is taken, the
+ * transaction is handed to the committer as a {@link KuduCommittable} and a new one is begun.
+ *
+ * <p>Kudu transactions only accept {@code INSERT} and {@code INSERT_IGNORE} operations, other
+ * operations fail the writer.
+ *
+ * <p>The writer keeps the transactions it handed over alive until their commit completed, so that
+ * Kudu does not abort them while the checkpoint is in progress.
+ */
+@Internal
+public class KuduTwoPhaseCommitWriter<T>
+        implements TwoPhaseCommittingSink.PrecommittingSinkWriter<T, KuduCommittable> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KuduTwoPhaseCommitWriter.class);
+
+    private final KuduTableInfo tableInfo;
+    private final KuduWriterConfig writerConfig;
+    private final KuduOperationMapper<T> operationMapper;
+    private final KuduFailureHandler failureHandler;
+
+    private final transient SharedKuduClient sharedClient;
+    private final transient KuduTable table;
+    private final transient KuduWriterMetrics metrics;
+    private final transient List<Operation> operations = new ArrayList<>();
+    private final transient List<KuduTransaction> committingTransactions = new ArrayList<>();
+
+    private transient KuduTransaction transaction;
+    private transient KuduSession session;
+    private int bufferedOperations;
+    private long bufferedBytes;
+    private int transactionOperations;
+
+    public KuduTwoPhaseCommitWriter(
+            KuduTableInfo tableInfo,
+            KuduWriterConfig writerConfig,
+            KuduOperationMapper<T> operationMapper,
+            KuduFailureHandler failureHandler,
+            @Nullable Sink.InitContext context)
+            throws IOException {
+        this.tableInfo = tableInfo;
+        this.writerConfig = writerConfig;
+        this.operationMapper = operationMapper;
+        this.failureHandler = failureHandler;
+
+        this.sharedClient =
+                KuduClientRegistry.acquire(
+                        writerConfig.getMasters(), writerConfig.getWorkerCount());
+        try {
+            this.table = obtainTable(sharedClient.getClient());
+        } catch (IOException | RuntimeException e) {
+            sharedClient.close();
+            throw e;
+        }
+        this.metrics = new KuduWriterMetrics(context == null ? null : context.metricGroup());
+        metrics.registerBufferGauges(() -> bufferedOperations, () -> bufferedBytes);
+        failureHandler.open(
+                new KuduFailureHandler.Context() {
+                    @Override
+                    public void apply(Operation operation) throws IOException {
+                        KuduTwoPhaseCommitWriter.this.apply(operation);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        flushSession();
+                    }
+                });
+    }
+
+    @Override
+    public void write(T input, Context context) throws IOException {
+        failureHandler.retryPending();
+        operationMapper.appendOperations(input, table, operations);
+        for (int i = 0; i < operations.size(); i++) {
+            apply(operations.get(i));
+        }
+        operations.clear();
+    }
+
+    @Override
+    public void flush(boolean endOfInput) throws IOException {
+        flushSession();
+        failureHandler.awaitRetries();
+    }
+
+    @Override
+    public Collection<KuduCommittable> prepareCommit() throws IOException {
+        flushSession();
+        failureHandler.awaitRetries();
+        closeCommittedTransactions();
+        if (transaction == null) {
+            return Collections.emptyList();
+        }
+
+        // the token does not send keepalives, this handle keeps the transaction alive instead
+        byte[] token = transaction.serialize();
+        KuduCommittable committable =
+                new KuduCommittable(table.getName(), transactionOperations, token);
+        committingTransactions.add(transaction);
+        transaction = null;
+        session = null;
+        transactionOperations = 0;
+        return Collections.singletonList(committable);
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            failureHandler.close();
+        } finally {
+            try {
+                if (transaction != null) {
+                    // an open transaction is not part of any checkpoint
+                    transaction.rollback();
+                }
+            } finally {
+                if (transaction != null) {
+                    transaction.close();
+                }
+                for (KuduTransaction committing : committingTransactions) {
+                    committing.close();
+                }
+                sharedClient.close();
+            }
+        }
+    }
+
+    private void apply(Operation operation) throws IOException {
+        if (failureHandler.holdBack(operation)) {
+            return;
+        }
+        if (!(operation instanceof Insert) && !(operation instanceof InsertIgnore)) {
+            throw new IOException(
+                    "Kudu transactions only support INSERT and INSERT_IGNORE operations, got "
+                            + operation.getClass().getSimpleName()
+                            + " for table "
+                            + table.getName()
+                            + ".");
+        }
+        if (session == null) {
+            beginTransaction();
+        }
+        long sizeBytes = OperationSizeEstimator.estimate(operation);
+        long start = System.nanoTime();
+        session.apply(operation);
+        metrics.onApply(operation, sizeBytes, System.nanoTime() - start);
+        bufferedBytes += sizeBytes;
+        transactionOperations++;
+        if (++bufferedOperations >= writerConfig.getMaxBufferSize()) {
+            flushSession();
+        }
+    }
+
+    private void beginTransaction() throws KuduException {
+        transaction = sharedClient.getClient().newTransaction();
+        session = transaction.newKuduSession();
+        session.setFlushMode(FlushMode.MANUAL_FLUSH);
+        session.setTimeoutMillis(writerConfig.getOperationTimeout());
+        session.setMutationBufferSpace(writerConfig.getMaxBufferSize());
+        session.setIgnoreAllDuplicateRows(false);
+        session.setIgnoreAllNotFoundRows(false);
+    }
+
+    private void flushSession() throws IOException {
+        if (bufferedOperations == 0) {
+            return;
+        }
+        bufferedOperations = 0;
+        bufferedBytes = 0;
+
+        long start = System.nanoTime();
+        List<OperationResponse> responses = session.flush();
+        metrics.onFlush((System.nanoTime() - start) / 1_000_000);
+
+        List<RowError> errors = new ArrayList<>();
+        for (OperationResponse response : responses) {
+            if (response.hasRowError()) {
+                errors.add(response.getRowError());
+            }
+        }
+        List<RowError> failures =
+                metrics.onRowErrors(
+                        errors, writerConfig.isIgnoreDuplicate(), writerConfig.isIgnoreNotFound());
+        if (!failures.isEmpty()) {
+            failureHandler.onFailure(failures);
+        }
+    }
+
+    /** Stops keeping transactions alive that the committer committed or Kudu aborted. */
+    private void closeCommittedTransactions() {
+        Iterator<KuduTransaction> iterator = committingTransactions.iterator();
+        while (iterator.hasNext()) {
+            KuduTransaction committing = iterator.next();
+            try {
+                if (!committing.isCommitComplete()) {
+                    continue;
+                }
+            } catch (KuduException e) {
+                if (!e.getStatus().isAborted()) {
+                    // still open because the checkpoint did not complete yet, or not reachable
+                    LOG.debug("Transaction of table {} is not committed yet.", table.getName(), e);
+                    continue;
+                }
+                LOG.warn("Transaction of table {} was aborted.", table.getName(), e);
+            }
+            committing.close();
+            iterator.remove();
+        }
+    }
+
+    private KuduTable obtainTable(KuduClient client) throws IOException {
+        String tableName = tableInfo.getName();
+        if (client.tableExists(tableName)) {
+            return client.openTable(tableName);
+        }
+        if (tableInfo.getCreateTableIfNotExists()) {
+            return client.createTable(
+                    tableName, tableInfo.getSchema(), tableInfo.getCreateTableOptions());
+        }
+        throw new RuntimeException("Table " + tableName + " does not exist.");
+    }
+}
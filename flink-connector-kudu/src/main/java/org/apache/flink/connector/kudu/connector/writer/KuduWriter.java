@@ -19,29 +19,78 @@ package org.apache.flink.connector.kudu.connector.writer;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
-import org.apache.flink.api.connector.sink2.SinkWriter;
+import org.apache.flink.api.common.operators.ProcessingTimeService;
+import org.apache.flink.api.connector.sink2.Sink;
+import org.apache.flink.api.connector.sink2.StatefulSink;
 import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.client.KuduClientRegistry;
+import org.apache.flink.connector.kudu.connector.client.SharedKuduClient;
 import org.apache.flink.connector.kudu.connector.failure.DefaultKuduFailureHandler;
 import org.apache.flink.connector.kudu.connector.failure.KuduFailureHandler;
+import org.apache.flink.connector.kudu.connector.failure.RetryingKuduFailureHandler;
+import org.apache.flink.connector.kudu.sink.KuduWriterState;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
 
+import com.stumbleupon.async.Deferred;
+import org.apache.kudu.client.AsyncKuduSession;
 import org.apache.kudu.client.DeleteTableResponse;
 import org.apache.kudu.client.KuduClient;
+import org.apache.kudu.client.KuduException;
 import org.apache.kudu.client.KuduSession;
 import org.apache.kudu.client.KuduTable;
 import org.apache.kudu.client.Operation;
 import org.apache.kudu.client.OperationResponse;
 import org.apache.kudu.client.RowError;
+import org.apache.kudu.client.SessionConfiguration.FlushMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
-/** Writer to write data to a Kudu table. */
+/**
+ * Writer to write data to a Kudu table.
+ *
+ * <p>With {@link KuduWriterConfig#isAdaptiveFlush()} the session runs in {@code MANUAL_FLUSH} mode
+ * and the writer flushes it itself, with batch size and flush interval chosen by an {@link
+ * AdaptiveFlushController}. The interval is enforced by processing time timers when the writer is
+ * created by a sink, otherwise it is only checked on incoming records.
+ *
+ * <p>With {@link KuduWriterConfig#getSpillDirectory()} operations failing with a transient error,
+ * and every operation written after them, are appended to a {@link SpillLog} on local disk. If a
+ * flushed batch has such an error, the batch is spilled from the first failed operation on in its
+ * original order, including the operations Kudu accepted, so that a spilled operation never
+ * overwrites a later one of its row. {@code AUTO_FLUSH_BACKGROUND} sessions only report errors
+ * after later operations were sent, so a spilling writer flushes the session itself instead, in
+ * batches of {@code maxBufferSize} operations and at least every {@code flushInterval}
+ * milliseconds. The log is written to Kudu through a separate session in batches of {@code
+ * maxBufferSize} operations, without blocking the writer, retrying with backoff until Kudu accepts
+ * writes again. Checkpoints store the spilled operations in the writer state instead of waiting for
+ * them.
+ *
+ * <p>With a {@link RetryingKuduFailureHandler} an {@code AUTO_FLUSH_BACKGROUND} session is flushed
+ * by the writer in the same way, so that later operations of a failed row are held back until its
+ * retry instead of being sent before it.
+ *
+ * <p>All other operations are flushed before a checkpoint is taken. Restored states are applied
+ * again by {@link #restoreState}.
+ */
 @Internal
-public class KuduWriter<T> implements SinkWriter<T> {
+public class KuduWriter<T> implements StatefulSink.StatefulSinkWriter<T, KuduWriterState> {
+
+    private static final long DRAIN_INITIAL_BACKOFF_MILLIS = 100;
+    private static final long DRAIN_MAX_BACKOFF_MILLIS = 10_000;
 
     private final Logger log = LoggerFactory.getLogger(getClass());
 
@@ -50,9 +99,34 @@ public class KuduWriter<T> implements SinkWriter<T> {
     private final KuduFailureHandler failureHandler;
     private final KuduOperationMapper<T> operationMapper;
 
+    private final transient SharedKuduClient sharedClient;
     private final transient KuduClient client;
     private final transient KuduSession session;
     private final transient KuduTable table;
+    private final transient OperationCoalescer coalescer;
+    private final transient AdaptiveFlushController flushController;
+    @Nullable private final transient ProcessingTimeService timeService;
+    private final transient KuduWriterMetrics metrics;
+    @Nullable private final transient KuduRateLimiter rateLimiter;
+    private final transient List<Operation> operations = new ArrayList<>();
+    @Nullable private final transient SpillLog spillLog;
+    @Nullable private final transient AsyncKuduSession drainSession;
+    // operations of the manually flushed batch in apply order, only tracked to spill them
+    @Nullable private final transient List<Operation> batchOperations;
+
+    // outstanding flush of the first operations of the spill log, with its outcome once completed
+    @Nullable private transient Deferred<Object> drainFlush;
+    @Nullable private transient List<Operation> drainBatch;
+    private volatile List<OperationResponse> drainResponses;
+    private volatile Exception drainFailure;
+    private long drainBackoff = DRAIN_INITIAL_BACKOFF_MILLIS;
+    private long nextDrainAt;
+
+    private int bufferedOperations;
+    private long bufferedBytes;
+    private long firstBufferedAt;
+    private boolean flushTimerRegistered;
+    private boolean coalesceTimerRegistered;
 
     public KuduWriter(
             KuduTableInfo tableInfo,
@@ -68,29 +142,187 @@ public class KuduWriter<T> implements SinkWriter<T> {
             KuduOperationMapper<T> operationMapper,
             KuduFailureHandler failureHandler)
             throws IOException {
+        this(tableInfo, writerConfig, operationMapper, failureHandler, null);
+    }
+
+    public KuduWriter(
+            KuduTableInfo tableInfo,
+            KuduWriterConfig writerConfig,
+            KuduOperationMapper<T> operationMapper,
+            KuduFailureHandler failureHandler,
+            @Nullable Sink.InitContext context)
+            throws IOException {
         this.tableInfo = tableInfo;
         this.writerConfig = writerConfig;
         this.failureHandler = failureHandler;
 
-        this.client = obtainClient();
-        this.session = obtainSession();
-        this.table = obtainTable();
+        this.sharedClient = obtainClient();
+        this.client = sharedClient.getClient();
+        try {
+            this.session = obtainSession();
+            this.table = obtainTable();
+            this.spillLog =
+                    writerConfig.getSpillDirectory() == null
+                            ? null
+                            : new SpillLog(
+                                    Paths.get(writerConfig.getSpillDirectory()),
+                                    writerConfig.getSpillMaxBytes());
+        } catch (IOException | RuntimeException e) {
+            sharedClient.close();
+            throw e;
+        }
+        this.drainSession = spillLog == null ? null : obtainDrainSession();
         this.operationMapper = operationMapper;
+        this.coalescer =
+                writerConfig.isCoalesceWrites()
+                        ? new OperationCoalescer(
+                                writerConfig.getMaxBufferSize(), writerConfig.getFlushInterval())
+                        : null;
+        if (writerConfig.isAdaptiveFlush()) {
+            this.flushController =
+                    new AdaptiveFlushController(
+                            writerConfig.getMinBufferSize(),
+                            writerConfig.getMaxBufferSize(),
+                            writerConfig.getMinFlushInterval(),
+                            writerConfig.getFlushInterval(),
+                            writerConfig.getTargetFlushLatency());
+        } else if (isManualFlush()) {
+            // fixed bounds, the session is only flushed manually to keep the order of spills and
+            // retries
+            int flushInterval = Math.max(1, writerConfig.getFlushInterval());
+            this.flushController =
+                    new AdaptiveFlushController(
+                            writerConfig.getMaxBufferSize(),
+                            writerConfig.getMaxBufferSize(),
+                            flushInterval,
+                            flushInterval,
+                            Long.MAX_VALUE);
+        } else {
+            this.flushController = null;
+        }
+        this.batchOperations =
+                spillLog != null && flushController != null ? new ArrayList<>() : null;
+        this.timeService = context == null ? null : context.getProcessingTimeService();
+        this.metrics = new KuduWriterMetrics(context == null ? null : context.metricGroup());
+        this.rateLimiter =
+                KuduRateLimiter.isEnabled(writerConfig)
+                        ? new KuduRateLimiter(
+                                writerConfig,
+                                context == null ? 1 : context.getNumberOfParallelSubtasks())
+                        : null;
+        metrics.registerBufferGauges(
+                () -> bufferedOperations + (coalescer == null ? 0 : coalescer.size()),
+                () -> bufferedBytes);
+        metrics.registerPendingErrorsGauge(session::countPendingErrors);
+        if (spillLog != null) {
+            metrics.registerSpillGauges(spillLog::size, spillLog::getUsedBytes);
+        }
+        failureHandler.open(
+                new KuduFailureHandler.Context() {
+                    @Override
+                    public void apply(Operation operation) throws IOException {
+                        KuduWriter.this.apply(operation);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        flushBuffered();
+                    }
+                });
     }
 
     @Override
     public void write(T input, Context context) throws IOException {
         checkAsyncErrors();
+        failureHandler.retryPending();
+        if (spillLog != null) {
+            drainSpill();
+        }
+
+        operationMapper.appendOperations(input, table, operations);
+        for (int i = 0; i < operations.size(); i++) {
+            if (coalescer != null) {
+                coalescer.add(operations.get(i));
+            } else {
+                apply(operations.get(i));
+            }
+        }
+        operations.clear();
 
-        for (Operation operation : operationMapper.createOperations(input, table)) {
-            checkErrors(session.apply(operation));
+        if (coalescer != null) {
+            if (coalescer.shouldFlush()) {
+                applyCoalesced();
+            } else if (!coalescer.isEmpty()) {
+                registerCoalesceTimer();
+            }
+        }
+        if (flushController != null
+                && bufferedOperations > 0
+                && System.currentTimeMillis() - firstBufferedAt
+                        >= flushController.getFlushInterval()) {
+            flushSession(AdaptiveFlushController.Trigger.INTERVAL);
         }
     }
 
     @Override
     public void flush(boolean endOfInput) throws IOException {
+        flushBuffered();
+        failureHandler.awaitRetries();
+        // no checkpoint follows the end of input that could store the spilled operations
+        while (endOfInput && spillLog != null && !spillLog.isEmpty()) {
+            awaitDrain();
+            if (spillLog.isEmpty()) {
+                flushBuffered();
+                failureHandler.awaitRetries();
+            }
+        }
+    }
+
+    @Override
+    public List<KuduWriterState> snapshotState(long checkpointId) throws IOException {
+        if (spillLog == null || spillLog.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        DataOutputSerializer out = new DataOutputSerializer((int) spillLog.getUsedBytes());
+        spillLog.copyTo(out);
+        return Collections.singletonList(
+                new KuduWriterState(table.getName(), (int) spillLog.size(), out.getCopyOfBuffer()));
+    }
+
+    /**
+     * Applies the operations of restored writer states again. Must be called before the first
+     * record is written.
+     */
+    public void restoreState(Collection<KuduWriterState> states) throws IOException {
+        for (KuduWriterState state : states) {
+            KuduTable stateTable =
+                    state.getTableName().equals(table.getName())
+                            ? table
+                            : client.openTable(state.getTableName());
+            DataInputDeserializer in = new DataInputDeserializer(state.getOperations());
+            for (int i = 0; i < state.getOperationCount(); i++) {
+                apply(OperationSerializer.deserialize(in, stateTable));
+            }
+            log.info(
+                    "Restored {} pending operations of table {}.",
+                    state.getOperationCount(),
+                    state.getTableName());
+        }
+    }
+
+    private void flushBuffered() throws IOException {
         checkAsyncErrors();
-        session.flush();
+        if (coalescer != null) {
+            applyCoalesced();
+        }
+        if (flushController != null) {
+            flushSession(AdaptiveFlushController.Trigger.CHECKPOINT);
+        } else {
+            long start = System.nanoTime();
+            session.flush();
+            metrics.onFlush((System.nanoTime() - start) / 1_000_000);
+        }
         checkAsyncErrors();
     }
 
@@ -107,11 +339,26 @@ public class KuduWriter<T> implements SinkWriter<T> {
                 log.error("Error while closing session.", e);
             }
             try {
-                if (client != null) {
-                    client.close();
+                if (drainSession != null) {
+                    drainSession.close().join(writerConfig.getOperationTimeout());
+                }
+            } catch (Exception e) {
+                log.error("Error while closing drain session.", e);
+            }
+            try {
+                if (spillLog != null) {
+                    spillLog.close();
                 }
             } catch (Exception e) {
-                log.error("Error while closing client.", e);
+                log.error("Error while deleting spill log.", e);
+            }
+            try {
+                failureHandler.close();
+            } catch (Exception e) {
+                log.error("Error while closing failure handler.", e);
+            }
+            if (sharedClient != null) {
+                sharedClient.close();
             }
         }
     }
@@ -122,21 +369,177 @@ public class KuduWriter<T> implements SinkWriter<T> {
         return client.deleteTable(tableName);
     }
 
-    private KuduClient obtainClient() {
-        return new KuduClient.KuduClientBuilder(writerConfig.getMasters()).build();
+    private void apply(Operation operation) throws IOException {
+        if (failureHandler.holdBack(operation)) {
+            return;
+        }
+        // operations written after spilled ones are spilled as well, to keep their order
+        if (spillLog != null && !spillLog.isEmpty() && spill(operation)) {
+            return;
+        }
+
+        long sizeBytes = OperationSizeEstimator.estimate(operation);
+        if (rateLimiter != null) {
+            metrics.onRateLimited(rateLimiter.acquire(1, sizeBytes));
+        }
+        long start = System.nanoTime();
+        OperationResponse response;
+        try {
+            response = session.apply(operation);
+        } catch (KuduException e) {
+            if (spillLog != null && RetryingKuduFailureHandler.isTransientError(e.getStatus())) {
+                if (batchOperations != null) {
+                    // the buffered batch is spilled first if it fails as well
+                    flushSession(AdaptiveFlushController.Trigger.CHECKPOINT);
+                }
+                if (spill(operation)) {
+                    return;
+                }
+            }
+            throw e;
+        }
+        metrics.onApply(operation, sizeBytes, System.nanoTime() - start);
+
+        if (flushController == null) {
+            checkErrors(response);
+            return;
+        }
+        if (batchOperations != null) {
+            batchOperations.add(operation);
+        }
+
+        bufferedBytes += sizeBytes;
+        if (bufferedOperations++ == 0) {
+            firstBufferedAt = System.currentTimeMillis();
+            registerFlushTimer();
+        }
+        if (bufferedOperations >= flushController.getBufferSize()) {
+            flushSession(AdaptiveFlushController.Trigger.BUFFER_FULL);
+        }
+    }
+
+    private void applyCoalesced() throws IOException {
+        for (Operation operation : coalescer.drain()) {
+            apply(operation);
+        }
+    }
+
+    /** Flushes the manually flushed session and reports the outcome to the controller. */
+    private void flushSession(AdaptiveFlushController.Trigger trigger) throws IOException {
+        if (bufferedOperations == 0) {
+            return;
+        }
+        int operations = bufferedOperations;
+        bufferedOperations = 0;
+        bufferedBytes = 0;
+
+        long start = System.nanoTime();
+        List<OperationResponse> responses = session.flush();
+        long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+        metrics.onFlush(latencyMillis);
+
+        List<RowError> errors = new ArrayList<>();
+        for (OperationResponse response : responses) {
+            if (response.hasRowError()) {
+                errors.add(response.getRowError());
+            }
+        }
+        List<RowError> unspilled = batchOperations == null ? errors : spillFailedBatch(errors);
+        List<RowError> failures = filterErrors(unspilled);
+        flushController.onFlush(
+                operations,
+                failures.size() + errors.size() - unspilled.size(),
+                latencyMillis,
+                trigger);
+        if (!failures.isEmpty()) {
+            failureHandler.onFailure(failures);
+        }
+    }
+
+    /** Applies the coalesced operations once the oldest one is older than the flush interval. */
+    private void registerCoalesceTimer() {
+        if (timeService == null || coalesceTimerRegistered) {
+            return;
+        }
+        coalesceTimerRegistered = true;
+        timeService.registerTimer(
+                timeService.getCurrentProcessingTime() + coalescer.getFlushInterval(),
+                time -> {
+                    coalesceTimerRegistered = false;
+                    if (coalescer.isEmpty()) {
+                        return;
+                    }
+                    if (coalescer.shouldFlush()) {
+                        applyCoalesced();
+                    } else {
+                        registerCoalesceTimer();
+                    }
+                });
+    }
+
+    private void registerFlushTimer() {
+        if (timeService == null || flushTimerRegistered) {
+            return;
+        }
+        flushTimerRegistered = true;
+        timeService.registerTimer(
+                timeService.getCurrentProcessingTime() + flushController.getFlushInterval(),
+                time -> {
+                    flushTimerRegistered = false;
+                    if (bufferedOperations == 0) {
+                        return;
+                    }
+                    if (System.currentTimeMillis() - firstBufferedAt
+                            >= flushController.getFlushInterval()) {
+                        flushSession(AdaptiveFlushController.Trigger.INTERVAL);
+                    } else {
+                        registerFlushTimer();
+                    }
+                });
+    }
+
+    private SharedKuduClient obtainClient() {
+        return KuduClientRegistry.acquire(writerConfig.getMasters(), writerConfig.getWorkerCount());
+    }
+
+    /**
+     * Returns whether the writer flushes its session itself, which it does for adaptive flushes
+     * and, to see the errors of a batch before later operations are sent, for spilling or retrying
+     * writers configured with {@code AUTO_FLUSH_BACKGROUND}.
+     */
+    private boolean isManualFlush() {
+        return writerConfig.isAdaptiveFlush()
+                || ((writerConfig.getSpillDirectory() != null
+                                || failureHandler instanceof RetryingKuduFailureHandler)
+                        && writerConfig.getFlushMode() == FlushMode.AUTO_FLUSH_BACKGROUND);
     }
 
     private KuduSession obtainSession() {
         KuduSession session = client.newSession();
-        session.setFlushMode(writerConfig.getFlushMode());
         session.setTimeoutMillis(writerConfig.getOperationTimeout());
         session.setMutationBufferSpace(writerConfig.getMaxBufferSize());
-        session.setFlushInterval(writerConfig.getFlushInterval());
-        session.setIgnoreAllDuplicateRows(writerConfig.isIgnoreDuplicate());
-        session.setIgnoreAllNotFoundRows(writerConfig.isIgnoreNotFound());
+        if (isManualFlush()) {
+            session.setFlushMode(FlushMode.MANUAL_FLUSH);
+        } else {
+            session.setFlushMode(writerConfig.getFlushMode());
+            session.setFlushInterval(writerConfig.getFlushInterval());
+        }
+        // duplicate and not found rows are dropped by the writer, so that they can be counted
+        session.setIgnoreAllDuplicateRows(false);
+        session.setIgnoreAllNotFoundRows(false);
         return session;
     }
 
+    private AsyncKuduSession obtainDrainSession() {
+        AsyncKuduSession drainSession = sharedClient.getAsyncClient().newSession();
+        drainSession.setTimeoutMillis(writerConfig.getOperationTimeout());
+        drainSession.setMutationBufferSpace(writerConfig.getMaxBufferSize());
+        drainSession.setFlushMode(FlushMode.MANUAL_FLUSH);
+        drainSession.setIgnoreAllDuplicateRows(false);
+        drainSession.setIgnoreAllNotFoundRows(false);
+        return drainSession;
+    }
+
     private KuduTable obtainTable() throws IOException {
         String tableName = tableInfo.getName();
         if (client.tableExists(tableName)) {
@@ -151,7 +554,11 @@ public class KuduWriter<T> implements SinkWriter<T> {
 
     private void checkErrors(OperationResponse response) throws IOException {
         if (response != null && response.hasRowError()) {
-            failureHandler.onFailure(Collections.singletonList(response.getRowError()));
+            List<RowError> failures =
+                    filterErrors(spillTransient(Collections.singletonList(response.getRowError())));
+            if (!failures.isEmpty()) {
+                failureHandler.onFailure(failures);
+            }
         } else {
             checkAsyncErrors();
         }
@@ -163,6 +570,222 @@ public class KuduWriter<T> implements SinkWriter<T> {
         }
 
         List<RowError> errors = Arrays.asList(session.getPendingErrors().getRowErrors());
-        failureHandler.onFailure(errors);
+        List<RowError> failures = filterErrors(spillTransient(errors));
+        if (!failures.isEmpty()) {
+            failureHandler.onFailure(failures);
+        }
+    }
+
+    private List<RowError> filterErrors(List<RowError> errors) {
+        return metrics.onRowErrors(
+                errors, writerConfig.isIgnoreDuplicate(), writerConfig.isIgnoreNotFound());
+    }
+
+    /** Spills the operations of transient errors if spilling is enabled, returns all others. */
+    private List<RowError> spillTransient(List<RowError> errors) throws IOException {
+        if (spillLog == null) {
+            return errors;
+        }
+        List<RowError> remaining = new ArrayList<>(errors.size());
+        for (RowError error : errors) {
+            if (!RetryingKuduFailureHandler.isTransientError(error.getErrorStatus())
+                    || !spill(error.getOperation())) {
+                remaining.add(error);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Spills the flushed batch from the first operation that failed with a transient error on, in
+     * apply order and including the operations that succeeded, so that no later operation of a row
+     * is applied before a spilled one. Returns the errors of the operations that were not spilled.
+     */
+    private List<RowError> spillFailedBatch(List<RowError> errors) throws IOException {
+        Set<Operation> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RowError error : errors) {
+            if (RetryingKuduFailureHandler.isTransientError(error.getErrorStatus())) {
+                failed.add(error.getOperation());
+            }
+        }
+        List<Operation> batch = new ArrayList<>(batchOperations);
+        batchOperations.clear();
+        if (failed.isEmpty()) {
+            return errors;
+        }
+
+        int first = 0;
+        while (!failed.contains(batch.get(first))) {
+            first++;
+        }
+        Set<Operation> spilled = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Operation operation : batch.subList(first, batch.size())) {
+            if (spill(operation)) {
+                spilled.add(operation);
+            }
+        }
+        List<RowError> remaining = new ArrayList<>(errors.size());
+        for (RowError error : errors) {
+            if (!spilled.contains(error.getOperation())) {
+                remaining.add(error);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Appends the operation to the spill log, waiting for drain flushes while the log is full.
+     * Operations of other tables than the one of the writer cannot be spilled.
+     *
+     * @return whether the operation was spilled
+     */
+    private boolean spill(Operation operation) throws IOException {
+        if (!operation.getTable().getName().equals(table.getName())) {
+            return false;
+        }
+        if (spillLog.isEmpty()) {
+            log.warn("Kudu is unavailable, spilling operations of table {}.", table.getName());
+        }
+        while (!spillLog.append(operation)) {
+            awaitDrain();
+        }
+        return true;
+    }
+
+    /**
+     * Completes the outstanding drain flush if it finished and starts the next one once the backoff
+     * after a failed flush elapsed. Never blocks.
+     */
+    private void drainSpill() throws IOException {
+        if (drainFlush != null) {
+            if (drainResponses == null && drainFailure == null) {
+                return;
+            }
+            completeDrain();
+        }
+        if (!spillLog.isEmpty() && System.currentTimeMillis() >= nextDrainAt) {
+            startDrain();
+        }
+    }
+
+    /**
+     * Blocks until the outstanding drain flush, or the next one if none is outstanding, completed.
+     */
+    private void awaitDrain() throws IOException {
+        if (drainFlush == null) {
+            long backoff = nextDrainAt - System.currentTimeMillis();
+            if (backoff > 0) {
+                sleep(backoff);
+            }
+            startDrain();
+            if (drainFlush == null) {
+                return;
+            }
+        }
+        try {
+            drainFlush.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while draining spilled operations.");
+        } catch (Exception e) {
+            // the callbacks never fail, the outcome is handled by completeDrain
+        }
+        completeDrain();
+    }
+
+    private void startDrain() throws IOException {
+        List<Operation> batch = spillLog.peek(table, writerConfig.getMaxBufferSize());
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (rateLimiter != null) {
+            long batchBytes = 0;
+            if (rateLimiter.limitsBytes()) {
+                for (Operation operation : batch) {
+                    batchBytes += OperationSizeEstimator.estimate(operation);
+                }
+            }
+            metrics.onRateLimited(rateLimiter.acquire(batch.size(), batchBytes));
+        }
+        for (Operation operation : batch) {
+            drainSession.apply(operation);
+        }
+
+        drainBatch = batch;
+        drainResponses = null;
+        drainFailure = null;
+        drainFlush =
+                drainSession
+                        .flush()
+                        .addCallbacks(
+                                responses -> {
+                                    drainResponses = responses;
+                                    return null;
+                                },
+                                (Exception e) -> {
+                                    drainFailure = e;
+                                    return null;
+                                });
+    }
+
+    /**
+     * Removes the drained batch from the spill log if Kudu accepted it. After a transient failure
+     * the batch stays in the log and is flushed again, including operations that succeeded.
+     */
+    private void completeDrain() throws IOException {
+        List<Operation> batch = drainBatch;
+        List<OperationResponse> responses = drainResponses;
+        Exception failure = drainFailure;
+        drainFlush = null;
+        drainBatch = null;
+        drainResponses = null;
+        drainFailure = null;
+
+        List<RowError> errors = null;
+        boolean retry;
+        if (failure != null) {
+            if (!(failure instanceof KuduException)
+                    || !RetryingKuduFailureHandler.isTransientError(
+                            ((KuduException) failure).getStatus())) {
+                throw new IOException("Error while writing spilled operations to Kudu.", failure);
+            }
+            retry = true;
+        } else {
+            errors = OperationResponse.collectErrors(responses);
+            retry =
+                    errors.stream()
+                            .anyMatch(
+                                    error ->
+                                            RetryingKuduFailureHandler.isTransientError(
+                                                    error.getErrorStatus()));
+        }
+        if (retry) {
+            log.debug("Kudu is still unavailable, retrying in {} ms.", drainBackoff);
+            nextDrainAt = System.currentTimeMillis() + drainBackoff;
+            drainBackoff = Math.min(drainBackoff * 2, DRAIN_MAX_BACKOFF_MILLIS);
+            return;
+        }
+
+        spillLog.discard(batch.size());
+        drainBackoff = DRAIN_INITIAL_BACKOFF_MILLIS;
+        for (Operation operation : batch) {
+            metrics.onApply(operation, OperationSizeEstimator.estimate(operation), 0);
+        }
+        if (spillLog.isEmpty()) {
+            log.info("Wrote all spilled operations of table {} to Kudu.", table.getName());
+        }
+        List<RowError> failures = filterErrors(errors);
+        if (!failures.isEmpty()) {
+            failureHandler.onFailure(failures);
+        }
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while draining spilled operations.");
+        }
     }
 }
@@ -18,6 +18,7 @@
 package org.apache.flink.connector.kudu.connector.writer;
 
 import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.connector.kudu.connector.client.KuduClientRegistry;
 import org.apache.flink.connector.kudu.format.KuduOutputFormat;
 import org.apache.flink.connector.kudu.sink.KuduSink;
 
@@ -27,6 +28,7 @@ import org.apache.kudu.client.AsyncKuduClient;
 import java.io.Serializable;
 import java.util.Objects;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 import static org.apache.kudu.client.SessionConfiguration.FlushMode;
 
@@ -37,6 +39,18 @@ import static org.apache.kudu.client.SessionConfiguration.FlushMode;
 @PublicEvolving
 public class KuduWriterConfig implements Serializable {
 
+    /** Operations per session flush set by {@link Builder#setBulkLoad()}. */
+    public static final int BULK_LOAD_BUFFER_SIZE = 10000;
+
+    /** Sessions flushing in parallel per writer set by {@link Builder#setBulkLoad()}. */
+    public static final int BULK_LOAD_IN_FLIGHT_FLUSHES = 16;
+
+    /** Bytes of outstanding flushes per writer set by {@link Builder#setBulkLoad()}. */
+    public static final long BULK_LOAD_IN_FLIGHT_BYTES = 256 * 1024 * 1024;
+
+    /** Default size limit of the spill log of a writer, see {@link Builder#setSpillMaxBytes}. */
+    public static final long DEFAULT_SPILL_MAX_BYTES = 256 * 1024 * 1024;
+
     private final String masters;
     private final FlushMode flushMode;
     private final long operationTimeout;
@@ -44,6 +58,21 @@ public class KuduWriterConfig implements Serializable {
     private final int flushInterval;
     private final boolean ignoreNotFound;
     private final boolean ignoreDuplicate;
+    private final boolean asyncWrites;
+    private final int maxInFlightFlushes;
+    private final long maxInFlightBytes;
+    private final int workerCount;
+    private final boolean coalesceWrites;
+    private final boolean adaptiveFlush;
+    private final int minBufferSize;
+    private final int minFlushInterval;
+    private final long targetFlushLatency;
+    private final long rateLimitRows;
+    private final long rateLimitBytes;
+    private final String rateLimitFile;
+    private final boolean snapshotPendingOperations;
+    private final String spillDirectory;
+    private final long spillMaxBytes;
 
     private KuduWriterConfig(
             String masters,
@@ -52,7 +81,22 @@ public class KuduWriterConfig implements Serializable {
             int maxBufferSize,
             int flushInterval,
             boolean ignoreNotFound,
-            boolean ignoreDuplicate) {
+            boolean ignoreDuplicate,
+            boolean asyncWrites,
+            int maxInFlightFlushes,
+            long maxInFlightBytes,
+            int workerCount,
+            boolean coalesceWrites,
+            boolean adaptiveFlush,
+            int minBufferSize,
+            int minFlushInterval,
+            long targetFlushLatency,
+            long rateLimitRows,
+            long rateLimitBytes,
+            String rateLimitFile,
+            boolean snapshotPendingOperations,
+            String spillDirectory,
+            long spillMaxBytes) {
 
         this.masters = checkNotNull(masters, "Kudu masters cannot be null");
         this.flushMode = checkNotNull(flushMode, "Kudu flush mode cannot be null");
@@ -61,6 +105,21 @@ public class KuduWriterConfig implements Serializable {
         this.flushInterval = flushInterval;
         this.ignoreNotFound = ignoreNotFound;
         this.ignoreDuplicate = ignoreDuplicate;
+        this.asyncWrites = asyncWrites;
+        this.maxInFlightFlushes = maxInFlightFlushes;
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.workerCount = workerCount;
+        this.coalesceWrites = coalesceWrites;
+        this.adaptiveFlush = adaptiveFlush;
+        this.minBufferSize = minBufferSize;
+        this.minFlushInterval = minFlushInterval;
+        this.targetFlushLatency = targetFlushLatency;
+        this.rateLimitRows = rateLimitRows;
+        this.rateLimitBytes = rateLimitBytes;
+        this.rateLimitFile = rateLimitFile;
+        this.snapshotPendingOperations = snapshotPendingOperations;
+        this.spillDirectory = spillDirectory;
+        this.spillMaxBytes = spillMaxBytes;
     }
 
     public String getMasters() {
@@ -91,11 +150,72 @@ public class KuduWriterConfig implements Serializable {
         return ignoreDuplicate;
     }
 
+    public boolean isAsyncWrites() {
+        return asyncWrites;
+    }
+
+    public int getMaxInFlightFlushes() {
+        return maxInFlightFlushes;
+    }
+
+    public long getMaxInFlightBytes() {
+        return maxInFlightBytes;
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    public boolean isCoalesceWrites() {
+        return coalesceWrites;
+    }
+
+    public boolean isAdaptiveFlush() {
+        return adaptiveFlush;
+    }
+
+    public int getMinBufferSize() {
+        return minBufferSize;
+    }
+
+    public int getMinFlushInterval() {
+        return minFlushInterval;
+    }
+
+    public long getTargetFlushLatency() {
+        return targetFlushLatency;
+    }
+
+    public long getRateLimitRows() {
+        return rateLimitRows;
+    }
+
+    public long getRateLimitBytes() {
+        return rateLimitBytes;
+    }
+
+    public String getRateLimitFile() {
+        return rateLimitFile;
+    }
+
+    public boolean isSnapshotPendingOperations() {
+        return snapshotPendingOperations;
+    }
+
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public long getSpillMaxBytes() {
+        return spillMaxBytes;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
                 .append("masters", masters)
                 .append("flushMode", flushMode)
+                .append("asyncWrites", asyncWrites)
                 .toString();
     }
 
@@ -113,6 +233,21 @@ public class KuduWriterConfig implements Serializable {
         private boolean ignoreNotFound = false;
         // Reference from AsyncKuduSession ignoreAllDuplicateRows false.
         private boolean ignoreDuplicate = false;
+        private boolean asyncWrites = false;
+        private int maxInFlightFlushes = 4;
+        private long maxInFlightBytes = 64 * 1024 * 1024;
+        private int workerCount = KuduClientRegistry.DEFAULT_WORKER_COUNT;
+        private boolean coalesceWrites = false;
+        private boolean adaptiveFlush = false;
+        private int minBufferSize = 100;
+        private int minFlushInterval = 10;
+        private long targetFlushLatency = 1000;
+        private long rateLimitRows = 0;
+        private long rateLimitBytes = 0;
+        private String rateLimitFile;
+        private boolean snapshotPendingOperations = false;
+        private String spillDirectory;
+        private long spillMaxBytes = DEFAULT_SPILL_MAX_BYTES;
 
         private Builder(String masters) {
             this.masters = masters;
@@ -160,7 +295,193 @@ public class KuduWriterConfig implements Serializable {
             return this;
         }
 
+        /**
+         * Writes through the {@link org.apache.kudu.client.AsyncKuduClient} so that several flushes
+         * can be on the wire at the same time. See {@link AsyncKuduWriter}.
+         */
+        public Builder setAsyncWrites(boolean asyncWrites) {
+            this.asyncWrites = asyncWrites;
+            return this;
+        }
+
+        /** Maximum number of concurrently outstanding flushes when async writes are enabled. */
+        public Builder setMaxInFlightFlushes(int maxInFlightFlushes) {
+            checkArgument(maxInFlightFlushes > 0, "maxInFlightFlushes must be positive");
+            this.maxInFlightFlushes = maxInFlightFlushes;
+            return this;
+        }
+
+        /** Upper bound on the estimated bytes of all outstanding flushes of the async writer. */
+        public Builder setMaxInFlightBytes(long maxInFlightBytes) {
+            checkArgument(maxInFlightBytes > 0, "maxInFlightBytes must be positive");
+            this.maxInFlightBytes = maxInFlightBytes;
+            return this;
+        }
+
+        /**
+         * Number of worker threads of the shared Kudu client, {@code 0} keeps the client default.
+         * See {@link KuduClientRegistry}.
+         */
+        public Builder setWorkerCount(int workerCount) {
+            checkArgument(workerCount >= 0, "workerCount cannot be negative");
+            this.workerCount = workerCount;
+            return this;
+        }
+
+        /**
+         * Collapses the operations of a flush window per primary key, keeping only the latest row
+         * image or delete. See {@link OperationCoalescer}.
+         */
+        public Builder setCoalesceWrites(boolean coalesceWrites) {
+            this.coalesceWrites = coalesceWrites;
+            return this;
+        }
+
+        /**
+         * Lets the writer tune its batch size and flush interval at runtime, between {@link
+         * #setMinBufferSize} and {@link #setMaxBufferSize} operations and between {@link
+         * #setMinFlushInterval} and {@link #setFlushInterval} milliseconds. See {@link
+         * AdaptiveFlushController}.
+         */
+        public Builder setAdaptiveFlush(boolean adaptiveFlush) {
+            this.adaptiveFlush = adaptiveFlush;
+            return this;
+        }
+
+        /** Lower bound of the batch size when adaptive flushing is enabled. */
+        public Builder setMinBufferSize(int minBufferSize) {
+            checkArgument(minBufferSize > 0, "minBufferSize must be positive");
+            this.minBufferSize = minBufferSize;
+            return this;
+        }
+
+        /** Lower bound of the flush interval when adaptive flushing is enabled. */
+        public Builder setMinFlushInterval(int minFlushInterval) {
+            checkArgument(minFlushInterval > 0, "minFlushInterval must be positive");
+            this.minFlushInterval = minFlushInterval;
+            return this;
+        }
+
+        /**
+         * Flush latency in milliseconds above which the adaptive writer considers Kudu congested
+         * and shrinks its batches.
+         */
+        public Builder setTargetFlushLatency(long targetFlushLatency) {
+            checkArgument(targetFlushLatency > 0, "targetFlushLatency must be positive");
+            this.targetFlushLatency = targetFlushLatency;
+            return this;
+        }
+
+        /**
+         * Maximum number of rows per second written by all subtasks of the sink together, {@code 0}
+         * disables the limit. The writers block once their share of the limit is used up.
+         */
+        public Builder setRateLimitRows(long rateLimitRows) {
+            checkArgument(rateLimitRows >= 0, "rateLimitRows cannot be negative");
+            this.rateLimitRows = rateLimitRows;
+            return this;
+        }
+
+        /**
+         * Maximum number of estimated operation bytes per second written by all subtasks of the
+         * sink together, {@code 0} disables the limit.
+         */
+        public Builder setRateLimitBytes(long rateLimitBytes) {
+            checkArgument(rateLimitBytes >= 0, "rateLimitBytes cannot be negative");
+            this.rateLimitBytes = rateLimitBytes;
+            return this;
+        }
+
+        /**
+         * Properties file with {@code rows-per-second} and {@code bytes-per-second} entries that
+         * override the rate limits while the job is running. The file is read through Flink's file
+         * systems every {@link KuduRateLimiter#REFRESH_INTERVAL_MILLIS} milliseconds.
+         */
+        public Builder setRateLimitFile(String rateLimitFile) {
+            this.rateLimitFile = rateLimitFile;
+            return this;
+        }
+
+        /**
+         * Tunes the writer for the initial load of a table by a bounded job: writes go through the
+         * {@link AsyncKuduWriter} in {@code MANUAL_FLUSH} sessions of {@link
+         * #BULK_LOAD_BUFFER_SIZE} operations, with up to {@link #BULK_LOAD_IN_FLIGHT_FLUSHES}
+         * sessions flushing in parallel. Setters called afterwards override these values.
+         *
+         * <p>Combine it with a table that is range partitioned on sampled keys, see {@link
+         * org.apache.flink.connector.kudu.sink.KuduBulkLoad}, so that the parallel flushes are
+         * spread evenly over the tablets.
+         */
+        public Builder setBulkLoad() {
+            this.asyncWrites = true;
+            this.maxBufferSize = BULK_LOAD_BUFFER_SIZE;
+            this.maxInFlightFlushes = BULK_LOAD_IN_FLIGHT_FLUSHES;
+            this.maxInFlightBytes = BULK_LOAD_IN_FLIGHT_BYTES;
+            return this;
+        }
+
+        /**
+         * Lets checkpoints complete without waiting for the outstanding flushes of the {@link
+         * AsyncKuduWriter}. At a checkpoint the writer only hands its buffered operations to Kudu,
+         * and stores every operation that Kudu has not acknowledged yet in the writer state. The
+         * stored operations are applied again when the job is restored from the checkpoint, so
+         * checkpoint duration no longer depends on slow tablets.
+         *
+         * <p>Requires {@link #setAsyncWrites}. Operations acknowledged after the checkpoint are
+         * applied a second time on restore: that is harmless for upserts, but replayed inserts and
+         * deletes may report duplicate or missing rows, see {@link #setIgnoreDuplicate} and {@link
+         * #setIgnoreNotFound}.
+         */
+        public Builder setSnapshotPendingOperations(boolean snapshotPendingOperations) {
+            this.snapshotPendingOperations = snapshotPendingOperations;
+            return this;
+        }
+
+        /**
+         * Local directory in which the {@link KuduWriter} spills operations while Kudu is
+         * unavailable, {@code null} disables spilling. Operations failing with a transient error,
+         * see {@link
+         * org.apache.flink.connector.kudu.connector.failure.RetryingKuduFailureHandler#isTransientError},
+         * and all operations written after them are appended to a {@link SpillLog} instead of
+         * failing the writer or blocking it. A flushed batch with such an error is spilled from the
+         * first failed operation on, including the operations Kudu accepted. The log is written to
+         * Kudu again in order, in the background, once Kudu accepts writes again. With {@code
+         * AUTO_FLUSH_BACKGROUND} the writer flushes its session itself to see the errors of a batch
+         * before it sends later operations.
+         *
+         * <p>Checkpoints do not wait for the log to drain, its operations are stored in the writer
+         * state instead. The writer only blocks once the log reached {@link #setSpillMaxBytes}. Not
+         * supported together with async writes.
+         */
+        public Builder setSpillDirectory(String spillDirectory) {
+            this.spillDirectory = spillDirectory;
+            return this;
+        }
+
+        /** Maximum size of the spill log of a writer on local disk, see {@link SpillLog}. */
+        public Builder setSpillMaxBytes(long spillMaxBytes) {
+            checkArgument(spillMaxBytes > 0, "spillMaxBytes must be positive");
+            checkArgument(
+                    spillMaxBytes <= Integer.MAX_VALUE, "spillMaxBytes must be smaller than 2 GiB");
+            this.spillMaxBytes = spillMaxBytes;
+            return this;
+        }
+
         public KuduWriterConfig build() {
+            checkArgument(
+                    !snapshotPendingOperations || asyncWrites,
+                    "snapshotPendingOperations requires asyncWrites, see setAsyncWrites");
+            checkArgument(
+                    spillDirectory == null || !asyncWrites,
+                    "spilling is not supported with asyncWrites");
+            if (adaptiveFlush) {
+                checkArgument(
+                        minBufferSize <= maxBufferSize,
+                        "minBufferSize must not be larger than maxBufferSize");
+                checkArgument(
+                        minFlushInterval <= flushInterval,
+                        "minFlushInterval must not be larger than flushInterval");
+            }
             return new KuduWriterConfig(
                     masters,
                     flushMode,
@@ -168,7 +489,22 @@ public class KuduWriterConfig implements Serializable {
                     maxBufferSize,
                     flushInterval,
                     ignoreNotFound,
-                    ignoreDuplicate);
+                    ignoreDuplicate,
+                    asyncWrites,
+                    maxInFlightFlushes,
+                    maxInFlightBytes,
+                    workerCount,
+                    coalesceWrites,
+                    adaptiveFlush,
+                    minBufferSize,
+                    minFlushInterval,
+                    targetFlushLatency,
+                    rateLimitRows,
+                    rateLimitBytes,
+                    rateLimitFile,
+                    snapshotPendingOperations,
+                    spillDirectory,
+                    spillMaxBytes);
         }
 
         @Override
@@ -181,7 +517,22 @@ public class KuduWriterConfig implements Serializable {
                             maxBufferSize,
                             flushInterval,
                             ignoreNotFound,
-                            ignoreDuplicate);
+                            ignoreDuplicate,
+                            asyncWrites,
+                            maxInFlightFlushes,
+                            maxInFlightBytes,
+                            workerCount,
+                            coalesceWrites,
+                            adaptiveFlush,
+                            minBufferSize,
+                            minFlushInterval,
+                            targetFlushLatency,
+                            rateLimitRows,
+                            rateLimitBytes,
+                            rateLimitFile,
+                            snapshotPendingOperations,
+                            spillDirectory,
+                            spillMaxBytes);
             return result;
         }
 
@@ -200,7 +551,22 @@ public class KuduWriterConfig implements Serializable {
                     && Objects.equals(maxBufferSize, that.maxBufferSize)
                     && Objects.equals(flushInterval, that.flushInterval)
                     && Objects.equals(ignoreNotFound, that.ignoreNotFound)
-                    && Objects.equals(ignoreDuplicate, that.ignoreDuplicate);
+                    && Objects.equals(ignoreDuplicate, that.ignoreDuplicate)
+                    && Objects.equals(asyncWrites, that.asyncWrites)
+                    && Objects.equals(maxInFlightFlushes, that.maxInFlightFlushes)
+                    && Objects.equals(maxInFlightBytes, that.maxInFlightBytes)
+                    && Objects.equals(workerCount, that.workerCount)
+                    && Objects.equals(coalesceWrites, that.coalesceWrites)
+                    && Objects.equals(adaptiveFlush, that.adaptiveFlush)
+                    && Objects.equals(minBufferSize, that.minBufferSize)
+                    && Objects.equals(minFlushInterval, that.minFlushInterval)
+                    && Objects.equals(targetFlushLatency, that.targetFlushLatency)
+                    && Objects.equals(rateLimitRows, that.rateLimitRows)
+                    && Objects.equals(rateLimitBytes, that.rateLimitBytes)
+                    && Objects.equals(rateLimitFile, that.rateLimitFile)
+                    && Objects.equals(snapshotPendingOperations, that.snapshotPendingOperations)
+                    && Objects.equals(spillDirectory, that.spillDirectory)
+                    && Objects.equals(spillMaxBytes, that.spillMaxBytes);
         }
     }
 }
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MeterView;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.groups.SinkWriterMetricGroup;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
+
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.RowError;
+import org.apache.kudu.client.Status;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metrics of the Kudu sink writers, registered in the {@code kudu} group of the sink writer metric
+ * group. Besides the standard sink metrics ({@code numRecordsSend}, {@code numBytesSend}, {@code
+ * numRecordsSendErrors} and {@code currentSendTime}) this exposes:
+ *
+ * <ul>
+ *   <li>{@code numOperations} / {@code numOperationsPerSecond} in an {@code operationType} group
+ *       per operation type (insert, upsert, ...): applied operations of that type.
+ *   <li>{@code flushLatencyMs}: histogram of the flush latencies observed by the writer.
+ *   <li>{@code applyBlockedTimeMs}: total time spent in {@code apply} of the Kudu session, which
+ *       blocks while its buffers are full.
+ *   <li>{@code rateLimitedTimeMs}: total time the writer was blocked by its {@link
+ *       KuduRateLimiter}.
+ *   <li>{@code bufferedOperations} / {@code bufferedBytes}: operations held by the writer that have
+ *       not been flushed yet.
+ *   <li>{@code pendingErrors}: row errors collected by the session but not yet handled.
+ *   <li>{@code spilledOperations} / {@code spilledBytes}: operations held in the {@link SpillLog}
+ *       of the writer while Kudu is unavailable.
+ *   <li>{@code numRowErrors} in a {@code status} group per Kudu status code: row errors with that
+ *       status.
+ *   <li>{@code numDuplicateRowsDropped} / {@code numNotFoundRowsDropped}: rows dropped because of
+ *       {@link KuduWriterConfig#isIgnoreDuplicate()} / {@link KuduWriterConfig#isIgnoreNotFound()}.
+ * </ul>
+ */
+@Internal
+public class KuduWriterMetrics {
+
+    private static final int HISTOGRAM_WINDOW_SIZE = 1000;
+
+    private final SinkWriterMetricGroup writerGroup;
+    private final MetricGroup kuduGroup;
+
+    private final Map<Class<?>, Counter> operationCounters = new HashMap<>();
+    private final Map<String, Counter> rowErrorCounters = new HashMap<>();
+    private final Histogram flushLatency;
+    private final Counter duplicateRowsDropped;
+    private final Counter notFoundRowsDropped;
+
+    // written by the writer thread only, read by the metric reporters
+    private volatile long applyBlockedNanos;
+    private volatile long rateLimitedNanos;
+    private volatile long lastFlushLatency;
+
+    public KuduWriterMetrics(@Nullable SinkWriterMetricGroup metricGroup) {
+        this.writerGroup =
+                metricGroup == null
+                        ? UnregisteredMetricsGroup.createSinkWriterMetricGroup()
+                        : metricGroup;
+        this.kuduGroup = writerGroup.addGroup("kudu");
+
+        this.flushLatency =
+                kuduGroup.histogram(
+                        "flushLatencyMs",
+                        new DescriptiveStatisticsHistogram(HISTOGRAM_WINDOW_SIZE));
+        this.duplicateRowsDropped = kuduGroup.counter("numDuplicateRowsDropped");
+        this.notFoundRowsDropped = kuduGroup.counter("numNotFoundRowsDropped");
+        kuduGroup.gauge("applyBlockedTimeMs", () -> applyBlockedNanos / 1_000_000);
+        kuduGroup.gauge("rateLimitedTimeMs", () -> rateLimitedNanos / 1_000_000);
+        writerGroup.setCurrentSendTimeGauge(() -> lastFlushLatency);
+    }
+
+    public void registerBufferGauges(Gauge<Integer> operations, Gauge<Long> bytes) {
+        kuduGroup.gauge("bufferedOperations", operations);
+        kuduGroup.gauge("bufferedBytes", bytes);
+    }
+
+    public void registerPendingErrorsGauge(Gauge<Integer> pendingErrors) {
+        kuduGroup.gauge("pendingErrors", pendingErrors);
+    }
+
+    public void registerSpillGauges(Gauge<Long> operations, Gauge<Long> bytes) {
+        kuduGroup.gauge("spilledOperations", operations);
+        kuduGroup.gauge("spilledBytes", bytes);
+    }
+
+    /** Records an operation that was handed to the Kudu session. */
+    public void onApply(Operation operation, long sizeBytes, long blockedNanos) {
+        Counter counter = operationCounters.get(operation.getClass());
+        if (counter == null) {
+            MetricGroup typeGroup =
+                    kuduGroup.addGroup(
+                            "operationType", operation.getClass().getSimpleName().toLowerCase());
+            counter = typeGroup.counter("numOperations");
+            typeGroup.meter("numOperationsPerSecond", new MeterView(counter));
+            operationCounters.put(operation.getClass(), counter);
+        }
+        counter.inc();
+        writerGroup.getNumRecordsSendCounter().inc();
+        writerGroup.getNumBytesSendCounter().inc(sizeBytes);
+        applyBlockedNanos += blockedNanos;
+    }
+
+    /** Records the time the writer was blocked by the rate limiter. */
+    public void onRateLimited(long blockedNanos) {
+        rateLimitedNanos += blockedNanos;
+    }
+
+    /**
+     * Records a finished flush. Synchronized because the async writer calls it from the Kudu client
+     * threads of concurrent flushes.
+     */
+    public synchronized void onFlush(long latencyMillis) {
+        flushLatency.update(latencyMillis);
+        lastFlushLatency = latencyMillis;
+    }
+
+    /**
+     * Counts the given row errors per status code and drops the ones that the writer is configured
+     * to ignore.
+     *
+     * @return the errors that have to be handed to the failure handler
+     */
+    public List<RowError> onRowErrors(
+            List<RowError> errors, boolean ignoreDuplicate, boolean ignoreNotFound) {
+        List<RowError> failures = new ArrayList<>(errors.size());
+        for (RowError error : errors) {
+            if (ignoreDuplicate && error.getErrorStatus().isAlreadyPresent()) {
+                duplicateRowsDropped.inc();
+                continue;
+            }
+            if (ignoreNotFound && error.getErrorStatus().isNotFound()) {
+                notFoundRowsDropped.inc();
+                continue;
+            }
+            rowErrorCounters
+                    .computeIfAbsent(
+                            codeName(error.getErrorStatus()),
+                            status -> kuduGroup.addGroup("status", status).counter("numRowErrors"))
+                    .inc();
+            writerGroup.getNumRecordsSendErrorsCounter().inc();
+            failures.add(error);
+        }
+        return failures;
+    }
+
+    /**
+     * Returns the name of the error code of the status, e.g. {@code ALREADY_PRESENT}. The Kudu
+     * client only exposes it through the deprecated {@link RowError#getStatus()}.
+     */
+    public static String codeName(Status status) {
+        if (status.ok()) {
+            return "OK";
+        } else if (status.isNotFound()) {
+            return "NOT_FOUND";
+        } else if (status.isCorruption()) {
+            return "CORRUPTION";
+        } else if (status.isNotSupported()) {
+            return "NOT_SUPPORTED";
+        } else if (status.isInvalidArgument()) {
+            return "INVALID_ARGUMENT";
+        } else if (status.isIOError()) {
+            return "IO_ERROR";
+        } else if (status.isAlreadyPresent()) {
+            return "ALREADY_PRESENT";
+        } else if (status.isRuntimeError()) {
+            return "RUNTIME_ERROR";
+        } else if (status.isNetworkError()) {
+            return "NETWORK_ERROR";
+        } else if (status.isIllegalState()) {
+            return "ILLEGAL_STATE";
+        } else if (status.isNotAuthorized()) {
+            return "NOT_AUTHORIZED";
+        } else if (status.isAborted()) {
+            return "ABORTED";
+        } else if (status.isRemoteError()) {
+            return "REMOTE_ERROR";
+        } else if (status.isServiceUnavailable()) {
+            return "SERVICE_UNAVAILABLE";
+        } else if (status.isTimedOut()) {
+            return "TIMED_OUT";
+        } else if (status.isUninitialized()) {
+            return "UNINITIALIZED";
+        } else if (status.isConfigurationError()) {
+            return "CONFIGURATION_ERROR";
+        } else if (status.isIncomplete()) {
+            return "INCOMPLETE";
+        } else if (status.isEndOfFile()) {
+            return "END_OF_FILE";
+        } else if (status.isImmutable()) {
+            return "IMMUTABLE";
+        }
+        return "UNKNOWN";
+    }
+}
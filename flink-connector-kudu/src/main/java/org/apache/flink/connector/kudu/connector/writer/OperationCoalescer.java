@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.Internal;
+
+import org.apache.kudu.client.Delete;
+import org.apache.kudu.client.DeleteIgnore;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
+import org.apache.kudu.client.Upsert;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffers Kudu operations and collapses them per primary key before they are applied to a session.
+ *
+ * <p>A {@link Delete}, or an {@link Upsert} that sets every column, carries the complete target
+ * state of its row, so it replaces every operation buffered for the same key. Other operations
+ * (inserts, updates and upserts of only part of the columns, e.g. partial updates) depend on the
+ * existing row and are appended to the operations of their key, so the per key order is preserved.
+ *
+ * <p>The operations a {@link Delete} replaces may be the ones that created its row, e.g. an insert
+ * or upsert of a new key, so such a delete is buffered as a {@link DeleteIgnore} that does not fail
+ * if the row never made it to Kudu.
+ *
+ * <p>The buffer is ready to be drained once it holds {@code maxBufferSize} operations or its oldest
+ * operation is older than {@code flushInterval} milliseconds. The writers check this on every
+ * record and from a processing time timer, so the operations of an idle stream are applied as well.
+ */
+@Internal
+public class OperationCoalescer {
+
+    private final int maxBufferSize;
+    private final long flushInterval;
+
+    private final Map<ByteBuffer, List<Operation>> operations = new LinkedHashMap<>();
+    private int bufferedOperations;
+    private long firstBufferedAt;
+
+    public OperationCoalescer(int maxBufferSize, long flushInterval) {
+        this.maxBufferSize = maxBufferSize;
+        this.flushInterval = flushInterval;
+    }
+
+    public void add(Operation operation) {
+        if (bufferedOperations == 0) {
+            firstBufferedAt = System.currentTimeMillis();
+        }
+
+        ByteBuffer key = ByteBuffer.wrap(operation.getRow().encodePrimaryKey());
+        List<Operation> keyOperations = operations.get(key);
+        if (keyOperations == null) {
+            keyOperations = new ArrayList<>(1);
+            operations.put(key, keyOperations);
+        } else if (isFullImage(operation)) {
+            bufferedOperations -= keyOperations.size();
+            keyOperations.clear();
+            if (operation instanceof Delete) {
+                operation = toDeleteIgnore(operation);
+            }
+        }
+        keyOperations.add(operation);
+        bufferedOperations++;
+    }
+
+    private static boolean isFullImage(Operation operation) {
+        if (operation instanceof Delete) {
+            return true;
+        }
+        if (!(operation instanceof Upsert)) {
+            return false;
+        }
+        PartialRow row = operation.getRow();
+        for (int i = 0; i < row.getSchema().getColumnCount(); i++) {
+            if (!row.isSet(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Operation toDeleteIgnore(Operation delete) {
+        DeleteIgnore deleteIgnore = delete.getTable().newDeleteIgnore();
+        PartialRow source = delete.getRow();
+        PartialRow target = deleteIgnore.getRow();
+        for (int i = 0; i < source.getSchema().getPrimaryKeyColumnCount(); i++) {
+            target.addObject(i, source.getObject(i));
+        }
+        return deleteIgnore;
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public boolean isEmpty() {
+        return bufferedOperations == 0;
+    }
+
+    public int size() {
+        return bufferedOperations;
+    }
+
+    public boolean shouldFlush() {
+        return bufferedOperations >= maxBufferSize
+                || (bufferedOperations > 0
+                        && System.currentTimeMillis() - firstBufferedAt >= flushInterval);
+    }
+
+    /** Returns the buffered operations, ordered by the first appearance of their key. */
+    public List<Operation> drain() {
+        List<Operation> drained = new ArrayList<>(bufferedOperations);
+        for (List<Operation> keyOperations : operations.values()) {
+            drained.addAll(keyOperations);
+        }
+        operations.clear();
+        bufferedOperations = 0;
+        return drained;
+    }
+}
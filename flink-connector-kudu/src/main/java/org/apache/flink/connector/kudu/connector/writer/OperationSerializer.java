@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.types.StringValue;
+
+import org.apache.kudu.Schema;
+import org.apache.kudu.Type;
+import org.apache.kudu.client.Delete;
+import org.apache.kudu.client.DeleteIgnore;
+import org.apache.kudu.client.Insert;
+import org.apache.kudu.client.InsertIgnore;
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
+import org.apache.kudu.client.Update;
+import org.apache.kudu.client.Upsert;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Binary encoding of Kudu {@link Operation}s, used to keep operations in Flink state until they are
+ * applied. An operation is written as its type followed by the index and value of every set column
+ * of its row, so it can only be decoded against a table with the same schema.
+ */
+@Internal
+public final class OperationSerializer {
+
+    private static final byte INSERT = 0;
+    private static final byte INSERT_IGNORE = 1;
+    private static final byte UPSERT = 2;
+    private static final byte UPDATE = 3;
+    private static final byte DELETE = 4;
+    private static final byte DELETE_IGNORE = 5;
+
+    private OperationSerializer() {}
+
+    public static void serialize(Operation operation, DataOutputView out) throws IOException {
+        out.writeByte(operationType(operation));
+        PartialRow row = operation.getRow();
+        Schema schema = row.getSchema();
+        int columns = 0;
+        for (int i = 0; i < schema.getColumnCount(); i++) {
+            if (row.isSet(i)) {
+                columns++;
+            }
+        }
+        out.writeShort(columns);
+        for (int i = 0; i < schema.getColumnCount(); i++) {
+            if (!row.isSet(i)) {
+                continue;
+            }
+            out.writeShort(i);
+            boolean isNull = row.isNull(i);
+            out.writeBoolean(isNull);
+            if (!isNull) {
+                writeValue(row, i, schema.getColumnByIndex(i).getType(), out);
+            }
+        }
+    }
+
+    public static Operation deserialize(DataInputView in, KuduTable table) throws IOException {
+        Operation operation = newOperation(in.readByte(), table);
+        PartialRow row = operation.getRow();
+        Schema schema = table.getSchema();
+        int columns = in.readShort();
+        for (int c = 0; c < columns; c++) {
+            int i = in.readShort();
+            if (in.readBoolean()) {
+                row.setNull(i);
+            } else {
+                readValue(row, i, schema.getColumnByIndex(i).getType(), in);
+            }
+        }
+        return operation;
+    }
+
+    private static byte operationType(Operation operation) {
+        if (operation instanceof Upsert) {
+            return UPSERT;
+        } else if (operation instanceof InsertIgnore) {
+            return INSERT_IGNORE;
+        } else if (operation instanceof Insert) {
+            return INSERT;
+        } else if (operation instanceof Update) {
+            return UPDATE;
+        } else if (operation instanceof Delete) {
+            return DELETE;
+        } else if (operation instanceof DeleteIgnore) {
+            return DELETE_IGNORE;
+        }
+        throw new IllegalArgumentException("Cannot serialize operation " + operation);
+    }
+
+    private static Operation newOperation(byte type, KuduTable table) throws IOException {
+        switch (type) {
+            case INSERT:
+                return table.newInsert();
+            case INSERT_IGNORE:
+                return table.newInsertIgnore();
+            case UPSERT:
+                return table.newUpsert();
+            case UPDATE:
+                return table.newUpdate();
+            case DELETE:
+                return table.newDelete();
+            case DELETE_IGNORE:
+                return table.newDeleteIgnore();
+            default:
+                throw new IOException("Unknown operation type " + type);
+        }
+    }
+
+    private static void writeValue(PartialRow row, int i, Type type, DataOutputView out)
+            throws IOException {
+        switch (type) {
+            case BOOL:
+                out.writeBoolean(row.getBoolean(i));
+                break;
+            case INT8:
+                out.writeByte(row.getByte(i));
+                break;
+            case INT16:
+                out.writeShort(row.getShort(i));
+                break;
+            case INT32:
+                out.writeInt(row.getInt(i));
+                break;
+            case INT64:
+            case UNIXTIME_MICROS:
+                out.writeLong(row.getLong(i));
+                break;
+            case FLOAT:
+                out.writeFloat(row.getFloat(i));
+                break;
+            case DOUBLE:
+                out.writeDouble(row.getDouble(i));
+                break;
+            case DECIMAL:
+                BigDecimal decimal = row.getDecimal(i);
+                byte[] unscaled = decimal.unscaledValue().toByteArray();
+                out.writeInt(decimal.scale());
+                out.writeInt(unscaled.length);
+                out.write(unscaled);
+                break;
+            case DATE:
+                out.writeInt((int) row.getDate(i).toLocalDate().toEpochDay());
+                break;
+            case STRING:
+            case VARCHAR:
+                StringValue.writeString(row.getString(i), out);
+                break;
+            case BINARY:
+                byte[] bytes = row.getBinaryCopy(i);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                break;
+            default:
+                throw new IOException("Unsupported column type " + type);
+        }
+    }
+
+    private static void readValue(PartialRow row, int i, Type type, DataInputView in)
+            throws IOException {
+        switch (type) {
+            case BOOL:
+                row.addBoolean(i, in.readBoolean());
+                break;
+            case INT8:
+                row.addByte(i, in.readByte());
+                break;
+            case INT16:
+                row.addShort(i, in.readShort());
+                break;
+            case INT32:
+                row.addInt(i, in.readInt());
+                break;
+            case INT64:
+            case UNIXTIME_MICROS:
+                row.addLong(i, in.readLong());
+                break;
+            case FLOAT:
+                row.addFloat(i, in.readFloat());
+                break;
+            case DOUBLE:
+                row.addDouble(i, in.readDouble());
+                break;
+            case DECIMAL:
+                int scale = in.readInt();
+                byte[] unscaled = new byte[in.readInt()];
+                in.readFully(unscaled);
+                row.addDecimal(i, new BigDecimal(new BigInteger(unscaled), scale));
+                break;
+            case DATE:
+                row.addDate(i, Date.valueOf(LocalDate.ofEpochDay(in.readInt())));
+                break;
+            case STRING:
+                row.addString(i, StringValue.readString(in));
+                break;
+            case VARCHAR:
+                row.addVarchar(i, StringValue.readString(in));
+                break;
+            case BINARY:
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                row.addBinary(i, bytes);
+                break;
+            default:
+                throw new IOException("Unsupported column type " + type);
+        }
+    }
+}
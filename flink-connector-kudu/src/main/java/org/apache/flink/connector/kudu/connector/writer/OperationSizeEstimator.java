@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.Internal;
+
+import org.apache.kudu.Schema;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
+
+/**
+ * Estimates the wire size of Kudu operations. The Kudu client keeps its own size accounting
+ * package-private, so this uses the fixed row size of the schema plus the length of every variable
+ * length value that is set on the row, read through its public getters. Strings count in UTF-8
+ * bytes, binary values are not copied.
+ */
+@Internal
+public final class OperationSizeEstimator {
+
+    private OperationSizeEstimator() {}
+
+    public static long estimate(Operation operation) {
+        PartialRow row = operation.getRow();
+        Schema schema = row.getSchema();
+        long size = schema.getRowSize();
+        if (schema.getVarLengthColumnCount() == 0) {
+            return size;
+        }
+        for (int i = 0; i < schema.getColumnCount(); i++) {
+            if (!row.isSet(i) || row.isNull(i)) {
+                continue;
+            }
+            switch (schema.getColumnByIndex(i).getType()) {
+                case STRING:
+                    size += utf8Length(row.getString(i));
+                    break;
+                case VARCHAR:
+                    size += utf8Length(row.getVarchar(i));
+                    break;
+                case BINARY:
+                    size += row.getBinary(i).remaining();
+                    break;
+                default:
+                    // fixed size values are part of the row size
+                    break;
+            }
+        }
+        return size;
+    }
+
+    private static long utf8Length(String value) {
+        long length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800 && !Character.isSurrogate(c)) {
+                length += 2;
+            } else if (c >= 0x80) {
+                // two byte characters and both halves of a four byte surrogate pair
+                length++;
+            }
+        }
+        return length;
+    }
+}
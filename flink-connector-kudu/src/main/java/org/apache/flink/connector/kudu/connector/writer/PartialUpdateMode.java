@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+/** Columns of a row that {@link RowDataUpsertOperationMapper} writes to Kudu. */
+@PublicEvolving
+public enum PartialUpdateMode {
+
+    /** Every column of the schema, including nulls. */
+    NONE("none"),
+
+    /** Only the columns that are not null, other columns keep their value in Kudu. */
+    IGNORE_NULLS("ignore-nulls"),
+
+    /** Only the declared columns and the primary key columns. */
+    DECLARED_COLUMNS("declared-columns");
+
+    private final String value;
+
+    PartialUpdateMode(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.Internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Reads a field of a POJO. Accessors are backed by a {@link MethodHandle} getter so that values of
+ * primitive fields can be read without boxing through the typed getters. If no method handle can be
+ * created for the field, the accessor falls back to {@link Field#get(Object)}.
+ */
+@Internal
+abstract class PojoFieldAccessor {
+
+    final Field field;
+
+    private PojoFieldAccessor(Field field) {
+        this.field = field;
+    }
+
+    /** Creates an accessor for the given field, which must already be accessible. */
+    static PojoFieldAccessor forField(Field field) {
+        try {
+            MethodHandle getter =
+                    MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                            .unreflectGetter(field);
+            return new MethodHandleAccessor(field, getter);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return new ReflectiveAccessor(field);
+        }
+    }
+
+    /** Creates an accessor for the given field that always uses {@link Field#get(Object)}. */
+    static PojoFieldAccessor reflective(Field field) {
+        return new ReflectiveAccessor(field);
+    }
+
+    Class<?> getType() {
+        return field.getType();
+    }
+
+    abstract Object get(Object pojo);
+
+    boolean getBoolean(Object pojo) {
+        return (Boolean) get(pojo);
+    }
+
+    byte getByte(Object pojo) {
+        return (Byte) get(pojo);
+    }
+
+    short getShort(Object pojo) {
+        return (Short) get(pojo);
+    }
+
+    int getInt(Object pojo) {
+        return (Integer) get(pojo);
+    }
+
+    long getLong(Object pojo) {
+        return (Long) get(pojo);
+    }
+
+    float getFloat(Object pojo) {
+        return (Float) get(pojo);
+    }
+
+    double getDouble(Object pojo) {
+        return (Double) get(pojo);
+    }
+
+    RuntimeException accessFailure(Throwable cause) {
+        return new RuntimeException("Cannot read field " + field.getName(), cause);
+    }
+
+    /** Accessor reading the field through {@link Field#get(Object)}. */
+    private static final class ReflectiveAccessor extends PojoFieldAccessor {
+
+        private ReflectiveAccessor(Field field) {
+            super(field);
+        }
+
+        @Override
+        Object get(Object pojo) {
+            try {
+                return field.get(pojo);
+            } catch (IllegalAccessException e) {
+                throw accessFailure(e);
+            }
+        }
+    }
+
+    /**
+     * Accessor reading the field through a method handle getter. The generic getter is adapted to
+     * {@code (Object)Object}, the typed getters to {@code (Object)<primitive>} for primitive
+     * fields, so that both can be called with {@link MethodHandle#invokeExact}.
+     */
+    private static final class MethodHandleAccessor extends PojoFieldAccessor {
+
+        private final MethodHandle getter;
+        private final MethodHandle primitiveGetter;
+
+        private MethodHandleAccessor(Field field, MethodHandle getter) {
+            super(field);
+            this.getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+            this.primitiveGetter =
+                    field.getType().isPrimitive()
+                            ? getter.asType(MethodType.methodType(field.getType(), Object.class))
+                            : null;
+        }
+
+        @Override
+        Object get(Object pojo) {
+            try {
+                return (Object) getter.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+        }
+
+        @Override
+        boolean getBoolean(Object pojo) {
+            if (getType() != boolean.class) {
+                return super.getBoolean(pojo);
+            }
+            try {
+                return (boolean) primitiveGetter.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+        }
+
+        @Override
+        byte getByte(Object pojo) {
+            if (getType() != byte.class) {
+                return super.getByte(pojo);
+            }
+            try {
+                return (byte) primitiveGetter.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+        }
+
+        @Override
+        short getShort(Object pojo) {
+            if (getType() != short.class) {
+                return super.getShort(pojo);
+            }
+            try {
+                return (short) primitiveGetter.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+        }
+
+        @Override
+        int getInt(Object pojo) {
+            if (getType() != int.class) {
+                return super.getInt(pojo);
+            }
+            try {
+                return (int) primitiveGetter.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+        }
+
+        @Override
+        long getLong(Object pojo) {
+            if (getType() != long.class) {
+                return super.getLong(pojo);
+            }
+            try {
+                return (long) primitiveGetter.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+        }
+
+        @Override
+        float getFloat(Object pojo) {
+            if (getType() != float.class) {
+                return super.getFloat(pojo);
+            }
+            try {
+                return (float) primitiveGetter.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+        }
+
+        @Override
+        double getDouble(Object pojo) {
+            if (getType() != double.class) {
+                return super.getDouble(pojo);
+            }
+            try {
+                return (double) primitiveGetter.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw accessFailure(t);
+            }
+        }
+    }
+}
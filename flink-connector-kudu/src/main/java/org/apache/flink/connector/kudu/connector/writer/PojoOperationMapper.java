@@ -19,6 +19,9 @@ package org.apache.flink.connector.kudu.connector.writer;
 
 import org.apache.flink.annotation.PublicEvolving;
 
+import org.apache.kudu.Type;
+import org.apache.kudu.client.PartialRow;
+
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -26,15 +29,24 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-/** Logic to map a given POJO to a Kudu-compatible format. */
+/**
+ * Logic to map a given POJO to a Kudu-compatible format.
+ *
+ * <p>Fields are read through method handle getters, values of primitive fields are written to the
+ * row with the typed setters without boxing. Fields for which no method handle can be created are
+ * read reflectively.
+ */
 @PublicEvolving
 public class PojoOperationMapper<T> extends AbstractSingleOperationMapper<T> {
 
-    private final Field[] fields;
+    private final Class<T> pojoClass;
+
+    private transient PojoFieldAccessor[] accessors;
 
     public PojoOperationMapper(Class<T> pojoClass, String[] columnNames, KuduOperation operation) {
         super(columnNames, operation);
-        fields = initFields(pojoClass, columnNames);
+        this.pojoClass = pojoClass;
+        this.accessors = initAccessors(initFields(pojoClass, columnNames));
     }
 
     public static List<Field> getAllFields(List<Field> fields, Class<?> type) {
@@ -75,12 +87,77 @@ public class PojoOperationMapper<T> extends AbstractSingleOperationMapper<T> {
         return fields;
     }
 
+    private static PojoFieldAccessor[] initAccessors(Field[] fields) {
+        PojoFieldAccessor[] accessors = new PojoFieldAccessor[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            accessors[i] = PojoFieldAccessor.forField(fields[i]);
+        }
+        return accessors;
+    }
+
+    private PojoFieldAccessor[] getAccessors() {
+        // fields are not serializable, the accessors are recreated after deserialization
+        if (accessors == null) {
+            accessors = initAccessors(initFields(pojoClass, columnNames.toArray(new String[0])));
+        }
+        return accessors;
+    }
+
     @Override
     public Object getField(T input, int i) {
-        try {
-            return fields[i].get(input);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException("This is a bug");
+        return getAccessors()[i].get(input);
+    }
+
+    @Override
+    protected void writeField(T input, int i, PartialRow row, int columnIndex, Type type) {
+        PojoFieldAccessor accessor = getAccessors()[i];
+        Class<?> fieldType = accessor.getType();
+        switch (type) {
+            case BOOL:
+                if (fieldType == boolean.class) {
+                    row.addBoolean(columnIndex, accessor.getBoolean(input));
+                    return;
+                }
+                break;
+            case INT8:
+                if (fieldType == byte.class) {
+                    row.addByte(columnIndex, accessor.getByte(input));
+                    return;
+                }
+                break;
+            case INT16:
+                if (fieldType == short.class) {
+                    row.addShort(columnIndex, accessor.getShort(input));
+                    return;
+                }
+                break;
+            case INT32:
+                if (fieldType == int.class) {
+                    row.addInt(columnIndex, accessor.getInt(input));
+                    return;
+                }
+                break;
+            case INT64:
+                if (fieldType == long.class) {
+                    row.addLong(columnIndex, accessor.getLong(input));
+                    return;
+                }
+                break;
+            case FLOAT:
+                if (fieldType == float.class) {
+                    row.addFloat(columnIndex, accessor.getFloat(input));
+                    return;
+                }
+                break;
+            case DOUBLE:
+                if (fieldType == double.class) {
+                    row.addDouble(columnIndex, accessor.getDouble(input));
+                    return;
+                }
+                break;
+            default:
+                break;
         }
+        row.addObject(columnIndex, accessor.get(input));
     }
 }
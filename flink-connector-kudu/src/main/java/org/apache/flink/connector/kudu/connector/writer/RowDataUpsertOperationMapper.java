@@ -25,18 +25,34 @@ import org.apache.flink.table.data.StringData;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.DecimalType;
 import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
 
+import org.apache.kudu.Type;
 import org.apache.kudu.client.KuduTable;
 import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.apache.flink.table.types.logical.utils.LogicalTypeChecks.getPrecision;
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
 
-/** Logic to map Flink UPSERT RowData to a Kudu-compatible format. */
+/**
+ * Logic to map Flink UPSERT RowData to a Kudu-compatible format.
+ *
+ * <p>With a {@link PartialUpdateMode} other than {@link PartialUpdateMode#NONE} the operations only
+ * carry a subset of the columns, the other columns keep their current value in Kudu.
+ */
 @Internal
 public class RowDataUpsertOperationMapper extends AbstractSingleOperationMapper<RowData> {
 
@@ -48,13 +64,49 @@ public class RowDataUpsertOperationMapper extends AbstractSingleOperationMapper<
     private static final int MAX_TIMESTAMP_PRECISION = 6;
 
     private LogicalType[] logicalTypes;
+    private final boolean ignoreNulls;
+    private final boolean[] skippedColumns;
 
     public RowDataUpsertOperationMapper(ResolvedSchema schema) {
+        this(schema, PartialUpdateMode.NONE, Collections.emptyList());
+    }
+
+    /**
+     * Creates a mapper writing only part of the columns.
+     *
+     * @param schema schema of the Flink table
+     * @param partialUpdateMode columns to write
+     * @param declaredColumns columns written with {@link PartialUpdateMode#DECLARED_COLUMNS}, in
+     *     addition to the primary key columns of the schema
+     */
+    public RowDataUpsertOperationMapper(
+            ResolvedSchema schema,
+            PartialUpdateMode partialUpdateMode,
+            List<String> declaredColumns) {
         super(schema.getColumnNames());
+        checkNotNull(partialUpdateMode, "partialUpdateMode could not be null");
         logicalTypes =
                 schema.getColumnDataTypes().stream()
                         .map(DataType::getLogicalType)
                         .toArray(LogicalType[]::new);
+        ignoreNulls = partialUpdateMode == PartialUpdateMode.IGNORE_NULLS;
+        skippedColumns = new boolean[columnNames.size()];
+        if (partialUpdateMode == PartialUpdateMode.DECLARED_COLUMNS) {
+            checkArgument(
+                    !declaredColumns.isEmpty(),
+                    "Columns must be declared for partial update mode %s.",
+                    partialUpdateMode);
+            Set<String> written = new HashSet<>(declaredColumns);
+            checkArgument(
+                    columnNames.containsAll(written),
+                    "Declared columns %s are not a subset of the columns %s.",
+                    declaredColumns,
+                    columnNames);
+            schema.getPrimaryKey().ifPresent(key -> written.addAll(key.getColumns()));
+            for (int i = 0; i < skippedColumns.length; i++) {
+                skippedColumns[i] = !written.contains(columnNames.get(i));
+            }
+        }
     }
 
     @Override
@@ -62,6 +114,86 @@ public class RowDataUpsertOperationMapper extends AbstractSingleOperationMapper<
         return getFieldValue(input, i);
     }
 
+    /**
+     * Writes the field with the typed getter of {@link RowData} and the typed setter of {@link
+     * PartialRow} if the Flink and Kudu types match, falling back to {@link #getField(RowData,
+     * int)} otherwise.
+     */
+    @Override
+    protected void writeField(RowData input, int i, PartialRow row, int columnIndex, Type type) {
+        if (skippedColumns[i]) {
+            return;
+        }
+        if (input.isNullAt(i)) {
+            if (!ignoreNulls) {
+                row.setNull(columnIndex);
+            }
+            return;
+        }
+        LogicalTypeRoot root = logicalTypes[i].getTypeRoot();
+        switch (type) {
+            case BOOL:
+                if (root == LogicalTypeRoot.BOOLEAN) {
+                    row.addBoolean(columnIndex, input.getBoolean(i));
+                    return;
+                }
+                break;
+            case INT8:
+                if (root == LogicalTypeRoot.TINYINT) {
+                    row.addByte(columnIndex, input.getByte(i));
+                    return;
+                }
+                break;
+            case INT16:
+                if (root == LogicalTypeRoot.SMALLINT) {
+                    row.addShort(columnIndex, input.getShort(i));
+                    return;
+                }
+                break;
+            case INT32:
+                if (root == LogicalTypeRoot.INTEGER
+                        || root == LogicalTypeRoot.DATE
+                        || root == LogicalTypeRoot.INTERVAL_YEAR_MONTH) {
+                    row.addInt(columnIndex, input.getInt(i));
+                    return;
+                }
+                break;
+            case INT64:
+                if (root == LogicalTypeRoot.BIGINT || root == LogicalTypeRoot.INTERVAL_DAY_TIME) {
+                    row.addLong(columnIndex, input.getLong(i));
+                    return;
+                }
+                break;
+            case FLOAT:
+                if (root == LogicalTypeRoot.FLOAT) {
+                    row.addFloat(columnIndex, input.getFloat(i));
+                    return;
+                }
+                break;
+            case DOUBLE:
+                if (root == LogicalTypeRoot.DOUBLE) {
+                    row.addDouble(columnIndex, input.getDouble(i));
+                    return;
+                }
+                break;
+            case STRING:
+                if (root == LogicalTypeRoot.CHAR || root == LogicalTypeRoot.VARCHAR) {
+                    row.addStringUtf8(columnIndex, input.getString(i).toBytes());
+                    return;
+                }
+                break;
+            case BINARY:
+                if (root == LogicalTypeRoot.BINARY || root == LogicalTypeRoot.VARBINARY) {
+                    row.addBinary(columnIndex, input.getBinary(i));
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+        super.writeField(input, i, row, columnIndex, type);
+    }
+
     public Object getFieldValue(RowData input, int i) {
         if (input == null || input.isNullAt(i)) {
             return null;
@@ -140,16 +272,20 @@ public class RowDataUpsertOperationMapper extends AbstractSingleOperationMapper<
 
     @Override
     public Optional<Operation> createBaseOperation(RowData input, KuduTable table) {
-        Optional<Operation> operation = Optional.empty();
+        return Optional.ofNullable(createOperation(input, table));
+    }
+
+    @Override
+    @Nullable
+    protected Operation createOperation(RowData input, KuduTable table) {
         switch (input.getRowKind()) {
             case INSERT:
             case UPDATE_AFTER:
-                operation = Optional.of(table.newUpsert());
-                break;
+                return table.newUpsert();
             case DELETE:
-                operation = Optional.of(table.newDelete());
-                break;
+                return table.newDelete();
+            default:
+                return null;
         }
-        return operation;
     }
 }
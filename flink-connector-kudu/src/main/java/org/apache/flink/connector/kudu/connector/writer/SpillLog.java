@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.writer;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+
+import org.apache.flink.shaded.netty4.io.netty.util.internal.PlatformDependent;
+
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.Operation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Append-only log of Kudu {@link Operation}s on local disk, used by the {@link KuduWriter} to hold
+ * operations while Kudu is unavailable. See {@link KuduWriterConfig.Builder#setSpillDirectory}.
+ *
+ * <p>The log is a sequence of memory-mapped segment files in a directory of its own. Operations are
+ * encoded with the {@link OperationSerializer}, prefixed by their length, and read back in the
+ * order they were appended. A segment is unmapped and deleted as soon as all of its operations are
+ * discarded, so the space of deleted segments is released right away and not only once their
+ * mappings are garbage collected.
+ * Nothing is forced to disk: the log only has to survive Kudu outages, not process failures, which
+ * are covered by the writer state.
+ */
+@Internal
+public class SpillLog implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final int segmentSize;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final DataOutputSerializer encoded = new DataOutputSerializer(256);
+    private final DataInputDeserializer decoded = new DataInputDeserializer();
+
+    private long nextSegmentId;
+    private long operationCount;
+    private long usedBytes;
+
+    public SpillLog(Path parentDirectory, long maxBytes) throws IOException {
+        this(parentDirectory, maxBytes, DEFAULT_SEGMENT_SIZE);
+    }
+
+    @VisibleForTesting
+    public SpillLog(Path parentDirectory, long maxBytes, int segmentSize) throws IOException {
+        checkArgument(maxBytes > 0, "maxBytes must be positive");
+        checkArgument(segmentSize > Integer.BYTES, "segmentSize is too small");
+        this.maxBytes = maxBytes;
+        this.segmentSize = (int) Math.min(segmentSize, maxBytes);
+        Files.createDirectories(parentDirectory);
+        this.directory = Files.createTempDirectory(parentDirectory, "kudu-spill-");
+    }
+
+    /**
+     * Appends an operation to the end of the log.
+     *
+     * @return {@code false} if the operation does not fit into the log without exceeding its size
+     *     limit
+     */
+    public boolean append(Operation operation) throws IOException {
+        encoded.clear();
+        OperationSerializer.serialize(operation, encoded);
+        int recordSize = Integer.BYTES + encoded.length();
+        if (recordSize > segmentSize) {
+            throw new IOException(
+                    "Operation of "
+                            + recordSize
+                            + " bytes does not fit into a spill segment of "
+                            + segmentSize
+                            + " bytes.");
+        }
+
+        Segment tail = segments.peekLast();
+        if (tail == null || segmentSize - tail.writePosition < recordSize) {
+            if ((long) (segments.size() + 1) * segmentSize > maxBytes) {
+                return false;
+            }
+            tail = newSegment();
+        }
+        tail.append(encoded.getSharedBuffer(), encoded.length());
+        operationCount++;
+        usedBytes += recordSize;
+        return true;
+    }
+
+    /**
+     * Decodes up to {@code maxOperations} operations from the head of the log against the given
+     * table, without removing them from the log.
+     */
+    public List<Operation> peek(KuduTable table, int maxOperations) throws IOException {
+        List<Operation> operations = new ArrayList<>((int) Math.min(maxOperations, operationCount));
+        for (Segment segment : segments) {
+            int position = segment.readPosition;
+            while (operations.size() < maxOperations && position < segment.writePosition) {
+                decoded.setBuffer(segment.read(position));
+                operations.add(OperationSerializer.deserialize(decoded, table));
+                position += Integer.BYTES + segment.buffer.getInt(position);
+            }
+            if (operations.size() == maxOperations) {
+                break;
+            }
+        }
+        return operations;
+    }
+
+    /** Removes the first {@code count} operations from the log. */
+    public void discard(int count) throws IOException {
+        checkArgument(count <= operationCount, "Cannot discard more operations than spilled");
+        for (int i = 0; i < count; i++) {
+            Segment head = segments.peekFirst();
+            int recordSize = Integer.BYTES + head.buffer.getInt(head.readPosition);
+            head.readPosition += recordSize;
+            operationCount--;
+            usedBytes -= recordSize;
+            if (head.readPosition == head.writePosition) {
+                segments.pollFirst().delete();
+            }
+        }
+    }
+
+    /**
+     * Writes all operations of the log in order, without length prefixes, so that they can be
+     * decoded one after another with {@link OperationSerializer#deserialize}.
+     */
+    public void copyTo(DataOutputView out) throws IOException {
+        for (Segment segment : segments) {
+            int position = segment.readPosition;
+            while (position < segment.writePosition) {
+                byte[] record = segment.read(position);
+                out.write(record);
+                position += Integer.BYTES + record.length;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return operationCount == 0;
+    }
+
+    /** Returns the number of operations in the log. */
+    public long size() {
+        return operationCount;
+    }
+
+    /** Returns the bytes of the operations in the log, including their length prefixes. */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    @VisibleForTesting
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /** Deletes all segments and the directory of the log. */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        Segment segment;
+        while ((segment = segments.pollFirst()) != null) {
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        operationCount = 0;
+        usedBytes = 0;
+        Files.deleteIfExists(directory);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Segment newSegment() throws IOException {
+        Segment segment = new Segment(directory.resolve("segment-" + nextSegmentId++), segmentSize);
+        segments.addLast(segment);
+        return segment;
+    }
+
+    /** A memory-mapped file holding length prefixed operations. */
+    private static final class Segment {
+
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private int readPosition;
+        private int writePosition;
+
+        private Segment(Path file, int size) throws IOException {
+            this.file = file;
+            this.channel =
+                    FileChannel.open(
+                            file,
+                            StandardOpenOption.CREATE_NEW,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE);
+            try {
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } catch (IOException e) {
+                channel.close();
+                Files.deleteIfExists(file);
+                throw e;
+            }
+        }
+
+        private void append(byte[] bytes, int length) {
+            buffer.position(writePosition);
+            buffer.putInt(length);
+            buffer.put(bytes, 0, length);
+            writePosition = buffer.position();
+        }
+
+        private byte[] read(int position) {
+            byte[] record = new byte[buffer.getInt(position)];
+            buffer.position(position + Integer.BYTES);
+            buffer.get(record);
+            return record;
+        }
+
+        /** Deletes the file, the buffer must not be accessed anymore. */
+        private void delete() throws IOException {
+            PlatformDependent.freeDirectBuffer(buffer);
+            channel.close();
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -129,6 +129,10 @@ public abstract class AbstractKuduInputFormat<T> extends RichInputFormat<T, Kudu
         }
     }
 
+    /**
+     * Closes the scanner of the current split. The reader and its client are kept for the next
+     * split of this instance and only released in {@link #closeInputFormat()}.
+     */
     @Override
     public void close() throws IOException {
         if (resultIterator != null) {
@@ -137,7 +141,12 @@ public abstract class AbstractKuduInputFormat<T> extends RichInputFormat<T, Kudu
             } catch (KuduException e) {
                 log.error("Error while closing reader iterator.", e);
             }
+            resultIterator = null;
         }
+    }
+
+    @Override
+    public void closeInputFormat() throws IOException {
         closeKuduReader();
     }
 
@@ -170,7 +179,7 @@ public abstract class AbstractKuduInputFormat<T> extends RichInputFormat<T, Kudu
     public T nextRecord(T reuse) throws IOException {
         // check that current iterator has next rows
         if (this.resultIterator.hasNext()) {
-            return resultIterator.next();
+            return resultIterator.next(reuse);
         } else {
             endReached = true;
             return null;
@@ -21,9 +21,14 @@ import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.connector.kudu.connector.KuduFilterInfo;
 import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.converter.RowResultBinaryRowDataConverter;
 import org.apache.flink.connector.kudu.connector.converter.RowResultConverter;
 import org.apache.flink.connector.kudu.connector.reader.KuduReaderConfig;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+
+import javax.annotation.Nullable;
 
 import java.util.List;
 
@@ -31,11 +36,14 @@ import java.util.List;
 @PublicEvolving
 public class KuduRowDataInputFormat extends AbstractKuduInputFormat<RowData> {
 
+    @Nullable private final RowType producedType;
+
     public KuduRowDataInputFormat(
             KuduReaderConfig readerConfig,
             RowResultConverter<RowData> rowResultConverter,
             KuduTableInfo tableInfo) {
         super(readerConfig, rowResultConverter, tableInfo);
+        this.producedType = null;
     }
 
     public KuduRowDataInputFormat(
@@ -44,6 +52,7 @@ public class KuduRowDataInputFormat extends AbstractKuduInputFormat<RowData> {
             KuduTableInfo tableInfo,
             List<String> tableProjections) {
         super(readerConfig, rowResultConverter, tableInfo, tableProjections);
+        this.producedType = null;
     }
 
     public KuduRowDataInputFormat(
@@ -53,10 +62,36 @@ public class KuduRowDataInputFormat extends AbstractKuduInputFormat<RowData> {
             List<KuduFilterInfo> tableFilters,
             List<String> tableProjections) {
         super(readerConfig, rowResultConverter, tableInfo, tableFilters, tableProjections);
+        this.producedType = null;
+    }
+
+    /**
+     * Creates an input format that writes every row directly into a reused binary row with a {@link
+     * RowResultBinaryRowDataConverter}, and produces the {@link InternalTypeInfo} of the given row
+     * type, so that the rows are serialized without converting them again.
+     *
+     * @param producedType type of the rows, with one field per projected column
+     */
+    public KuduRowDataInputFormat(
+            KuduReaderConfig readerConfig,
+            KuduTableInfo tableInfo,
+            List<KuduFilterInfo> tableFilters,
+            List<String> tableProjections,
+            RowType producedType) {
+        super(
+                readerConfig,
+                new RowResultBinaryRowDataConverter(producedType),
+                tableInfo,
+                tableFilters,
+                tableProjections);
+        this.producedType = producedType;
     }
 
     @Override
     public TypeInformation<RowData> getProducedType() {
+        if (producedType != null) {
+            return InternalTypeInfo.of(producedType);
+        }
         return TypeInformation.of(RowData.class);
     }
 }
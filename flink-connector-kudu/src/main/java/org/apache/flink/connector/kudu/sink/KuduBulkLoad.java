@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.connector.kudu.connector.RangeSplitCreateTableOptionsFactory;
+import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.util.CloseableIterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Helpers for the initial load of a Kudu table by a bounded job.
+ *
+ * <p>A bulk load first runs a sampling pass over the input with {@link #sampleKeys}, creates the
+ * table range partitioned on the sampled split points with a {@link
+ * RangeSplitCreateTableOptionsFactory} and then writes the input with {@link
+ * KuduWriterConfig.Builder#setBulkLoad()}:
+ *
+ * <pre>{@code
+ * List<Object[]> samples = KuduBulkLoad.sampleKeys(input, row -> new Object[] {row.getId()}, 0.001);
+ * KuduTableInfo tableInfo =
+ *         KuduTableInfo.forTable("books")
+ *                 .createTableIfNotExists(
+ *                         columns,
+ *                         RangeSplitCreateTableOptionsFactory.fromSamples(
+ *                                 columns, Collections.singletonList("id"), samples, 64, 3));
+ * input.sinkTo(
+ *         KuduSink.<Book>builder()
+ *                 .setTableInfo(tableInfo)
+ *                 .setWriterConfig(KuduWriterConfig.Builder.setMasters(masters).setBulkLoad().build())
+ *                 .setOperationMapper(mapper)
+ *                 .build());
+ * env.execute();
+ * }</pre>
+ */
+@PublicEvolving
+public final class KuduBulkLoad {
+
+    private KuduBulkLoad() {}
+
+    /**
+     * Runs a job that samples the range partition keys of a bounded stream, each record is part of
+     * the sample with the given probability. Sinks that were added to the environment of the stream
+     * before are executed by this job as well, so call it before adding the Kudu sink.
+     *
+     * @param input bounded stream that will be written to Kudu
+     * @param keySelector extracts the values of the range partition columns of a record
+     * @param fraction probability of a record to be sampled
+     * @return sampled keys, to be passed to {@link RangeSplitCreateTableOptionsFactory#fromSamples}
+     */
+    public static <T> List<Object[]> sampleKeys(
+            DataStream<T> input, KeySelector<T, Object[]> keySelector, double fraction)
+            throws Exception {
+        checkArgument(fraction > 0 && fraction <= 1, "fraction must be in (0, 1]");
+        List<Object[]> samples = new ArrayList<>();
+        try (CloseableIterator<Object[]> keys =
+                input.filter(value -> ThreadLocalRandom.current().nextDouble() < fraction)
+                        .map(keySelector::getKey)
+                        .returns(TypeInformation.of(Object[].class))
+                        .executeAndCollect("Kudu range partition sampling")) {
+            keys.forEachRemaining(samples::add);
+        }
+        return samples;
+    }
+}
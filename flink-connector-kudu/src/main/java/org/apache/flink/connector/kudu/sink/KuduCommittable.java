@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Kudu transaction holding the operations of one sink writer between two checkpoints, in the form
+ * of a serialized {@link org.apache.kudu.client.KuduTransaction} token. Committables are part of
+ * the checkpoint and committed once the checkpoint completes, see {@link KuduTwoPhaseCommitSink}.
+ */
+@PublicEvolving
+public class KuduCommittable {
+
+    private final String tableName;
+    private final int operationCount;
+    private final byte[] transaction;
+
+    public KuduCommittable(String tableName, int operationCount, byte[] transaction) {
+        this.tableName = checkNotNull(tableName);
+        this.operationCount = operationCount;
+        this.transaction = checkNotNull(transaction);
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public int getOperationCount() {
+        return operationCount;
+    }
+
+    public byte[] getTransaction() {
+        return transaction;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        KuduCommittable that = (KuduCommittable) o;
+        return operationCount == that.operationCount
+                && tableName.equals(that.tableName)
+                && Arrays.equals(transaction, that.transaction);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(tableName, operationCount) + Arrays.hashCode(transaction);
+    }
+
+    @Override
+    public String toString() {
+        return "KuduCommittable{"
+                + "tableName='"
+                + tableName
+                + '\''
+                + ", operationCount="
+                + operationCount
+                + ", transactionBytes="
+                + transaction.length
+                + '}';
+    }
+}
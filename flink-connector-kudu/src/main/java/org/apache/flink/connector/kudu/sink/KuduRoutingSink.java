@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.connector.sink2.Sink;
+import org.apache.flink.api.connector.sink2.SinkWriter;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.failure.KuduFailureHandler;
+import org.apache.flink.connector.kudu.connector.writer.KuduOperationMapper;
+import org.apache.flink.connector.kudu.connector.writer.KuduRoutingWriter;
+import org.apache.flink.connector.kudu.connector.writer.KuduTableNameExtractor;
+import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Streaming Sink that writes every record to the Kudu table named by a {@link
+ * KuduTableNameExtractor}, for jobs that fan out to many tables with a single sink operator.
+ *
+ * <p>Tables are opened when the first record for them arrives. Missing tables are created with the
+ * columns and options of the table template if one is set, otherwise they have to exist. Records
+ * are mapped with the operation mapper of their table, or the default operation mapper.
+ *
+ * <p>The writers of the sink use one Kudu client for all tables and schedule the flushes of all
+ * tables together, with a bound on the bytes buffered for all tables. See {@link
+ * KuduRoutingWriter}.
+ *
+ * @param <IN> type of the input records written to Kudu
+ */
+@PublicEvolving
+public class KuduRoutingSink<IN> implements Sink<IN> {
+
+    private final KuduWriterConfig writerConfig;
+    private final KuduTableNameExtractor<IN> tableNameExtractor;
+    @Nullable private final KuduTableInfo tableTemplate;
+    @Nullable private final KuduOperationMapper<IN> operationMapper;
+    private final Map<String, KuduOperationMapper<IN>> tableOperationMappers;
+    private final long maxBufferedBytes;
+    private final KuduFailureHandler failureHandler;
+
+    KuduRoutingSink(
+            KuduWriterConfig writerConfig,
+            KuduTableNameExtractor<IN> tableNameExtractor,
+            @Nullable KuduTableInfo tableTemplate,
+            @Nullable KuduOperationMapper<IN> operationMapper,
+            Map<String, KuduOperationMapper<IN>> tableOperationMappers,
+            long maxBufferedBytes,
+            KuduFailureHandler failureHandler) {
+        this.writerConfig = writerConfig;
+        this.tableNameExtractor = tableNameExtractor;
+        this.tableTemplate = tableTemplate;
+        this.operationMapper = operationMapper;
+        this.tableOperationMappers = tableOperationMappers;
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.failureHandler = failureHandler;
+    }
+
+    public static <IN> KuduRoutingSinkBuilder<IN> builder() {
+        return new KuduRoutingSinkBuilder<>();
+    }
+
+    @Override
+    public SinkWriter<IN> createWriter(InitContext initContext) throws IOException {
+        return new KuduRoutingWriter<>(
+                writerConfig,
+                tableNameExtractor,
+                tableTemplate,
+                operationMapper,
+                tableOperationMappers,
+                maxBufferedBytes,
+                failureHandler,
+                initContext);
+    }
+}
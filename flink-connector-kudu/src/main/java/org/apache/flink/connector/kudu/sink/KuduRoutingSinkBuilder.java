@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.failure.DeadLetterQueue;
+import org.apache.flink.connector.kudu.connector.failure.DefaultKuduFailureHandler;
+import org.apache.flink.connector.kudu.connector.failure.KuduFailureHandler;
+import org.apache.flink.connector.kudu.connector.writer.KuduOperationMapper;
+import org.apache.flink.connector.kudu.connector.writer.KuduTableNameExtractor;
+import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Builder to construct {@link KuduRoutingSink}.
+ *
+ * <p>Of the writer config only the masters, operation timeout, {@code maxBufferSize} (operations
+ * per table and flush), flush interval, ignored row errors and worker count apply. Every table is
+ * written with a {@code MANUAL_FLUSH} session, async writes, write coalescing, adaptive flushing,
+ * rate limits, snapshots of pending operations and spilling are not supported.
+ *
+ * @param <IN> type of the input records written to Kudu
+ */
+@PublicEvolving
+public class KuduRoutingSinkBuilder<IN> {
+
+    /** Default bound of the bytes buffered for all tables by a writer. */
+    public static final long DEFAULT_MAX_BUFFERED_BYTES = 64 * 1024 * 1024;
+
+    private KuduWriterConfig writerConfig;
+    private KuduTableNameExtractor<IN> tableNameExtractor;
+    private KuduTableInfo tableTemplate;
+    private KuduOperationMapper<IN> operationMapper;
+    private final Map<String, KuduOperationMapper<IN>> tableOperationMappers = new HashMap<>();
+    private long maxBufferedBytes = DEFAULT_MAX_BUFFERED_BYTES;
+    private KuduFailureHandler failureHandler = new DefaultKuduFailureHandler();
+    private DeadLetterQueue deadLetterQueue;
+
+    public KuduRoutingSinkBuilder<IN> setWriterConfig(KuduWriterConfig writerConfig) {
+        this.writerConfig = writerConfig;
+        return this;
+    }
+
+    public KuduRoutingSinkBuilder<IN> setTableNameExtractor(
+            KuduTableNameExtractor<IN> tableNameExtractor) {
+        this.tableNameExtractor = tableNameExtractor;
+        return this;
+    }
+
+    /**
+     * Creates tables that do not exist with the columns and options of the given table info, which
+     * must specify them through {@link KuduTableInfo#createTableIfNotExists}. Its name is ignored.
+     */
+    public KuduRoutingSinkBuilder<IN> setTableTemplate(KuduTableInfo tableTemplate) {
+        this.tableTemplate = tableTemplate;
+        return this;
+    }
+
+    /** Operation mapper of all tables without a mapper of their own. */
+    public KuduRoutingSinkBuilder<IN> setOperationMapper(KuduOperationMapper<IN> operationMapper) {
+        this.operationMapper = operationMapper;
+        return this;
+    }
+
+    /** Operation mapper of the records routed to the given table. */
+    public KuduRoutingSinkBuilder<IN> setTableOperationMapper(
+            String tableName, KuduOperationMapper<IN> operationMapper) {
+        checkArgument(tableName != null, "Table name must be provided.");
+        checkArgument(operationMapper != null, "Operation mapper must be provided.");
+        this.tableOperationMappers.put(tableName, operationMapper);
+        return this;
+    }
+
+    /**
+     * Upper bound on the estimated bytes buffered for all tables by a writer. Once it is exceeded
+     * the tables with the largest buffers are flushed.
+     */
+    public KuduRoutingSinkBuilder<IN> setMaxBufferedBytes(long maxBufferedBytes) {
+        checkArgument(maxBufferedBytes > 0, "maxBufferedBytes must be positive");
+        this.maxBufferedBytes = maxBufferedBytes;
+        return this;
+    }
+
+    public KuduRoutingSinkBuilder<IN> setFailureHandler(KuduFailureHandler failureHandler) {
+        this.failureHandler = failureHandler;
+        return this;
+    }
+
+    /**
+     * Writes rows that cannot be written to Kudu to the given queue instead of failing the job, see
+     * {@link KuduSinkBuilder#setDeadLetterQueue}.
+     */
+    public KuduRoutingSinkBuilder<IN> setDeadLetterQueue(DeadLetterQueue deadLetterQueue) {
+        this.deadLetterQueue = deadLetterQueue;
+        return this;
+    }
+
+    public KuduRoutingSink<IN> build() {
+        checkArgument(writerConfig != null, "Writer config must be provided.");
+        checkArgument(tableNameExtractor != null, "Table name extractor must be provided.");
+        checkArgument(
+                operationMapper != null || !tableOperationMappers.isEmpty(),
+                "Operation mapper must be provided.");
+        checkArgument(
+                tableTemplate == null || tableTemplate.getCreateTableIfNotExists(),
+                "Table template must specify how to create tables.");
+
+        return new KuduRoutingSink<>(
+                writerConfig,
+                tableNameExtractor,
+                tableTemplate,
+                operationMapper,
+                new HashMap<>(tableOperationMappers),
+                maxBufferedBytes,
+                KuduSinkBuilder.buildFailureHandler(failureHandler, deadLetterQueue));
+    }
+}
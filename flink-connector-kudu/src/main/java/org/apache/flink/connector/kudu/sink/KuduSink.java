@@ -18,15 +18,21 @@
 package org.apache.flink.connector.kudu.sink;
 
 import org.apache.flink.annotation.PublicEvolving;
-import org.apache.flink.api.connector.sink2.Sink;
-import org.apache.flink.api.connector.sink2.SinkWriter;
+import org.apache.flink.api.connector.sink2.StatefulSink;
 import org.apache.flink.connector.kudu.connector.KuduTableInfo;
 import org.apache.flink.connector.kudu.connector.failure.KuduFailureHandler;
+import org.apache.flink.connector.kudu.connector.writer.AsyncKuduWriter;
 import org.apache.flink.connector.kudu.connector.writer.KuduOperationMapper;
 import org.apache.flink.connector.kudu.connector.writer.KuduWriter;
 import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.streaming.api.connector.sink2.WithPreWriteTopology;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.util.IOUtils;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 
 /**
  * Streaming Sink that executes Kudu operations based on the incoming elements. The target Kudu
@@ -37,25 +43,37 @@ import java.io.IOException;
  * KuduOperationMapper} logic. While failures resulting from the operations are handled by the
  * {@link KuduFailureHandler} instance.
  *
+ * <p>With {@link KuduWriterConfig#isAsyncWrites()} enabled the records are written by an {@link
+ * AsyncKuduWriter} that keeps several flushes in flight instead of blocking on each of them. With
+ * {@link KuduWriterConfig#isSnapshotPendingOperations()} it also lets checkpoints pass without
+ * waiting for these flushes and stores their operations in the {@link KuduWriterState} instead.
+ *
+ * <p>If shuffling by partition is enabled the records are redistributed with a {@link
+ * KuduTabletPartitioner} before they reach the writers, so that each writer only serves a few
+ * tablets.
+ *
  * @param <IN> type of the input records written to Kudu
  */
 @PublicEvolving
-public class KuduSink<IN> implements Sink<IN> {
+public class KuduSink<IN> implements StatefulSink<IN, KuduWriterState>, WithPreWriteTopology<IN> {
 
     private final KuduTableInfo tableInfo;
     private final KuduWriterConfig writerConfig;
     private final KuduOperationMapper<IN> operationMapper;
     private final KuduFailureHandler failureHandler;
+    private final boolean shuffleByPartition;
 
     KuduSink(
             KuduTableInfo tableInfo,
             KuduWriterConfig writerConfig,
             KuduOperationMapper<IN> operationMapper,
-            KuduFailureHandler failureHandler) {
+            KuduFailureHandler failureHandler,
+            boolean shuffleByPartition) {
         this.tableInfo = tableInfo;
         this.writerConfig = writerConfig;
         this.operationMapper = operationMapper;
         this.failureHandler = failureHandler;
+        this.shuffleByPartition = shuffleByPartition;
     }
 
     public static <IN> KuduSinkBuilder<IN> builder() {
@@ -63,7 +81,55 @@ public class KuduSink<IN> implements Sink<IN> {
     }
 
     @Override
-    public SinkWriter<IN> createWriter(InitContext initContext) throws IOException {
-        return new KuduWriter<>(tableInfo, writerConfig, operationMapper, failureHandler);
+    public StatefulSinkWriter<IN, KuduWriterState> createWriter(InitContext initContext)
+            throws IOException {
+        return restoreWriter(initContext, Collections.emptyList());
+    }
+
+    @Override
+    public StatefulSinkWriter<IN, KuduWriterState> restoreWriter(
+            InitContext initContext, Collection<KuduWriterState> recoveredState)
+            throws IOException {
+        if (writerConfig.isAsyncWrites()) {
+            AsyncKuduWriter<IN> writer =
+                    new AsyncKuduWriter<>(
+                            tableInfo, writerConfig, operationMapper, failureHandler, initContext);
+            try {
+                writer.restoreState(recoveredState);
+            } catch (IOException | RuntimeException e) {
+                IOUtils.closeQuietly(writer);
+                throw e;
+            }
+            return writer;
+        }
+        KuduWriter<IN> writer =
+                new KuduWriter<>(
+                        tableInfo, writerConfig, operationMapper, failureHandler, initContext);
+        try {
+            writer.restoreState(recoveredState);
+        } catch (IOException | RuntimeException e) {
+            IOUtils.closeQuietly(writer);
+            throw e;
+        }
+        return writer;
+    }
+
+    @Override
+    public SimpleVersionedSerializer<KuduWriterState> getWriterStateSerializer() {
+        return new KuduWriterStateSerializer();
+    }
+
+    @Override
+    public DataStream<IN> addPreWriteTopology(DataStream<IN> inputDataStream) {
+        if (!shuffleByPartition) {
+            return inputDataStream;
+        }
+        return inputDataStream.partitionCustom(
+                new KuduTabletPartitioner<>(
+                        tableInfo,
+                        writerConfig.getMasters(),
+                        writerConfig.getWorkerCount(),
+                        operationMapper),
+                new KuduTabletPartitioner.IdentityKeySelector<>(inputDataStream.getType()));
     }
 }
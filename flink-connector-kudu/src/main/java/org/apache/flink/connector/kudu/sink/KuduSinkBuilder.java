@@ -19,10 +19,15 @@ package org.apache.flink.connector.kudu.sink;
 
 import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.failure.DeadLetterKuduFailureHandler;
+import org.apache.flink.connector.kudu.connector.failure.DeadLetterQueue;
 import org.apache.flink.connector.kudu.connector.failure.DefaultKuduFailureHandler;
 import org.apache.flink.connector.kudu.connector.failure.KuduFailureHandler;
+import org.apache.flink.connector.kudu.connector.failure.RetryingKuduFailureHandler;
+import org.apache.flink.connector.kudu.connector.writer.AbstractSingleOperationMapper;
 import org.apache.flink.connector.kudu.connector.writer.KuduOperationMapper;
 import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+import org.apache.flink.connector.kudu.connector.writer.RowDataUpsertOperationMapper;
 
 import static org.apache.flink.util.Preconditions.checkArgument;
 
@@ -38,6 +43,8 @@ public class KuduSinkBuilder<IN> {
     private KuduWriterConfig writerConfig;
     private KuduOperationMapper<IN> operationMapper;
     private KuduFailureHandler failureHandler = new DefaultKuduFailureHandler();
+    private DeadLetterQueue deadLetterQueue;
+    private boolean shuffleByPartition = false;
 
     public KuduSinkBuilder<IN> setTableInfo(KuduTableInfo tableInfo) {
         this.tableInfo = tableInfo;
@@ -59,15 +66,88 @@ public class KuduSinkBuilder<IN> {
         return this;
     }
 
+    /**
+     * Writes rows that cannot be written to Kudu to the given queue instead of failing the job.
+     * Transient errors are retried first, holding back later operations of the failed rows, see
+     * {@link RetryingKuduFailureHandler} and {@link DeadLetterKuduFailureHandler}. Cannot be
+     * combined with a custom failure handler.
+     */
+    public KuduSinkBuilder<IN> setDeadLetterQueue(DeadLetterQueue deadLetterQueue) {
+        this.deadLetterQueue = deadLetterQueue;
+        return this;
+    }
+
+    /**
+     * Redistributes the records so that each sink subtask writes to the Kudu partitions of its own
+     * subset of primary keys. See {@link KuduTabletPartitioner}.
+     */
+    public KuduSinkBuilder<IN> setShuffleByPartition(boolean shuffleByPartition) {
+        this.shuffleByPartition = shuffleByPartition;
+        return this;
+    }
+
     public KuduSink<IN> build() {
+        return new KuduSink<>(
+                tableInfo,
+                writerConfig,
+                operationMapper,
+                buildFailureHandler(),
+                shuffleByPartition);
+    }
+
+    /**
+     * Builds a {@link KuduTwoPhaseCommitSink} that writes the operations of each checkpoint within
+     * a Kudu transaction, committed when the checkpoint completes. The operation mapper must
+     * produce inserts. Async writes, write coalescing, adaptive flushing and rate limits of the
+     * writer config do not apply to it.
+     *
+     * <p>Mappers known to produce other operations, i.e. an {@link AbstractSingleOperationMapper}
+     * configured with an operation other than {@code INSERT} or a {@link
+     * RowDataUpsertOperationMapper}, are rejected here. Operations of other mappers are checked by
+     * the writer.
+     */
+    public KuduTwoPhaseCommitSink<IN> buildTwoPhaseCommitting() {
+        KuduFailureHandler failureHandler = buildFailureHandler();
+        checkArgument(
+                producesInserts(operationMapper),
+                "Kudu transactions only support inserts, %s produces other operations.",
+                operationMapper.getClass().getSimpleName());
+        return new KuduTwoPhaseCommitSink<>(
+                tableInfo, writerConfig, operationMapper, failureHandler, shuffleByPartition);
+    }
+
+    private static boolean producesInserts(KuduOperationMapper<?> operationMapper) {
+        if (operationMapper instanceof RowDataUpsertOperationMapper) {
+            return false;
+        }
+        if (operationMapper instanceof AbstractSingleOperationMapper) {
+            AbstractSingleOperationMapper.KuduOperation operation =
+                    ((AbstractSingleOperationMapper<?>) operationMapper).getOperation();
+            return operation == null
+                    || operation == AbstractSingleOperationMapper.KuduOperation.INSERT;
+        }
+        return true;
+    }
+
+    private KuduFailureHandler buildFailureHandler() {
         checkArgument(tableInfo != null, "Table info must be provided.");
         checkArgument(writerConfig != null, "Writer config must be provided.");
         checkArgument(operationMapper != null, "Operation mapper must be provided.");
 
+        return buildFailureHandler(failureHandler, deadLetterQueue);
+    }
+
+    static KuduFailureHandler buildFailureHandler(
+            KuduFailureHandler failureHandler, DeadLetterQueue deadLetterQueue) {
         if (failureHandler == null) {
             failureHandler = new DefaultKuduFailureHandler();
         }
-
-        return new KuduSink<>(tableInfo, writerConfig, operationMapper, failureHandler);
+        if (deadLetterQueue == null) {
+            return failureHandler;
+        }
+        checkArgument(
+                failureHandler.getClass() == DefaultKuduFailureHandler.class,
+                "Dead letter queue cannot be combined with a custom failure handler.");
+        return new RetryingKuduFailureHandler(new DeadLetterKuduFailureHandler(deadLetterQueue));
     }
 }
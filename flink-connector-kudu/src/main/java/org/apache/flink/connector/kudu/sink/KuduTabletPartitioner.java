@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.functions.Partitioner;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.client.KuduClientRegistry;
+import org.apache.flink.connector.kudu.connector.client.SharedKuduClient;
+import org.apache.flink.connector.kudu.connector.writer.KuduOperationMapper;
+
+import org.apache.kudu.client.KuduClient;
+import org.apache.kudu.client.KuduException;
+import org.apache.kudu.client.KuduPartitioner;
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.NonCoveredRangeException;
+import org.apache.kudu.client.PartialRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link Partitioner} that sends every record to the sink subtask owning the Kudu partition
+ * (tablet) of the record's primary key. Only the primary key of a record is written by the sink's
+ * {@link KuduOperationMapper}, see {@link KuduOperationMapper#writePrimaryKey}, and routed with the
+ * client's {@link KuduPartitioner}. Each sink subtask therefore only writes to {@code tablets /
+ * parallelism} tablets, which results in fewer and larger write batches per tablet.
+ *
+ * <p>The partitions are loaded when the first record is routed. A key outside of every known range
+ * partition reloads them, at most once per {@link #REFRESH_INTERVAL_MILLIS}, so range partitions
+ * added while the job runs are picked up. Records without operations or still outside of every
+ * range partition are sent to the first subtask, the writer reports the actual error for the
+ * latter.
+ *
+ * @param <T> type of the input records written to Kudu
+ */
+@Internal
+public class KuduTabletPartitioner<T> implements Partitioner<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(KuduTabletPartitioner.class);
+
+    static final long REFRESH_INTERVAL_MILLIS = 10_000;
+
+    private final KuduTableInfo tableInfo;
+    private final String masters;
+    private final int workerCount;
+    private final KuduOperationMapper<T> operationMapper;
+
+    private transient KuduTable table;
+    private transient KuduPartitioner partitioner;
+    private transient long loadedAt;
+
+    public KuduTabletPartitioner(
+            KuduTableInfo tableInfo,
+            String masters,
+            int workerCount,
+            KuduOperationMapper<T> operationMapper) {
+        this.tableInfo = tableInfo;
+        this.masters = masters;
+        this.workerCount = workerCount;
+        this.operationMapper = operationMapper;
+    }
+
+    @Override
+    public int partition(T record, int numPartitions) {
+        if (partitioner == null) {
+            open();
+        }
+
+        PartialRow key = table.getSchema().newPartialRow();
+        if (!operationMapper.writePrimaryKey(record, table, key)) {
+            return 0;
+        }
+        try {
+            return partitioner.partitionRow(key) % numPartitions;
+        } catch (NonCoveredRangeException e) {
+            if (System.currentTimeMillis() - loadedAt < REFRESH_INTERVAL_MILLIS) {
+                return 0;
+            }
+        }
+        // the range partition may have been added after the partitions were loaded
+        try {
+            open();
+        } catch (RuntimeException e) {
+            LOG.warn("Cannot reload partitions of Kudu table {}.", tableInfo.getName(), e);
+            loadedAt = System.currentTimeMillis();
+            return 0;
+        }
+        try {
+            return partitioner.partitionRow(key) % numPartitions;
+        } catch (NonCoveredRangeException e) {
+            return 0;
+        }
+    }
+
+    private void open() {
+        // The partition map and the table handle stay valid after the client is released,
+        // rows are only created here to be routed and never sent.
+        try (SharedKuduClient sharedClient = KuduClientRegistry.acquire(masters, workerCount)) {
+            table = obtainTable(sharedClient.getClient());
+            partitioner = new KuduPartitioner.KuduPartitionerBuilder(table).build();
+            loadedAt = System.currentTimeMillis();
+        } catch (KuduException e) {
+            throw new RuntimeException(
+                    "Cannot load partitions of Kudu table " + tableInfo.getName(), e);
+        }
+    }
+
+    private KuduTable obtainTable(KuduClient client) throws KuduException {
+        String tableName = tableInfo.getName();
+        if (client.tableExists(tableName)) {
+            return client.openTable(tableName);
+        }
+        if (tableInfo.getCreateTableIfNotExists()) {
+            try {
+                return client.createTable(
+                        tableName, tableInfo.getSchema(), tableInfo.getCreateTableOptions());
+            } catch (KuduException e) {
+                // a sink writer may have created the table concurrently
+                if (client.tableExists(tableName)) {
+                    return client.openTable(tableName);
+                }
+                throw e;
+            }
+        }
+        throw new RuntimeException("Table " + tableName + " does not exist.");
+    }
+
+    /** Uses the record itself as the partitioning key. */
+    static class IdentityKeySelector<T> implements KeySelector<T, T>, ResultTypeQueryable<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final TypeInformation<T> type;
+
+        IdentityKeySelector(TypeInformation<T> type) {
+            this.type = type;
+        }
+
+        @Override
+        public T getKey(T value) {
+            return value;
+        }
+
+        @Override
+        public TypeInformation<T> getProducedType() {
+            return type;
+        }
+    }
+}
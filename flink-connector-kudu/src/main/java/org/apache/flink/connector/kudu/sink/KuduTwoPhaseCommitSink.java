@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.connector.sink2.Committer;
+import org.apache.flink.api.connector.sink2.TwoPhaseCommittingSink;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.failure.KuduFailureHandler;
+import org.apache.flink.connector.kudu.connector.writer.KuduCommitter;
+import org.apache.flink.connector.kudu.connector.writer.KuduOperationMapper;
+import org.apache.flink.connector.kudu.connector.writer.KuduTwoPhaseCommitWriter;
+import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.streaming.api.connector.sink2.WithPreWriteTopology;
+import org.apache.flink.streaming.api.datastream.DataStream;
+
+import java.io.IOException;
+
+/**
+ * Sink that writes the operations of each checkpoint interval within a Kudu multi-row transaction,
+ * which is committed once the checkpoint completed. Readers only see the operations of completed
+ * checkpoints, and records replayed after a failover are never written twice, because the
+ * transactions of unfinished checkpoints are aborted.
+ *
+ * <p>The {@link KuduTwoPhaseCommitWriter} writes into a transaction and hands it over as a {@link
+ * KuduCommittable} when a checkpoint is taken. The {@link KuduCommitter} commits it on checkpoint
+ * completion, committables of a failed job are committed again on recovery.
+ *
+ * <p>Kudu transactions require kudu 1.15 or later with {@code --txn_manager_enabled} on the masters
+ * and {@code --enable_txn_system_client_init} on the tablet servers, and they only support {@code
+ * INSERT} and {@code INSERT_IGNORE} operations. Other operations fail the writer.
+ *
+ * @param <IN> type of the input records written to Kudu
+ */
+@PublicEvolving
+public class KuduTwoPhaseCommitSink<IN>
+        implements TwoPhaseCommittingSink<IN, KuduCommittable>, WithPreWriteTopology<IN> {
+
+    private final KuduTableInfo tableInfo;
+    private final KuduWriterConfig writerConfig;
+    private final KuduOperationMapper<IN> operationMapper;
+    private final KuduFailureHandler failureHandler;
+    private final boolean shuffleByPartition;
+
+    KuduTwoPhaseCommitSink(
+            KuduTableInfo tableInfo,
+            KuduWriterConfig writerConfig,
+            KuduOperationMapper<IN> operationMapper,
+            KuduFailureHandler failureHandler,
+            boolean shuffleByPartition) {
+        this.tableInfo = tableInfo;
+        this.writerConfig = writerConfig;
+        this.operationMapper = operationMapper;
+        this.failureHandler = failureHandler;
+        this.shuffleByPartition = shuffleByPartition;
+    }
+
+    @Override
+    public PrecommittingSinkWriter<IN, KuduCommittable> createWriter(InitContext initContext)
+            throws IOException {
+        return new KuduTwoPhaseCommitWriter<>(
+                tableInfo, writerConfig, operationMapper, failureHandler, initContext);
+    }
+
+    @Override
+    public Committer<KuduCommittable> createCommitter() {
+        return new KuduCommitter(writerConfig);
+    }
+
+    @Override
+    public SimpleVersionedSerializer<KuduCommittable> getCommittableSerializer() {
+        return new KuduCommittableSerializer();
+    }
+
+    @Override
+    public DataStream<IN> addPreWriteTopology(DataStream<IN> inputDataStream) {
+        if (!shuffleByPartition) {
+            return inputDataStream;
+        }
+        return inputDataStream.partitionCustom(
+                new KuduTabletPartitioner<>(
+                        tableInfo,
+                        writerConfig.getMasters(),
+                        writerConfig.getWorkerCount(),
+                        operationMapper),
+                new KuduTabletPartitioner.IdentityKeySelector<>(inputDataStream.getType()));
+    }
+}
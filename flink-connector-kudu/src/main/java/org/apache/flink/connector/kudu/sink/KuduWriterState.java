@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+import org.apache.flink.connector.kudu.connector.writer.OperationSerializer;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Operations of a {@link KuduSink} writer that Kudu had not acknowledged when a checkpoint was
+ * taken, encoded with {@link OperationSerializer}. Only written with {@link
+ * KuduWriterConfig#isSnapshotPendingOperations()} or while operations are spilled, see {@link
+ * KuduWriterConfig#getSpillDirectory()}. The operations are applied again when a writer is restored
+ * from the checkpoint.
+ */
+@PublicEvolving
+public class KuduWriterState {
+
+    private final String tableName;
+    private final int operationCount;
+    private final byte[] operations;
+
+    public KuduWriterState(String tableName, int operationCount, byte[] operations) {
+        this.tableName = checkNotNull(tableName);
+        this.operationCount = operationCount;
+        this.operations = checkNotNull(operations);
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public int getOperationCount() {
+        return operationCount;
+    }
+
+    public byte[] getOperations() {
+        return operations;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        KuduWriterState that = (KuduWriterState) o;
+        return operationCount == that.operationCount
+                && tableName.equals(that.tableName)
+                && Arrays.equals(operations, that.operations);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(tableName, operationCount) + Arrays.hashCode(operations);
+    }
+
+    @Override
+    public String toString() {
+        return "KuduWriterState{"
+                + "tableName='"
+                + tableName
+                + '\''
+                + ", operationCount="
+                + operationCount
+                + ", bytes="
+                + operations.length
+                + '}';
+    }
+}
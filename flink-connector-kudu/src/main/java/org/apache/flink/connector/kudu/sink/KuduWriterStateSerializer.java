@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import java.io.IOException;
+
+/** {@link SimpleVersionedSerializer} for {@link KuduWriterState}. */
+@Internal
+public class KuduWriterStateSerializer implements SimpleVersionedSerializer<KuduWriterState> {
+
+    private static final int VERSION = 1;
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(KuduWriterState state) throws IOException {
+        DataOutputSerializer out = new DataOutputSerializer(state.getOperations().length + 64);
+        out.writeUTF(state.getTableName());
+        out.writeInt(state.getOperationCount());
+        out.writeInt(state.getOperations().length);
+        out.write(state.getOperations());
+        return out.getCopyOfBuffer();
+    }
+
+    @Override
+    public KuduWriterState deserialize(int version, byte[] serialized) throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unknown version of Kudu writer state: " + version);
+        }
+        DataInputDeserializer in = new DataInputDeserializer(serialized);
+        String tableName = in.readUTF();
+        int operationCount = in.readInt();
+        byte[] operations = new byte[in.readInt()];
+        in.readFully(operations);
+        return new KuduWriterState(tableName, operationCount, operations);
+    }
+}
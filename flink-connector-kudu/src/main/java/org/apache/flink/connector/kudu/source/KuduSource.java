@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.connector.source.Boundedness;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.connector.base.source.reader.RecordEmitter;
+import org.apache.flink.connector.kudu.connector.KuduFilterInfo;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.converter.RowResultConverter;
+import org.apache.flink.connector.kudu.connector.reader.KuduColumnarRecordEmitter;
+import org.apache.flink.connector.kudu.connector.reader.KuduReaderConfig;
+import org.apache.flink.connector.kudu.connector.reader.KuduRecordEmitter;
+import org.apache.flink.connector.kudu.connector.reader.KuduSourceReader;
+import org.apache.flink.connector.kudu.connector.reader.KuduSourceSplitState;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.columnar.ColumnarRowData;
+
+import org.apache.kudu.client.RowResultIterator;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Bounded {@link Source} that reads the rows of a Kudu table, optionally filtered and projected.
+ *
+ * <p>The {@link KuduSplitEnumerator} turns the scan tokens of the table into {@link KuduSourceSplit
+ * splits}, usually one per tablet, and assigns them to the readers on request. Every reader scans
+ * its splits in a fetcher thread and converts the rows on the task thread with the {@link
+ * RowResultConverter}, or into vectorized column batches with a source created by {@link
+ * #columnarBuilder()}. Checkpoints store the number of rows emitted from every split, so that a
+ * restored reader resumes the scan of the split where it left off.
+ *
+ * @param <OUT> type of the records read from Kudu
+ */
+@PublicEvolving
+public class KuduSource<OUT>
+        implements Source<OUT, KuduSourceSplit, KuduSourceEnumeratorState>,
+                ResultTypeQueryable<OUT> {
+
+    private final KuduReaderConfig readerConfig;
+    private final KuduTableInfo tableInfo;
+    @Nullable private final RowResultConverter<OUT> rowResultConverter;
+    private final TypeInformation<OUT> producedType;
+    private final List<KuduFilterInfo> tableFilters;
+    @Nullable private final List<String> tableProjections;
+
+    KuduSource(
+            KuduReaderConfig readerConfig,
+            KuduTableInfo tableInfo,
+            @Nullable RowResultConverter<OUT> rowResultConverter,
+            TypeInformation<OUT> producedType,
+            List<KuduFilterInfo> tableFilters,
+            @Nullable List<String> tableProjections) {
+        this.readerConfig = readerConfig;
+        this.tableInfo = tableInfo;
+        this.rowResultConverter = rowResultConverter;
+        this.producedType = producedType;
+        this.tableFilters = tableFilters;
+        this.tableProjections = tableProjections;
+    }
+
+    public static <OUT> KuduSourceBuilder<OUT> builder() {
+        return new KuduSourceBuilder<>();
+    }
+
+    /**
+     * Builder of a source that produces {@link RowData} without a row result converter. Every batch
+     * of rows returned by a scanner is copied column by column into Flink column vectors, and the
+     * rows are emitted as reused {@link ColumnarRowData} on top of them. Best combined with {@link
+     * KuduReaderConfig.Builder#setColumnarScan}, so that the batches arrive in the columnar row
+     * format of Kudu as well. The columnar conversion allocates less but encodes every string
+     * eagerly, it is not faster than a row result converter, see {@code
+     * RowResultConverterBenchmark}.
+     */
+    public static KuduSourceBuilder<RowData> columnarBuilder() {
+        return new KuduSourceBuilder<>(true);
+    }
+
+    @Override
+    public Boundedness getBoundedness() {
+        return Boundedness.BOUNDED;
+    }
+
+    @Override
+    public SourceReader<OUT, KuduSourceSplit> createReader(SourceReaderContext readerContext) {
+        return new KuduSourceReader<>(
+                readerConfig,
+                createRecordEmitter(),
+                readerContext.getConfiguration(),
+                readerContext);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RecordEmitter<RowResultIterator, OUT, KuduSourceSplitState> createRecordEmitter() {
+        if (rowResultConverter == null) {
+            // only created by the columnar builder, which produces RowData
+            return (RecordEmitter<RowResultIterator, OUT, KuduSourceSplitState>)
+                    (RecordEmitter<?, ?, ?>) new KuduColumnarRecordEmitter();
+        }
+        return new KuduRecordEmitter<>(rowResultConverter);
+    }
+
+    @Override
+    public SplitEnumerator<KuduSourceSplit, KuduSourceEnumeratorState> createEnumerator(
+            SplitEnumeratorContext<KuduSourceSplit> enumContext) {
+        return new KuduSplitEnumerator(
+                enumContext, tableInfo, readerConfig, tableFilters, tableProjections, null);
+    }
+
+    @Override
+    public SplitEnumerator<KuduSourceSplit, KuduSourceEnumeratorState> restoreEnumerator(
+            SplitEnumeratorContext<KuduSourceSplit> enumContext,
+            KuduSourceEnumeratorState checkpoint) {
+        return new KuduSplitEnumerator(
+                enumContext, tableInfo, readerConfig, tableFilters, tableProjections, checkpoint);
+    }
+
+    @Override
+    public SimpleVersionedSerializer<KuduSourceSplit> getSplitSerializer() {
+        return new KuduSourceSplitSerializer();
+    }
+
+    @Override
+    public SimpleVersionedSerializer<KuduSourceEnumeratorState>
+            getEnumeratorCheckpointSerializer() {
+        return new KuduSourceEnumeratorStateSerializer();
+    }
+
+    @Override
+    public TypeInformation<OUT> getProducedType() {
+        return producedType;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.connector.kudu.connector.KuduFilterInfo;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.converter.RowResultConverter;
+import org.apache.flink.connector.kudu.connector.reader.KuduReaderConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Builder to construct {@link KuduSource}.
+ *
+ * @param <OUT> type of the records read from Kudu
+ */
+@PublicEvolving
+public class KuduSourceBuilder<OUT> {
+
+    private KuduReaderConfig readerConfig;
+    private KuduTableInfo tableInfo;
+    private RowResultConverter<OUT> rowResultConverter;
+    private TypeInformation<OUT> producedType;
+    private List<KuduFilterInfo> tableFilters = new ArrayList<>();
+    private List<String> tableProjections;
+    private final boolean columnar;
+
+    public KuduSourceBuilder() {
+        this(false);
+    }
+
+    KuduSourceBuilder(boolean columnar) {
+        this.columnar = columnar;
+    }
+
+    public KuduSourceBuilder<OUT> setReaderConfig(KuduReaderConfig readerConfig) {
+        this.readerConfig = readerConfig;
+        return this;
+    }
+
+    public KuduSourceBuilder<OUT> setTableInfo(KuduTableInfo tableInfo) {
+        this.tableInfo = tableInfo;
+        return this;
+    }
+
+    /**
+     * Converter of the rows, not used by a source created with {@link KuduSource#columnarBuilder}.
+     */
+    public KuduSourceBuilder<OUT> setRowResultConverter(
+            RowResultConverter<OUT> rowResultConverter) {
+        this.rowResultConverter = rowResultConverter;
+        return this;
+    }
+
+    /** Type information of the records produced by the row result converter. */
+    public KuduSourceBuilder<OUT> setProducedType(TypeInformation<OUT> producedType) {
+        this.producedType = producedType;
+        return this;
+    }
+
+    /** Filters pushed down to the scans of the table. */
+    public KuduSourceBuilder<OUT> setTableFilters(List<KuduFilterInfo> tableFilters) {
+        this.tableFilters = checkNotNull(tableFilters);
+        return this;
+    }
+
+    /** Columns to read, in the order of the produced rows, {@code null} reads all columns. */
+    public KuduSourceBuilder<OUT> setTableProjections(List<String> tableProjections) {
+        this.tableProjections = tableProjections;
+        return this;
+    }
+
+    public KuduSource<OUT> build() {
+        checkArgument(readerConfig != null, "Reader config must be provided.");
+        checkArgument(tableInfo != null, "Table info must be provided.");
+        checkArgument(
+                columnar || rowResultConverter != null, "Row result converter must be provided.");
+        checkArgument(producedType != null, "Produced type must be provided.");
+
+        return new KuduSource<>(
+                readerConfig,
+                tableInfo,
+                columnar ? null : rowResultConverter,
+                producedType,
+                new ArrayList<>(tableFilters),
+                tableProjections == null ? null : new ArrayList<>(tableProjections));
+    }
+}
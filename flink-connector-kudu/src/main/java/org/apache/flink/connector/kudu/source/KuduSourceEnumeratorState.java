@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.util.List;
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Checkpointed state of the {@link KuduSplitEnumerator}: the splits that are not assigned to a
+ * reader, and whether the splits of the table were created already.
+ */
+@PublicEvolving
+public class KuduSourceEnumeratorState {
+
+    private final List<KuduSourceSplit> remainingSplits;
+    private final boolean splitsCreated;
+
+    public KuduSourceEnumeratorState(List<KuduSourceSplit> remainingSplits, boolean splitsCreated) {
+        this.remainingSplits = checkNotNull(remainingSplits);
+        this.splitsCreated = splitsCreated;
+    }
+
+    public List<KuduSourceSplit> getRemainingSplits() {
+        return remainingSplits;
+    }
+
+    public boolean isSplitsCreated() {
+        return splitsCreated;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        KuduSourceEnumeratorState that = (KuduSourceEnumeratorState) o;
+        return splitsCreated == that.splitsCreated && remainingSplits.equals(that.remainingSplits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(remainingSplits, splitsCreated);
+    }
+
+    @Override
+    public String toString() {
+        return "KuduSourceEnumeratorState{"
+                + "remainingSplits="
+                + remainingSplits.size()
+                + ", splitsCreated="
+                + splitsCreated
+                + '}';
+    }
+}
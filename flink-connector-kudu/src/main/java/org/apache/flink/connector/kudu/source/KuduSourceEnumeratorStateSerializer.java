@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.source;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** {@link SimpleVersionedSerializer} for {@link KuduSourceEnumeratorState}. */
+@Internal
+public class KuduSourceEnumeratorStateSerializer
+        implements SimpleVersionedSerializer<KuduSourceEnumeratorState> {
+
+    private static final int VERSION = 1;
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(KuduSourceEnumeratorState state) throws IOException {
+        DataOutputSerializer out = new DataOutputSerializer(256);
+        out.writeBoolean(state.isSplitsCreated());
+        out.writeInt(state.getRemainingSplits().size());
+        for (KuduSourceSplit split : state.getRemainingSplits()) {
+            KuduSourceSplitSerializer.write(split, out);
+        }
+        return out.getCopyOfBuffer();
+    }
+
+    @Override
+    public KuduSourceEnumeratorState deserialize(int version, byte[] serialized)
+            throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unknown version of Kudu enumerator state: " + version);
+        }
+        DataInputDeserializer in = new DataInputDeserializer(serialized);
+        boolean splitsCreated = in.readBoolean();
+        int splitCount = in.readInt();
+        List<KuduSourceSplit> remainingSplits = new ArrayList<>(splitCount);
+        for (int i = 0; i < splitCount; i++) {
+            remainingSplits.add(KuduSourceSplitSerializer.read(in));
+        }
+        return new KuduSourceEnumeratorState(remainingSplits, splitsCreated);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.connector.source.SourceSplit;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A split of a {@link KuduSource}: one Kudu scan token, usually covering one tablet, and the number
+ * of rows of the token that were already emitted.
+ *
+ * <p>The tokens are scanned in primary key order at the snapshot timestamp stored in the token, so
+ * a split taken from a checkpoint resumes by skipping the emitted rows of a new scan of the token.
+ */
+@PublicEvolving
+public class KuduSourceSplit implements SourceSplit, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String splitId;
+    private final byte[] scanToken;
+    private final String[] hostnames;
+    private final long recordsToSkip;
+
+    public KuduSourceSplit(
+            String splitId, byte[] scanToken, String[] hostnames, long recordsToSkip) {
+        checkArgument(recordsToSkip >= 0, "recordsToSkip cannot be negative");
+        this.splitId = checkNotNull(splitId);
+        this.scanToken = checkNotNull(scanToken);
+        this.hostnames = checkNotNull(hostnames);
+        this.recordsToSkip = recordsToSkip;
+    }
+
+    @Override
+    public String splitId() {
+        return splitId;
+    }
+
+    public byte[] getScanToken() {
+        return scanToken;
+    }
+
+    /** Hosts of the tablet replicas of the scan token. */
+    public String[] getHostnames() {
+        return hostnames;
+    }
+
+    /** Rows of the scan token that were already emitted. */
+    public long getRecordsToSkip() {
+        return recordsToSkip;
+    }
+
+    public KuduSourceSplit withRecordsToSkip(long recordsToSkip) {
+        return new KuduSourceSplit(splitId, scanToken, hostnames, recordsToSkip);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        KuduSourceSplit that = (KuduSourceSplit) o;
+        return recordsToSkip == that.recordsToSkip
+                && splitId.equals(that.splitId)
+                && Arrays.equals(scanToken, that.scanToken)
+                && Arrays.equals(hostnames, that.hostnames);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(splitId, recordsToSkip) + Arrays.hashCode(scanToken);
+    }
+
+    @Override
+    public String toString() {
+        return "KuduSourceSplit{"
+                + "splitId='"
+                + splitId
+                + '\''
+                + ", hostnames="
+                + Arrays.toString(hostnames)
+                + ", recordsToSkip="
+                + recordsToSkip
+                + '}';
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.source;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+
+/** {@link SimpleVersionedSerializer} for {@link KuduSourceSplit}. */
+@Internal
+public class KuduSourceSplitSerializer implements SimpleVersionedSerializer<KuduSourceSplit> {
+
+    private static final int VERSION = 1;
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(KuduSourceSplit split) throws IOException {
+        DataOutputSerializer out = new DataOutputSerializer(split.getScanToken().length + 64);
+        write(split, out);
+        return out.getCopyOfBuffer();
+    }
+
+    @Override
+    public KuduSourceSplit deserialize(int version, byte[] serialized) throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unknown version of Kudu source split: " + version);
+        }
+        return read(new DataInputDeserializer(serialized));
+    }
+
+    static void write(KuduSourceSplit split, DataOutputView out) throws IOException {
+        out.writeUTF(split.splitId());
+        out.writeInt(split.getScanToken().length);
+        out.write(split.getScanToken());
+        out.writeInt(split.getHostnames().length);
+        for (String hostname : split.getHostnames()) {
+            out.writeUTF(hostname);
+        }
+        out.writeLong(split.getRecordsToSkip());
+    }
+
+    static KuduSourceSplit read(DataInputView in) throws IOException {
+        String splitId = in.readUTF();
+        byte[] scanToken = new byte[in.readInt()];
+        in.readFully(scanToken);
+        String[] hostnames = new String[in.readInt()];
+        for (int i = 0; i < hostnames.length; i++) {
+            hostnames[i] = in.readUTF();
+        }
+        long recordsToSkip = in.readLong();
+        return new KuduSourceSplit(splitId, scanToken, hostnames, recordsToSkip);
+    }
+}
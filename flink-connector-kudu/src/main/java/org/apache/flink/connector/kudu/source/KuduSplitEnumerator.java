@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.source;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.connector.kudu.connector.KuduFilterInfo;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.reader.KuduReader;
+import org.apache.flink.connector.kudu.connector.reader.KuduReaderConfig;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import org.apache.kudu.client.KuduScanToken;
+import org.apache.kudu.client.LocatedTablet;
+import org.apache.kudu.client.RowResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link SplitEnumerator} of a {@link KuduSource}. Creates one split per scan token of the table
+ * when it starts, and hands them out one at a time when readers ask for a split, preferring splits
+ * with a replica on the host of the reader.
+ */
+@Internal
+public class KuduSplitEnumerator
+        implements SplitEnumerator<KuduSourceSplit, KuduSourceEnumeratorState> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KuduSplitEnumerator.class);
+
+    private final SplitEnumeratorContext<KuduSourceSplit> context;
+    private final KuduTableInfo tableInfo;
+    private final KuduReaderConfig readerConfig;
+    private final List<KuduFilterInfo> tableFilters;
+    @Nullable private final List<String> tableProjections;
+
+    private final List<KuduSourceSplit> remainingSplits;
+    private boolean splitsCreated;
+
+    /** Split requests that arrived before the splits were created, by subtask. */
+    private final Map<Integer, String> pendingRequests = new LinkedHashMap<>();
+
+    public KuduSplitEnumerator(
+            SplitEnumeratorContext<KuduSourceSplit> context,
+            KuduTableInfo tableInfo,
+            KuduReaderConfig readerConfig,
+            List<KuduFilterInfo> tableFilters,
+            @Nullable List<String> tableProjections,
+            @Nullable KuduSourceEnumeratorState restoredState) {
+        this.context = context;
+        this.tableInfo = tableInfo;
+        this.readerConfig = readerConfig;
+        this.tableFilters = tableFilters;
+        this.tableProjections = tableProjections;
+        if (restoredState == null) {
+            this.remainingSplits = new ArrayList<>();
+            this.splitsCreated = false;
+        } else {
+            this.remainingSplits = new ArrayList<>(restoredState.getRemainingSplits());
+            this.splitsCreated = restoredState.isSplitsCreated();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!splitsCreated) {
+            // creating the scan tokens talks to the masters, keep it off the coordinator thread
+            context.callAsync(this::createSplits, this::addCreatedSplits);
+        }
+    }
+
+    private List<KuduSourceSplit> createSplits() throws IOException {
+        try (KuduReader<RowResult> reader =
+                new KuduReader<>(
+                        tableInfo, readerConfig, row -> row, tableFilters, tableProjections)) {
+            List<KuduScanToken> tokens =
+                    reader.scanTokens(
+                            tableFilters, tableProjections, readerConfig.getRowLimit(), true);
+            List<KuduSourceSplit> splits = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                KuduScanToken token = tokens.get(i);
+                List<LocatedTablet.Replica> replicas = token.getTablet().getReplicas();
+                String[] hostnames = new String[replicas.size()];
+                for (int j = 0; j < hostnames.length; j++) {
+                    hostnames[j] = replicas.get(j).getRpcHost();
+                }
+                splits.add(new KuduSourceSplit(String.valueOf(i), token.serialize(), hostnames, 0));
+            }
+            return splits;
+        }
+    }
+
+    private void addCreatedSplits(List<KuduSourceSplit> splits, Throwable error) {
+        if (error != null) {
+            throw new FlinkRuntimeException(
+                    "Failed to create the splits of Kudu table " + tableInfo.getName(), error);
+        }
+        LOG.info("Created {} splits for Kudu table {}.", splits.size(), tableInfo.getName());
+        remainingSplits.addAll(splits);
+        splitsCreated = true;
+
+        Map<Integer, String> requests = new LinkedHashMap<>(pendingRequests);
+        pendingRequests.clear();
+        requests.forEach(
+                (subtaskId, hostname) -> {
+                    // the reader may have failed while waiting for the splits
+                    if (context.registeredReaders().containsKey(subtaskId)) {
+                        assignSplit(subtaskId, hostname);
+                    }
+                });
+    }
+
+    @Override
+    public void handleSplitRequest(int subtaskId, @Nullable String requesterHostname) {
+        if (splitsCreated) {
+            assignSplit(subtaskId, requesterHostname);
+        } else {
+            pendingRequests.put(subtaskId, requesterHostname);
+        }
+    }
+
+    private void assignSplit(int subtaskId, @Nullable String hostname) {
+        KuduSourceSplit split = pollSplit(hostname);
+        if (split == null) {
+            context.signalNoMoreSplits(subtaskId);
+        } else {
+            LOG.debug("Assigning split {} to subtask {}.", split, subtaskId);
+            context.assignSplit(split, subtaskId);
+        }
+    }
+
+    @Nullable
+    private KuduSourceSplit pollSplit(@Nullable String hostname) {
+        if (hostname != null) {
+            Iterator<KuduSourceSplit> splits = remainingSplits.iterator();
+            while (splits.hasNext()) {
+                KuduSourceSplit split = splits.next();
+                for (String splitHost : split.getHostnames()) {
+                    if (hostname.equalsIgnoreCase(splitHost)) {
+                        splits.remove();
+                        return split;
+                    }
+                }
+            }
+        }
+        return remainingSplits.isEmpty() ? null : remainingSplits.remove(0);
+    }
+
+    @Override
+    public void addSplitsBack(List<KuduSourceSplit> splits, int subtaskId) {
+        remainingSplits.addAll(splits);
+    }
+
+    @Override
+    public void addReader(int subtaskId) {
+        // splits are assigned on request of the readers
+    }
+
+    @Override
+    public KuduSourceEnumeratorState snapshotState(long checkpointId) {
+        return new KuduSourceEnumeratorState(new ArrayList<>(remainingSplits), splitsCreated);
+    }
+
+    @Override
+    public void close() {}
+}
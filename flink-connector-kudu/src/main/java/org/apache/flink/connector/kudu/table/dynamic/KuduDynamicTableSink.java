@@ -18,32 +18,104 @@
 package org.apache.flink.connector.kudu.table.dynamic;
 
 import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.failure.FileDeadLetterQueue;
+import org.apache.flink.connector.kudu.connector.writer.KuduTableNameExtractor;
 import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+import org.apache.flink.connector.kudu.connector.writer.PartialUpdateMode;
 import org.apache.flink.connector.kudu.connector.writer.RowDataUpsertOperationMapper;
+import org.apache.flink.connector.kudu.sink.KuduRoutingSink;
+import org.apache.flink.connector.kudu.sink.KuduRoutingSinkBuilder;
 import org.apache.flink.connector.kudu.sink.KuduSink;
+import org.apache.flink.connector.kudu.sink.KuduSinkBuilder;
+import org.apache.flink.table.api.DataTypes;
 import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.sink.DynamicTableSink;
 import org.apache.flink.table.connector.sink.SinkV2Provider;
+import org.apache.flink.table.connector.sink.abilities.SupportsWritingMetadata;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.DataType;
 import org.apache.flink.types.RowKind;
 import org.apache.flink.util.Preconditions;
 
+import org.apache.kudu.ColumnSchema;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
-/** A {@link KuduDynamicTableSink} for Kudu. */
-public class KuduDynamicTableSink implements DynamicTableSink {
+/**
+ * A {@link KuduDynamicTableSink} for Kudu.
+ *
+ * <p>A column with the writable metadata {@value #TABLE_METADATA_KEY} names the Kudu table every
+ * row is written to, see {@link KuduRoutingSink}. Rows with a null table name are written to the
+ * table of the sink, missing tables are created like it.
+ */
+public class KuduDynamicTableSink implements DynamicTableSink, SupportsWritingMetadata {
+
+    /** Key of the metadata column holding the name of the table a row is written to. */
+    public static final String TABLE_METADATA_KEY = "table";
+
     private final KuduWriterConfig.Builder writerConfigBuilder;
     private final ResolvedSchema flinkSchema;
     private final KuduTableInfo tableInfo;
+    private final boolean shuffleByPartition;
+    @Nullable private final String deadLetterPath;
+    private final PartialUpdateMode partialUpdateMode;
+    private final List<String> partialUpdateColumns;
+    private List<String> metadataKeys = Collections.emptyList();
 
     public KuduDynamicTableSink(
             KuduWriterConfig.Builder writerConfigBuilder,
             ResolvedSchema flinkSchema,
             KuduTableInfo tableInfo) {
+        this(writerConfigBuilder, flinkSchema, tableInfo, false);
+    }
+
+    public KuduDynamicTableSink(
+            KuduWriterConfig.Builder writerConfigBuilder,
+            ResolvedSchema flinkSchema,
+            KuduTableInfo tableInfo,
+            boolean shuffleByPartition) {
+        this(writerConfigBuilder, flinkSchema, tableInfo, shuffleByPartition, null);
+    }
+
+    public KuduDynamicTableSink(
+            KuduWriterConfig.Builder writerConfigBuilder,
+            ResolvedSchema flinkSchema,
+            KuduTableInfo tableInfo,
+            boolean shuffleByPartition,
+            @Nullable String deadLetterPath) {
+        this(
+                writerConfigBuilder,
+                flinkSchema,
+                tableInfo,
+                shuffleByPartition,
+                deadLetterPath,
+                PartialUpdateMode.NONE,
+                Collections.emptyList());
+    }
+
+    public KuduDynamicTableSink(
+            KuduWriterConfig.Builder writerConfigBuilder,
+            ResolvedSchema flinkSchema,
+            KuduTableInfo tableInfo,
+            boolean shuffleByPartition,
+            @Nullable String deadLetterPath,
+            PartialUpdateMode partialUpdateMode,
+            List<String> partialUpdateColumns) {
         this.writerConfigBuilder = writerConfigBuilder;
         this.flinkSchema = flinkSchema;
         this.tableInfo = tableInfo;
+        this.shuffleByPartition = shuffleByPartition;
+        this.deadLetterPath = deadLetterPath;
+        this.partialUpdateMode = partialUpdateMode;
+        this.partialUpdateColumns = partialUpdateColumns;
     }
 
     @Override
@@ -65,18 +137,79 @@ public class KuduDynamicTableSink implements DynamicTableSink {
 
     @Override
     public SinkRuntimeProvider getSinkRuntimeProvider(Context context) {
-        KuduSink<RowData> upsertKuduSink =
+        if (metadataKeys.contains(TABLE_METADATA_KEY)) {
+            return SinkV2Provider.of(createRoutingSink());
+        }
+        KuduSinkBuilder<RowData> builder =
                 KuduSink.<RowData>builder()
                         .setWriterConfig(writerConfigBuilder.build())
                         .setTableInfo(tableInfo)
-                        .setOperationMapper(new RowDataUpsertOperationMapper(flinkSchema))
-                        .build();
-        return SinkV2Provider.of(upsertKuduSink);
+                        .setOperationMapper(createOperationMapper())
+                        .setShuffleByPartition(shuffleByPartition);
+        if (deadLetterPath != null) {
+            builder.setDeadLetterQueue(new FileDeadLetterQueue(deadLetterPath));
+        }
+        return SinkV2Provider.of(builder.build());
+    }
+
+    private KuduRoutingSink<RowData> createRoutingSink() {
+        // metadata columns follow the physical columns in the consumed rows
+        int tableNamePos = flinkSchema.getColumnCount() + metadataKeys.indexOf(TABLE_METADATA_KEY);
+        KuduRoutingSinkBuilder<RowData> builder =
+                KuduRoutingSink.<RowData>builder()
+                        .setWriterConfig(writerConfigBuilder.build())
+                        .setTableNameExtractor(
+                                KuduTableNameExtractor.fromRowDataField(
+                                        tableNamePos, tableInfo.getName()))
+                        .setOperationMapper(createOperationMapper());
+        if (tableInfo.getCreateTableIfNotExists()) {
+            builder.setTableTemplate(tableInfo);
+        }
+        if (deadLetterPath != null) {
+            builder.setDeadLetterQueue(new FileDeadLetterQueue(deadLetterPath));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public Map<String, DataType> listWritableMetadata() {
+        Map<String, DataType> metadata = new LinkedHashMap<>();
+        metadata.put(TABLE_METADATA_KEY, DataTypes.STRING());
+        return metadata;
+    }
+
+    @Override
+    public void applyWritableMetadata(List<String> metadataKeys, DataType consumedDataType) {
+        this.metadataKeys = metadataKeys;
+    }
+
+    private RowDataUpsertOperationMapper createOperationMapper() {
+        if (partialUpdateMode != PartialUpdateMode.DECLARED_COLUMNS) {
+            return new RowDataUpsertOperationMapper(
+                    flinkSchema, partialUpdateMode, partialUpdateColumns);
+        }
+        // the physical schema carries no primary key, key columns come from the kudu schema
+        List<String> columns = new ArrayList<>(partialUpdateColumns);
+        tableInfo.getSchema().getPrimaryKeyColumns().stream()
+                .map(ColumnSchema::getName)
+                .filter(name -> !columns.contains(name))
+                .forEach(columns::add);
+        return new RowDataUpsertOperationMapper(flinkSchema, partialUpdateMode, columns);
     }
 
     @Override
     public DynamicTableSink copy() {
-        return new KuduDynamicTableSink(this.writerConfigBuilder, this.flinkSchema, this.tableInfo);
+        KuduDynamicTableSink copy =
+                new KuduDynamicTableSink(
+                        this.writerConfigBuilder,
+                        this.flinkSchema,
+                        this.tableInfo,
+                        this.shuffleByPartition,
+                        this.deadLetterPath,
+                        this.partialUpdateMode,
+                        this.partialUpdateColumns);
+        copy.metadataKeys = this.metadataKeys;
+        return copy;
     }
 
     @Override
@@ -95,11 +228,24 @@ public class KuduDynamicTableSink implements DynamicTableSink {
         KuduDynamicTableSink that = (KuduDynamicTableSink) o;
         return Objects.equals(writerConfigBuilder, that.writerConfigBuilder)
                 && Objects.equals(flinkSchema, that.flinkSchema)
-                && Objects.equals(tableInfo, that.tableInfo);
+                && Objects.equals(tableInfo, that.tableInfo)
+                && shuffleByPartition == that.shuffleByPartition
+                && Objects.equals(deadLetterPath, that.deadLetterPath)
+                && partialUpdateMode == that.partialUpdateMode
+                && Objects.equals(partialUpdateColumns, that.partialUpdateColumns)
+                && Objects.equals(metadataKeys, that.metadataKeys);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(writerConfigBuilder, flinkSchema, tableInfo);
+        return Objects.hash(
+                writerConfigBuilder,
+                flinkSchema,
+                tableInfo,
+                shuffleByPartition,
+                deadLetterPath,
+                partialUpdateMode,
+                partialUpdateColumns,
+                metadataKeys);
     }
 }
@@ -17,31 +17,36 @@
 
 package org.apache.flink.connector.kudu.table.dynamic;
 
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.flink.connector.kudu.connector.KuduFilterInfo;
 import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.converter.RowResultBinaryRowDataConverter;
 import org.apache.flink.connector.kudu.connector.converter.RowResultRowDataConverter;
 import org.apache.flink.connector.kudu.connector.reader.KuduReaderConfig;
-import org.apache.flink.connector.kudu.format.KuduRowDataInputFormat;
+import org.apache.flink.connector.kudu.source.KuduSource;
+import org.apache.flink.connector.kudu.source.KuduSourceBuilder;
 import org.apache.flink.connector.kudu.table.function.lookup.KuduLookupOptions;
 import org.apache.flink.connector.kudu.table.function.lookup.KuduRowDataLookupFunction;
 import org.apache.flink.connector.kudu.table.utils.KuduTableUtils;
+import org.apache.flink.table.catalog.Column;
 import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.source.DynamicTableSource;
-import org.apache.flink.table.connector.source.InputFormatProvider;
 import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
+import org.apache.flink.table.connector.source.SourceProvider;
 import org.apache.flink.table.connector.source.TableFunctionProvider;
 import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsLimitPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
+import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.FieldsDataType;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.table.types.utils.DataTypeUtils;
 import org.apache.flink.util.Preconditions;
+
+import org.apache.commons.collections.CollectionUtils;
 import org.apache.kudu.shaded.com.google.common.collect.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,12 +57,9 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
-import static org.apache.flink.table.utils.TableSchemaUtils.containsPhysicalColumnsOnly;
-
 /** A {@link DynamicTableSource} for Kudu. */
 public class KuduDynamicTableSource
-        implements
-        ScanTableSource,
+        implements ScanTableSource,
                 SupportsProjectionPushDown,
                 SupportsLimitPushDown,
                 LookupTableSource,
@@ -66,12 +68,12 @@ public class KuduDynamicTableSource
     private static final Logger LOG = LoggerFactory.getLogger(KuduDynamicTableSource.class);
     private final KuduTableInfo tableInfo;
     private final KuduLookupOptions kuduLookupOptions;
-    private final KuduRowDataInputFormat kuduRowDataInputFormat;
     private final transient List<KuduFilterInfo> predicates = Lists.newArrayList();
     private KuduReaderConfig.Builder configBuilder;
     private ResolvedSchema physicalSchema;
     private List<String> projectedFields;
     private transient List<ResolvedExpression> filters;
+    private final boolean binaryRowOutput;
 
     public KuduDynamicTableSource(
             KuduReaderConfig.Builder configBuilder,
@@ -79,18 +81,26 @@ public class KuduDynamicTableSource
             ResolvedSchema physicalSchema,
             List<String> projectedFields,
             KuduLookupOptions kuduLookupOptions) {
+        this(configBuilder, tableInfo, physicalSchema, projectedFields, kuduLookupOptions, false);
+    }
+
+    /**
+     * @param binaryRowOutput write the scanned rows directly into binary rows with a {@link
+     *     RowResultBinaryRowDataConverter}, ignored for columnar scans
+     */
+    public KuduDynamicTableSource(
+            KuduReaderConfig.Builder configBuilder,
+            KuduTableInfo tableInfo,
+            ResolvedSchema physicalSchema,
+            List<String> projectedFields,
+            KuduLookupOptions kuduLookupOptions,
+            boolean binaryRowOutput) {
         this.configBuilder = configBuilder;
         this.tableInfo = tableInfo;
         this.physicalSchema = physicalSchema;
         this.projectedFields = projectedFields;
-        this.kuduRowDataInputFormat =
-                new KuduRowDataInputFormat(
-                        configBuilder.build(),
-                        new RowResultRowDataConverter(),
-                        tableInfo,
-                        predicates,
-                        projectedFields == null ? null : Lists.newArrayList(projectedFields));
         this.kuduLookupOptions = kuduLookupOptions;
+        this.binaryRowOutput = binaryRowOutput;
     }
 
     @Override
@@ -129,14 +139,32 @@ public class KuduDynamicTableSource
                 }
             }
         }
-        KuduRowDataInputFormat inputFormat =
-                new KuduRowDataInputFormat(
-                        configBuilder.build(),
-                        new RowResultRowDataConverter(),
-                        tableInfo,
-                        this.predicates,
-                        projectedFields == null ? null : Lists.newArrayList(projectedFields));
-        return InputFormatProvider.of(inputFormat);
+        KuduReaderConfig readerConfig = configBuilder.build();
+        DataType producedDataType = physicalSchema.toPhysicalRowDataType();
+        KuduSourceBuilder<RowData> sourceBuilder;
+        if (readerConfig.isColumnarScan()) {
+            sourceBuilder = KuduSource.columnarBuilder();
+        } else if (binaryRowOutput) {
+            sourceBuilder =
+                    KuduSource.<RowData>builder()
+                            .setRowResultConverter(
+                                    new RowResultBinaryRowDataConverter(
+                                            (RowType) producedDataType.getLogicalType()));
+        } else {
+            sourceBuilder =
+                    KuduSource.<RowData>builder()
+                            .setRowResultConverter(new RowResultRowDataConverter());
+        }
+        KuduSource<RowData> source =
+                sourceBuilder
+                        .setReaderConfig(readerConfig)
+                        .setTableInfo(tableInfo)
+                        .setProducedType(
+                                runtimeProviderContext.createTypeInformation(producedDataType))
+                        .setTableFilters(this.predicates)
+                        .setTableProjections(projectedFields)
+                        .build();
+        return SourceProvider.of(source);
     }
 
     @Override
@@ -146,7 +174,8 @@ public class KuduDynamicTableSource
                 this.tableInfo,
                 this.physicalSchema,
                 this.projectedFields,
-                this.kuduLookupOptions);
+                this.kuduLookupOptions,
+                this.binaryRowOutput);
     }
 
     @Override
@@ -169,18 +198,19 @@ public class KuduDynamicTableSource
 
     private ResolvedSchema projectSchema(ResolvedSchema tableSchema, int[][] projectedFields) {
         Preconditions.checkArgument(
-                containsPhysicalColumnsOnly(tableSchema),
+                tableSchema.getColumns().stream().allMatch(Column::isPhysical),
                 "Projection is only supported for physical columns.");
-        TableSchema.Builder builder = TableSchema.builder();
-        
         FieldsDataType fields =
                 (FieldsDataType)
-                        DataTypeUtils.projectRow(tableSchema.toRowDataType(), projectedFields);
+                        DataTypeUtils.projectRow(
+                                tableSchema.toPhysicalRowDataType(), projectedFields);
         RowType topFields = (RowType) fields.getLogicalType();
+        List<Column> columns = new ArrayList<>(topFields.getFieldCount());
         for (int i = 0; i < topFields.getFieldCount(); i++) {
-            builder.field(topFields.getFieldNames().get(i), fields.getChildren().get(i));
+            columns.add(
+                    Column.physical(topFields.getFieldNames().get(i), fields.getChildren().get(i)));
         }
-        return builder.build();
+        return ResolvedSchema.of(columns);
     }
 
     @Override
@@ -197,9 +227,9 @@ public class KuduDynamicTableSource
                 && Objects.equals(physicalSchema, that.physicalSchema)
                 && Objects.equals(projectedFields, that.projectedFields)
                 && Objects.equals(kuduLookupOptions, that.kuduLookupOptions)
-                && Objects.equals(kuduRowDataInputFormat, that.kuduRowDataInputFormat)
                 && Objects.equals(filters, that.filters)
-                && Objects.equals(predicates, that.predicates);
+                && Objects.equals(predicates, that.predicates)
+                && binaryRowOutput == that.binaryRowOutput;
     }
 
     @Override
@@ -211,9 +241,9 @@ public class KuduDynamicTableSource
                         physicalSchema,
                         projectedFields,
                         kuduLookupOptions,
-                        kuduRowDataInputFormat,
                         filters,
-                        predicates);
+                        predicates,
+                        binaryRowOutput);
         return result;
     }
 
@@ -19,12 +19,16 @@ package org.apache.flink.connector.kudu.table.dynamic;
 
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.connector.kudu.connector.KuduTableInfo;
 import org.apache.flink.connector.kudu.connector.reader.KuduReaderConfig;
 import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+import org.apache.flink.connector.kudu.connector.writer.PartialUpdateMode;
 import org.apache.flink.connector.kudu.table.function.lookup.KuduLookupOptions;
 import org.apache.flink.connector.kudu.table.utils.KuduTableUtils;
+import org.apache.flink.table.api.ValidationException;
+import org.apache.flink.table.catalog.Column;
 import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.connector.sink.DynamicTableSink;
 import org.apache.flink.table.connector.source.DynamicTableSource;
@@ -33,8 +37,12 @@ import org.apache.flink.table.factories.DynamicTableSourceFactory;
 import org.apache.flink.table.factories.FactoryUtil;
 import org.apache.kudu.shaded.com.google.common.collect.Sets;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Factory for creating configured instances of {@link KuduDynamicTableSource}/{@link
@@ -116,6 +124,25 @@ public class KuduDynamicTableSourceSinkFactory
                     .defaultValue(0)
                     .withDescription("kudu's scan row size");
 
+    public static final ConfigOption<Boolean> KUDU_SCAN_COLUMNAR =
+            ConfigOptions.key("kudu.scan.columnar")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "if true, scans request the columnar row format of kudu and the rows"
+                                    + " are produced as vectorized column batches instead of being"
+                                    + " converted one by one; this allocates less per row but is"
+                                    + " not faster than the row by row conversion");
+
+    public static final ConfigOption<Boolean> KUDU_SCAN_BINARY_ROW =
+            ConfigOptions.key("kudu.scan.binary-row")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "if true, the scanned rows are written directly into binary rows,"
+                                    + " which are serialized without converting them again;"
+                                    + " ignored if kudu.scan.columnar is set");
+
     public static final ConfigOption<Long> KUDU_LOOKUP_CACHE_MAX_ROWS =
             ConfigOptions.key("kudu.lookup.cache.max-rows")
                     .longType()
@@ -138,9 +165,148 @@ public class KuduDynamicTableSourceSinkFactory
                     .defaultValue(3)
                     .withDescription("the max retry times if lookup database failed.");
 
+    public static final ConfigOption<Integer> KUDU_CLIENT_WORKER_COUNT =
+            ConfigOptions.key("kudu.client.worker-count")
+                    .intType()
+                    .defaultValue(0)
+                    .withDescription(
+                            "number of worker threads of the kudu client shared by all kudu"
+                                    + " operators of a taskmanager, 0 uses the client default");
+
+    public static final ConfigOption<Boolean> SINK_SHUFFLE_BY_PARTITION =
+            ConfigOptions.key("sink.shuffle-by-partition")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "if true, records are redistributed by the kudu partition of their"
+                                    + " primary key before writing, so that each sink subtask"
+                                    + " only writes to a few tablets");
+
+    public static final ConfigOption<Boolean> SINK_BUFFER_FLUSH_COALESCE =
+            ConfigOptions.key("sink.buffer-flush.coalesce")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "if true, only the latest row image or delete per primary key is"
+                                    + " written within one flush window (kudu.max-buffer-size"
+                                    + " rows, kudu.flush-interval or a checkpoint)");
+
+    public static final ConfigOption<Boolean> SINK_BUFFER_FLUSH_ADAPTIVE =
+            ConfigOptions.key("sink.buffer-flush.adaptive")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "if true, batch size and flush interval are tuned at runtime, using"
+                                    + " kudu.max-buffer-size and kudu.flush-interval as upper"
+                                    + " bounds");
+
+    public static final ConfigOption<Boolean> SINK_ASYNC_WRITES =
+            ConfigOptions.key("sink.async-writes")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "if true, the sink writes through the asynchronous kudu client and"
+                                    + " keeps several flushes of kudu.max-buffer-size rows on the"
+                                    + " wire at the same time");
+
+    public static final ConfigOption<Integer> SINK_ASYNC_WRITES_MAX_IN_FLIGHT_FLUSHES =
+            ConfigOptions.key("sink.async-writes.max-in-flight-flushes")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "maximum number of outstanding flushes per sink subtask when"
+                                    + " sink.async-writes is set");
+
+    public static final ConfigOption<MemorySize> SINK_ASYNC_WRITES_MAX_IN_FLIGHT_SIZE =
+            ConfigOptions.key("sink.async-writes.max-in-flight-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.ofMebiBytes(64))
+                    .withDescription(
+                            "maximum estimated size of the outstanding flushes per sink subtask"
+                                    + " when sink.async-writes is set");
+
+    public static final ConfigOption<Boolean> SINK_CHECKPOINT_SNAPSHOT_PENDING =
+            ConfigOptions.key("sink.checkpoint.snapshot-pending")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "if true, checkpoints do not wait for outstanding kudu flushes, the"
+                                    + " unacknowledged operations are stored in the checkpoint"
+                                    + " and applied again on restore; requires sink.async-writes");
+
+    public static final ConfigOption<String> SINK_SPILL_DIRECTORY =
+            ConfigOptions.key("sink.spill.directory")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "local directory that operations are spilled to while kudu is"
+                                    + " unavailable, they are written to kudu in order once it"
+                                    + " recovers");
+
+    public static final ConfigOption<MemorySize> SINK_SPILL_MAX_SIZE =
+            ConfigOptions.key("sink.spill.max-size")
+                    .memoryType()
+                    .defaultValue(new MemorySize(KuduWriterConfig.DEFAULT_SPILL_MAX_BYTES))
+                    .withDescription(
+                            "maximum size of the spilled operations per sink subtask, the sink"
+                                    + " blocks once it is reached");
+
+    public static final ConfigOption<String> SINK_DEAD_LETTER_PATH =
+            ConfigOptions.key("sink.dead-letter.path")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "local directory that rows which cannot be written to kudu are spooled"
+                                    + " to as json lines instead of failing the job, transient"
+                                    + " errors are retried first");
+
+    public static final ConfigOption<Long> SINK_RATE_LIMIT =
+            ConfigOptions.key("sink.rate-limit")
+                    .longType()
+                    .defaultValue(0L)
+                    .withDescription(
+                            "maximum number of rows per second written by all sink subtasks"
+                                    + " together, 0 disables the limit");
+
+    public static final ConfigOption<MemorySize> SINK_RATE_LIMIT_BYTES =
+            ConfigOptions.key("sink.rate-limit.bytes")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "maximum number of estimated bytes per second written by all sink"
+                                    + " subtasks together");
+
+    public static final ConfigOption<String> SINK_RATE_LIMIT_FILE =
+            ConfigOptions.key("sink.rate-limit.file")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "properties file with rows-per-second and bytes-per-second entries"
+                                    + " that override the rate limits while the job is running");
+
+    public static final ConfigOption<PartialUpdateMode> SINK_PARTIAL_UPDATE =
+            ConfigOptions.key("sink.partial-update")
+                    .enumType(PartialUpdateMode.class)
+                    .defaultValue(PartialUpdateMode.NONE)
+                    .withDescription(
+                            "columns written by upserts: none writes every column, ignore-nulls"
+                                    + " skips null columns and declared-columns only writes"
+                                    + " sink.partial-update.columns and the primary key");
+
+    public static final ConfigOption<List<String>> SINK_PARTIAL_UPDATE_COLUMNS =
+            ConfigOptions.key("sink.partial-update.columns")
+                    .stringType()
+                    .asList()
+                    .noDefaultValue()
+                    .withDescription(
+                            "columns written in addition to the primary key when"
+                                    + " sink.partial-update is declared-columns");
+
     @Override
     public DynamicTableSink createDynamicTableSink(Context context) {
         ReadableConfig config = getReadableConfig(context);
+        ResolvedSchema schema = context.getCatalogTable().getResolvedSchema();
+        validateSinkOptions(config, schema);
         String masterAddresses = config.get(KUDU_MASTERS);
         String tableName = config.get(KUDU_TABLE);
         Optional<Long> operationTimeout = config.getOptional(KUDU_OPERATION_TIMEOUT);
@@ -148,7 +314,8 @@ public class KuduDynamicTableSourceSinkFactory
         Optional<Integer> bufferSize = config.getOptional(KUDU_MAX_BUFFER_SIZE);
         Optional<Boolean> ignoreNotFound = config.getOptional(KUDU_IGNORE_NOT_FOUND);
         Optional<Boolean> ignoreDuplicate = config.getOptional(KUDU_IGNORE_DUPLICATE);
-        ResolvedSchema schema = context.getCatalogTable().getResolvedSchema();
+        boolean shuffleByPartition = config.get(SINK_SHUFFLE_BY_PARTITION);
+        String deadLetterPath = config.getOptional(SINK_DEAD_LETTER_PATH).orElse(null);
         ResolvedSchema physicalSchema = KuduTableUtils.getSchemaWithSqlTimestamp(schema);
 
         KuduTableInfo tableInfo =
@@ -162,7 +329,146 @@ public class KuduDynamicTableSourceSinkFactory
         bufferSize.ifPresent(configBuilder::setMaxBufferSize);
         ignoreNotFound.ifPresent(configBuilder::setIgnoreNotFound);
         ignoreDuplicate.ifPresent(configBuilder::setIgnoreDuplicate);
-        return new KuduDynamicTableSink(configBuilder, physicalSchema, tableInfo);
+        configBuilder.setWorkerCount(config.get(KUDU_CLIENT_WORKER_COUNT));
+        configBuilder.setCoalesceWrites(config.get(SINK_BUFFER_FLUSH_COALESCE));
+        configBuilder.setAdaptiveFlush(config.get(SINK_BUFFER_FLUSH_ADAPTIVE));
+        configBuilder.setAsyncWrites(config.get(SINK_ASYNC_WRITES));
+        configBuilder.setMaxInFlightFlushes(config.get(SINK_ASYNC_WRITES_MAX_IN_FLIGHT_FLUSHES));
+        configBuilder.setMaxInFlightBytes(
+                config.get(SINK_ASYNC_WRITES_MAX_IN_FLIGHT_SIZE).getBytes());
+        configBuilder.setSnapshotPendingOperations(config.get(SINK_CHECKPOINT_SNAPSHOT_PENDING));
+        config.getOptional(SINK_SPILL_DIRECTORY).ifPresent(configBuilder::setSpillDirectory);
+        configBuilder.setSpillMaxBytes(config.get(SINK_SPILL_MAX_SIZE).getBytes());
+        configBuilder.setRateLimitRows(config.get(SINK_RATE_LIMIT));
+        config.getOptional(SINK_RATE_LIMIT_BYTES)
+                .ifPresent(bytes -> configBuilder.setRateLimitBytes(bytes.getBytes()));
+        config.getOptional(SINK_RATE_LIMIT_FILE).ifPresent(configBuilder::setRateLimitFile);
+        return new KuduDynamicTableSink(
+                configBuilder,
+                physicalSchema,
+                tableInfo,
+                shuffleByPartition,
+                deadLetterPath,
+                config.get(SINK_PARTIAL_UPDATE),
+                config.getOptional(SINK_PARTIAL_UPDATE_COLUMNS).orElse(Collections.emptyList()));
+    }
+
+    private static void validateSinkOptions(ReadableConfig config, ResolvedSchema schema) {
+        validatePartialUpdate(config, schema);
+        if (isRouting(schema)) {
+            validateRoutingSinkOptions(config);
+        }
+        boolean asyncWrites = config.get(SINK_ASYNC_WRITES);
+        if (config.get(SINK_CHECKPOINT_SNAPSHOT_PENDING) && !asyncWrites) {
+            throw new ValidationException(
+                    String.format(
+                            "'%s' requires '%s' = 'true'.",
+                            SINK_CHECKPOINT_SNAPSHOT_PENDING.key(), SINK_ASYNC_WRITES.key()));
+        }
+        if (config.getOptional(SINK_SPILL_DIRECTORY).isPresent() && asyncWrites) {
+            throw new ValidationException(
+                    String.format(
+                            "'%s' is not supported together with '%s'.",
+                            SINK_SPILL_DIRECTORY.key(), SINK_ASYNC_WRITES.key()));
+        }
+    }
+
+    private static void validatePartialUpdate(ReadableConfig config, ResolvedSchema schema) {
+        List<String> columns =
+                config.getOptional(SINK_PARTIAL_UPDATE_COLUMNS).orElse(Collections.emptyList());
+        if (config.get(SINK_PARTIAL_UPDATE) != PartialUpdateMode.DECLARED_COLUMNS) {
+            if (!columns.isEmpty()) {
+                throw new ValidationException(
+                        String.format(
+                                "'%s' requires '%s' = '%s'.",
+                                SINK_PARTIAL_UPDATE_COLUMNS.key(),
+                                SINK_PARTIAL_UPDATE.key(),
+                                PartialUpdateMode.DECLARED_COLUMNS));
+            }
+            return;
+        }
+        if (columns.isEmpty()) {
+            throw new ValidationException(
+                    String.format(
+                            "'%s' = '%s' requires '%s'.",
+                            SINK_PARTIAL_UPDATE.key(),
+                            PartialUpdateMode.DECLARED_COLUMNS,
+                            SINK_PARTIAL_UPDATE_COLUMNS.key()));
+        }
+        List<String> physicalColumns =
+                schema.getColumns().stream()
+                        .filter(Column::isPhysical)
+                        .map(Column::getName)
+                        .collect(Collectors.toList());
+        for (String column : columns) {
+            if (!physicalColumns.contains(column)) {
+                throw new ValidationException(
+                        String.format(
+                                "Column '%s' of '%s' is not a physical column of the table, the"
+                                        + " columns are %s.",
+                                column, SINK_PARTIAL_UPDATE_COLUMNS.key(), physicalColumns));
+            }
+        }
+    }
+
+    /** Returns whether the rows name their table in the {@code table} metadata column. */
+    private static boolean isRouting(ResolvedSchema schema) {
+        return schema.getColumns().stream()
+                .filter(column -> column instanceof Column.MetadataColumn)
+                .map(column -> (Column.MetadataColumn) column)
+                .anyMatch(
+                        column ->
+                                !column.isVirtual()
+                                        && KuduDynamicTableSink.TABLE_METADATA_KEY.equals(
+                                                column.getMetadataKey().orElse(column.getName())));
+    }
+
+    /**
+     * The routing sink writes every table with its own session on the shared client, see {@link
+     * org.apache.flink.connector.kudu.sink.KuduRoutingSink}. It does not support the options below,
+     * which are rejected rather than silently ignored.
+     */
+    private static void validateRoutingSinkOptions(ReadableConfig config) {
+        List<String> unsupported = new ArrayList<>();
+        if (config.get(SINK_SHUFFLE_BY_PARTITION)) {
+            unsupported.add(SINK_SHUFFLE_BY_PARTITION.key());
+        }
+        if (config.get(SINK_BUFFER_FLUSH_COALESCE)) {
+            unsupported.add(SINK_BUFFER_FLUSH_COALESCE.key());
+        }
+        if (config.get(SINK_BUFFER_FLUSH_ADAPTIVE)) {
+            unsupported.add(SINK_BUFFER_FLUSH_ADAPTIVE.key());
+        }
+        if (config.get(SINK_ASYNC_WRITES)) {
+            unsupported.add(SINK_ASYNC_WRITES.key());
+        }
+        if (config.get(SINK_CHECKPOINT_SNAPSHOT_PENDING)) {
+            unsupported.add(SINK_CHECKPOINT_SNAPSHOT_PENDING.key());
+        }
+        if (config.getOptional(SINK_SPILL_DIRECTORY).isPresent()) {
+            unsupported.add(SINK_SPILL_DIRECTORY.key());
+        }
+        if (config.get(SINK_RATE_LIMIT) > 0) {
+            unsupported.add(SINK_RATE_LIMIT.key());
+        }
+        if (config.getOptional(SINK_RATE_LIMIT_BYTES).isPresent()) {
+            unsupported.add(SINK_RATE_LIMIT_BYTES.key());
+        }
+        if (config.getOptional(SINK_RATE_LIMIT_FILE).isPresent()) {
+            unsupported.add(SINK_RATE_LIMIT_FILE.key());
+        }
+        // the declared columns and the primary key are only known for the table of the sink
+        if (config.get(SINK_PARTIAL_UPDATE) == PartialUpdateMode.DECLARED_COLUMNS) {
+            unsupported.add(SINK_PARTIAL_UPDATE.key() + " = " + PartialUpdateMode.DECLARED_COLUMNS);
+        }
+        if (!unsupported.isEmpty()) {
+            throw new ValidationException(
+                    String.format(
+                            "Writing rows to the table named by the '%s' metadata column does not"
+                                    + " support %s.",
+                            KuduDynamicTableSink.TABLE_METADATA_KEY,
+                            String.join(", ", unsupported)));
+        }
     }
 
     private ReadableConfig getReadableConfig(Context context) {
@@ -195,13 +501,17 @@ public class KuduDynamicTableSourceSinkFactory
                         config.get(KUDU_TABLE), schema, context.getCatalogTable().toProperties());
 
         KuduReaderConfig.Builder configBuilder =
-                KuduReaderConfig.Builder.setMasters(masterAddresses).setRowLimit(scanRowSize);
+                KuduReaderConfig.Builder.setMasters(masterAddresses)
+                        .setRowLimit(scanRowSize)
+                        .setWorkerCount(config.get(KUDU_CLIENT_WORKER_COUNT))
+                        .setColumnarScan(config.get(KUDU_SCAN_COLUMNAR));
         return new KuduDynamicTableSource(
                 configBuilder,
                 tableInfo,
                 physicalSchema,
                 physicalSchema.getColumnNames(),
-                kuduLookupOptions);
+                kuduLookupOptions,
+                config.get(KUDU_SCAN_BINARY_ROW));
     }
 
     @Override
@@ -221,12 +531,31 @@ public class KuduDynamicTableSourceSinkFactory
                 KUDU_HASH_PARTITION_NUMS,
                 KUDU_PRIMARY_KEY_COLS,
                 KUDU_SCAN_ROW_SIZE,
+                KUDU_SCAN_COLUMNAR,
+                KUDU_SCAN_BINARY_ROW,
                 KUDU_REPLICAS,
                 KUDU_MAX_BUFFER_SIZE,
                 KUDU_MAX_BUFFER_SIZE,
                 KUDU_OPERATION_TIMEOUT,
                 KUDU_IGNORE_NOT_FOUND,
                 KUDU_IGNORE_DUPLICATE,
+                KUDU_CLIENT_WORKER_COUNT,
+                // sink
+                SINK_SHUFFLE_BY_PARTITION,
+                SINK_BUFFER_FLUSH_COALESCE,
+                SINK_BUFFER_FLUSH_ADAPTIVE,
+                SINK_ASYNC_WRITES,
+                SINK_ASYNC_WRITES_MAX_IN_FLIGHT_FLUSHES,
+                SINK_ASYNC_WRITES_MAX_IN_FLIGHT_SIZE,
+                SINK_CHECKPOINT_SNAPSHOT_PENDING,
+                SINK_SPILL_DIRECTORY,
+                SINK_SPILL_MAX_SIZE,
+                SINK_DEAD_LETTER_PATH,
+                SINK_RATE_LIMIT,
+                SINK_RATE_LIMIT_BYTES,
+                SINK_RATE_LIMIT_FILE,
+                SINK_PARTIAL_UPDATE,
+                SINK_PARTIAL_UPDATE_COLUMNS,
                 // lookup
                 KUDU_LOOKUP_CACHE_MAX_ROWS,
                 KUDU_LOOKUP_CACHE_TTL,
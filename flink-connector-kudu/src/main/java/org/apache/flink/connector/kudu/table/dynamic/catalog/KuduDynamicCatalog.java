@@ -19,6 +19,8 @@
 package org.apache.flink.connector.kudu.table.dynamic.catalog;
 
 import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.client.KuduClientRegistry;
+import org.apache.flink.connector.kudu.connector.client.SharedKuduClient;
 import org.apache.flink.connector.kudu.table.AbstractReadOnlyCatalog;
 import org.apache.flink.connector.kudu.table.dynamic.KuduDynamicTableSourceSinkFactory;
 import org.apache.flink.connector.kudu.table.utils.KuduTableUtils;
@@ -72,6 +74,7 @@ public class KuduDynamicCatalog extends AbstractReadOnlyCatalog {
     private final KuduDynamicTableSourceSinkFactory tableFactory =
             new KuduDynamicTableSourceSinkFactory();
     private final String kuduMasters;
+    private final SharedKuduClient sharedClient;
     private final KuduClient kuduClient;
 
     /**
@@ -84,7 +87,8 @@ public class KuduDynamicCatalog extends AbstractReadOnlyCatalog {
     public KuduDynamicCatalog(String catalogName, String kuduMasters) {
         super(catalogName, "default_database");
         this.kuduMasters = kuduMasters;
-        this.kuduClient = createClient();
+        this.sharedClient = KuduClientRegistry.acquire(kuduMasters);
+        this.kuduClient = sharedClient.getClient();
     }
 
     /**
@@ -105,22 +109,12 @@ public class KuduDynamicCatalog extends AbstractReadOnlyCatalog {
         return tableFactory;
     }
 
-    private KuduClient createClient() {
-        return new KuduClient.KuduClientBuilder(kuduMasters).build();
-    }
-
     @Override
     public void open() {}
 
     @Override
     public void close() {
-        try {
-            if (kuduClient != null) {
-                kuduClient.close();
-            }
-        } catch (KuduException e) {
-            LOG.error("Error while closing kudu client", e);
-        }
+        sharedClient.close();
     }
 
     public ObjectPath getObjectPath(String tableName) {
@@ -35,7 +35,6 @@ import org.apache.flink.table.functions.FunctionDefinition;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.DecimalType;
 import org.apache.flink.table.types.logical.TimestampType;
-import org.apache.flink.util.Preconditions;
 import org.apache.kudu.ColumnSchema;
 import org.apache.kudu.ColumnTypeAttributes;
 import org.apache.kudu.Schema;
@@ -47,7 +46,6 @@ import javax.annotation.Nullable;
 import java.sql.Timestamp;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /** Kudu table utilities. */
 public class KuduTableUtils {
@@ -178,14 +176,11 @@ public class KuduTableUtils {
 
     // @todo(zchovan) this should be coming from the flink library
     public static ResolvedSchema getPhysicalSchema(ResolvedSchema schema) {
-        List<String> columnNames = schema.getColumnNames();
-        List<DataType> columnDataTypes = schema.getColumnDataTypes();
-        Preconditions.checkArgument(
-                columnNames.size() == columnDataTypes.size(),
-                "Mismatch between number of columns names and data types.");
+        // metadata and computed columns are not stored in kudu
         final List<Column> columns =
-                IntStream.range(0, columnNames.size())
-                        .mapToObj(i -> Column.physical(columnNames.get(i), columnDataTypes.get(i)))
+                schema.getColumns().stream()
+                        .filter(Column::isPhysical)
+                        .map(column -> Column.physical(column.getName(), column.getDataType()))
                         .collect(Collectors.toList());
 
         if (schema.getPrimaryKey().isPresent()) {
@@ -29,7 +29,8 @@ import org.apache.flink.connector.kudu.connector.writer.KuduWriter;
 import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
 import org.apache.flink.connector.kudu.connector.writer.RowOperationMapper;
 import org.apache.flink.table.api.DataTypes;
-import org.apache.flink.table.api.TableSchema;
+import org.apache.flink.table.catalog.Column;
+import org.apache.flink.table.catalog.ResolvedSchema;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.StringData;
@@ -66,7 +67,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 /** Base class for integration tests. */
 public class KuduTestBase {
 
-    private static final String DOCKER_IMAGE = "apache/kudu:1.13.0";
+    private static final String DOCKER_IMAGE = "apache/kudu:1.17.0";
     private static final Integer KUDU_MASTER_PORT = 7051;
     private static final Integer KUDU_TSERVER_PORT = 7050;
     private static final Integer NUMBER_OF_REPLICA = 3;
@@ -92,6 +93,11 @@ public class KuduTestBase {
                 new GenericContainer<>(DOCKER_IMAGE)
                         .withExposedPorts(KUDU_MASTER_PORT, 8051)
                         .withCommand("master")
+                        .withEnv(
+                                "MASTER_ARGS",
+                                "--fs_wal_dir=/var/lib/kudu/master --logtostderr"
+                                        + " --use_hybrid_clock=false --unlock_experimental_flags"
+                                        + " --txn_manager_enabled=true")
                         .withNetwork(network)
                         .withNetworkAliases("kudu-master");
         master.start();
@@ -108,7 +114,9 @@ public class KuduTestBase {
                             .withEnv(
                                     "TSERVER_ARGS",
                                     "--fs_wal_dir=/var/lib/kudu/tserver --logtostderr "
-                                            + " --use_hybrid_clock=false --rpc_advertised_addresses="
+                                            + " --use_hybrid_clock=false --unlock_experimental_flags"
+                                            + " --enable_txn_system_client_init=true"
+                                            + " --rpc_advertised_addresses="
                                             + instanceName)
                             .withNetwork(network)
                             .withNetworkAliases(instanceName)
@@ -199,14 +207,13 @@ public class KuduTestBase {
                 .collect(Collectors.toList());
     }
 
-    public static TableSchema booksTableSchema() {
-        return TableSchema.builder()
-                .field("id", DataTypes.INT())
-                .field("title", DataTypes.STRING())
-                .field("author", DataTypes.STRING())
-                .field("price", DataTypes.DOUBLE())
-                .field("quantity", DataTypes.INT())
-                .build();
+    public static ResolvedSchema booksTableSchema() {
+        return ResolvedSchema.of(
+                Column.physical("id", DataTypes.INT()),
+                Column.physical("title", DataTypes.STRING()),
+                Column.physical("author", DataTypes.STRING()),
+                Column.physical("price", DataTypes.DOUBLE()),
+                Column.physical("quantity", DataTypes.INT()));
     }
 
     public static List<RowData> booksRowData() {
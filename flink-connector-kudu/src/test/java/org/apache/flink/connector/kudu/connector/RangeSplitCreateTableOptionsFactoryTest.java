@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector;
+
+import org.apache.flink.util.InstantiationUtil;
+
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.Type;
+import org.apache.kudu.shaded.com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+/** Tests for {@link RangeSplitCreateTableOptionsFactory}. */
+public class RangeSplitCreateTableOptionsFactoryTest {
+
+    private static final ColumnSchemasFactory COLUMNS =
+            () ->
+                    Lists.newArrayList(
+                            new ColumnSchema.ColumnSchemaBuilder("id", Type.INT32)
+                                    .key(true)
+                                    .build(),
+                            new ColumnSchema.ColumnSchemaBuilder("title", Type.STRING).build());
+
+    @Test
+    void testEvenSplits() {
+        List<Object[]> samples = new ArrayList<>();
+        for (int i = 999; i >= 0; i--) {
+            samples.add(new Object[] {i});
+        }
+
+        List<Object[]> splits = RangeSplitCreateTableOptionsFactory.computeSplitKeys(samples, 4);
+
+        assertThat(splits)
+                .containsExactly(new Object[] {250}, new Object[] {500}, new Object[] {750});
+    }
+
+    @Test
+    void testDuplicateKeysCollapse() {
+        List<Object[]> samples = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            samples.add(new Object[] {i < 90 ? 1 : 2});
+        }
+
+        List<Object[]> splits = RangeSplitCreateTableOptionsFactory.computeSplitKeys(samples, 10);
+
+        assertThat(splits).containsExactly(new Object[] {1}, new Object[] {2});
+    }
+
+    @Test
+    void testSmallSample() {
+        List<Object[]> samples = Lists.newArrayList(new Object[] {"b"}, new Object[] {"a"});
+
+        assertThat(RangeSplitCreateTableOptionsFactory.computeSplitKeys(samples, 8))
+                .containsExactly(new Object[] {"b"});
+        assertThat(RangeSplitCreateTableOptionsFactory.computeSplitKeys(samples, 1)).isEmpty();
+    }
+
+    @Test
+    void testBinaryKeysCompareUnsigned() {
+        List<Object[]> samples =
+                Lists.newArrayList(
+                        new Object[] {new byte[] {(byte) 0xff}},
+                        new Object[] {new byte[] {0x01}},
+                        new Object[] {new byte[] {0x7f}});
+
+        List<Object[]> splits = RangeSplitCreateTableOptionsFactory.computeSplitKeys(samples, 3);
+
+        assertThat(splits).hasSize(2);
+        assertThat((byte[]) splits.get(0)[0]).containsExactly(0x7f);
+        assertThat((byte[]) splits.get(1)[0]).containsExactly((byte) 0xff);
+    }
+
+    @Test
+    void testCreateTableOptions() throws Exception {
+        List<Object[]> samples = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            samples.add(new Object[] {i});
+        }
+        RangeSplitCreateTableOptionsFactory factory =
+                RangeSplitCreateTableOptionsFactory.fromSamples(
+                        COLUMNS, Collections.singletonList("id"), samples, 4, 1);
+
+        RangeSplitCreateTableOptionsFactory copy = InstantiationUtil.clone(factory);
+
+        assertThat(copy.getSplitKeys()).hasSize(3);
+        assertDoesNotThrow(copy::getCreateTableOptions);
+    }
+
+    @Test
+    void testSplitKeyMismatch() {
+        assertThatThrownBy(
+                        () ->
+                                new RangeSplitCreateTableOptionsFactory(
+                                        COLUMNS,
+                                        Collections.singletonList("id"),
+                                        Collections.singletonList(new Object[] {1, "a"}),
+                                        1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.connector.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link KuduClientRegistry}. */
+class KuduClientRegistryTest {
+
+    private static final String MASTERS = "localhost:7051";
+
+    @Test
+    void testClientIsSharedAndReferenceCounted() {
+        SharedKuduClient first = KuduClientRegistry.acquire(MASTERS);
+        SharedKuduClient second = KuduClientRegistry.acquire(MASTERS);
+
+        assertThat(second.getAsyncClient()).isSameAs(first.getAsyncClient());
+        assertThat(KuduClientRegistry.getReferenceCount(MASTERS, 0)).isEqualTo(2);
+
+        first.close();
+        // releasing the same reference twice must not release the other user
+        first.close();
+        assertThat(KuduClientRegistry.getReferenceCount(MASTERS, 0)).isEqualTo(1);
+
+        second.close();
+        assertThat(KuduClientRegistry.getReferenceCount(MASTERS, 0)).isZero();
+    }
+
+    @Test
+    void testClientOptionsArePartOfTheKey() {
+        try (SharedKuduClient defaultWorkers = KuduClientRegistry.acquire(MASTERS);
+                SharedKuduClient twoWorkers = KuduClientRegistry.acquire(MASTERS, 2)) {
+            assertThat(twoWorkers.getAsyncClient()).isNotSameAs(defaultWorkers.getAsyncClient());
+            assertThat(KuduClientRegistry.getReferenceCount(MASTERS, 2)).isEqualTo(1);
+        }
+        assertThat(KuduClientRegistry.getReferenceCount(MASTERS, 2)).isZero();
+    }
+
+    @Test
+    void testClosedClientIsRecreated() {
+        SharedKuduClient first = KuduClientRegistry.acquire(MASTERS);
+        first.close();
+
+        try (SharedKuduClient second = KuduClientRegistry.acquire(MASTERS)) {
+            assertThat(second.getAsyncClient()).isNotSameAs(first.getAsyncClient());
+            assertThat(KuduClientRegistry.getReferenceCount(MASTERS, 0)).isEqualTo(1);
+        }
+    }
+}
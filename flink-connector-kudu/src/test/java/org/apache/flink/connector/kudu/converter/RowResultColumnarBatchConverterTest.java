@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.converter;
+
+import org.apache.flink.connector.kudu.connector.converter.RowResultColumnarBatchConverter;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.columnar.ColumnarRowData;
+import org.apache.flink.table.data.columnar.vector.VectorizedColumnBatch;
+
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.ColumnTypeAttributes;
+import org.apache.kudu.Schema;
+import org.apache.kudu.Type;
+import org.apache.kudu.client.RowResult;
+import org.apache.kudu.client.RowResultIterator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Tests for {@link RowResultColumnarBatchConverter}. */
+public class RowResultColumnarBatchConverterTest {
+
+    private static final Schema SCHEMA =
+            new Schema(
+                    Arrays.asList(
+                            new ColumnSchema.ColumnSchemaBuilder("id", Type.INT32)
+                                    .key(true)
+                                    .build(),
+                            new ColumnSchema.ColumnSchemaBuilder("amount", Type.INT64)
+                                    .nullable(true)
+                                    .build(),
+                            new ColumnSchema.ColumnSchemaBuilder("active", Type.BOOL).build(),
+                            new ColumnSchema.ColumnSchemaBuilder("price", Type.DECIMAL)
+                                    .typeAttributes(
+                                            new ColumnTypeAttributes.ColumnTypeAttributesBuilder()
+                                                    .precision(10)
+                                                    .scale(2)
+                                                    .build())
+                                    .nullable(true)
+                                    .build()));
+
+    @Test
+    void testConvertBatch() {
+        RowResultColumnarBatchConverter converter = new RowResultColumnarBatchConverter(SCHEMA);
+
+        VectorizedColumnBatch batch =
+                converter.convert(
+                        batchOf(
+                                row(1, 10L, true, new BigDecimal("1.50")),
+                                row(2, null, false, null)));
+
+        assertThat(batch.getNumRows()).isEqualTo(2);
+        ColumnarRowData row = new ColumnarRowData(batch);
+        row.setRowId(0);
+        assertThat(row.getInt(0)).isEqualTo(1);
+        assertThat(row.getLong(1)).isEqualTo(10L);
+        assertThat(row.getBoolean(2)).isTrue();
+        assertThat(row.getDecimal(3, 10, 2))
+                .isEqualTo(DecimalData.fromBigDecimal(new BigDecimal("1.50"), 10, 2));
+        row.setRowId(1);
+        assertThat(row.getInt(0)).isEqualTo(2);
+        assertThat(row.isNullAt(1)).isTrue();
+        assertThat(row.getBoolean(2)).isFalse();
+        assertThat(row.isNullAt(3)).isTrue();
+    }
+
+    @Test
+    void testReuseBatch() {
+        RowResultColumnarBatchConverter converter = new RowResultColumnarBatchConverter(SCHEMA);
+
+        VectorizedColumnBatch first =
+                converter.convert(batchOf(row(1, null, true, null), row(2, 20L, true, null)));
+        VectorizedColumnBatch second = converter.convert(batchOf(row(3, 30L, false, null)));
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getNumRows()).isEqualTo(1);
+        assertThat(second.isNullAt(0, 1)).isFalse();
+        assertThat(second.getLong(0, 1)).isEqualTo(30L);
+
+        VectorizedColumnBatch third =
+                converter.convert(
+                        batchOf(
+                                row(4, null, true, null),
+                                row(5, null, true, null),
+                                row(6, 60L, true, null)));
+
+        assertThat(third).isNotSameAs(first);
+        assertThat(third.getNumRows()).isEqualTo(3);
+        assertThat(third.getInt(2, 0)).isEqualTo(6);
+    }
+
+    @Test
+    void testEmptyBatch() {
+        RowResultColumnarBatchConverter converter = new RowResultColumnarBatchConverter(SCHEMA);
+
+        assertThat(converter.convert(batchOf())).isNull();
+    }
+
+    private static RowResult row(int id, Long amount, boolean active, BigDecimal price) {
+        RowResult row = mock(RowResult.class);
+        when(row.getInt(0)).thenReturn(id);
+        when(row.isNull(1)).thenReturn(amount == null);
+        if (amount != null) {
+            when(row.getLong(1)).thenReturn(amount);
+        }
+        when(row.getBoolean(2)).thenReturn(active);
+        when(row.isNull(3)).thenReturn(price == null);
+        when(row.getDecimal(3)).thenReturn(price);
+        return row;
+    }
+
+    private static RowResultIterator batchOf(RowResult... rows) {
+        RowResultIterator iterator = mock(RowResultIterator.class);
+        when(iterator.getNumRows()).thenReturn(rows.length);
+        // true once per row, then false
+        Boolean[] hasNext = new Boolean[rows.length];
+        Arrays.fill(hasNext, true);
+        if (rows.length > 0) {
+            hasNext[rows.length - 1] = false;
+        }
+        when(iterator.hasNext()).thenReturn(rows.length > 0, hasNext);
+        if (rows.length > 0) {
+            when(iterator.next()).thenReturn(rows[0], Arrays.copyOfRange(rows, 1, rows.length));
+        }
+        return iterator;
+    }
+}
@@ -25,6 +25,13 @@ import org.apache.flink.connector.kudu.connector.reader.KuduInputSplit;
 import org.apache.flink.connector.kudu.connector.reader.KuduReaderConfig;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
 import org.apache.flink.types.Row;
 
 import org.junit.jupiter.api.Assertions;
@@ -82,6 +89,86 @@ class KuduRowDataInputFormatTest extends KuduTestBase {
         cleanDatabase(tableInfo);
     }
 
+    @Test
+    void testInputFormatReusesRecord() throws Exception {
+        KuduTableInfo tableInfo = booksTableInfo("books", true);
+        setUpDatabase(tableInfo);
+
+        KuduReaderConfig readerConfig =
+                KuduReaderConfig.Builder.setMasters(getMasterAddress()).build();
+        KuduRowDataInputFormat inputFormat =
+                new KuduRowDataInputFormat(
+                        readerConfig, new RowResultRowDataConverter(), tableInfo);
+
+        GenericRowData reuse = new GenericRowData(5);
+        List<String> titles = new ArrayList<>();
+        for (KuduInputSplit split : inputFormat.createInputSplits(1)) {
+            inputFormat.open(split);
+            while (!inputFormat.reachedEnd()) {
+                RowData row = inputFormat.nextRecord(reuse);
+                if (row != null) {
+                    Assertions.assertSame(reuse, row);
+                    Assertions.assertEquals(row.getInt(0) % 2 == 0, row.isNullAt(3));
+                    titles.add(row.getString(1).toString());
+                }
+            }
+            inputFormat.close();
+        }
+        inputFormat.closeInputFormat();
+
+        Assertions.assertEquals(5, titles.size());
+        Assertions.assertTrue(titles.contains("A Cup of Java"));
+
+        cleanDatabase(tableInfo);
+    }
+
+    @Test
+    void testInputFormatWithBinaryRows() throws Exception {
+        KuduTableInfo tableInfo = booksTableInfo("books", true);
+        setUpDatabase(tableInfo);
+
+        RowType producedType =
+                RowType.of(
+                        new VarCharType(VarCharType.MAX_LENGTH), new IntType(), new DoubleType());
+        KuduReaderConfig readerConfig =
+                KuduReaderConfig.Builder.setMasters(getMasterAddress()).build();
+        KuduRowDataInputFormat inputFormat =
+                new KuduRowDataInputFormat(
+                        readerConfig,
+                        tableInfo,
+                        new ArrayList<>(),
+                        Arrays.asList("title", "id", "price"),
+                        producedType);
+        Assertions.assertEquals(InternalTypeInfo.of(producedType), inputFormat.getProducedType());
+
+        RowDataSerializer serializer = new RowDataSerializer(producedType);
+        List<RowData> rows = new ArrayList<>();
+        RowData reuse = null;
+        for (KuduInputSplit split : inputFormat.createInputSplits(1)) {
+            inputFormat.open(split);
+            while (!inputFormat.reachedEnd()) {
+                RowData row = inputFormat.nextRecord(reuse);
+                if (row != null) {
+                    Assertions.assertTrue(row instanceof BinaryRowData);
+                    rows.add(serializer.copy(row));
+                    reuse = row;
+                }
+            }
+            inputFormat.close();
+        }
+        inputFormat.closeInputFormat();
+
+        Assertions.assertEquals(5, rows.size());
+        for (RowData row : rows) {
+            if (row.getInt(1) == 1004) {
+                Assertions.assertEquals("A Cup of Java", row.getString(0).toString());
+            }
+            Assertions.assertEquals(row.getInt(1) % 2 == 0, row.isNullAt(2));
+        }
+
+        cleanDatabase(tableInfo);
+    }
+
     private List<RowData> readRowDatas(KuduTableInfo tableInfo, String... fieldProjection)
             throws Exception {
         String masterAddresses = getMasterAddress();
@@ -107,6 +194,7 @@ class KuduRowDataInputFormatTest extends KuduTestBase {
             }
         }
         inputFormat.close();
+        inputFormat.closeInputFormat();
 
         return rows;
     }
@@ -136,6 +224,7 @@ class KuduRowDataInputFormatTest extends KuduTestBase {
             }
         }
         inputFormat.close();
+        inputFormat.closeInputFormat();
 
         return rows;
     }
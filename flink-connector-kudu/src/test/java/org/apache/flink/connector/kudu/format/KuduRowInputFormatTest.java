@@ -77,11 +77,32 @@ class KuduRowInputFormatTest extends KuduTestBase {
         cleanDatabase(tableInfo);
     }
 
+    @Test
+    void testInputFormatWithPrefetching() throws Exception {
+        KuduTableInfo tableInfo = booksTableInfo("books", true);
+        setUpDatabase(tableInfo);
+
+        KuduReaderConfig readerConfig =
+                KuduReaderConfig.Builder.setMasters(getMasterAddress())
+                        .setPrefetchMaxBytes(1)
+                        .build();
+        List<Row> rows = readRows(tableInfo, readerConfig);
+        Assertions.assertEquals(5, rows.size());
+
+        cleanDatabase(tableInfo);
+    }
+
     private List<Row> readRows(KuduTableInfo tableInfo, String... fieldProjection)
             throws Exception {
         String masterAddresses = getMasterAddress();
         KuduReaderConfig readerConfig =
                 KuduReaderConfig.Builder.setMasters(masterAddresses).build();
+        return readRows(tableInfo, readerConfig, fieldProjection);
+    }
+
+    private List<Row> readRows(
+            KuduTableInfo tableInfo, KuduReaderConfig readerConfig, String... fieldProjection)
+            throws Exception {
         KuduRowInputFormat inputFormat =
                 new KuduRowInputFormat(
                         readerConfig,
@@ -102,6 +123,7 @@ class KuduRowInputFormatTest extends KuduTestBase {
             }
         }
         inputFormat.close();
+        inputFormat.closeInputFormat();
 
         return rows;
     }
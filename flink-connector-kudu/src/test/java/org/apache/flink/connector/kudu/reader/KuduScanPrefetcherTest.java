@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.reader;
+
+import org.apache.flink.connector.kudu.connector.reader.KuduScanPrefetcher;
+
+import org.apache.kudu.client.KuduScanner;
+import org.apache.kudu.client.RowResultIterator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Tests for {@link KuduScanPrefetcher}. */
+public class KuduScanPrefetcherTest {
+
+    private static final long BATCH_SIZE = 1024;
+
+    @Test
+    void testBatchesInOrder() throws Exception {
+        RowResultIterator first = mock(RowResultIterator.class);
+        RowResultIterator second = mock(RowResultIterator.class);
+        KuduScanner scanner = mockScanner();
+        when(scanner.hasMoreRows()).thenReturn(true, true, false);
+        when(scanner.nextRows()).thenReturn(first, second);
+
+        try (KuduScanPrefetcher prefetcher = new KuduScanPrefetcher(scanner, 4 * BATCH_SIZE)) {
+            assertThat((Object) prefetcher.take()).isSameAs(first);
+            assertThat((Object) prefetcher.take()).isSameAs(second);
+            assertThat((Object) prefetcher.take()).isNull();
+        }
+    }
+
+    @Test
+    void testBoundedByBytes() throws Exception {
+        KuduScanner scanner = mockScanner();
+        when(scanner.hasMoreRows()).thenReturn(true);
+        when(scanner.nextRows()).thenReturn(mock(RowResultIterator.class));
+
+        try (KuduScanPrefetcher prefetcher = new KuduScanPrefetcher(scanner, 2 * BATCH_SIZE)) {
+            verify(scanner, timeout(1000).times(2)).nextRows();
+            Thread.sleep(100);
+            verify(scanner, times(2)).nextRows();
+
+            prefetcher.take();
+            verify(scanner, timeout(1000).times(3)).nextRows();
+        }
+    }
+
+    @Test
+    void testFetchFailure() throws Exception {
+        KuduScanner scanner = mockScanner();
+        when(scanner.hasMoreRows()).thenReturn(true);
+        when(scanner.nextRows()).thenThrow(new IllegalStateException("scanner expired"));
+
+        try (KuduScanPrefetcher prefetcher = new KuduScanPrefetcher(scanner, BATCH_SIZE)) {
+            assertThatThrownBy(prefetcher::take)
+                    .isInstanceOf(IOException.class)
+                    .hasRootCauseMessage("scanner expired");
+        }
+    }
+
+    private static KuduScanner mockScanner() {
+        KuduScanner scanner = mock(KuduScanner.class);
+        when(scanner.getBatchSizeBytes()).thenReturn(BATCH_SIZE);
+        return scanner;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link KuduBulkLoad}. */
+public class KuduBulkLoadTest {
+
+    @Test
+    void testSampleKeys() throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.setParallelism(2);
+
+        List<Object[]> all =
+                KuduBulkLoad.sampleKeys(
+                        env.fromSequence(0, 999), value -> new Object[] {value}, 1.0);
+        List<Object[]> sampled =
+                KuduBulkLoad.sampleKeys(
+                        env.fromSequence(0, 9999), value -> new Object[] {value}, 0.1);
+
+        assertThat(all).hasSize(1000);
+        assertThat(all).allSatisfy(key -> assertThat(key[0]).isInstanceOf(Long.class));
+        assertThat(sampled).hasSizeBetween(700, 1300);
+    }
+
+    @Test
+    void testInvalidFraction() {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+
+        assertThatThrownBy(
+                        () ->
+                                KuduBulkLoad.sampleKeys(
+                                        env.fromSequence(0, 1), value -> new Object[] {value}, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link KuduCommittableSerializer}. */
+public class KuduCommittableSerializerTest {
+
+    @Test
+    void testRoundTrip() throws Exception {
+        KuduCommittable committable = new KuduCommittable("books", 2, new byte[] {1, 2, 3});
+        KuduCommittableSerializer serializer = new KuduCommittableSerializer();
+
+        KuduCommittable copy =
+                serializer.deserialize(serializer.getVersion(), serializer.serialize(committable));
+
+        assertThat(copy).isEqualTo(committable);
+    }
+
+    @Test
+    void testUnknownVersion() {
+        KuduCommittableSerializer serializer = new KuduCommittableSerializer();
+
+        assertThatThrownBy(() -> serializer.deserialize(1, new byte[0]))
+                .hasMessageContaining("Unknown version");
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.apache.flink.api.connector.sink2.Sink;
+import org.apache.flink.api.connector.sink2.SinkWriter;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.KuduTestBase;
+import org.apache.flink.connector.kudu.connector.writer.AbstractSingleOperationMapper;
+import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+import org.apache.flink.connector.kudu.connector.writer.RowOperationMapper;
+import org.apache.flink.types.Row;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link KuduRoutingSink}. */
+public class KuduRoutingSinkTest extends KuduTestBase {
+
+    @Test
+    void testInvalidTableNameExtractor() {
+        KuduWriterConfig writerConfig =
+                KuduWriterConfig.Builder.setMasters(getMasterAddress()).build();
+
+        KuduRoutingSinkBuilder<Row> builder =
+                KuduRoutingSink.<Row>builder()
+                        .setWriterConfig(writerConfig)
+                        .setOperationMapper(initOperationMapper());
+
+        assertThatThrownBy(builder::build)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Table name extractor");
+    }
+
+    @Test
+    void testInvalidTableTemplate() {
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), false);
+
+        KuduWriterConfig writerConfig =
+                KuduWriterConfig.Builder.setMasters(getMasterAddress()).build();
+
+        KuduRoutingSinkBuilder<Row> builder =
+                KuduRoutingSink.<Row>builder()
+                        .setWriterConfig(writerConfig)
+                        .setTableNameExtractor(row -> tableInfo.getName())
+                        .setTableTemplate(tableInfo)
+                        .setOperationMapper(initOperationMapper());
+
+        assertThatThrownBy(builder::build)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Table template");
+    }
+
+    @Test
+    void testOutputToMultipleTables() throws Exception {
+        String prefix = UUID.randomUUID().toString();
+        KuduTableInfo template = booksTableInfo(prefix, true);
+        KuduWriterConfig writerConfig =
+                KuduWriterConfig.Builder.setMasters(getMasterAddress()).setMaxBufferSize(2).build();
+
+        KuduRoutingSink<Row> sink =
+                KuduRoutingSink.<Row>builder()
+                        .setWriterConfig(writerConfig)
+                        .setTableNameExtractor(
+                                row ->
+                                        prefix
+                                                + ((Integer) row.getField(0) % 2 == 0
+                                                        ? "-even"
+                                                        : "-odd"))
+                        .setTableTemplate(template)
+                        .setOperationMapper(initOperationMapper())
+                        .setMaxBufferedBytes(1024)
+                        .build();
+
+        SinkWriter<Row> writer = sink.createWriter((Sink.InitContext) null);
+
+        for (Row kuduRow : booksDataRow()) {
+            writer.write(kuduRow, null);
+        }
+        writer.close();
+
+        List<Row> evenRows = readRows(KuduTableInfo.forTable(prefix + "-even"));
+        List<Row> oddRows = readRows(KuduTableInfo.forTable(prefix + "-odd"));
+
+        assertThat(evenRows).hasSize(2);
+        assertThat(oddRows).hasSize(3);
+        assertThat(evenRows).allMatch(row -> (Integer) row.getField(0) % 2 == 0);
+        assertThat(oddRows).allMatch(row -> (Integer) row.getField(0) % 2 == 1);
+    }
+
+    private RowOperationMapper initOperationMapper() {
+        return new RowOperationMapper(
+                KuduTestBase.columns, AbstractSingleOperationMapper.KuduOperation.INSERT);
+    }
+}
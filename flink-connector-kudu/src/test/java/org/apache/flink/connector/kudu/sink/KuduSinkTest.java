@@ -19,6 +19,7 @@ package org.apache.flink.connector.kudu.sink;
 
 import org.apache.flink.api.connector.sink2.Sink;
 import org.apache.flink.api.connector.sink2.SinkWriter;
+import org.apache.flink.api.connector.sink2.StatefulSink;
 import org.apache.flink.connector.kudu.connector.KuduTableInfo;
 import org.apache.flink.connector.kudu.connector.KuduTestBase;
 import org.apache.flink.connector.kudu.connector.writer.AbstractSingleOperationMapper;
@@ -31,9 +32,16 @@ import org.apache.kudu.Type;
 import org.apache.kudu.client.CreateTableOptions;
 import org.apache.kudu.shaded.com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -168,6 +176,231 @@ public class KuduSinkTest extends KuduTestBase {
         kuduRowsTest(rows);
     }
 
+    @Test
+    void testOutputWithAsyncWrites() throws Exception {
+        String masterAddresses = getMasterAddress();
+
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), true);
+        KuduWriterConfig writerConfig =
+                KuduWriterConfig.Builder.setMasters(masterAddresses)
+                        .setAsyncWrites(true)
+                        .setMaxBufferSize(2)
+                        .setMaxInFlightFlushes(2)
+                        .build();
+
+        KuduSink<Row> sink =
+                KuduSink.<Row>builder()
+                        .setWriterConfig(writerConfig)
+                        .setTableInfo(tableInfo)
+                        .setOperationMapper(initOperationMapper(KuduTestBase.columns))
+                        .build();
+
+        SinkWriter<Row> writer = sink.createWriter((Sink.InitContext) null);
+
+        for (Row kuduRow : booksDataRow()) {
+            writer.write(kuduRow, null);
+        }
+        writer.close();
+
+        List<Row> rows = readRows(tableInfo);
+
+        assertThat(rows).hasSize(5);
+        kuduRowsTest(rows);
+    }
+
+    @Test
+    void testAsyncWritesKeepOrderPerKey() throws Exception {
+        String masterAddresses = getMasterAddress();
+
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), true);
+        KuduWriterConfig writerConfig =
+                KuduWriterConfig.Builder.setMasters(masterAddresses)
+                        .setAsyncWrites(true)
+                        .setMaxBufferSize(1)
+                        .setMaxInFlightFlushes(8)
+                        .build();
+
+        KuduSink<Row> sink =
+                KuduSink.<Row>builder()
+                        .setWriterConfig(writerConfig)
+                        .setTableInfo(tableInfo)
+                        .setOperationMapper(
+                                new RowOperationMapper(
+                                        KuduTestBase.columns,
+                                        AbstractSingleOperationMapper.KuduOperation.UPSERT))
+                        .build();
+
+        SinkWriter<Row> writer = sink.createWriter((Sink.InitContext) null);
+
+        // every update is flushed on its own, so several updates of the key are on the wire
+        int updates = 500;
+        for (int i = 0; i < updates; i++) {
+            writer.write(Row.of(1001, "title", "author", 1.0, i), null);
+        }
+        writer.close();
+
+        List<Row> rows = readRows(tableInfo);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getField(4)).isEqualTo(updates - 1);
+    }
+
+    @Test
+    void testOutputWithAdaptiveFlush() throws Exception {
+        String masterAddresses = getMasterAddress();
+
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), true);
+        KuduWriterConfig writerConfig =
+                KuduWriterConfig.Builder.setMasters(masterAddresses)
+                        .setAdaptiveFlush(true)
+                        .setMinBufferSize(1)
+                        .setMaxBufferSize(4)
+                        .build();
+
+        KuduSink<Row> sink =
+                KuduSink.<Row>builder()
+                        .setWriterConfig(writerConfig)
+                        .setTableInfo(tableInfo)
+                        .setOperationMapper(initOperationMapper(KuduTestBase.columns))
+                        .build();
+
+        SinkWriter<Row> writer = sink.createWriter((Sink.InitContext) null);
+
+        for (Row kuduRow : booksDataRow()) {
+            writer.write(kuduRow, null);
+        }
+        writer.close();
+
+        List<Row> rows = readRows(tableInfo);
+
+        assertThat(rows).hasSize(5);
+        kuduRowsTest(rows);
+    }
+
+    @Test
+    void testRestorePendingOperations() throws Exception {
+        String masterAddresses = getMasterAddress();
+
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), true);
+        KuduWriterConfig writerConfig =
+                KuduWriterConfig.Builder.setMasters(masterAddresses)
+                        .setAsyncWrites(true)
+                        .setSnapshotPendingOperations(true)
+                        .setMaxBufferSize(100)
+                        .build();
+
+        KuduSink<Row> sink =
+                KuduSink.<Row>builder()
+                        .setWriterConfig(writerConfig)
+                        .setTableInfo(tableInfo)
+                        .setOperationMapper(initOperationMapper(KuduTestBase.columns))
+                        .build();
+
+        StatefulSink.StatefulSinkWriter<Row, KuduWriterState> writer =
+                sink.createWriter((Sink.InitContext) null);
+        for (Row kuduRow : booksDataRow()) {
+            writer.write(kuduRow, null);
+        }
+        // the buffer is not full, so none of the operations has been acknowledged
+        List<KuduWriterState> state = writer.snapshotState(1);
+        writer.close();
+
+        assertThat(state).hasSize(1);
+        assertThat(state.get(0).getOperationCount()).isEqualTo(5);
+
+        // lose the written rows, they are only restored from the state
+        getClient().deleteTable(tableInfo.getName());
+
+        KuduWriterStateSerializer serializer = new KuduWriterStateSerializer();
+        KuduWriterState restoredState =
+                serializer.deserialize(serializer.getVersion(), serializer.serialize(state.get(0)));
+        SinkWriter<Row> restoredWriter =
+                sink.restoreWriter(
+                        (Sink.InitContext) null, Collections.singletonList(restoredState));
+        assertThat(
+                        ((StatefulSink.StatefulSinkWriter<Row, KuduWriterState>) restoredWriter)
+                                .snapshotState(2))
+                .hasSize(1);
+        restoredWriter.close();
+
+        List<Row> rows = readRows(tableInfo);
+
+        assertThat(rows).hasSize(5);
+        kuduRowsTest(rows);
+    }
+
+    @Test
+    void testSpillDirectory(@TempDir Path spillDirectory) throws Exception {
+        String masterAddresses = getMasterAddress();
+
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), true);
+        KuduWriterConfig writerConfig =
+                KuduWriterConfig.Builder.setMasters(masterAddresses)
+                        .setSpillDirectory(spillDirectory.toString())
+                        .setSpillMaxBytes(1024 * 1024)
+                        .build();
+
+        KuduSink<Row> sink =
+                KuduSink.<Row>builder()
+                        .setWriterConfig(writerConfig)
+                        .setTableInfo(tableInfo)
+                        .setOperationMapper(initOperationMapper(KuduTestBase.columns))
+                        .build();
+
+        StatefulSink.StatefulSinkWriter<Row, KuduWriterState> writer =
+                sink.createWriter((Sink.InitContext) null);
+        for (Row kuduRow : booksDataRow()) {
+            writer.write(kuduRow, null);
+        }
+        writer.flush(false);
+        // nothing was spilled while Kudu was available
+        assertThat(writer.snapshotState(1)).isEmpty();
+        writer.close();
+
+        List<Row> rows = readRows(tableInfo);
+        assertThat(rows).hasSize(5);
+        kuduRowsTest(rows);
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void testTabletPartitioner() {
+        String masterAddresses = getMasterAddress();
+
+        KuduTableInfo tableInfo =
+                KuduTableInfo.forTable(UUID.randomUUID().toString())
+                        .createTableIfNotExists(
+                                () ->
+                                        Lists.newArrayList(
+                                                new ColumnSchema.ColumnSchemaBuilder(
+                                                                "id", Type.INT32)
+                                                        .key(true)
+                                                        .build(),
+                                                new ColumnSchema.ColumnSchemaBuilder(
+                                                                "uuid", Type.STRING)
+                                                        .build()),
+                                () ->
+                                        new CreateTableOptions()
+                                                .setNumReplicas(1)
+                                                .addHashPartitions(Lists.newArrayList("id"), 4));
+
+        KuduTabletPartitioner<Row> partitioner =
+                new KuduTabletPartitioner<>(
+                        tableInfo, masterAddresses, 0, initOperationMapper(columns));
+
+        Set<Integer> partitions = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            Row row = Row.of(i, UUID.randomUUID().toString());
+            int partition = partitioner.partition(row, 4);
+            assertThat(partition).isBetween(0, 3);
+            assertThat(partitioner.partition(Row.of(i, "other"), 4)).isEqualTo(partition);
+            partitions.add(partition);
+        }
+        assertThat(partitions).hasSize(4);
+    }
+
     @Test
     void testSpeed() throws Exception {
         String masterAddresses = getMasterAddress();
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.apache.flink.api.connector.sink2.Committer;
+import org.apache.flink.api.connector.sink2.Sink;
+import org.apache.flink.api.connector.sink2.SinkWriter;
+import org.apache.flink.api.connector.sink2.TwoPhaseCommittingSink;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.KuduTestBase;
+import org.apache.flink.connector.kudu.connector.writer.AbstractSingleOperationMapper;
+import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+import org.apache.flink.connector.kudu.connector.writer.RowOperationMapper;
+import org.apache.flink.types.Row;
+
+import org.apache.kudu.client.KuduTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link KuduTwoPhaseCommitSink}. */
+public class KuduTwoPhaseCommitSinkTest extends KuduTestBase {
+
+    @Test
+    void testWritesOnCommit() throws Exception {
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), true);
+        KuduTwoPhaseCommitSink<Row> sink = createSink(tableInfo, KuduTestBase.columns);
+
+        TwoPhaseCommittingSink.PrecommittingSinkWriter<Row, KuduCommittable> writer =
+                sink.createWriter((Sink.InitContext) null);
+        for (Row kuduRow : booksDataRow()) {
+            writer.write(kuduRow, null);
+        }
+        writer.flush(false);
+        assertThat(readRows(tableInfo)).isEmpty();
+
+        Collection<KuduCommittable> committables = writer.prepareCommit();
+        assertThat(committables).hasSize(1);
+        assertThat(writer.prepareCommit()).isEmpty();
+        writer.close();
+
+        try (Committer<KuduCommittable> committer = sink.createCommitter()) {
+            commit(committer, committables);
+            // committables of a failed job are committed again on recovery, which is a no-op
+            commit(committer, committables);
+        }
+
+        List<Row> rows = readRows(tableInfo);
+        assertThat(rows).hasSize(5);
+        kuduRowsTest(rows);
+    }
+
+    @Test
+    void testUncommittedTransactionIsRolledBack() throws Exception {
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), true);
+        KuduTwoPhaseCommitSink<Row> sink = createSink(tableInfo, KuduTestBase.columns);
+
+        TwoPhaseCommittingSink.PrecommittingSinkWriter<Row, KuduCommittable> writer =
+                sink.createWriter((Sink.InitContext) null);
+        for (Row kuduRow : booksDataRow()) {
+            writer.write(kuduRow, null);
+        }
+        writer.flush(false);
+        writer.close();
+
+        // records replayed after a failover are inserted again without duplicate rows
+        writer = sink.createWriter((Sink.InitContext) null);
+        for (Row kuduRow : booksDataRow()) {
+            writer.write(kuduRow, null);
+        }
+        Collection<KuduCommittable> committables = writer.prepareCommit();
+        writer.close();
+        try (Committer<KuduCommittable> committer = sink.createCommitter()) {
+            commit(committer, committables);
+        }
+
+        List<Row> rows = readRows(tableInfo);
+        assertThat(rows).hasSize(5);
+        kuduRowsTest(rows);
+    }
+
+    @Test
+    void testRejectsUpsertMapperOnBuild() {
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), true);
+        KuduSinkBuilder<Row> builder =
+                KuduSink.<Row>builder()
+                        .setWriterConfig(writerConfig())
+                        .setTableInfo(tableInfo)
+                        .setOperationMapper(
+                                new RowOperationMapper(
+                                        KuduTestBase.columns,
+                                        AbstractSingleOperationMapper.KuduOperation.UPSERT));
+
+        assertThatThrownBy(builder::buildTwoPhaseCommitting)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("only support inserts");
+    }
+
+    @Test
+    void testRejectsOperationsOtherThanInserts() throws Exception {
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), true);
+        KuduTwoPhaseCommitSink<Row> sink =
+                KuduSink.<Row>builder()
+                        .setWriterConfig(writerConfig())
+                        .setTableInfo(tableInfo)
+                        .setOperationMapper(
+                                (Row input, KuduTable table) ->
+                                        Collections.singletonList(table.newUpsert()))
+                        .buildTwoPhaseCommitting();
+
+        try (SinkWriter<Row> writer = sink.createWriter((Sink.InitContext) null)) {
+            assertThatThrownBy(() -> writer.write(booksDataRow().get(0), null))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("only support INSERT");
+        }
+    }
+
+    private KuduTwoPhaseCommitSink<Row> createSink(KuduTableInfo tableInfo, String[] cols) {
+        return KuduSink.<Row>builder()
+                .setWriterConfig(writerConfig())
+                .setTableInfo(tableInfo)
+                .setOperationMapper(
+                        new RowOperationMapper(
+                                cols, AbstractSingleOperationMapper.KuduOperation.INSERT))
+                .buildTwoPhaseCommitting();
+    }
+
+    private KuduWriterConfig writerConfig() {
+        return KuduWriterConfig.Builder.setMasters(getMasterAddress()).build();
+    }
+
+    private static void commit(
+            Committer<KuduCommittable> committer, Collection<KuduCommittable> committables)
+            throws Exception {
+        List<Committer.CommitRequest<KuduCommittable>> requests = new ArrayList<>();
+        for (KuduCommittable committable : committables) {
+            requests.add(new TestCommitRequest(committable));
+        }
+        committer.commit(requests);
+        for (Committer.CommitRequest<KuduCommittable> request : requests) {
+            assertThat(((TestCommitRequest) request).failure).isNull();
+        }
+    }
+
+    /** Commit request that records failures. */
+    private static class TestCommitRequest implements Committer.CommitRequest<KuduCommittable> {
+
+        private final KuduCommittable committable;
+        private Throwable failure;
+
+        TestCommitRequest(KuduCommittable committable) {
+            this.committable = committable;
+        }
+
+        @Override
+        public KuduCommittable getCommittable() {
+            return committable;
+        }
+
+        @Override
+        public int getNumberOfRetries() {
+            return 0;
+        }
+
+        @Override
+        public void signalFailedWithKnownReason(Throwable t) {
+            failure = t;
+        }
+
+        @Override
+        public void signalFailedWithUnknownReason(Throwable t) {
+            failure = t;
+        }
+
+        @Override
+        public void retryLater() {
+            failure = new IllegalStateException("retry requested");
+        }
+
+        @Override
+        public void updateAndRetryLater(KuduCommittable committable) {
+            retryLater();
+        }
+
+        @Override
+        public void signalAlreadyCommitted() {}
+    }
+}
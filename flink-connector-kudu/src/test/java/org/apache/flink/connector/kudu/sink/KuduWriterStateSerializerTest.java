@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.sink;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link KuduWriterStateSerializer}. */
+public class KuduWriterStateSerializerTest {
+
+    @Test
+    void testRoundTrip() throws Exception {
+        KuduWriterState state = new KuduWriterState("books", 3, new byte[] {4, 5, 6, 7});
+        KuduWriterStateSerializer serializer = new KuduWriterStateSerializer();
+
+        KuduWriterState copy =
+                serializer.deserialize(serializer.getVersion(), serializer.serialize(state));
+
+        assertThat(copy).isEqualTo(state);
+    }
+
+    @Test
+    void testUnknownVersion() {
+        KuduWriterStateSerializer serializer = new KuduWriterStateSerializer();
+
+        assertThatThrownBy(() -> serializer.deserialize(2, new byte[0]))
+                .hasMessageContaining("Unknown version");
+    }
+}
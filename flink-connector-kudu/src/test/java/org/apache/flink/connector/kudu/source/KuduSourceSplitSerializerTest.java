@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.source;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link KuduSourceSplitSerializer} and {@link KuduSourceEnumeratorStateSerializer}. */
+public class KuduSourceSplitSerializerTest {
+
+    private static final KuduSourceSplit SPLIT =
+            new KuduSourceSplit("3", new byte[] {4, 5, 6}, new String[] {"host-1", "host-2"}, 42);
+
+    @Test
+    void testSplitRoundTrip() throws Exception {
+        KuduSourceSplitSerializer serializer = new KuduSourceSplitSerializer();
+
+        KuduSourceSplit copy =
+                serializer.deserialize(serializer.getVersion(), serializer.serialize(SPLIT));
+
+        assertThat(copy).isEqualTo(SPLIT);
+    }
+
+    @Test
+    void testEnumeratorStateRoundTrip() throws Exception {
+        KuduSourceEnumeratorState state =
+                new KuduSourceEnumeratorState(
+                        Arrays.asList(
+                                SPLIT, new KuduSourceSplit("4", new byte[0], new String[0], 0)),
+                        true);
+        KuduSourceEnumeratorStateSerializer serializer = new KuduSourceEnumeratorStateSerializer();
+
+        KuduSourceEnumeratorState copy =
+                serializer.deserialize(serializer.getVersion(), serializer.serialize(state));
+
+        assertThat(copy).isEqualTo(state);
+    }
+
+    @Test
+    void testUnknownVersion() {
+        KuduSourceSplitSerializer serializer = new KuduSourceSplitSerializer();
+
+        assertThatThrownBy(() -> serializer.deserialize(2, new byte[0]))
+                .hasMessageContaining("Unknown version");
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.source;
+
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.kudu.connector.KuduTableInfo;
+import org.apache.flink.connector.kudu.connector.KuduTestBase;
+import org.apache.flink.connector.kudu.connector.converter.RowResultRowConverter;
+import org.apache.flink.connector.kudu.connector.reader.KuduReader;
+import org.apache.flink.connector.kudu.connector.reader.KuduReaderConfig;
+import org.apache.flink.connector.kudu.connector.reader.KuduSplitReader;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.types.Row;
+import org.apache.flink.util.CollectionUtil;
+
+import org.apache.kudu.client.KuduScanToken;
+import org.apache.kudu.client.RowResult;
+import org.apache.kudu.client.RowResultIterator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link KuduSource}. */
+public class KuduSourceTest extends KuduTestBase {
+
+    @Test
+    void testInvalidReaderConfig() {
+        KuduSourceBuilder<Row> builder =
+                KuduSource.<Row>builder()
+                        .setTableInfo(booksTableInfo(UUID.randomUUID().toString(), false))
+                        .setRowResultConverter(new RowResultRowConverter());
+
+        assertThatThrownBy(builder::build)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Reader config");
+    }
+
+    @Test
+    void testReadTable() throws Exception {
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), true);
+        setUpDatabase(tableInfo);
+
+        KuduSource<Row> source =
+                KuduSource.<Row>builder()
+                        .setReaderConfig(
+                                KuduReaderConfig.Builder.setMasters(getMasterAddress()).build())
+                        .setTableInfo(tableInfo)
+                        .setRowResultConverter(new RowResultRowConverter())
+                        .setProducedType(
+                                Types.ROW_NAMED(
+                                        columns,
+                                        Types.INT,
+                                        Types.STRING,
+                                        Types.STRING,
+                                        Types.DOUBLE,
+                                        Types.INT))
+                        .build();
+
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.setParallelism(2);
+        List<Row> rows =
+                CollectionUtil.iteratorToList(
+                        env.fromSource(source, WatermarkStrategy.noWatermarks(), "kudu")
+                                .executeAndCollect());
+
+        assertThat(rows).hasSize(5);
+        kuduRowsTest(rows);
+        cleanDatabase(tableInfo);
+    }
+
+    @Test
+    void testReadTableColumnar() throws Exception {
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), true);
+        setUpDatabase(tableInfo);
+
+        KuduSource<RowData> source =
+                KuduSource.columnarBuilder()
+                        .setReaderConfig(
+                                KuduReaderConfig.Builder.setMasters(getMasterAddress())
+                                        .setColumnarScan(true)
+                                        .build())
+                        .setTableInfo(tableInfo)
+                        .setProducedType(
+                                InternalTypeInfo.ofFields(
+                                        new IntType(),
+                                        new VarCharType(VarCharType.MAX_LENGTH),
+                                        new DoubleType()))
+                        .setTableProjections(Arrays.asList("id", "title", "price"))
+                        .build();
+
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.setParallelism(2);
+        List<String> rows =
+                CollectionUtil.iteratorToList(
+                        env.fromSource(source, WatermarkStrategy.noWatermarks(), "kudu")
+                                .map(
+                                        row ->
+                                                row.getInt(0)
+                                                        + ","
+                                                        + row.getString(1)
+                                                        + ","
+                                                        + (row.isNullAt(2)
+                                                                ? null
+                                                                : row.getDouble(2)))
+                                .executeAndCollect());
+
+        assertThat(rows)
+                .containsExactlyInAnyOrder(
+                        "1001,Java for dummies,11.11",
+                        "1002,More Java for dummies,null",
+                        "1003,More Java for more dummies,33.33",
+                        "1004,A Cup of Java,null",
+                        "1005,A Teaspoon of Java,55.55");
+        cleanDatabase(tableInfo);
+    }
+
+    @Test
+    void testResumeSplit() throws Exception {
+        KuduTableInfo tableInfo = booksTableInfo(UUID.randomUUID().toString(), true);
+        setUpDatabase(tableInfo);
+        KuduReaderConfig readerConfig =
+                KuduReaderConfig.Builder.setMasters(getMasterAddress()).build();
+
+        List<KuduSourceSplit> splits = new ArrayList<>();
+        try (KuduReader<Row> reader =
+                new KuduReader<>(tableInfo, readerConfig, new RowResultRowConverter())) {
+            List<KuduScanToken> tokens = reader.scanTokens(null, null, 0, true);
+            for (int i = 0; i < tokens.size(); i++) {
+                splits.add(
+                        new KuduSourceSplit(
+                                String.valueOf(i), tokens.get(i).serialize(), new String[0], 0));
+            }
+        }
+
+        for (KuduSourceSplit split : splits) {
+            List<Integer> ids = readIds(readerConfig, split);
+            List<Integer> resumedIds = readIds(readerConfig, split.withRecordsToSkip(1));
+
+            if (ids.isEmpty()) {
+                assertThat(resumedIds).isEmpty();
+            } else {
+                assertThat(resumedIds).isEqualTo(ids.subList(1, ids.size()));
+            }
+        }
+        cleanDatabase(tableInfo);
+    }
+
+    private List<Integer> readIds(KuduReaderConfig readerConfig, KuduSourceSplit split)
+            throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        KuduSplitReader splitReader = new KuduSplitReader(readerConfig);
+        try {
+            splitReader.handleSplitsChanges(new SplitsAddition<>(Collections.singletonList(split)));
+            boolean finished = false;
+            while (!finished) {
+                RecordsWithSplitIds<RowResultIterator> records = splitReader.fetch();
+                while (records.nextSplit() != null) {
+                    RowResultIterator rows;
+                    while ((rows = records.nextRecordFromSplit()) != null) {
+                        for (RowResult row : rows) {
+                            ids.add(row.getInt("id"));
+                        }
+                    }
+                }
+                finished = records.finishedSplits().contains(split.splitId());
+            }
+        } finally {
+            splitReader.close();
+        }
+        return ids;
+    }
+}
@@ -29,6 +29,10 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 /** Unit Tests for {@link KuduDynamicTableSink}. */
@@ -83,4 +87,43 @@ public class KuduDynamicSinkTest extends KuduTestBase {
                 tEnv.executeSql("select * from " + INPUT_TABLE + " where id =1006").collect();
         assertNotNull(collected);
     }
+
+    @Test
+    public void testKuduSinkRoutesByTableMetadata() throws Exception {
+        String routedTable = UUID.randomUUID().toString();
+        String createSql =
+                "CREATE TABLE routed ("
+                        + "id int,"
+                        + "title string,"
+                        + "author string,"
+                        + "price double,"
+                        + "quantity int,"
+                        + "target string METADATA FROM 'table'"
+                        + ") WITH ("
+                        + "  'connector'='kudu',"
+                        + "  'kudu.masters'='"
+                        + getMasterAddress()
+                        + "',"
+                        + "  'kudu.table'='"
+                        + INPUT_TABLE
+                        + "','kudu.primary-key-columns'='id"
+                        + "','kudu.hash-columns'='id'"
+                        + ")";
+        tEnv.executeSql(createSql);
+        tEnv.executeSql(
+                        "insert into routed values"
+                                + "(1006,'test title','test author',10.1,10,'"
+                                + routedTable
+                                + "'),"
+                                + "(1007,'other title','other author',10.2,20,cast(null as string))")
+                .await();
+
+        List<Row> routedRows = readRows(KuduTableInfo.forTable(routedTable));
+        assertThat(routedRows).hasSize(1);
+        assertThat(routedRows.get(0).getField(0)).isEqualTo(1006);
+
+        List<Row> defaultRows = readRows(KuduTableInfo.forTable(INPUT_TABLE));
+        assertThat(defaultRows).anyMatch(row -> Integer.valueOf(1007).equals(row.getField(0)));
+        assertThat(defaultRows).noneMatch(row -> Integer.valueOf(1006).equals(row.getField(0)));
+    }
 }
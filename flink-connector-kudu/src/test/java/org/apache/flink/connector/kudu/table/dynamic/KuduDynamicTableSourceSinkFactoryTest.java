@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.table.dynamic;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.kudu.sink.KuduRoutingSink;
+import org.apache.flink.connector.kudu.sink.KuduSink;
+import org.apache.flink.connector.kudu.source.KuduSource;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.api.Schema;
+import org.apache.flink.table.api.ValidationException;
+import org.apache.flink.table.catalog.CatalogTable;
+import org.apache.flink.table.catalog.Column;
+import org.apache.flink.table.catalog.ObjectIdentifier;
+import org.apache.flink.table.catalog.ResolvedCatalogTable;
+import org.apache.flink.table.catalog.ResolvedSchema;
+import org.apache.flink.table.connector.sink.DynamicTableSink;
+import org.apache.flink.table.connector.sink.SinkV2Provider;
+import org.apache.flink.table.connector.source.DynamicTableSource;
+import org.apache.flink.table.connector.source.ScanTableSource;
+import org.apache.flink.table.connector.source.SourceProvider;
+import org.apache.flink.table.factories.FactoryUtil;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.DataType;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Tests for the tables created by {@link KuduDynamicTableSourceSinkFactory}. */
+public class KuduDynamicTableSourceSinkFactoryTest {
+
+    private static final ResolvedSchema SCHEMA =
+            ResolvedSchema.of(
+                    Column.physical("id", DataTypes.INT()),
+                    Column.physical("title", DataTypes.STRING()));
+
+    private static final ResolvedSchema ROUTING_SCHEMA =
+            ResolvedSchema.of(
+                    Column.physical("id", DataTypes.INT()),
+                    Column.physical("title", DataTypes.STRING()),
+                    Column.metadata(
+                            "tenant",
+                            DataTypes.STRING(),
+                            KuduDynamicTableSink.TABLE_METADATA_KEY,
+                            false));
+
+    @Test
+    void testSnapshotPendingWithAsyncWrites() {
+        Map<String, String> options = options();
+        options.put("sink.async-writes", "true");
+        options.put("sink.async-writes.max-in-flight-flushes", "8");
+        options.put("sink.checkpoint.snapshot-pending", "true");
+
+        DynamicTableSink.SinkRuntimeProvider provider =
+                createSink(options).getSinkRuntimeProvider(null);
+
+        assertThat(((SinkV2Provider) provider).createSink()).isInstanceOf(KuduSink.class);
+    }
+
+    @Test
+    void testSnapshotPendingRequiresAsyncWrites() {
+        Map<String, String> options = options();
+        options.put("sink.checkpoint.snapshot-pending", "true");
+
+        assertThatThrownBy(() -> createSink(options))
+                .hasRootCauseInstanceOf(ValidationException.class)
+                .hasRootCauseMessage(
+                        "'sink.checkpoint.snapshot-pending' requires 'sink.async-writes' = 'true'.");
+    }
+
+    @Test
+    void testSpillNotSupportedWithAsyncWrites() {
+        Map<String, String> options = options();
+        options.put("sink.async-writes", "true");
+        options.put("sink.spill.directory", "/tmp/kudu-spill");
+
+        assertThatThrownBy(() -> createSink(options))
+                .rootCause()
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("sink.spill.directory");
+    }
+
+    @Test
+    void testRoutingSink() {
+        Map<String, String> options = options();
+        options.put("sink.dead-letter.path", "/tmp/kudu-dead-letters");
+
+        DynamicTableSink sink = createSink(ROUTING_SCHEMA, options);
+        ((KuduDynamicTableSink) sink)
+                .applyWritableMetadata(
+                        Collections.singletonList(KuduDynamicTableSink.TABLE_METADATA_KEY),
+                        DataTypes.ROW());
+        DynamicTableSink.SinkRuntimeProvider provider = sink.getSinkRuntimeProvider(null);
+
+        assertThat(((SinkV2Provider) provider).createSink()).isInstanceOf(KuduRoutingSink.class);
+    }
+
+    @Test
+    void testRoutingSinkRejectsUnsupportedOptions() {
+        Map<String, String> options = options();
+        options.put("sink.buffer-flush.coalesce", "true");
+        options.put("sink.rate-limit", "1000");
+
+        assertThatThrownBy(() -> createSink(ROUTING_SCHEMA, options))
+                .hasRootCauseInstanceOf(ValidationException.class)
+                .hasRootCauseMessage(
+                        "Writing rows to the table named by the 'table' metadata column does not"
+                                + " support sink.buffer-flush.coalesce, sink.rate-limit.");
+    }
+
+    @Test
+    void testRoutingSinkRejectsDeclaredColumns() {
+        Map<String, String> options = options();
+        options.put("sink.partial-update", "declared-columns");
+        options.put("sink.partial-update.columns", "title");
+
+        assertThatThrownBy(() -> createSink(ROUTING_SCHEMA, options))
+                .rootCause()
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("sink.partial-update = declared-columns");
+    }
+
+    @Test
+    void testDeclaredColumnsMustBePhysicalColumns() {
+        Map<String, String> options = options();
+        options.put("sink.partial-update", "declared-columns");
+        options.put("sink.partial-update.columns", "price");
+
+        assertThatThrownBy(() -> createSink(options))
+                .rootCause()
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Column 'price' of 'sink.partial-update.columns'");
+    }
+
+    @Test
+    void testDeclaredColumnsRequireMode() {
+        Map<String, String> options = options();
+        options.put("sink.partial-update.columns", "title");
+
+        assertThatThrownBy(() -> createSink(options))
+                .hasRootCauseInstanceOf(ValidationException.class)
+                .hasRootCauseMessage(
+                        "'sink.partial-update.columns' requires 'sink.partial-update' ="
+                                + " 'declared-columns'.");
+    }
+
+    @Test
+    void testProjectedSource() {
+        DynamicTableSource source = createSource(options());
+        ((KuduDynamicTableSource) source)
+                .applyProjection(new int[][] {{1}}, DataTypes.ROW(DataTypes.STRING()));
+
+        ScanTableSource.ScanContext context = mock(ScanTableSource.ScanContext.class);
+        when(context.createTypeInformation(any(DataType.class)))
+                .thenAnswer(
+                        invocation ->
+                                InternalTypeInfo.of(
+                                        ((DataType) invocation.getArguments()[0])
+                                                .getLogicalType()));
+        ScanTableSource.ScanRuntimeProvider provider =
+                ((ScanTableSource) source).getScanRuntimeProvider(context);
+
+        KuduSource<?> kuduSource = (KuduSource<?>) ((SourceProvider) provider).createSource();
+        assertThat(kuduSource.getProducedType())
+                .isEqualTo(
+                        InternalTypeInfo.of(
+                                DataTypes.ROW(DataTypes.FIELD("title", DataTypes.STRING()))
+                                        .getLogicalType()));
+    }
+
+    private static Map<String, String> options() {
+        Map<String, String> options = new HashMap<>();
+        options.put("connector", KuduDynamicTableSourceSinkFactory.IDENTIFIER);
+        options.put("kudu.masters", "localhost:7051");
+        options.put("kudu.table", "books");
+        return options;
+    }
+
+    private static DynamicTableSource createSource(Map<String, String> options) {
+        return FactoryUtil.createDynamicTableSource(
+                null,
+                ObjectIdentifier.of("default", "default", "books"),
+                catalogTable(SCHEMA, options),
+                Collections.emptyMap(),
+                new Configuration(),
+                KuduDynamicTableSourceSinkFactoryTest.class.getClassLoader(),
+                false);
+    }
+
+    private static DynamicTableSink createSink(Map<String, String> options) {
+        return createSink(SCHEMA, options);
+    }
+
+    private static DynamicTableSink createSink(ResolvedSchema schema, Map<String, String> options) {
+        return FactoryUtil.createDynamicTableSink(
+                null,
+                ObjectIdentifier.of("default", "default", "books"),
+                catalogTable(schema, options),
+                Collections.emptyMap(),
+                new Configuration(),
+                KuduDynamicTableSourceSinkFactoryTest.class.getClassLoader(),
+                false);
+    }
+
+    private static ResolvedCatalogTable catalogTable(
+            ResolvedSchema schema, Map<String, String> options) {
+        CatalogTable table =
+                CatalogTable.of(
+                        Schema.newBuilder().fromResolvedSchema(schema).build(),
+                        null,
+                        Collections.emptyList(),
+                        options);
+        return new ResolvedCatalogTable(table, schema);
+    }
+}
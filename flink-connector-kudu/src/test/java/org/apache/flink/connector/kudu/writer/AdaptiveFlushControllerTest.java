@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.writer;
+
+import org.apache.flink.connector.kudu.connector.writer.AdaptiveFlushController;
+import org.apache.flink.connector.kudu.connector.writer.AdaptiveFlushController.Trigger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Unit Tests for {@link AdaptiveFlushController}. */
+public class AdaptiveFlushControllerTest {
+
+    @Test
+    void testStartsWithLowerBounds() {
+        AdaptiveFlushController controller = new AdaptiveFlushController(10, 160, 5, 1000, 100);
+
+        assertThat(controller.getBufferSize()).isEqualTo(10);
+        assertThat(controller.getFlushInterval()).isEqualTo(5);
+    }
+
+    @Test
+    void testFullBuffersIncreaseBatchesUpToUpperBounds() {
+        AdaptiveFlushController controller = new AdaptiveFlushController(10, 160, 5, 1000, 100);
+
+        controller.onFlush(10, 0, 1, Trigger.BUFFER_FULL);
+        assertThat(controller.getBufferSize()).isEqualTo(20);
+        assertThat(controller.getFlushInterval()).isEqualTo(10);
+
+        for (int i = 0; i < 100; i++) {
+            controller.onFlush(controller.getBufferSize(), 0, 1, Trigger.BUFFER_FULL);
+        }
+        assertThat(controller.getBufferSize()).isEqualTo(160);
+        assertThat(controller.getFlushInterval()).isEqualTo(1000);
+    }
+
+    @Test
+    void testSlowFlushesAndErrorsHalveBatches() {
+        AdaptiveFlushController controller = new AdaptiveFlushController(10, 160, 5, 1000, 100);
+        for (int i = 0; i < 100; i++) {
+            controller.onFlush(controller.getBufferSize(), 0, 1, Trigger.BUFFER_FULL);
+        }
+
+        controller.onFlush(160, 0, 101, Trigger.BUFFER_FULL);
+        assertThat(controller.getBufferSize()).isEqualTo(80);
+
+        controller.onFlush(80, 2, 1, Trigger.BUFFER_FULL);
+        assertThat(controller.getBufferSize()).isEqualTo(40);
+
+        for (int i = 0; i < 10; i++) {
+            controller.onFlush(40, 0, 500, Trigger.CHECKPOINT);
+        }
+        assertThat(controller.getBufferSize()).isEqualTo(10);
+    }
+
+    @Test
+    void testIntervalFlushesShortenInterval() {
+        AdaptiveFlushController controller = new AdaptiveFlushController(10, 160, 5, 1000, 100);
+        for (int i = 0; i < 100; i++) {
+            controller.onFlush(controller.getBufferSize(), 0, 1, Trigger.BUFFER_FULL);
+        }
+
+        controller.onFlush(3, 0, 1, Trigger.INTERVAL);
+        assertThat(controller.getFlushInterval()).isEqualTo(500);
+        assertThat(controller.getBufferSize()).isEqualTo(160);
+
+        for (int i = 0; i < 20; i++) {
+            controller.onFlush(3, 0, 1, Trigger.INTERVAL);
+        }
+        assertThat(controller.getFlushInterval()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.writer;
+
+import org.apache.flink.connector.kudu.connector.failure.DeadLetterKuduFailureHandler;
+import org.apache.flink.connector.kudu.connector.failure.DeadLetterQueue;
+import org.apache.flink.connector.kudu.connector.failure.DeadLetterRecord;
+import org.apache.flink.connector.kudu.connector.failure.FileDeadLetterQueue;
+
+import org.apache.kudu.client.Insert;
+import org.apache.kudu.client.PartialRow;
+import org.apache.kudu.client.RowError;
+import org.apache.kudu.client.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Unit Tests for {@link DeadLetterKuduFailureHandler}. */
+public class DeadLetterKuduFailureHandlerTest extends AbstractOperationTest {
+
+    @Test
+    void testRecordsAreWrittenInBatches() throws IOException {
+        RecordingQueue queue = new RecordingQueue();
+        DeadLetterKuduFailureHandler handler = new DeadLetterKuduFailureHandler(queue, 2);
+
+        handler.onFailure(
+                Arrays.asList(
+                        rowError(1001, Status.InvalidArgument("bad value")),
+                        rowError(1002, Status.InvalidArgument("bad value")),
+                        rowError(1003, Status.AlreadyPresent("duplicate"))));
+
+        assertThat(queue.opened).isTrue();
+        assertThat(queue.batches).hasSize(1);
+        assertThat(queue.batches.get(0)).hasSize(2);
+
+        handler.awaitRetries();
+        assertThat(queue.batches).hasSize(2);
+        DeadLetterRecord record = queue.batches.get(1).get(0);
+        assertThat(record.getTableName()).isEqualTo("books");
+        assertThat(record.getOperationType()).isEqualTo("INSERT");
+        assertThat(record.getRow()).containsEntry("id", 1003).containsEntry("title", "title");
+        assertThat(record.getStatus()).isEqualTo("ALREADY_PRESENT");
+        assertThat(record.getMessage()).isEqualTo("Already present: duplicate");
+
+        handler.close();
+        assertThat(queue.closed).isTrue();
+    }
+
+    @Test
+    void testFileQueue(@TempDir Path directory) throws IOException {
+        FileDeadLetterQueue queue = new FileDeadLetterQueue(directory.toString());
+        DeadLetterKuduFailureHandler handler = new DeadLetterKuduFailureHandler(queue);
+
+        handler.onFailure(
+                Collections.singletonList(rowError(1001, Status.InvalidArgument("bad value"))));
+        handler.close();
+
+        List<String> lines = Files.readAllLines(queue.getFile(), StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0))
+                .contains("\"tableName\":\"books\"")
+                .contains("\"operationType\":\"INSERT\"")
+                .contains("\"id\":1001")
+                .contains("\"status\":\"INVALID_ARGUMENT\"");
+    }
+
+    private RowError rowError(int id, Status status) {
+        when(mockTable.getName()).thenReturn("books");
+        PartialRow row = TABLE_SCHEMA.newPartialRow();
+        row.addInt("id", id);
+        row.addString("title", "title");
+        Insert insert = mock(Insert.class);
+        when(insert.getTable()).thenReturn(mockTable);
+        when(insert.getRow()).thenReturn(row);
+
+        RowError error = mock(RowError.class);
+        when(error.getErrorStatus()).thenReturn(status);
+        when(error.getOperation()).thenReturn(insert);
+        return error;
+    }
+
+    /** Keeps the written batches in memory. */
+    private static class RecordingQueue implements DeadLetterQueue {
+
+        private final List<List<DeadLetterRecord>> batches = new ArrayList<>();
+        private boolean opened;
+        private boolean closed;
+
+        @Override
+        public void open() {
+            opened = true;
+        }
+
+        @Override
+        public void write(List<DeadLetterRecord> records) {
+            batches.add(records);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
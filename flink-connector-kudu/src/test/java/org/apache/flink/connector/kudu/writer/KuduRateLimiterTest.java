@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.writer;
+
+import org.apache.flink.connector.kudu.connector.writer.KuduRateLimiter;
+import org.apache.flink.connector.kudu.connector.writer.KuduWriterConfig;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Unit Tests for {@link KuduRateLimiter}. */
+public class KuduRateLimiterTest {
+
+    private long nanos;
+
+    @Test
+    void testRowLimitIsDividedAcrossSubtasks() throws IOException {
+        KuduRateLimiter limiter = limiter(builder().setRateLimitRows(100), 2);
+
+        assertThat(limiter.getRowsPerSecond()).isEqualTo(50);
+        // a full second of tokens is available right away
+        assertThat(limiter.acquire(50, 0)).isZero();
+        assertThat(limiter.acquire(25, 0)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(nanos).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(limiter.acquire(50, 0)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void testByteLimit() throws IOException {
+        KuduRateLimiter limiter = limiter(builder().setRateLimitBytes(1000), 1);
+
+        assertThat(limiter.acquire(1, 1000)).isZero();
+        assertThat(limiter.acquire(1, 250)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(250));
+        assertThat(limiter.getRowsPerSecond()).isZero();
+    }
+
+    @Test
+    void testUnlimited() throws IOException {
+        KuduWriterConfig writerConfig = builder().build();
+        assertThat(KuduRateLimiter.isEnabled(writerConfig)).isFalse();
+
+        KuduRateLimiter limiter = limiter(builder(), 1);
+        assertThat(limiter.acquire(1_000_000, 1_000_000)).isZero();
+    }
+
+    @Test
+    void testLimitsAreReadFromFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("rate-limit.properties");
+        write(file, "rows-per-second=200\n");
+        KuduRateLimiter limiter =
+                limiter(builder().setRateLimitRows(10).setRateLimitFile(file.toString()), 2);
+        assertThat(limiter.getRowsPerSecond()).isEqualTo(100);
+
+        write(file, "rows-per-second=400\nbytes-per-second=2000\n");
+        limiter.acquire(1, 0);
+        assertThat(limiter.getRowsPerSecond()).isEqualTo(100);
+
+        nanos += TimeUnit.MILLISECONDS.toNanos(KuduRateLimiter.REFRESH_INTERVAL_MILLIS);
+        limiter.acquire(1, 0);
+        assertThat(limiter.getRowsPerSecond()).isEqualTo(200);
+        assertThat(limiter.getBytesPerSecond()).isEqualTo(1000);
+
+        // broken files keep the current limits
+        write(file, "rows-per-second=many\n");
+        nanos += TimeUnit.MILLISECONDS.toNanos(KuduRateLimiter.REFRESH_INTERVAL_MILLIS);
+        limiter.acquire(1, 0);
+        assertThat(limiter.getRowsPerSecond()).isEqualTo(200);
+    }
+
+    private KuduRateLimiter limiter(KuduWriterConfig.Builder builder, int parallelism) {
+        return new KuduRateLimiter(
+                builder.build(),
+                parallelism,
+                () -> nanos,
+                (millis, nanosOfMilli) -> nanos += millis * 1_000_000 + nanosOfMilli);
+    }
+
+    private static KuduWriterConfig.Builder builder() {
+        return KuduWriterConfig.Builder.setMasters("localhost:7051");
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.writer;
+
+import org.apache.flink.connector.kudu.connector.writer.KuduWriterMetrics;
+
+import org.apache.kudu.client.RowError;
+import org.apache.kudu.client.Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Unit Tests for {@link KuduWriterMetrics}. */
+public class KuduWriterMetricsTest {
+
+    @Test
+    void testIgnoredRowErrorsAreDropped() {
+        KuduWriterMetrics metrics = new KuduWriterMetrics(null);
+        RowError duplicate = rowError(Status.AlreadyPresent("duplicate"));
+        RowError notFound = rowError(Status.NotFound("not found"));
+        RowError invalid = rowError(Status.InvalidArgument("invalid"));
+        List<RowError> errors = Arrays.asList(duplicate, notFound, invalid);
+
+        assertThat(metrics.onRowErrors(errors, false, false))
+                .containsExactly(duplicate, notFound, invalid);
+        assertThat(metrics.onRowErrors(errors, true, false)).containsExactly(notFound, invalid);
+        assertThat(metrics.onRowErrors(errors, false, true)).containsExactly(duplicate, invalid);
+        assertThat(metrics.onRowErrors(errors, true, true)).containsExactly(invalid);
+    }
+
+    @Test
+    void testCodeName() {
+        assertThat(KuduWriterMetrics.codeName(Status.AlreadyPresent("duplicate")))
+                .isEqualTo("ALREADY_PRESENT");
+        assertThat(KuduWriterMetrics.codeName(Status.ServiceUnavailable("overloaded")))
+                .isEqualTo("SERVICE_UNAVAILABLE");
+        assertThat(KuduWriterMetrics.codeName(Status.OK())).isEqualTo("OK");
+    }
+
+    private static RowError rowError(Status status) {
+        RowError error = mock(RowError.class);
+        when(error.getErrorStatus()).thenReturn(status);
+        return error;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.writer;
+
+import org.apache.flink.connector.kudu.connector.writer.OperationCoalescer;
+
+import org.apache.kudu.client.Delete;
+import org.apache.kudu.client.DeleteIgnore;
+import org.apache.kudu.client.Insert;
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
+import org.apache.kudu.client.Update;
+import org.apache.kudu.client.Upsert;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Unit Tests for {@link OperationCoalescer}. */
+public class OperationCoalescerTest {
+
+    @Test
+    void testLatestImagePerKeyWins() {
+        OperationCoalescer coalescer = new OperationCoalescer(100, Long.MAX_VALUE);
+        Operation first = operation(Upsert.class, 1);
+        Operation other = operation(Upsert.class, 2);
+        Operation second = operation(Upsert.class, 1);
+        Operation delete = operation(Delete.class, 3);
+
+        coalescer.add(first);
+        coalescer.add(other);
+        coalescer.add(second);
+        coalescer.add(delete);
+
+        assertThat(coalescer.size()).isEqualTo(3);
+        assertThat(coalescer.drain()).containsExactly(second, other, delete);
+        assertThat(coalescer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testInsertAndDeleteOfNewKey() {
+        assertDeleteIgnoreReplaces(operation(Insert.class, 1));
+    }
+
+    @Test
+    void testUpsertAndDeleteOfNewKey() {
+        assertDeleteIgnoreReplaces(operation(Upsert.class, 1));
+    }
+
+    /** A delete replacing a buffered operation may target a row that Kudu never saw. */
+    private static void assertDeleteIgnoreReplaces(Operation created) {
+        OperationCoalescer coalescer = new OperationCoalescer(100, Long.MAX_VALUE);
+        coalescer.add(created);
+        coalescer.add(operation(Delete.class, 1));
+
+        List<Operation> drained = coalescer.drain();
+        assertThat(drained).hasSize(1);
+        assertThat(drained.get(0)).isInstanceOf(DeleteIgnore.class);
+        assertThat(drained.get(0).getRow().getInt("id")).isEqualTo(1);
+        assertThat(drained.get(0).getRow().isSet("title")).isFalse();
+    }
+
+    @Test
+    void testPartialOperationsAreKeptInOrder() {
+        OperationCoalescer coalescer = new OperationCoalescer(100, Long.MAX_VALUE);
+        Operation insert = operation(Insert.class, 1);
+        Operation update = operation(Update.class, 1);
+
+        coalescer.add(insert);
+        coalescer.add(update);
+        assertThat(coalescer.drain()).containsExactly(insert, update);
+
+        Operation upsert = operation(Upsert.class, 1);
+        coalescer.add(insert);
+        coalescer.add(update);
+        coalescer.add(upsert);
+        assertThat(coalescer.drain()).containsExactly(upsert);
+    }
+
+    @Test
+    void testPartialUpsertsAreKeptInOrder() {
+        OperationCoalescer coalescer = new OperationCoalescer(100, Long.MAX_VALUE);
+        Operation upsert = operation(Upsert.class, 1);
+        Operation price = partialUpsert(1, "price");
+        Operation quantity = partialUpsert(1, "quantity");
+
+        coalescer.add(upsert);
+        coalescer.add(price);
+        coalescer.add(quantity);
+        assertThat(coalescer.drain()).containsExactly(upsert, price, quantity);
+
+        Operation latest = operation(Upsert.class, 1);
+        coalescer.add(price);
+        coalescer.add(quantity);
+        coalescer.add(latest);
+        assertThat(coalescer.drain()).containsExactly(latest);
+    }
+
+    @Test
+    void testShouldFlush() {
+        OperationCoalescer bySize = new OperationCoalescer(2, Long.MAX_VALUE);
+        bySize.add(operation(Upsert.class, 1));
+        bySize.add(operation(Upsert.class, 1));
+        assertThat(bySize.shouldFlush()).isFalse();
+        bySize.add(operation(Upsert.class, 2));
+        assertThat(bySize.shouldFlush()).isTrue();
+
+        OperationCoalescer byTime = new OperationCoalescer(100, 0);
+        assertThat(byTime.shouldFlush()).isFalse();
+        byTime.add(operation(Upsert.class, 1));
+        assertThat(byTime.shouldFlush()).isTrue();
+    }
+
+    /** Creates an operation, upserts set every column. */
+    private static Operation operation(Class<? extends Operation> type, int id) {
+        PartialRow row = new PartialRow(AbstractOperationTest.TABLE_SCHEMA);
+        row.addInt("id", id);
+        if (type == Upsert.class) {
+            row.addString("title", "title");
+            row.addString("author", "author");
+            row.addDouble("price", 1.0);
+            row.addInt("quantity", 1);
+        }
+        return mockOperation(type, row);
+    }
+
+    private static Operation partialUpsert(int id, String column) {
+        PartialRow row = new PartialRow(AbstractOperationTest.TABLE_SCHEMA);
+        row.addInt("id", id);
+        row.setNull(column);
+        return mockOperation(Upsert.class, row);
+    }
+
+    private static Operation mockOperation(Class<? extends Operation> type, PartialRow row) {
+        Operation operation = mock(type);
+        when(operation.getRow()).thenReturn(row);
+        if (type == Delete.class) {
+            KuduTable table = mock(KuduTable.class);
+            DeleteIgnore deleteIgnore = mock(DeleteIgnore.class);
+            PartialRow key = new PartialRow(AbstractOperationTest.TABLE_SCHEMA);
+            when(deleteIgnore.getRow()).thenReturn(key);
+            when(table.newDeleteIgnore()).thenReturn(deleteIgnore);
+            when(operation.getTable()).thenReturn(table);
+        }
+        return operation;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.writer;
+
+import org.apache.flink.connector.kudu.connector.writer.OperationSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.ColumnTypeAttributes;
+import org.apache.kudu.Schema;
+import org.apache.kudu.Type;
+import org.apache.kudu.client.Delete;
+import org.apache.kudu.client.DeleteIgnore;
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
+import org.apache.kudu.client.Upsert;
+import org.apache.kudu.shaded.com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Unit Tests for {@link OperationSerializer}. */
+public class OperationSerializerTest {
+
+    private static final Schema SCHEMA =
+            new Schema(
+                    Lists.newArrayList(
+                            new ColumnSchema.ColumnSchemaBuilder("id", Type.INT64)
+                                    .key(true)
+                                    .build(),
+                            new ColumnSchema.ColumnSchemaBuilder("flag", Type.BOOL).build(),
+                            new ColumnSchema.ColumnSchemaBuilder("tiny", Type.INT8).build(),
+                            new ColumnSchema.ColumnSchemaBuilder("small", Type.INT16).build(),
+                            new ColumnSchema.ColumnSchemaBuilder("count", Type.INT32)
+                                    .nullable(true)
+                                    .build(),
+                            new ColumnSchema.ColumnSchemaBuilder("ratio", Type.FLOAT).build(),
+                            new ColumnSchema.ColumnSchemaBuilder("price", Type.DOUBLE).build(),
+                            new ColumnSchema.ColumnSchemaBuilder("amount", Type.DECIMAL)
+                                    .typeAttributes(
+                                            new ColumnTypeAttributes.ColumnTypeAttributesBuilder()
+                                                    .precision(10)
+                                                    .scale(2)
+                                                    .build())
+                                    .build(),
+                            new ColumnSchema.ColumnSchemaBuilder("ts", Type.UNIXTIME_MICROS)
+                                    .build(),
+                            new ColumnSchema.ColumnSchemaBuilder("day", Type.DATE).build(),
+                            new ColumnSchema.ColumnSchemaBuilder("title", Type.STRING).build(),
+                            new ColumnSchema.ColumnSchemaBuilder("data", Type.BINARY)
+                                    .nullable(true)
+                                    .build()));
+
+    @Test
+    void testRoundTrip() throws Exception {
+        PartialRow row = SCHEMA.newPartialRow();
+        row.addLong("id", 42L);
+        row.addBoolean("flag", true);
+        row.addByte("tiny", (byte) -3);
+        row.addShort("small", (short) 300);
+        row.setNull("count");
+        row.addFloat("ratio", 0.5f);
+        row.addDouble("price", 19.99);
+        row.addDecimal("amount", new BigDecimal("-1234.56"));
+        row.addTimestamp("ts", Timestamp.valueOf("2020-01-02 03:04:05.123456"));
+        row.addDate("day", Date.valueOf("2020-01-02"));
+        row.addString("title", "Flink über Kudu");
+        row.addBinary("data", new byte[] {0, 1, (byte) 0xff});
+
+        Operation decoded = roundTrip(operation(Upsert.class, row), Upsert.class);
+
+        assertThat(decoded).isInstanceOf(Upsert.class);
+        assertThat(decoded.getRow().toString()).isEqualTo(row.toString());
+    }
+
+    @Test
+    void testOnlySetColumns() throws Exception {
+        PartialRow row = SCHEMA.newPartialRow();
+        row.addLong("id", 7L);
+
+        Operation decoded = roundTrip(operation(Delete.class, row), Delete.class);
+
+        assertThat(decoded).isInstanceOf(Delete.class);
+        assertThat(decoded.getRow().isSet("id")).isTrue();
+        assertThat(decoded.getRow().isSet("title")).isFalse();
+        assertThat(decoded.getRow().getLong("id")).isEqualTo(7L);
+    }
+
+    @Test
+    void testDeleteIgnore() throws Exception {
+        PartialRow row = SCHEMA.newPartialRow();
+        row.addLong("id", 7L);
+
+        Operation decoded = roundTrip(operation(DeleteIgnore.class, row), DeleteIgnore.class);
+
+        assertThat(decoded).isInstanceOf(DeleteIgnore.class);
+        assertThat(decoded.getRow().getLong("id")).isEqualTo(7L);
+    }
+
+    private static <O extends Operation> O operation(Class<O> type, PartialRow row) {
+        O operation = mock(type);
+        when(operation.getRow()).thenReturn(row);
+        return operation;
+    }
+
+    private static <O extends Operation> Operation roundTrip(O operation, Class<O> type)
+            throws Exception {
+        DataOutputSerializer out = new DataOutputSerializer(64);
+        OperationSerializer.serialize(operation, out);
+
+        KuduTable table = mock(KuduTable.class);
+        O decoded = operation(type, SCHEMA.newPartialRow());
+        when(table.getSchema()).thenReturn(SCHEMA);
+        when(table.newUpsert()).thenReturn(type == Upsert.class ? (Upsert) decoded : null);
+        when(table.newDelete()).thenReturn(type == Delete.class ? (Delete) decoded : null);
+        when(table.newDeleteIgnore())
+                .thenReturn(type == DeleteIgnore.class ? (DeleteIgnore) decoded : null);
+
+        DataInputDeserializer in = new DataInputDeserializer(out.getCopyOfBuffer());
+        Operation result = OperationSerializer.deserialize(in, table);
+        assertThat(in.available()).isZero();
+        return result;
+    }
+}
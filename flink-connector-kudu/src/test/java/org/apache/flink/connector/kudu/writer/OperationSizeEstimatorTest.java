@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.writer;
+
+import org.apache.flink.connector.kudu.connector.writer.OperationSizeEstimator;
+
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.ColumnTypeAttributes;
+import org.apache.kudu.Schema;
+import org.apache.kudu.Type;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
+import org.apache.kudu.client.Upsert;
+import org.apache.kudu.shaded.com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Unit Tests for {@link OperationSizeEstimator}. */
+public class OperationSizeEstimatorTest {
+
+    private static final Schema SCHEMA =
+            new Schema(
+                    Lists.newArrayList(
+                            new ColumnSchema.ColumnSchemaBuilder("id", Type.INT64)
+                                    .key(true)
+                                    .build(),
+                            new ColumnSchema.ColumnSchemaBuilder("title", Type.STRING).build(),
+                            new ColumnSchema.ColumnSchemaBuilder("code", Type.VARCHAR)
+                                    .typeAttributes(
+                                            new ColumnTypeAttributes.ColumnTypeAttributesBuilder()
+                                                    .length(10)
+                                                    .build())
+                                    .nullable(true)
+                                    .build(),
+                            new ColumnSchema.ColumnSchemaBuilder("data", Type.BINARY)
+                                    .nullable(true)
+                                    .build()));
+
+    @Test
+    void testCountsEncodedBytes() {
+        PartialRow row = SCHEMA.newPartialRow();
+        row.addLong("id", 1L);
+        row.addString("title", "über\uD83D\uDE00");
+        row.addVarchar("code", "ß€");
+        row.addBinary("data", ByteBuffer.wrap(new byte[] {0, 1, 2, 3, 4}, 2, 3));
+
+        assertThat(OperationSizeEstimator.estimate(operation(row)))
+                .isEqualTo(SCHEMA.getRowSize() + 9 + 5 + 3);
+    }
+
+    @Test
+    void testIgnoresNullAndUnsetValues() {
+        PartialRow row = SCHEMA.newPartialRow();
+        row.addLong("id", 1L);
+        row.setNull("code");
+
+        assertThat(OperationSizeEstimator.estimate(operation(row))).isEqualTo(SCHEMA.getRowSize());
+    }
+
+    private static Operation operation(PartialRow row) {
+        Upsert operation = mock(Upsert.class);
+        when(operation.getRow()).thenReturn(row);
+        return operation;
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.flink.connector.kudu.writer;
 import org.apache.flink.connector.kudu.connector.KuduTestBase;
 import org.apache.flink.connector.kudu.connector.writer.AbstractSingleOperationMapper;
 import org.apache.flink.connector.kudu.connector.writer.PojoOperationMapper;
+import org.apache.flink.util.InstantiationUtil;
 
 import org.apache.kudu.client.Operation;
 import org.apache.kudu.client.PartialRow;
@@ -54,13 +55,13 @@ public class PojoOperationMapperTest extends AbstractOperationTest {
         assertEquals(1, operations.size());
 
         PartialRow row = operations.get(0).getRow();
-        Mockito.verify(row, Mockito.times(1)).addObject("id", bookInfo.id);
-        Mockito.verify(row, Mockito.times(1)).addObject("quantity", bookInfo.quantity);
+        Mockito.verify(row, Mockito.times(1)).addInt(0, bookInfo.id);
+        Mockito.verify(row, Mockito.times(1)).addInt(4, bookInfo.quantity);
 
-        Mockito.verify(row, Mockito.times(1)).addObject("title", bookInfo.title);
-        Mockito.verify(row, Mockito.times(1)).addObject("author", bookInfo.author);
+        Mockito.verify(row, Mockito.times(1)).addObject(1, bookInfo.title);
+        Mockito.verify(row, Mockito.times(1)).addObject(2, bookInfo.author);
 
-        Mockito.verify(row, Mockito.times(1)).addObject("price", bookInfo.price);
+        Mockito.verify(row, Mockito.times(1)).addObject(3, bookInfo.price);
     }
 
     @Test
@@ -76,6 +77,26 @@ public class PojoOperationMapperTest extends AbstractOperationTest {
         assertEquals(2, mapper.getField(s, 2));
     }
 
+    @Test
+    void testSerializedMapper() throws Exception {
+        PojoOperationMapper<KuduTestBase.BookInfo> mapper =
+                InstantiationUtil.clone(
+                        new PojoOperationMapper<>(
+                                KuduTestBase.BookInfo.class,
+                                KuduTestBase.columns,
+                                AbstractSingleOperationMapper.KuduOperation.INSERT));
+
+        KuduTestBase.BookInfo bookInfo = KuduTestBase.booksDataPojo().get(0);
+
+        assertEquals(bookInfo.id, mapper.getField(bookInfo, 0));
+        assertEquals(bookInfo.price, mapper.getField(bookInfo, 3));
+
+        List<Operation> operations = mapper.createOperations(bookInfo, mockTable);
+        PartialRow row = operations.get(0).getRow();
+        Mockito.verify(row, Mockito.times(1)).addInt(0, bookInfo.id);
+        Mockito.verify(row, Mockito.times(1)).addObject(1, bookInfo.title);
+    }
+
     private static class First {
         private int i1 = 1;
         public int i2 = 2;
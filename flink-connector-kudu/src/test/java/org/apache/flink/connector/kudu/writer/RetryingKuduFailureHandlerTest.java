@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.writer;
+
+import org.apache.flink.connector.kudu.connector.failure.KuduFailureHandler;
+import org.apache.flink.connector.kudu.connector.failure.RetryingKuduFailureHandler;
+
+import org.apache.kudu.client.Insert;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
+import org.apache.kudu.client.RowError;
+import org.apache.kudu.client.Status;
+import org.apache.kudu.client.Update;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Unit Tests for {@link RetryingKuduFailureHandler}. */
+public class RetryingKuduFailureHandlerTest extends AbstractOperationTest {
+
+    @Test
+    void testRetriableErrorIsWrittenAgain() throws IOException {
+        RetryingKuduFailureHandler handler = new RetryingKuduFailureHandler(3, 50, 100, 10);
+        RecordingContext context = new RecordingContext();
+        handler.open(context);
+
+        Operation failed = failedInsert(1001);
+        handler.onFailure(rowErrors(Status.ServiceUnavailable("restarting"), failed));
+
+        handler.retryPending();
+        assertThat(context.applied).isEmpty();
+
+        handler.awaitRetries();
+        assertThat(context.applied).containsExactly(mockInsert);
+        assertThat(context.flushes).isEqualTo(1);
+        verify(mockPartialRow).addObject(0, 1001);
+        verify(mockPartialRow).addObject(1, "title");
+    }
+
+    @Test
+    void testFatalErrorFails() {
+        RetryingKuduFailureHandler handler = new RetryingKuduFailureHandler();
+        RecordingContext context = new RecordingContext();
+        handler.open(context);
+
+        assertThatThrownBy(
+                        () ->
+                                handler.onFailure(
+                                        rowErrors(
+                                                Status.InvalidArgument("invalid"),
+                                                failedInsert(1001))))
+                .isInstanceOf(IOException.class);
+        assertThat(context.applied).isEmpty();
+    }
+
+    @Test
+    void testFailsAfterMaxAttempts() throws IOException {
+        // the written operation fails again and is copied from the mocked insert
+        when(mockInsert.getTable()).thenReturn(mockTable);
+        when(mockPartialRow.getSchema()).thenReturn(TABLE_SCHEMA);
+        when(mockPartialRow.encodePrimaryKey()).thenReturn(new byte[] {1});
+        RetryingKuduFailureHandler handler = new RetryingKuduFailureHandler(2, 0, 0, 10);
+        RecordingContext context = new RecordingContext();
+        context.failWith = handler;
+        handler.open(context);
+
+        handler.onFailure(rowErrors(Status.TimedOut("timeout"), failedInsert(1001)));
+
+        assertThatThrownBy(handler::awaitRetries).isInstanceOf(IOException.class);
+        assertThat(context.applied).hasSize(2);
+    }
+
+    @Test
+    void testLaterOperationsOfRowAreHeldBack() throws IOException {
+        RetryingKuduFailureHandler handler = new RetryingKuduFailureHandler(3, 0, 0, 10);
+        RecordingContext context = new RecordingContext();
+        handler.open(context);
+
+        handler.onFailure(rowErrors(Status.ServiceUnavailable("restarting"), failedInsert(1001)));
+
+        Operation sameRow = operation(Update.class, 1001);
+        Operation otherRow = operation(Update.class, 1002);
+        assertThat(handler.holdBack(sameRow)).isTrue();
+        assertThat(handler.holdBack(otherRow)).isFalse();
+
+        handler.awaitRetries();
+        assertThat(context.applied).containsExactly(mockInsert, sameRow);
+        assertThat(handler.holdBack(sameRow)).isFalse();
+    }
+
+    @Test
+    void testFailsIfQueueIsFull() throws IOException {
+        RetryingKuduFailureHandler handler = new RetryingKuduFailureHandler(3, 1000, 1000, 1);
+        handler.open(new RecordingContext());
+
+        handler.onFailure(rowErrors(Status.NetworkError("network"), failedInsert(1001)));
+
+        assertThatThrownBy(
+                        () ->
+                                handler.onFailure(
+                                        rowErrors(
+                                                Status.NetworkError("network"),
+                                                failedInsert(1002))))
+                .isInstanceOf(IOException.class);
+    }
+
+    private Operation failedInsert(int id) {
+        Operation insert = operation(Insert.class, id);
+        insert.getRow().addString("title", "title");
+        return insert;
+    }
+
+    private Operation operation(Class<? extends Operation> type, int id) {
+        PartialRow row = TABLE_SCHEMA.newPartialRow();
+        row.addInt("id", id);
+        Operation operation = mock(type);
+        when(operation.getTable()).thenReturn(mockTable);
+        when(operation.getRow()).thenReturn(row);
+        return operation;
+    }
+
+    private static List<RowError> rowErrors(Status status, Operation operation) {
+        RowError error = mock(RowError.class);
+        when(error.getErrorStatus()).thenReturn(status);
+        when(error.getStatus()).thenReturn(status.toString());
+        when(error.getOperation()).thenReturn(operation);
+        return Collections.singletonList(error);
+    }
+
+    /** Records the operations written again and fails them on flush if configured. */
+    private static class RecordingContext implements KuduFailureHandler.Context {
+
+        private final List<Operation> applied = new ArrayList<>();
+        private final List<Operation> buffered = new ArrayList<>();
+        private int flushes;
+        private KuduFailureHandler failWith;
+
+        @Override
+        public void apply(Operation operation) {
+            applied.add(operation);
+            buffered.add(operation);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushes++;
+            List<Operation> flushed = new ArrayList<>(buffered);
+            buffered.clear();
+            if (failWith != null) {
+                for (Operation operation : flushed) {
+                    failWith.onFailure(rowErrors(Status.TimedOut("timeout"), operation));
+                }
+            }
+        }
+    }
+}
@@ -18,16 +18,29 @@
 package org.apache.flink.connector.kudu.writer;
 
 import org.apache.flink.connector.kudu.connector.KuduTestBase;
+import org.apache.flink.connector.kudu.connector.writer.PartialUpdateMode;
 import org.apache.flink.connector.kudu.connector.writer.RowDataUpsertOperationMapper;
+import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.types.RowKind;
 
 import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 /** Unit Tests for {@link RowDataUpsertOperationMapper}. */
@@ -53,4 +66,90 @@ public class RowDataUpsertOperationMapperTest extends AbstractOperationTest {
         assertEquals(1, operations.size());
         verify(mockTable).newUpsert();
     }
+
+    @Test
+    void testTypedSetters() {
+        RowDataUpsertOperationMapper mapper =
+                new RowDataUpsertOperationMapper(KuduTestBase.booksTableSchema());
+        RowData inputRow = KuduTestBase.booksRowData().get(0);
+
+        List<Operation> operations = mapper.createOperations(inputRow, mockTable);
+
+        PartialRow row = operations.get(0).getRow();
+        verify(row).addInt(0, inputRow.getInt(0));
+        verify(row).addStringUtf8(1, inputRow.getString(1).toBytes());
+        verify(row).addStringUtf8(2, inputRow.getString(2).toBytes());
+        verify(row).addDouble(3, inputRow.getDouble(3));
+        verify(row).addInt(4, inputRow.getInt(4));
+        verify(row, never()).addObject(anyInt(), any());
+        verify(row, never()).addObject(anyString(), any());
+    }
+
+    @Test
+    void testPartialUpdateIgnoreNulls() {
+        RowDataUpsertOperationMapper mapper =
+                new RowDataUpsertOperationMapper(
+                        KuduTestBase.booksTableSchema(),
+                        PartialUpdateMode.IGNORE_NULLS,
+                        Collections.emptyList());
+        RowData inputRow = GenericRowData.of(1001, StringData.fromString("title"), null, 9.5, null);
+
+        List<Operation> operations = mapper.createOperations(inputRow, mockTable);
+
+        assertEquals(1, operations.size());
+        verify(mockTable).newUpsert();
+        PartialRow row = operations.get(0).getRow();
+        verify(row).addInt(0, 1001);
+        verify(row).addStringUtf8(eq(1), any(byte[].class));
+        verify(row).addDouble(3, 9.5);
+        verify(row, never()).setNull(anyInt());
+        verify(row, never()).addStringUtf8(eq(2), any(byte[].class));
+        verify(row, never()).addInt(eq(4), anyInt());
+    }
+
+    @Test
+    void testPartialUpdateDeclaredColumns() {
+        RowDataUpsertOperationMapper mapper =
+                new RowDataUpsertOperationMapper(
+                        KuduTestBase.booksTableSchema(),
+                        PartialUpdateMode.DECLARED_COLUMNS,
+                        Arrays.asList("id", "price"));
+        RowData inputRow = KuduTestBase.booksRowData().get(0);
+
+        List<Operation> operations = mapper.createOperations(inputRow, mockTable);
+
+        PartialRow row = operations.get(0).getRow();
+        verify(row).addInt(0, inputRow.getInt(0));
+        verify(row).addDouble(3, inputRow.getDouble(3));
+        verify(row, never()).addStringUtf8(anyInt(), any(byte[].class));
+        verify(row, never()).addInt(eq(4), anyInt());
+    }
+
+    @Test
+    void testPartialUpdateUnknownColumn() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        new RowDataUpsertOperationMapper(
+                                KuduTestBase.booksTableSchema(),
+                                PartialUpdateMode.DECLARED_COLUMNS,
+                                Collections.singletonList("isbn")));
+    }
+
+    @Test
+    void testAppendOperationsSkipsUpdateBefore() {
+        RowDataUpsertOperationMapper mapper =
+                new RowDataUpsertOperationMapper(KuduTestBase.booksTableSchema());
+        RowData inputRow = KuduTestBase.booksRowData().get(0);
+        List<Operation> operations = new ArrayList<>();
+
+        inputRow.setRowKind(RowKind.UPDATE_BEFORE);
+        mapper.appendOperations(inputRow, mockTable, operations);
+        assertEquals(0, operations.size());
+
+        inputRow.setRowKind(RowKind.DELETE);
+        mapper.appendOperations(inputRow, mockTable, operations);
+        assertEquals(1, operations.size());
+        verify(mockTable).newDelete();
+    }
 }
@@ -19,16 +19,23 @@ package org.apache.flink.connector.kudu.writer;
 
 import org.apache.flink.connector.kudu.connector.KuduTestBase;
 import org.apache.flink.connector.kudu.connector.writer.AbstractSingleOperationMapper;
+import org.apache.flink.connector.kudu.connector.writer.KuduOperationMapper;
 import org.apache.flink.connector.kudu.connector.writer.RowOperationMapper;
 import org.apache.flink.types.Row;
 
+import org.apache.kudu.client.KuduTable;
 import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 /** Tests for {@link RowOperationMapper}. */
@@ -71,4 +78,77 @@ public class RowOperationMapperTest extends AbstractOperationTest {
         assertEquals(1, operations.size());
         verify(mockTable).newUpsert();
     }
+
+    @Test
+    void testColumnsResolvedBySchemaIndex() {
+        RowOperationMapper mapper =
+                new RowOperationMapper(
+                        new String[] {"quantity", "id"},
+                        AbstractSingleOperationMapper.KuduOperation.UPSERT);
+        Row inputRow = Row.of(11, 1001);
+
+        List<Operation> operations = mapper.createOperations(inputRow, mockTable);
+
+        PartialRow row = operations.get(0).getRow();
+        verify(row).addObject(4, 11);
+        verify(row).addObject(0, 1001);
+    }
+
+    @Test
+    void testWritePrimaryKey() {
+        RowOperationMapper mapper =
+                new RowOperationMapper(
+                        new String[] {"quantity", "id"},
+                        AbstractSingleOperationMapper.KuduOperation.UPSERT);
+        PartialRow key = TABLE_SCHEMA.newPartialRow();
+
+        Assertions.assertTrue(mapper.writePrimaryKey(Row.of(11, 1001), mockTable, key));
+
+        assertEquals(1001, key.getInt("id"));
+        Assertions.assertFalse(key.isSet("quantity"));
+        verify(mockTable, never()).newUpsert();
+    }
+
+    @Test
+    void testAppendOperations() {
+        RowOperationMapper mapper =
+                new RowOperationMapper(
+                        KuduTestBase.columns, AbstractSingleOperationMapper.KuduOperation.UPSERT);
+        List<Operation> operations = new ArrayList<>();
+        operations.add(mockDelete);
+
+        mapper.appendOperations(KuduTestBase.booksDataRow().get(0), mockTable, operations);
+
+        assertEquals(2, operations.size());
+        Assertions.assertSame(mockUpsert, operations.get(1));
+        verify(mockPartialRow).addObject(0, 1001);
+    }
+
+    @Test
+    void testAppendOperationsWithCustomBaseOperation() {
+        RowOperationMapper mapper =
+                new RowOperationMapper(
+                        KuduTestBase.columns, AbstractSingleOperationMapper.KuduOperation.INSERT) {
+                    @Override
+                    public Optional<Operation> createBaseOperation(Row input, KuduTable table) {
+                        return Optional.of(table.newDelete());
+                    }
+                };
+        List<Operation> operations = new ArrayList<>();
+
+        mapper.appendOperations(KuduTestBase.booksDataRow().get(0), mockTable, operations);
+
+        Assertions.assertEquals(Collections.singletonList(mockDelete), operations);
+    }
+
+    @Test
+    void testDefaultAppendOperations() {
+        KuduOperationMapper<Row> mapper =
+                (input, table) -> Collections.singletonList(table.newInsert());
+        List<Operation> operations = new ArrayList<>();
+
+        mapper.appendOperations(KuduTestBase.booksDataRow().get(0), mockTable, operations);
+
+        Assertions.assertEquals(Collections.singletonList(mockInsert), operations);
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.kudu.writer;
+
+import org.apache.flink.connector.kudu.connector.writer.OperationSerializer;
+import org.apache.flink.connector.kudu.connector.writer.SpillLog;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.Schema;
+import org.apache.kudu.Type;
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.Operation;
+import org.apache.kudu.client.PartialRow;
+import org.apache.kudu.client.Upsert;
+import org.apache.kudu.shaded.com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Unit Tests for {@link SpillLog}. */
+public class SpillLogTest {
+
+    private static final Schema SCHEMA =
+            new Schema(
+                    Lists.newArrayList(
+                            new ColumnSchema.ColumnSchemaBuilder("id", Type.INT64)
+                                    .key(true)
+                                    .build(),
+                            new ColumnSchema.ColumnSchemaBuilder("title", Type.STRING).build()));
+
+    @TempDir Path tempDir;
+
+    @Test
+    void testReadInAppendOrder() throws Exception {
+        try (SpillLog log = new SpillLog(tempDir, 1024 * 1024)) {
+            for (long id = 0; id < 3; id++) {
+                assertThat(log.append(upsert(id))).isTrue();
+            }
+            assertThat(log.size()).isEqualTo(3);
+
+            assertThat(ids(log.peek(table(2), 2))).containsExactly(0L, 1L);
+            // peeking does not remove the operations
+            assertThat(ids(log.peek(table(3), 5))).containsExactly(0L, 1L, 2L);
+
+            log.discard(1);
+            assertThat(log.size()).isEqualTo(2);
+            assertThat(ids(log.peek(table(2), 5))).containsExactly(1L, 2L);
+
+            log.discard(2);
+            assertThat(log.isEmpty()).isTrue();
+            assertThat(log.getUsedBytes()).isZero();
+        }
+    }
+
+    @Test
+    void testSegmentsAndSizeLimit() throws Exception {
+        int recordSize = Integer.BYTES + serialize(upsert(0)).length;
+        // two operations per segment, two segments
+        SpillLog log = new SpillLog(tempDir, 4L * recordSize, 2 * recordSize);
+        Path directory = log.getDirectory();
+
+        for (long id = 0; id < 4; id++) {
+            assertThat(log.append(upsert(id))).isTrue();
+        }
+        assertThat(log.append(upsert(4))).isFalse();
+        assertThat(files(directory)).hasSize(2);
+        assertThat(log.getUsedBytes()).isEqualTo(4L * recordSize);
+
+        // the first segment is deleted once it is read completely, making room for two more
+        log.discard(2);
+        assertThat(files(directory)).hasSize(1);
+        assertThat(log.append(upsert(4))).isTrue();
+        assertThat(log.append(upsert(5))).isTrue();
+        assertThat(ids(log.peek(table(4), 10))).containsExactly(2L, 3L, 4L, 5L);
+
+        log.close();
+        assertThat(Files.exists(directory)).isFalse();
+    }
+
+    @Test
+    void testCopyTo() throws Exception {
+        try (SpillLog log = new SpillLog(tempDir, 1024 * 1024)) {
+            for (long id = 0; id < 3; id++) {
+                log.append(upsert(id));
+            }
+            log.discard(1);
+
+            DataOutputSerializer out = new DataOutputSerializer(64);
+            log.copyTo(out);
+
+            KuduTable table = table(2);
+            DataInputDeserializer in = new DataInputDeserializer(out.getCopyOfBuffer());
+            assertThat(OperationSerializer.deserialize(in, table).getRow().getLong("id"))
+                    .isEqualTo(1L);
+            assertThat(OperationSerializer.deserialize(in, table).getRow().getLong("id"))
+                    .isEqualTo(2L);
+            assertThat(in.available()).isZero();
+        }
+    }
+
+    private static Upsert upsert(long id) {
+        PartialRow row = SCHEMA.newPartialRow();
+        row.addLong("id", id);
+        row.addString("title", "book " + id);
+        return operation(row);
+    }
+
+    private static Upsert operation(PartialRow row) {
+        Upsert operation = mock(Upsert.class);
+        when(operation.getRow()).thenReturn(row);
+        return operation;
+    }
+
+    /** Returns a table mock that creates the given number of upserts. */
+    private static KuduTable table(int upserts) {
+        Upsert[] operations = new Upsert[upserts];
+        for (int i = 0; i < upserts; i++) {
+            operations[i] = operation(SCHEMA.newPartialRow());
+        }
+        KuduTable table = mock(KuduTable.class);
+        when(table.getSchema()).thenReturn(SCHEMA);
+        when(table.newUpsert())
+                .thenReturn(operations[0], Arrays.copyOfRange(operations, 1, upserts));
+        return table;
+    }
+
+    private static byte[] serialize(Operation operation) throws Exception {
+        DataOutputSerializer out = new DataOutputSerializer(64);
+        OperationSerializer.serialize(operation, out);
+        return out.getCopyOfBuffer();
+    }
+
+    private static List<Long> ids(List<Operation> operations) {
+        return operations.stream()
+                .map(operation -> operation.getRow().getLong("id"))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Path> files(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+}